@@ -154,9 +154,7 @@ public class CloudStorageImpl implements ICloudStorage {
             return;
         }
 
-        for(String path : recordMetadata.getGcsVersionPaths()){
-            s3RecordClient.deleteRecord(path, headers.getPartitionIdWithFallbackToAccountId());
-        }
+        deleteObjects(recordMetadata.getGcsVersionPaths());
     }
 
     @Override
@@ -166,8 +164,19 @@ public class CloudStorageImpl implements ICloudStorage {
 
     @Override
     public void deleteVersions(List<String> versionPaths) {
-        versionPaths.stream().forEach(versionPath ->
-                s3RecordClient.deleteRecordVersion(versionPath, headers.getPartitionIdWithFallbackToAccountId()));
+        deleteObjects(versionPaths);
+    }
+
+    private void deleteObjects(List<String> paths) {
+        if (paths == null || paths.isEmpty()) {
+            return;
+        }
+        Map<String, String> failed = s3RecordClient.deleteRecords(paths, headers.getPartitionIdWithFallbackToAccountId());
+        if (!failed.isEmpty()) {
+            failed.forEach((path, error) -> this.logger.error(String.format("Failed to delete %s: %s", path, error)));
+            throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error deleting record",
+                    String.format("Failed to delete %d of %d objects: %s", failed.size(), paths.size(), String.join(",", failed.keySet())));
+        }
     }
 
     @Override
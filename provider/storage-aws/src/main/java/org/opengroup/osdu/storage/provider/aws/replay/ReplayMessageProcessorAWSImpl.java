@@ -33,6 +33,7 @@ import org.opengroup.osdu.storage.provider.aws.QueryRepositoryImpl;
 import org.opengroup.osdu.storage.provider.aws.util.dynamodb.RecordMetadataDoc;
 import org.opengroup.osdu.storage.provider.interfaces.IMessageBus;
 import org.opengroup.osdu.storage.provider.interfaces.IReplayRepository;
+import org.opengroup.osdu.storage.service.replay.ReplayThrottle;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -70,6 +71,9 @@ public class ReplayMessageProcessorAWSImpl {
     @Value("${aws.dynamodb.recordMetadataTable.ssm.relativePath}")
     private String recordMetadataTableParameterRelativePath;
 
+    @Autowired(required = false)
+    private ReplayThrottle replayThrottle;
+
     @Autowired
     public ReplayMessageProcessorAWSImpl(IReplayRepository replayRepository, 
                                         QueryRepositoryImpl queryRepository, 
@@ -427,6 +431,9 @@ public class ReplayMessageProcessorAWSImpl {
      * @param recordChangedMessages The list of record changed messages to publish
      */
     private void publishRecordChangedMessages(ReplayMessage replayMessage, List<RecordChangedV2> recordChangedMessages) {
+        if (replayThrottle != null) {
+            replayThrottle.acquire(headers.getPartitionId(), replayMessage.getBody().getOperation(), recordChangedMessages.size());
+        }
         Optional<CollaborationContext> collaborationContext = getCollaborationContext(replayMessage);
         messageBus.publishMessage(collaborationContext, headers, 
             recordChangedMessages.toArray(new RecordChangedV2[0]));
@@ -26,6 +26,7 @@ import org.opengroup.osdu.core.aws.v2.dynamodb.util.RequestBuilderUtil;
 import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
 import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.storage.dto.ReplayMetaDataDTO;
+import org.opengroup.osdu.storage.dto.ReplaySummaryIncrement;
 import org.opengroup.osdu.storage.provider.aws.util.dynamodb.ReplayMetadataItem;
 import org.opengroup.osdu.storage.provider.interfaces.IReplayRepository;
 import org.opengroup.osdu.storage.request.ReplayFilter;
@@ -82,6 +83,28 @@ public class ReplayRepositoryImpl implements IReplayRepository {
         return new ArrayList<>(awsDtos);
     }
     
+    /**
+     * AWS tracks replay progress in its own status records, so there is no per-replay summary to read.
+     *
+     * @param replayId The unique identifier for the replay operation
+     * @return always null
+     */
+    @Override
+    public ReplayMetaDataDTO getReplaySummary(String replayId) {
+        return null;
+    }
+
+    /**
+     * There is no per-replay summary to update, see {@link #getReplaySummary(String)}.
+     *
+     * @param replayId The unique identifier for the replay operation
+     * @param increment The progress of one replay page
+     */
+    @Override
+    public void incrementReplaySummary(String replayId, ReplaySummaryIncrement increment) {
+        // no summary to update
+    }
+
     /**
      * Retrieves all replay metadata items for a given replay ID as AWS DTOs.
      *
@@ -20,7 +20,13 @@ import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
-import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -36,9 +42,21 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -47,11 +65,16 @@ import java.util.logging.Logger;
  * This class polls the SQS queue for replay messages and processes them.
  * The messages are published to a single SNS topic but consumed from a single SQS queue.
  * The operation type (replay or reindex) is determined from message attributes.
+ * Messages are processed on a worker pool with a bounded number of messages in flight, so the next
+ * long poll is issued while earlier messages are still being processed. Visibility of in-flight
+ * messages is extended periodically, and acknowledgements are sent with DeleteMessageBatch.
  */
 @Component
 @ConditionalOnProperty(value = "feature.replay.enabled", havingValue = "true")
 public class ReplaySubscriptionMessageHandler {
     public static final int MAX_DELIVERY_COUNT = 3;
+    static final int SQS_MAX_BATCH_SIZE = 10;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 10;
     private static final Logger logger = Logger.getLogger(ReplaySubscriptionMessageHandler.class.getName());
     
     private SqsClient sqsClient;
@@ -70,9 +93,28 @@ public class ReplaySubscriptionMessageHandler {
     
     @Value("${replay.visibility-timeout-seconds:300}")
     private int visibilityTimeoutSeconds;
+
+    @Value("${replay.consumer.max-in-flight:10}")
+    private int maxInFlight;
+
+    @Value("${replay.consumer.visibility-extension-interval-seconds:0}")
+    private int visibilityExtensionIntervalSeconds;
     
     private String replayQueueUrl;
 
+    private Semaphore inFlightPermits;
+
+    private ExecutorService workerPool;
+
+    private ScheduledExecutorService visibilityExtender;
+
+    private final Map<String, Message> inFlightMessages = new ConcurrentHashMap<>();
+
+    // a message released from the extender is not extended by a batch that is still being sent
+    private final Object visibilityLock = new Object();
+
+    private final Queue<Message> pendingAcknowledgements = new ConcurrentLinkedQueue<>();
+
     public ReplaySubscriptionMessageHandler(ReplayMessageHandler replayMessageHandler, ObjectMapper objectMapper, RequestScopeUtil requestScopeUtil) {
         this.replayMessageHandler = replayMessageHandler;
         this.objectMapper = objectMapper;
@@ -93,9 +135,30 @@ public class ReplaySubscriptionMessageHandler {
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        if (visibilityExtender != null) {
+            visibilityExtender.shutdownNow();
+        }
+        if (workerPool != null) {
+            workerPool.shutdown();
+            try {
+                if (!workerPool.awaitTermination(visibilityTimeoutSeconds, TimeUnit.SECONDS)) {
+                    workerPool.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                workerPool.shutdownNow();
+            }
+        }
+        flushAcknowledgements();
+    }
+
     /**
      * Polls the SQS queue for replay messages at a fixed interval.
      * The messages come from the consolidated SNS topic but are delivered to a single SQS queue.
+     * Only as many messages are requested as there are free in-flight slots; processing happens
+     * on the worker pool so the scheduler thread is free for the next long poll.
      */
     @Scheduled(fixedDelayString = "${aws.sqs.polling-interval-ms:1000}")
     public void pollMessages() {
@@ -103,11 +166,19 @@ public class ReplaySubscriptionMessageHandler {
             logger.warning("SQS queue URL is not initialized. Skipping message polling.");
             return;
         }
+        ensureConsumerStarted();
+        flushAcknowledgements();
+
+        int capacity = Math.min(SQS_MAX_BATCH_SIZE, inFlightPermits.availablePermits());
+        if (capacity == 0) {
+            logger.fine("All replay message slots are in use. Skipping message polling.");
+            return;
+        }
         
         // First, poll for messages outside the request context
         ReceiveMessageRequest receiveRequest = ReceiveMessageRequest.builder()
                 .queueUrl(replayQueueUrl)
-                .maxNumberOfMessages(10)
+                .maxNumberOfMessages(capacity)
                 .waitTimeSeconds(5)
                 .visibilityTimeout(visibilityTimeoutSeconds)
                 .messageSystemAttributeNamesWithStrings("ApproximateReceiveCount")
@@ -116,9 +187,166 @@ public class ReplaySubscriptionMessageHandler {
             
         ReceiveMessageResponse response = sqsClient.receiveMessage(receiveRequest);
         
-        // Process each message in its own request context
+        // Process each message in its own request context on the worker pool
         for (Message message : response.messages()) {
-            processMessage(message);
+            dispatch(message);
+        }
+    }
+
+    /**
+     * Waits until all dispatched messages have been processed and sends any pending acknowledgements.
+     *
+     * @return true if the consumer became idle before the timeout
+     */
+    boolean drain(long timeout, TimeUnit unit) throws InterruptedException {
+        if (inFlightPermits == null) {
+            return true;
+        }
+        int permits = getMaxInFlight();
+        if (!inFlightPermits.tryAcquire(permits, timeout, unit)) {
+            return false;
+        }
+        inFlightPermits.release(permits);
+        flushAcknowledgements();
+        return true;
+    }
+
+    private synchronized void ensureConsumerStarted() {
+        if (workerPool != null) {
+            return;
+        }
+        int permits = getMaxInFlight();
+        inFlightPermits = new Semaphore(permits);
+        workerPool = Executors.newFixedThreadPool(permits, runnable -> {
+            Thread thread = new Thread(runnable, "replay-consumer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int extensionInterval = visibilityExtensionIntervalSeconds > 0
+                ? visibilityExtensionIntervalSeconds
+                : Math.max(1, visibilityTimeoutSeconds / 2);
+        visibilityExtender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replay-visibility-extender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        visibilityExtender.scheduleWithFixedDelay(this::extendVisibility, extensionInterval, extensionInterval, TimeUnit.SECONDS);
+    }
+
+    private int getMaxInFlight() {
+        return maxInFlight > 0 ? maxInFlight : DEFAULT_MAX_IN_FLIGHT;
+    }
+
+    private void dispatch(Message message) {
+        inFlightPermits.acquireUninterruptibly();
+        inFlightMessages.put(message.messageId(), message);
+        try {
+            workerPool.execute(() -> {
+                try {
+                    processMessage(message);
+                } finally {
+                    releaseVisibility(message);
+                    inFlightPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the consumer is shutting down; the message becomes visible again after its timeout
+            inFlightMessages.remove(message.messageId());
+            inFlightPermits.release();
+        }
+    }
+
+    /**
+     * Keeps long-running messages invisible to other consumers by resetting their visibility timeout.
+     */
+    void extendVisibility() {
+        List<Message> messages = new ArrayList<>(inFlightMessages.values());
+        for (int from = 0; from < messages.size(); from += SQS_MAX_BATCH_SIZE) {
+            synchronized (visibilityLock) {
+                List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>();
+                for (Message message : messages.subList(from, Math.min(from + SQS_MAX_BATCH_SIZE, messages.size()))) {
+                    if (!inFlightMessages.containsKey(message.messageId())) {
+                        continue;
+                    }
+                    entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                            .id(message.messageId())
+                            .receiptHandle(message.receiptHandle())
+                            .visibilityTimeout(visibilityTimeoutSeconds)
+                            .build());
+                }
+                if (entries.isEmpty()) {
+                    continue;
+                }
+                try {
+                    ChangeMessageVisibilityBatchResponse response = sqsClient.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                            .queueUrl(replayQueueUrl)
+                            .entries(entries)
+                            .build());
+                    for (BatchResultErrorEntry failed : response.failed()) {
+                        logger.warning(() -> String.format("Failed to extend visibility of replay message %s: %s", failed.id(), failed.message()));
+                    }
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, String.format("Failed to extend visibility of replay messages: %s", e.getMessage()), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops extending the visibility of the message. Once this returns, no extension of the message is sent, so a
+     * visibility timeout set afterwards, e.g. the retry backoff, is not overwritten.
+     */
+    private void releaseVisibility(Message message) {
+        synchronized (visibilityLock) {
+            inFlightMessages.remove(message.messageId());
+        }
+    }
+
+    private void acknowledge(Message message) {
+        pendingAcknowledgements.add(message);
+        if (pendingAcknowledgements.size() >= SQS_MAX_BATCH_SIZE) {
+            flushAcknowledgements();
+        }
+    }
+
+    /**
+     * Deletes acknowledged messages from the queue in batches of up to ten entries.
+     */
+    void flushAcknowledgements() {
+        List<Message> batch = new ArrayList<>();
+        Message next;
+        while ((next = pendingAcknowledgements.poll()) != null) {
+            batch.add(next);
+            if (batch.size() == SQS_MAX_BATCH_SIZE) {
+                deleteBatch(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleteBatch(batch);
+        }
+    }
+
+    private void deleteBatch(List<Message> messages) {
+        List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>();
+        for (Message message : messages) {
+            entries.add(DeleteMessageBatchRequestEntry.builder()
+                    .id(message.messageId())
+                    .receiptHandle(message.receiptHandle())
+                    .build());
+        }
+        try {
+            DeleteMessageBatchResponse response = sqsClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                    .queueUrl(replayQueueUrl)
+                    .entries(entries)
+                    .build());
+            for (BatchResultErrorEntry failed : response.failed()) {
+                // the message becomes visible again and is retried or dead lettered on a later delivery
+                logger.warning(() -> String.format("Failed to delete replay message %s: %s", failed.id(), failed.message()));
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, String.format("Failed to delete %d replay messages: %s", entries.size(), e.getMessage()), e);
         }
     }
     
@@ -146,9 +374,10 @@ public class ReplaySubscriptionMessageHandler {
             requestScopeUtil.executeInRequestScope(() -> {
                 try {
                     replayMessageHandler.handle(replayMessage);
-                    sqsClient.deleteMessage(DeleteMessageRequest.builder().queueUrl(replayQueueUrl).receiptHandle(message.receiptHandle()).build());
+                    acknowledge(message);
                 } catch (Exception e) {
                     logger.log(Level.SEVERE, String.format("Error processing replay message: %s",e.getMessage()), e);
+                    releaseVisibility(message);
                     handleMessageError(message, unwrappedMessageBody);
                 }
             }, headers);
@@ -156,7 +385,7 @@ public class ReplaySubscriptionMessageHandler {
         } catch (Exception e) {
             logger.log(Level.SEVERE, String.format("Error preparing replay message: %s", e.getMessage()), e);
             // If we can't even parse the message, just delete it
-            sqsClient.deleteMessage(DeleteMessageRequest.builder().queueUrl(replayQueueUrl).receiptHandle(message.receiptHandle()).build());
+            acknowledge(message);
         }
     }
 
@@ -224,7 +453,7 @@ public class ReplaySubscriptionMessageHandler {
                 // Dead letter the message after max retries
                 logger.log(Level.SEVERE, () -> String.format("Max delivery attempts reached for message, sending to dead letter: %s", replayMessage.getBody().getReplayId()));
                 replayMessageHandler.handleFailure(replayMessage);
-                sqsClient.deleteMessage(DeleteMessageRequest.builder().queueUrl(replayQueueUrl).receiptHandle(message.receiptHandle()).build());
+                acknowledge(message);
             } else {
                 // Return to queue for retry with backoff
                 int backoffMultiplier = (int)Math.pow(2, (double)receiveCount - 1);
@@ -235,7 +464,7 @@ public class ReplaySubscriptionMessageHandler {
         } catch (Exception ex) {
             // If we can't even parse the message, just delete it
             logger.log(Level.SEVERE, String.format("Failed to process message error handling, deleting from queue: %s", ex.getMessage()), ex);
-            sqsClient.deleteMessage(DeleteMessageRequest.builder().queueUrl(replayQueueUrl).receiptHandle(message.receiptHandle()).build());
+            acknowledge(message);
         }
     }
 }
@@ -16,10 +16,12 @@ package org.opengroup.osdu.storage.provider.aws.util.s3;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -29,9 +31,12 @@ import org.opengroup.osdu.core.common.model.http.AppException;
 import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
 import org.opengroup.osdu.storage.provider.aws.util.WorkerThreadPool;
+import org.opengroup.osdu.storage.service.read.HedgedBlobReader;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import jakarta.inject.Inject;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 
 @Component
 public class RecordsUtil {
@@ -47,6 +52,15 @@ public class RecordsUtil {
     @Inject
     private DpsHeaders headers;
 
+    @Autowired(required = false)
+    private S3AsyncRecordClient s3AsyncRecordClient;
+
+    @Inject
+    private HedgedBlobReader hedgedBlobReader;
+
+    private static final String EMPTY_S3_MSG = "S3 returned empty record contents";
+    private static final String BLOB_READ_BACKEND = "s3";
+
     public RecordsUtil(S3RecordClient s3RecordClient){
         this.s3RecordClient = s3RecordClient;       
     }
@@ -55,55 +69,40 @@ public class RecordsUtil {
 
         String dataPartition = headers.getPartitionIdWithFallbackToAccountId();
 
-
-        Map<String, String> map = new HashMap<>();
-        List<CompletableFuture<GetRecordFromVersionTask>> futures = new ArrayList<>();
-
-        try {
-            for (Map.Entry<String, String> object : objects.entrySet()) {
-                GetRecordFromVersionTask task = new GetRecordFromVersionTask(s3RecordClient, object.getKey(), object.getValue(), dataPartition);
-                CompletableFuture<GetRecordFromVersionTask> future = CompletableFuture.supplyAsync(task::call, threadPool.getThreadPool());
-                futures.add(future);
-            }
-
-            CompletableFuture<?>[] cfs = futures.toArray(CompletableFuture[]::new);
-            CompletableFuture<List<GetRecordFromVersionTask>> results = CompletableFuture.allOf(cfs)
-                    .thenApply(ignored -> futures.stream()
-                            .map(CompletableFuture::join)
-                            .collect(Collectors.toList()));
-
-            List<GetRecordFromVersionTask> getRecordFromVersionTasks = results.get();
-            for (GetRecordFromVersionTask task : getRecordFromVersionTasks) {
-                if (task.getException() != null
-                        || task.getResult() == CallableResult.FAIL) {
-
-                            logger.error(String.format("%s failed getting record from S3 with exception: %s"
-                            , task.getRecordId()
-                            , task.getException().getMessage()
-                    ));
-                } else {
-                    map.put(task.getRecordId(), task.getRecordContents());
-                }
-            }
-        } catch (Exception e) {
-            Thread.currentThread().interrupt();
-            if (e.getCause() instanceof AppException appException) {
-                throw appException;
-            } else {
-                throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error during record ingestion",
-                        e.getMessage(), e);
-            }
+        if (s3AsyncRecordClient != null) {
+            return getRecordsValuesByKey(objects, dataPartition);
         }
 
-        return map;
+        return hedgedBlobReader.readAll(BLOB_READ_BACKEND, dataPartition, objects, (recordId, versionPath) -> CompletableFuture
+                .supplyAsync(new GetRecordFromVersionTask(s3RecordClient, recordId, versionPath, dataPartition)::call, threadPool.getThreadPool())
+                .thenApply(task -> {
+                    if (task.getException() != null
+                            || task.getResult() == CallableResult.FAIL) {
+                        logger.error(String.format("%s failed getting record from S3 with exception: %s"
+                                , task.getRecordId()
+                                , task.getException().getMessage()
+                        ));
+                        return null;
+                    }
+                    return task.getRecordContents();
+                }));
     }
 
     public Map<String, String> getRecordsValuesById(Collection<RecordMetadata> recordMetadatas) {
         
         String dataPartition = headers.getPartitionIdWithFallbackToAccountId();
 
+        if (s3AsyncRecordClient != null) {
+            Map<String, String> keys = new HashMap<>();
+            for (RecordMetadata recordMetadata : recordMetadatas) {
+                keys.put(recordMetadata.getId(), recordMetadata.getVersionPath(recordMetadata.getLatestVersion()));
+            }
+            return getRecordsValuesByKey(keys, dataPartition);
+        }
+
+        // the tasks add to this map from the worker threads
         AtomicReference<Map<String, String>> map = new AtomicReference<>();
-        map.set(new HashMap<>());
+        map.set(Collections.synchronizedMap(new HashMap<>()));
         List<CompletableFuture<GetRecordTask>> futures = new ArrayList<>();
 
         try {
@@ -141,4 +140,27 @@ public class RecordsUtil {
 
         return map.get();
     }
+
+    /**
+     * Reads the objects through the async client without holding a worker thread per read.
+     * Records S3 could not return are left out of the result, as with the blocking client.
+     */
+    private Map<String, String> getRecordsValuesByKey(Map<String, String> keysById, String dataPartition) {
+        return hedgedBlobReader.readAll(BLOB_READ_BACKEND, dataPartition, keysById, (recordId, key) -> s3AsyncRecordClient.getRecord(key, dataPartition)
+                .handle((recordContents, error) -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof AwsServiceException) {
+                        logger.error(String.format("%s failed getting record from S3 with exception: %s", recordId, cause.getMessage()));
+                        return null;
+                    }
+                    if (cause != null) {
+                        throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error getting record", cause.getMessage(), cause);
+                    }
+                    if (recordContents == null || recordContents.isEmpty()) {
+                        logger.error(String.format("%s failed getting record from S3 with exception: %s", recordId, EMPTY_S3_MSG));
+                        return null;
+                    }
+                    return recordContents;
+                }));
+    }
 }
@@ -0,0 +1,133 @@
+// Copyright © Amazon Web Services
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.provider.aws.util.s3;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import org.opengroup.osdu.core.aws.v2.s3.IS3ClientFactory;
+import org.opengroup.osdu.core.aws.v2.s3.S3ClientWithBucket;
+import org.opengroup.osdu.storage.provider.aws.util.WorkerThreadPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ServiceClientConfiguration;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * Non-blocking record reads on the S3 async client. Reads do not hold a worker thread while waiting on
+ * the network; the number of requests in flight is bounded instead, and the caller only blocks once
+ * that bound is reached. The connection pool of each client is sized to that bound, so permitted requests do not queue
+ * for a connection. The SDK collects a response body into one byte array, which is decoded without a further copy.
+ * Each partition gets its own async client with the region and credentials of the partition's S3 client from the
+ * client factory.
+ */
+@Component
+@ConditionalOnProperty(value = "aws.s3.async-client.enabled", havingValue = "true")
+public class S3AsyncRecordClient {
+
+    @Inject
+    private IS3ClientFactory s3ClientFactory;
+
+    @Inject
+    private WorkerThreadPool workerThreadPool;
+
+    @Value("${aws.s3.recordsBucket.ssm.relativePath}")
+    private String s3RecordsBucketParameterRelativePath;
+
+    @Value("${aws.s3.async-client.max-in-flight:256}")
+    private int maxInFlight;
+
+    @Value("${aws.s3.async-client.connection-acquisition-timeout-ms:10000}")
+    private long connectionAcquisitionTimeoutMs;
+
+    private Function<S3Client, S3AsyncClient> asyncClientBuilder = this::buildAsyncClient;
+
+    private Semaphore inFlightPermits;
+
+    private final Map<String, PartitionClient> partitionClients = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        inFlightPermits = new Semaphore(Math.max(1, maxInFlight));
+    }
+
+    @PreDestroy
+    public void close() {
+        partitionClients.values().forEach(partitionClient -> partitionClient.s3AsyncClient().close());
+        partitionClients.clear();
+    }
+
+    /**
+     * Reads the object at the given key. The returned future fails with the SDK exception when the read fails.
+     * This function is called outside of the request scope and so it CANNOT log messages
+     */
+    public CompletableFuture<String> getRecord(String keyName, String dataPartition) {
+        PartitionClient partitionClient = getPartitionClient(dataPartition);
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(partitionClient.bucketName())
+                .key(keyName)
+                .build();
+
+        inFlightPermits.acquireUninterruptibly();
+        CompletableFuture<ResponseBytes<GetObjectResponse>> response;
+        try {
+            response = partitionClient.s3AsyncClient().getObject(request, AsyncResponseTransformer.toBytes());
+        } catch (RuntimeException e) {
+            inFlightPermits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return response
+                .whenComplete((bytes, e) -> inFlightPermits.release())
+                .thenApply(bytes -> StandardCharsets.UTF_8.decode(bytes.asByteBuffer()).toString());
+    }
+
+    private PartitionClient getPartitionClient(String dataPartition) {
+        return partitionClients.computeIfAbsent(dataPartition, partition -> {
+            s3ClientFactory.setConfig(workerThreadPool.getClientConfiguration(), workerThreadPool.getThreadNumber());
+            S3ClientWithBucket s3ClientWithBucket = s3ClientFactory.getS3ClientForPartition(partition, s3RecordsBucketParameterRelativePath);
+            return new PartitionClient(asyncClientBuilder.apply(s3ClientWithBucket.getS3Client()), s3ClientWithBucket.getBucketName());
+        });
+    }
+
+    private S3AsyncClient buildAsyncClient(S3Client s3Client) {
+        S3ServiceClientConfiguration configuration = s3Client.serviceClientConfiguration();
+        return S3AsyncClient.builder()
+                .region(configuration.region())
+                .credentialsProvider(configuration.credentialsProvider())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(Math.max(1, maxInFlight))
+                        .connectionAcquisitionTimeout(Duration.ofMillis(connectionAcquisitionTimeoutMs)))
+                .build();
+    }
+
+    private record PartitionClient(S3AsyncClient s3AsyncClient, String bucketName) {
+    }
+}
@@ -14,6 +14,9 @@
 
 package org.opengroup.osdu.storage.provider.aws.util.s3;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.nio.charset.StandardCharsets;
@@ -38,7 +41,13 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 
@@ -69,6 +78,14 @@ public class S3RecordClient {
 
     private static final String RECORD_GET_ERROR_MSG = "Error getting record";
 
+    // S3 accepts at most 1000 keys per DeleteObjects request
+    static final int MAX_KEYS_PER_DELETE = 1000;
+
+    static final int MAX_DELETE_ATTEMPTS = 3;
+
+    // Gson is thread-safe, so one instance serves every upload
+    private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+
     private S3ClientWithBucket getS3ClientWithBucket(String dataPartition) {
         s3ClientFactory.setConfig(workerThreadPool.getClientConfiguration(), workerThreadPool.getThreadNumber());
         return s3ClientFactory.getS3ClientForPartition(dataPartition, s3RecordsBucketParameterRelativePath);
@@ -86,10 +103,9 @@ public class S3RecordClient {
         String recordsBucketName = s3ClientWithBucket.getBucketName();
 
 
-        Gson gson = new GsonBuilder().serializeNulls().create();
         RecordMetadata recordMetadata = recordProcessing.getRecordMetadata();
         RecordData recordData = recordProcessing.getRecordData();
-        String content = gson.toJson(recordData);
+        String content = GSON.toJson(recordData);
         String keyName = getKeyNameForLatestVersion(recordMetadata);
         PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                 .bucket(recordsBucketName)
@@ -161,6 +177,55 @@ public class S3RecordClient {
         }
     }
 
+    /**
+     * Deletes the objects with multi-object DeleteObjects requests of up to {@link #MAX_KEYS_PER_DELETE} keys.
+     * Keys that S3 reports as failed, or that were in a request that failed as a whole, are retried up to
+     * {@link #MAX_DELETE_ATTEMPTS} times in total.
+     * @return the keys that could still not be deleted, with the last error reported for each
+     */
+    public Map<String, String> deleteRecords(List<String> keyNames, String dataPartition) {
+
+        S3ClientWithBucket s3ClientWithBucket = getS3ClientWithBucket(dataPartition);
+        S3Client s3 = s3ClientWithBucket.getS3Client();
+        String recordsBucketName = s3ClientWithBucket.getBucketName();
+
+        Map<String, String> failed = new LinkedHashMap<>();
+        List<String> pending = new ArrayList<>(keyNames);
+        for (int attempt = 1; attempt <= MAX_DELETE_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            failed.clear();
+            for (int from = 0; from < pending.size(); from += MAX_KEYS_PER_DELETE) {
+                List<String> chunk = pending.subList(from, Math.min(from + MAX_KEYS_PER_DELETE, pending.size()));
+                failed.putAll(deleteChunk(s3, recordsBucketName, chunk));
+            }
+            pending = new ArrayList<>(failed.keySet());
+        }
+        return failed;
+    }
+
+    private Map<String, String> deleteChunk(S3Client s3, String recordsBucketName, List<String> keyNames) {
+        Map<String, String> failed = new LinkedHashMap<>();
+        List<ObjectIdentifier> objects = new ArrayList<>();
+        for (String keyName : keyNames) {
+            objects.add(ObjectIdentifier.builder().key(keyName).build());
+        }
+        try {
+            DeleteObjectsResponse response = s3.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(recordsBucketName)
+                    .delete(Delete.builder().objects(objects).quiet(true).build())
+                    .build());
+            if (response != null && response.hasErrors()) {
+                for (S3Error error : response.errors()) {
+                    failed.put(error.key(), error.code() + ": " + error.message());
+                }
+            }
+        } catch (SdkClientException | S3Exception e) {
+            for (String keyName : keyNames) {
+                failed.put(keyName, e.getMessage());
+            }
+        }
+        return failed;
+    }
+
     public boolean checkIfRecordExists(RecordMetadata recordMetadata, String dataPartition) {
         
         S3ClientWithBucket s3ClientWithBucket = getS3ClientWithBucket(dataPartition);
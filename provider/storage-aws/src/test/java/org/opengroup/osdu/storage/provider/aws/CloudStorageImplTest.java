@@ -179,18 +179,31 @@ class CloudStorageImplTest {
     @Test
     void delete(){
         // arrange
-        Mockito.doNothing().when(s3RecordClient).deleteRecord(path, dataPartition);
         when(record.hasVersion()).thenReturn(true);
         
         List<String> list = new ArrayList<String>();
         list.add(path);
         when(record.getGcsVersionPaths()).thenReturn(list);
+        when(s3RecordClient.deleteRecords(list, dataPartition)).thenReturn(new HashMap<>());
 
         // act
         repo.delete(record);
 
         // assert
-        verify(s3RecordClient, Mockito.times(1)).deleteRecord(path, dataPartition);
+        verify(s3RecordClient, Mockito.times(1)).deleteRecords(list, dataPartition);
+    }
+
+    @Test
+    void delete_throwsException_whenObjectsCouldNotBeDeleted() {
+        when(record.hasVersion()).thenReturn(true);
+        List<String> list = Arrays.asList(path, "kind/id/2");
+        when(record.getGcsVersionPaths()).thenReturn(list);
+        when(s3RecordClient.deleteRecords(list, dataPartition)).thenReturn(Collections.singletonMap("kind/id/2", "InternalError: retry"));
+
+        AppException exception = assertThrows(AppException.class, () -> repo.delete(record));
+
+        assertEquals(500, exception.getError().getCode());
+        assertTrue(exception.getError().getMessage().contains("kind/id/2"));
     }
 
     @Test
@@ -200,7 +213,7 @@ class CloudStorageImplTest {
         list.add(path);
         when(record.getGcsVersionPaths()).thenReturn(list);
         repo.delete(record);
-        verify(s3RecordClient, times(0)).deleteRecord(anyString(), any());
+        verify(s3RecordClient, times(0)).deleteRecords(any(), any());
     }
 
     @Test
@@ -214,11 +227,11 @@ class CloudStorageImplTest {
 
         List<String> versionPaths = Arrays.asList("versionPath1", "versionPath2");
         when(headers.getPartitionIdWithFallbackToAccountId()).thenReturn(dataPartition);
+        when(s3RecordClient.deleteRecords(versionPaths, dataPartition)).thenReturn(new HashMap<>());
 
         repo.deleteVersions(versionPaths);
 
-        versionPaths.forEach(versionPath ->
-                verify(s3RecordClient, times(1)).deleteRecordVersion(versionPath, dataPartition));
+        verify(s3RecordClient, times(1)).deleteRecords(versionPaths, dataPartition);
 
     }
 
@@ -0,0 +1,246 @@
+// Copyright © Amazon Web Services
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.provider.aws.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opengroup.osdu.storage.dto.ReplayMessage;
+import org.opengroup.osdu.storage.provider.aws.util.RequestScopeUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the replay consumer against an in-process SQS stand-in, with latency injected per message.
+ */
+public class ReplaySubscriptionConsumerTest {
+
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/replay-records-queue";
+    private static final int MAX_IN_FLIGHT = 4;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Long> latencyByReplayId = new ConcurrentHashMap<>();
+    private final Set<String> handled = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private InProcessSqs sqs;
+    private ReplaySubscriptionMessageHandler consumer;
+
+    @Before
+    public void setUp() {
+        sqs = new InProcessSqs();
+        ReplayMessageHandler replayMessageHandler = mock(ReplayMessageHandler.class);
+        doAnswer(invocation -> {
+            ReplayMessage message = invocation.getArgument(0);
+            String replayId = message.getBody().getReplayId();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latencyByReplayId.getOrDefault(replayId, 20L));
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            handled.add(replayId);
+            return null;
+        }).when(replayMessageHandler).handle(any(ReplayMessage.class));
+
+        consumer = new ReplaySubscriptionMessageHandler(replayMessageHandler, objectMapper, new RequestScopeUtil());
+        ReflectionTestUtils.setField(consumer, "sqsClient", sqs);
+        ReflectionTestUtils.setField(consumer, "replayQueueUrl", QUEUE_URL);
+        ReflectionTestUtils.setField(consumer, "visibilityTimeoutSeconds", 300);
+        ReflectionTestUtils.setField(consumer, "maxInFlight", MAX_IN_FLIGHT);
+    }
+
+    @After
+    public void tearDown() {
+        consumer.shutdown();
+    }
+
+    @Test
+    public void should_processMessagesConcurrently_withinInFlightLimit() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            sqs.send("replay-" + i);
+        }
+
+        while (!sqs.isEmpty()) {
+            consumer.pollMessages();
+        }
+        assertTrue(consumer.drain(10, TimeUnit.SECONDS));
+
+        assertEquals(20, handled.size());
+        assertTrue(maxInFlight.get() > 1);
+        assertTrue(maxInFlight.get() <= MAX_IN_FLIGHT);
+        assertEquals(0, sqs.unacknowledged());
+        assertTrue(sqs.deleteBatchCalls.get() < 20);
+    }
+
+    @Test
+    public void should_notBlockOtherMessages_when_oneMessageIsSlow() throws Exception {
+        latencyByReplayId.put("slow", 2000L);
+        sqs.send("slow");
+        for (int i = 0; i < 6; i++) {
+            sqs.send("fast-" + i);
+        }
+
+        long start = System.currentTimeMillis();
+        while (handled.size() < 6 && System.currentTimeMillis() - start < 1500) {
+            consumer.pollMessages();
+            Thread.sleep(10);
+        }
+
+        assertEquals(6, handled.size());
+        assertFalse(handled.contains("slow"));
+        assertTrue(consumer.drain(10, TimeUnit.SECONDS));
+        assertTrue(handled.contains("slow"));
+    }
+
+    @Test
+    public void should_extendVisibility_ofMessagesStillInFlight() throws Exception {
+        latencyByReplayId.put("long-running", 1000L);
+        sqs.send("long-running");
+
+        consumer.pollMessages();
+        Thread.sleep(200);
+        consumer.extendVisibility();
+
+        assertEquals(Collections.singletonList(300), sqs.visibilityChanges.get(sqs.messageIdOf("long-running")));
+        assertTrue(consumer.drain(10, TimeUnit.SECONDS));
+        assertEquals(0, sqs.unacknowledged());
+    }
+
+    private String body(String replayId) throws Exception {
+        String message = String.format(
+                "{\"headers\":{\"data-partition-id\":\"test-partition\"},\"body\":{\"replayId\":\"%s\",\"kind\":\"test-kind\",\"operation\":\"replay\"}}",
+                replayId);
+        Map<String, String> snsWrapper = new HashMap<>();
+        snsWrapper.put("Message", message);
+        return objectMapper.writeValueAsString(snsWrapper);
+    }
+
+    /**
+     * Minimal single-queue SQS: receive hands out messages once, deletes and visibility changes are recorded.
+     */
+    private class InProcessSqs implements SqsClient {
+        private final Deque<Message> visible = new ConcurrentLinkedDeque<>();
+        private final Map<String, Message> received = new ConcurrentHashMap<>();
+        private final Map<String, String> messageIds = new ConcurrentHashMap<>();
+        private final Map<String, List<Integer>> visibilityChanges = new ConcurrentHashMap<>();
+        private final AtomicInteger deleteBatchCalls = new AtomicInteger();
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        void send(String replayId) throws Exception {
+            String id = "message-" + sequence.incrementAndGet();
+            messageIds.put(replayId, id);
+            visible.add(Message.builder()
+                    .messageId(id)
+                    .receiptHandle("receipt-" + id)
+                    .attributes(Collections.singletonMap(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, "1"))
+                    .body(body(replayId))
+                    .build());
+        }
+
+        boolean isEmpty() {
+            return visible.isEmpty();
+        }
+
+        int unacknowledged() {
+            return visible.size() + received.size();
+        }
+
+        String messageIdOf(String replayId) {
+            return messageIds.get(replayId);
+        }
+
+        @Override
+        public ReceiveMessageResponse receiveMessage(ReceiveMessageRequest request) {
+            List<Message> messages = new ArrayList<>();
+            Message next;
+            while (messages.size() < request.maxNumberOfMessages() && (next = visible.poll()) != null) {
+                received.put(next.receiptHandle(), next);
+                messages.add(next);
+            }
+            return ReceiveMessageResponse.builder().messages(messages).build();
+        }
+
+        @Override
+        public DeleteMessageBatchResponse deleteMessageBatch(DeleteMessageBatchRequest request) {
+            deleteBatchCalls.incrementAndGet();
+            assertTrue(request.entries().size() <= ReplaySubscriptionMessageHandler.SQS_MAX_BATCH_SIZE);
+            for (DeleteMessageBatchRequestEntry entry : request.entries()) {
+                received.remove(entry.receiptHandle());
+            }
+            return DeleteMessageBatchResponse.builder().build();
+        }
+
+        @Override
+        public ChangeMessageVisibilityBatchResponse changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest request) {
+            for (ChangeMessageVisibilityBatchRequestEntry entry : request.entries()) {
+                visibilityChanges.computeIfAbsent(entry.id(), k -> new ArrayList<>()).add(entry.visibilityTimeout());
+            }
+            return ChangeMessageVisibilityBatchResponse.builder().build();
+        }
+
+        @Override
+        public ChangeMessageVisibilityResponse changeMessageVisibility(ChangeMessageVisibilityRequest request) {
+            Message message = received.remove(request.receiptHandle());
+            if (message != null) {
+                visible.add(message);
+            }
+            return ChangeMessageVisibilityResponse.builder().build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "sqs";
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
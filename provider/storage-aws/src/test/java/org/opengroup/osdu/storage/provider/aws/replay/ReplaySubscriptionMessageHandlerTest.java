@@ -18,12 +18,15 @@ import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
-import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
 import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -39,7 +42,9 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -78,6 +83,11 @@ public class ReplaySubscriptionMessageHandlerTest {
         ReflectionTestUtils.setField(messageHandler, "replayQueueUrl", REPLAY_QUEUE_URL);
     }
 
+    @After
+    public void tearDown() {
+        messageHandler.shutdown();
+    }
+
     @Test
     public void testPollMessagesWithNoMessages() {
         // Mock behavior
@@ -86,6 +96,7 @@ public class ReplaySubscriptionMessageHandlerTest {
         
         // Execute
         messageHandler.pollMessages();
+        assertTrue(messageHandler.drain(5, TimeUnit.SECONDS));
         
         // Verify
         verify(sqsClient).receiveMessage(any(ReceiveMessageRequest.class));
@@ -140,11 +151,12 @@ public class ReplaySubscriptionMessageHandlerTest {
         
         // Execute
         messageHandler.pollMessages();
+        assertTrue(messageHandler.drain(5, TimeUnit.SECONDS));
         
         // Verify
         verify(sqsClient).receiveMessage(any(ReceiveMessageRequest.class));
         verify(replayMessageHandler).handle(any(ReplayMessage.class));
-        verify(sqsClient).deleteMessage(DeleteMessageRequest.builder().queueUrl(REPLAY_QUEUE_URL).receiptHandle(receiptHandle).build());
+        verify(sqsClient).deleteMessageBatch(deleteBatchRequest(messageId, receiptHandle));
 
     }
 
@@ -196,11 +208,12 @@ public class ReplaySubscriptionMessageHandlerTest {
         
         // Execute
         messageHandler.pollMessages();
+        assertTrue(messageHandler.drain(5, TimeUnit.SECONDS));
         
         // Verify
         verify(sqsClient).receiveMessage(any(ReceiveMessageRequest.class));
         verify(replayMessageHandler).handle(any(ReplayMessage.class));
-        verify(sqsClient).deleteMessage(DeleteMessageRequest.builder().queueUrl(REPLAY_QUEUE_URL).receiptHandle(receiptHandle).build());
+        verify(sqsClient).deleteMessageBatch(deleteBatchRequest(messageId, receiptHandle));
     }
 
     @Test
@@ -243,6 +256,7 @@ public class ReplaySubscriptionMessageHandlerTest {
         
         // Execute
         messageHandler.pollMessages();
+        assertTrue(messageHandler.drain(5, TimeUnit.SECONDS));
         
         // Verify
         verify(sqsClient).receiveMessage(any(ReceiveMessageRequest.class));
@@ -250,6 +264,43 @@ public class ReplaySubscriptionMessageHandlerTest {
         verify(sqsClient).changeMessageVisibility(ChangeMessageVisibilityRequest.builder().queueUrl(REPLAY_QUEUE_URL).receiptHandle(receiptHandle).visibilityTimeout(30).build());
     }
 
+    @Test
+    public void testRetryBackoffIsNotOverwrittenByVisibilityExtension() throws IOException {
+        String receiptHandle = "test-receipt-handle";
+        ObjectNode snsWrapper = createSnsWrapper("test-replay-id", "test-kind");
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("ApproximateReceiveCount", "2");
+        Message sqsMessage = Message.builder()
+                .messageId("test-message-id")
+                .receiptHandle(receiptHandle)
+                .attributesWithStrings(attributes)
+                .body(snsWrapper.toString())
+                .build();
+        ReplayMessage replayMessage = createReplayMessage("test-replay-id", "test-kind");
+
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder().messages(Arrays.asList(sqsMessage)).build();
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(response);
+        when(objectMapper.readTree(snsWrapper.toString())).thenReturn(snsWrapper);
+        when(objectMapper.readValue(anyString(), eq(ReplayMessage.class))).thenReturn(replayMessage);
+        doThrow(new RuntimeException("Test exception")).when(replayMessageHandler).handle(replayMessage);
+        doAnswer(invocation -> {
+            Runnable runnable = invocation.getArgument(0);
+            runnable.run();
+            return null;
+        }).when(requestScopeUtil).executeInRequestScope(any(Runnable.class), anyMap());
+        // the extender runs while the backoff is being applied
+        when(sqsClient.changeMessageVisibility(any(ChangeMessageVisibilityRequest.class))).thenAnswer(invocation -> {
+            messageHandler.extendVisibility();
+            return null;
+        });
+
+        messageHandler.pollMessages();
+        assertTrue(messageHandler.drain(5, TimeUnit.SECONDS));
+
+        verify(sqsClient).changeMessageVisibility(ChangeMessageVisibilityRequest.builder().queueUrl(REPLAY_QUEUE_URL).receiptHandle(receiptHandle).visibilityTimeout(60).build());
+        verify(sqsClient, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
     @Test
     public void testPollMessagesWithMaxDeliveryCountExceeded() throws IOException {
         // Prepare test data
@@ -291,12 +342,20 @@ public class ReplaySubscriptionMessageHandlerTest {
         
         // Execute
         messageHandler.pollMessages();
+        assertTrue(messageHandler.drain(5, TimeUnit.SECONDS));
         
         // Verify
         verify(sqsClient).receiveMessage(any(ReceiveMessageRequest.class));
         verify(replayMessageHandler).handle(replayMessage);
         verify(replayMessageHandler).handleFailure(replayMessage);
-        verify(sqsClient).deleteMessage(DeleteMessageRequest.builder().queueUrl(REPLAY_QUEUE_URL).receiptHandle(receiptHandle).build());
+        verify(sqsClient).deleteMessageBatch(deleteBatchRequest(messageId, receiptHandle));
+    }
+
+    private DeleteMessageBatchRequest deleteBatchRequest(String messageId, String receiptHandle) {
+        return DeleteMessageBatchRequest.builder()
+                .queueUrl(REPLAY_QUEUE_URL)
+                .entries(DeleteMessageBatchRequestEntry.builder().id(messageId).receiptHandle(receiptHandle).build())
+                .build();
     }
 
     private ObjectNode createSnsWrapper(String replayId, String kind) {
@@ -14,6 +14,7 @@
 
 package org.opengroup.osdu.storage.provider.aws.util.s3;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +26,8 @@ import org.opengroup.osdu.core.common.model.http.AppException;
 import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
 import org.opengroup.osdu.storage.provider.aws.util.WorkerThreadPool;
+import org.opengroup.osdu.storage.service.read.BlobReadConfig;
+import org.opengroup.osdu.storage.service.read.HedgedBlobReader;
 import org.springframework.test.util.ReflectionTestUtils;
 
 
@@ -65,6 +68,7 @@ class RecordUtilsTest {
     void setuUp() {
         openMocks(this);
         ReflectionTestUtils.setField(recordsUtil, "threadPool", threadPool);
+        ReflectionTestUtils.setField(recordsUtil, "hedgedBlobReader", new HedgedBlobReader(new BlobReadConfig(), new SimpleMeterRegistry()));
         when(headers.getPartitionIdWithFallbackToAccountId()).thenReturn(dataPartition);
     }
 
@@ -0,0 +1,191 @@
+// Copyright © Amazon Web Services
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.provider.aws.util.s3;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opengroup.osdu.core.aws.v2.s3.IS3ClientFactory;
+import org.opengroup.osdu.core.aws.v2.s3.S3ClientWithBucket;
+import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.storage.provider.aws.util.WorkerThreadPool;
+import org.opengroup.osdu.storage.service.read.BlobReadConfig;
+import org.opengroup.osdu.storage.service.read.HedgedBlobReader;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exercises the async client and the async RecordsUtil path against an in-process S3 stand-in
+ * that completes reads from a map after a fixed latency.
+ */
+class S3AsyncRecordClientTest {
+
+    private static final int MAX_IN_FLIGHT = 8;
+    private static final String BUCKET = "records-bucket";
+    private static final String DATA_PARTITION = "dummyPartitionName";
+
+    private final Map<String, String> objects = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final ScheduledExecutorService network = Executors.newScheduledThreadPool(2);
+
+    private final S3Client partitionS3Client = mock(S3Client.class);
+    private final List<S3Client> asyncClientSources = new CopyOnWriteArrayList<>();
+
+    private S3AsyncRecordClient client;
+    private RecordsUtil recordsUtil;
+
+    @BeforeEach
+    void setUp() {
+        S3ClientWithBucket s3ClientWithBucket = mock(S3ClientWithBucket.class);
+        when(s3ClientWithBucket.getBucketName()).thenReturn(BUCKET);
+        when(s3ClientWithBucket.getS3Client()).thenReturn(partitionS3Client);
+        IS3ClientFactory s3ClientFactory = mock(IS3ClientFactory.class);
+        when(s3ClientFactory.getS3ClientForPartition(anyString(), any())).thenReturn(s3ClientWithBucket);
+
+        S3AsyncClient s3StandIn = s3StandIn();
+        Function<S3Client, S3AsyncClient> asyncClientBuilder = s3Client -> {
+            asyncClientSources.add(s3Client);
+            return s3StandIn;
+        };
+        client = new S3AsyncRecordClient();
+        ReflectionTestUtils.setField(client, "s3ClientFactory", s3ClientFactory);
+        ReflectionTestUtils.setField(client, "workerThreadPool", new WorkerThreadPool(1));
+        ReflectionTestUtils.setField(client, "asyncClientBuilder", asyncClientBuilder);
+        ReflectionTestUtils.setField(client, "maxInFlight", MAX_IN_FLIGHT);
+        client.init();
+
+        DpsHeaders headers = mock(DpsHeaders.class);
+        when(headers.getPartitionIdWithFallbackToAccountId()).thenReturn(DATA_PARTITION);
+        recordsUtil = new RecordsUtil(mock(S3RecordClient.class));
+        ReflectionTestUtils.setField(recordsUtil, "headers", headers);
+        ReflectionTestUtils.setField(recordsUtil, "logger", mock(JaxRsDpsLog.class));
+        ReflectionTestUtils.setField(recordsUtil, "s3AsyncRecordClient", client);
+        ReflectionTestUtils.setField(recordsUtil, "hedgedBlobReader", new HedgedBlobReader(new BlobReadConfig(), new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        network.shutdownNow();
+    }
+
+    @Test
+    void getRecordsValuesById_readsAllRecords_withBoundedInFlightRequests() {
+        Map<String, String> keys = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            String key = "kind/record" + i + "/1";
+            objects.put(key, "{\"data\":{\"index\":" + i + "}}");
+            keys.put("record" + i, key);
+        }
+
+        Map<String, String> result = recordsUtil.getRecordsValuesById(keys);
+
+        assertEquals(100, result.size());
+        assertEquals("{\"data\":{\"index\":42}}", result.get("record42"));
+        assertTrue(maxInFlight.get() > 1);
+        assertTrue(maxInFlight.get() <= MAX_IN_FLIGHT);
+    }
+
+    @Test
+    void getRecord_buildsAsyncClientOncePerPartition_fromPartitionS3Client() throws Exception {
+        objects.put("kind/record1/1", "{}");
+
+        assertEquals("{}", client.getRecord("kind/record1/1", DATA_PARTITION).get(5, TimeUnit.SECONDS));
+        assertEquals("{}", client.getRecord("kind/record1/1", DATA_PARTITION).get(5, TimeUnit.SECONDS));
+        assertEquals("{}", client.getRecord("kind/record1/1", "otherPartition").get(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of(partitionS3Client, partitionS3Client), asyncClientSources);
+    }
+
+    @Test
+    void getRecordsValuesById_skipsMissingRecords() {
+        objects.put("kind/record1/1", "{}");
+        Map<String, String> keys = new HashMap<>();
+        keys.put("record1", "kind/record1/1");
+        keys.put("record2", "kind/record2/1");
+
+        Map<String, String> result = recordsUtil.getRecordsValuesById(keys);
+
+        assertEquals(1, result.size());
+        assertFalse(result.containsKey("record2"));
+    }
+
+    @Test
+    void getRecordsValuesById_throwsAppException_onClientFailure() {
+        objects.put("kind/record1/1", "{}");
+        Map<String, String> keys = new HashMap<>();
+        keys.put("record1", "kind/broken/1");
+
+        assertThrows(AppException.class, () -> recordsUtil.getRecordsValuesById(keys));
+    }
+
+    @SuppressWarnings("unchecked")
+    private S3AsyncClient s3StandIn() {
+        S3AsyncClient s3AsyncClient = mock(S3AsyncClient.class);
+        when(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgument(0);
+            assertEquals(BUCKET, request.bucket());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+            CompletableFuture<ResponseBytes<GetObjectResponse>> response = new CompletableFuture<>();
+            network.schedule(() -> {
+                inFlight.decrementAndGet();
+                String content = objects.get(request.key());
+                if (request.key().contains("broken")) {
+                    response.completeExceptionally(SdkClientException.create("connection reset"));
+                } else if (content == null) {
+                    response.completeExceptionally(NoSuchKeyException.builder().message("not found").build());
+                } else {
+                    response.complete(ResponseBytes.fromByteArray(GetObjectResponse.builder().build(),
+                            content.getBytes(StandardCharsets.UTF_8)));
+                }
+            }, 5, TimeUnit.MILLISECONDS);
+            return response;
+        });
+        return s3AsyncClient;
+    }
+}
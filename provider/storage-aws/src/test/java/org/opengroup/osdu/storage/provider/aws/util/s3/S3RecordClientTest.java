@@ -23,6 +23,10 @@ import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.core.exception.SdkClientException;
@@ -322,4 +326,92 @@ class S3RecordClientTest {
         assertThrows(AppException.class, () -> client.deleteRecordVersion(recordMetadata, 1L, dataPartition));
     }
 
+    @Test
+    void deleteRecords_usesOneRequestPerThousandKeys() {
+        Set<String> stored = new HashSet<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            keys.add("kind/id" + i + "/1");
+        }
+        stored.addAll(keys);
+        givenS3StandIn(stored, new HashMap<>());
+
+        Map<String, String> failed = client.deleteRecords(keys, dataPartition);
+
+        assertTrue(failed.isEmpty());
+        assertTrue(stored.isEmpty());
+        verify(s3, times(3)).deleteObjects(any(DeleteObjectsRequest.class));
+        verify(s3, never()).deleteObject(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    void deleteRecords_retriesKeysThatFailed() {
+        Set<String> stored = new HashSet<>(Arrays.asList("kind/id/1", "kind/id/2", "kind/id/3"));
+        Map<String, Integer> failuresByKey = new HashMap<>();
+        failuresByKey.put("kind/id/2", 1);
+        givenS3StandIn(stored, failuresByKey);
+
+        Map<String, String> failed = client.deleteRecords(new ArrayList<>(Arrays.asList("kind/id/1", "kind/id/2", "kind/id/3")), dataPartition);
+
+        assertTrue(failed.isEmpty());
+        assertTrue(stored.isEmpty());
+        ArgumentCaptor<DeleteObjectsRequest> requests = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3, times(2)).deleteObjects(requests.capture());
+        assertEquals(1, requests.getAllValues().get(1).delete().objects().size());
+    }
+
+    @Test
+    void deleteRecords_reportsKeysThatKeepFailing() {
+        Set<String> stored = new HashSet<>(Arrays.asList("kind/id/1", "kind/id/2"));
+        Map<String, Integer> failuresByKey = new HashMap<>();
+        failuresByKey.put("kind/id/2", Integer.MAX_VALUE);
+        givenS3StandIn(stored, failuresByKey);
+
+        Map<String, String> failed = client.deleteRecords(Arrays.asList("kind/id/1", "kind/id/2"), dataPartition);
+
+        assertEquals(Collections.singleton("kind/id/2"), failed.keySet());
+        assertEquals(Collections.singleton("kind/id/2"), stored);
+        verify(s3, times(S3RecordClient.MAX_DELETE_ATTEMPTS)).deleteObjects(any(DeleteObjectsRequest.class));
+    }
+
+    @Test
+    void deleteRecords_retriesWholeChunk_whenRequestFails() {
+        Set<String> stored = new HashSet<>(Arrays.asList("kind/id/1", "kind/id/2"));
+        givenS3StandIn(stored, new HashMap<>(), true);
+
+        Map<String, String> failed = client.deleteRecords(Arrays.asList("kind/id/1", "kind/id/2"), dataPartition);
+
+        assertTrue(failed.isEmpty());
+        assertTrue(stored.isEmpty());
+    }
+
+    private void givenS3StandIn(Set<String> stored, Map<String, Integer> failuresByKey) {
+        givenS3StandIn(stored, failuresByKey, false);
+    }
+
+    /**
+     * Answers DeleteObjects from an in-memory key set; keys in failuresByKey are reported as errors that many times.
+     */
+    private void givenS3StandIn(Set<String> stored, Map<String, Integer> failuresByKey, boolean failFirstRequest) {
+        final boolean[] failNext = {failFirstRequest};
+        Mockito.doAnswer(invocation -> {
+            if (failNext[0]) {
+                failNext[0] = false;
+                throw SdkClientException.builder().message("connection reset").build();
+            }
+            DeleteObjectsRequest request = invocation.getArgument(0);
+            assertTrue(request.delete().objects().size() <= S3RecordClient.MAX_KEYS_PER_DELETE);
+            List<S3Error> errors = new ArrayList<>();
+            for (ObjectIdentifier object : request.delete().objects()) {
+                int remainingFailures = failuresByKey.getOrDefault(object.key(), 0);
+                if (remainingFailures > 0) {
+                    failuresByKey.put(object.key(), remainingFailures - 1);
+                    errors.add(S3Error.builder().key(object.key()).code("InternalError").message("try again").build());
+                } else {
+                    stored.remove(object.key());
+                }
+            }
+            return DeleteObjectsResponse.builder().errors(errors).build();
+        }).when(s3).deleteObjects(any(DeleteObjectsRequest.class));
+    }
 }
@@ -22,8 +22,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -47,6 +48,9 @@ import org.opengroup.osdu.storage.provider.azure.repository.RecordMetadataReposi
 import org.opengroup.osdu.storage.provider.azure.util.EntitlementsHelper;
 import org.opengroup.osdu.storage.provider.azure.util.RecordUtil;
 import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
+import org.opengroup.osdu.storage.service.deletion.VersionDeleter;
+import org.opengroup.osdu.storage.service.deletion.VersionDeletionResult;
+import org.opengroup.osdu.storage.service.read.HedgedBlobReader;
 import org.opengroup.osdu.storage.util.CrcHashGenerator;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,6 +65,9 @@ import jakarta.inject.Named;
 
 @Repository
 public class CloudStorageImpl implements ICloudStorage {
+
+    private static final String BLOB_READ_BACKEND = "azure-blob";
+
     @Autowired
     private JaxRsDpsLog logger;
 
@@ -88,6 +95,12 @@ public class CloudStorageImpl implements ICloudStorage {
     @Autowired
     private EntitlementsHelper entitlementsHelper;
 
+    @Autowired
+    private VersionDeleter versionDeleter;
+
+    @Autowired
+    private HedgedBlobReader hedgedBlobReader;
+
     @Autowired
     @Named("STORAGE_CONTAINER_NAME")
     private String containerName;
@@ -205,13 +218,47 @@ public class CloudStorageImpl implements ICloudStorage {
         }
 
         validateOwnerAccessToRecord(record);
+        Set<String> referencedPaths = recordRepository.findReferencedBlobPaths(record.getGcsVersionPaths());
+        List<String> pathsToDelete = new ArrayList<>();
         for (String path : record.getGcsVersionPaths()) {
-            if(recordRepository.getMetadataDocumentCountForBlob(path) > 0) {
-                this.logger.warning(String.format("More than 1 metadata documents reference the StorageBlob, skip purge", path));
-                return;
+            if (referencedPaths.contains(path)) {
+                this.logger.warning(String.format("Other metadata documents reference the StorageBlob %s, skip purge", path));
+            } else {
+                pathsToDelete.add(path);
             }
-            blobStore.deleteFromStorageContainer(headers.getPartitionId(), path, containerName);
         }
+
+        Map<String, VersionDeletionResult> failures = deleteBlobs(pathsToDelete, headers.getPartitionId());
+        if (!failures.isEmpty()) {
+            throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error purging record",
+                    String.format("Failed to delete %d of %d blobs of record %s", failures.size(), pathsToDelete.size(), record.getId()));
+        }
+    }
+
+    /**
+     * Deletes the blobs through the shared bounded version deleter. Blobs that are already gone count as deleted.
+     * @return the result of each blob that could not be deleted
+     */
+    private Map<String, VersionDeletionResult> deleteBlobs(List<String> paths, String dataPartitionId) {
+        Map<String, VersionDeletionResult> results = versionDeleter.deleteAll(paths, path -> {
+            try {
+                blobStore.deleteFromStorageContainer(dataPartitionId, path, containerName);
+                return true;
+            } catch (AppException e) {
+                // It is possible that the record may have a version instance that is present in the metadata store and absent from the the blob store.
+                // This is a known inconsistency caused when we fail to successfully add the version instance to the blob store.
+                // To handle it we should ignore deletions from the blob store that result in a 404 (not found) error.
+                if (e.getError() != null && e.getError().getCode() == HttpStatus.SC_NOT_FOUND) {
+                    this.logger.warning(String.format("Deletion Failed. Tried to delete non-existent version in storage account: %s", path));
+                    return false;
+                }
+                throw e;
+            }
+        });
+
+        Map<String, VersionDeletionResult> failures = VersionDeleter.failures(results);
+        failures.forEach((path, result) -> this.logger.error(String.format("Failed to delete StorageBlob %s: %s", path, result.getError().getMessage())));
+        return failures;
     }
 
     @Override
@@ -223,21 +270,14 @@ public class CloudStorageImpl implements ICloudStorage {
 
     @Override
     public void deleteVersions(List<String> versionPaths) {
-        versionPaths.stream().forEach(versionPath -> {
-            try {
-                blobStore.deleteFromStorageContainer(headers.getPartitionId(), versionPath, containerName);
-            } catch (AppException ex) {
-                // It is possible that the record may have a version instance that is present in the metadata store and absent from the the blob store.
-                // This is a known inconsistency caused when we fail to successfully add the version instance to the blob store.
-                // To handle it we should ignore deletions from the blob store that result in a 404 (not found) error.
-                if (ex.getError().getCode() == 404) {
-                    this.logger.warning(String.format("Deletion Failed. Tried to delete non-existent version in storage account: %s", versionPath));
-                }
-                else {
-                    throw ex;
-                }
-            }
-        });
+        Map<String, VersionDeletionResult> failures = deleteBlobs(versionPaths, headers.getPartitionId());
+        if (failures.size() == 1 && failures.values().iterator().next().getError() instanceof AppException appException) {
+            throw appException;
+        }
+        if (!failures.isEmpty()) {
+            throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error deleting record versions",
+                    String.format("Failed to delete %d of %d record versions", failures.size(), versionPaths.size()));
+        }
     }
 
     @Override
@@ -300,8 +340,7 @@ public class CloudStorageImpl implements ICloudStorage {
 
     @Override
     public Map<String, String> read(Map<String, String> objects, Optional<CollaborationContext> collaborationContext) {
-        List<Callable<Boolean>> tasks = new ArrayList<>();
-        Map<String, String> map = new ConcurrentHashMap<>();
+        Map<String, String> paths = new HashMap<>();
 
         List<String> recordIds = new ArrayList<>(objects.keySet());
         Map<String, RecordMetadata> recordsMetadata = this.recordRepository.get(recordIds, collaborationContext);
@@ -315,40 +354,32 @@ public class CloudStorageImpl implements ICloudStorage {
             if (!entitlementsHelper.hasViewerAccessToRecord(recordMetadata)) {
                 continue;
             }
-            String path = objects.get(recordId);
-            tasks.add(() -> this.readBlobThread(recordId, path, map, dataPartitionId));
+            paths.put(recordId, objects.get(recordId));
         }
 
         try {
-            for (Future<Boolean> result : this.threadPool.invokeAll(tasks)) {
-                result.get();
-            }
-        } catch (InterruptedException | ExecutionException e) {
-            String errorMessage = "Unable to process parallel blob download";
-            logger.error(errorMessage, e);
-            throw new AppException(500, errorMessage, e.getMessage());
+            return this.hedgedBlobReader.readAll(BLOB_READ_BACKEND, dataPartitionId, paths,
+                    (recordId, path) -> CompletableFuture.supplyAsync(() -> this.readBlob(path, dataPartitionId), this.threadPool));
+        } catch (AppException e) {
+            logger.error("Unable to process parallel blob download", e);
+            throw e;
         }
-
-        return map;
     }
 
-    private boolean readBlobThread(String key, String path, Map<String, String> map, String dataPartitionId) {
+    private String readBlob(String path, String dataPartitionId) {
         try {
-            String content = blobStore.readFromStorageContainer(dataPartitionId, path, containerName);
-            map.put(key, content);
+            return blobStore.readFromStorageContainer(dataPartitionId, path, containerName);
         } catch (AppException e) {
             if (e.getError() != null && e.getError().getCode() == HttpStatus.SC_NOT_FOUND) {
                 try{
-                    String content = handleNotFoundAndRetryRead(dataPartitionId, path, containerName);
-                    map.put(key, content);
+                    return handleNotFoundAndRetryRead(dataPartitionId, path, containerName);
                 } catch (AppException ex) {
                     // Eat any exceptions to continue with other records.
                     logger.error("Unknown error occurred while handling 404s.", ex);
                 }
             }
         }
-    
-        return true;
+        return null;
     }
 
     /**
@@ -1,12 +0,0 @@
-package org.opengroup.osdu.storage.provider.azure.model;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class DocumentCount {
-    private int documentCount;
-}
@@ -38,7 +38,6 @@ import org.opengroup.osdu.storage.provider.azure.model.RecordMetadataDoc;
 import org.opengroup.osdu.core.common.util.CollaborationContextUtil;
 import org.opengroup.osdu.storage.provider.azure.di.AzureBootstrapConfig;
 import org.opengroup.osdu.storage.provider.azure.di.CosmosContainerConfig;
-import org.opengroup.osdu.storage.provider.azure.model.DocumentCount;
 import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -48,13 +47,17 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
 import java.util.AbstractMap;
+import java.util.Collection;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -70,6 +73,8 @@ public class RecordMetadataRepository extends SimpleCosmosStoreRepository<Record
 
     private static final int AZURE_PATCH_OPERATIONS_LIMIT = 10;
 
+    static final int REFERENCE_CHECK_CHUNK_SIZE = 100;
+
     @Autowired
     private DpsHeaders headers;
 
@@ -268,13 +273,23 @@ public class RecordMetadataRepository extends SimpleCosmosStoreRepository<Record
         return this.find(pageable, headers.getPartitionId(), cosmosDBName, recordMetadataCollection, query, queryOptions);
     }
 
-    public int getMetadataDocumentCountForBlob(String path) {
-        Assert.notNull(path, "path must not be null");
-        String sqlQueryString = "SELECT COUNT(1) AS documentCount from c WHERE ARRAY_CONTAINS (c.metadata.gcsVersionPaths, @path)";
-        List<SqlParameter> parameters = List.of(new SqlParameter("@path", path));
-        SqlQuerySpec query = new SqlQuerySpec(sqlQueryString, parameters);
-        List<DocumentCount> queryResponse = this.queryItems(headers.getPartitionId(), cosmosDBName, recordMetadataCollection, query, new CosmosQueryRequestOptions(), DocumentCount.class);
-        return queryResponse == null || queryResponse.isEmpty() ? 0 : queryResponse.get(0).getDocumentCount();
+    /**
+     * Returns the given blob paths that are still referenced by any metadata document, with one query per
+     * {@link #REFERENCE_CHECK_CHUNK_SIZE} paths instead of one count query per path.
+     */
+    public Set<String> findReferencedBlobPaths(Collection<String> paths) {
+        Assert.notNull(paths, "paths must not be null");
+        Set<String> referenced = new HashSet<>();
+        List<String> distinctPaths = new ArrayList<>(new LinkedHashSet<>(paths));
+        String sqlQueryString = "SELECT DISTINCT VALUE p FROM c JOIN p IN c.metadata.gcsVersionPaths WHERE ARRAY_CONTAINS(@paths, p)";
+        for (List<String> chunk : Lists.partition(distinctPaths, REFERENCE_CHECK_CHUNK_SIZE)) {
+            SqlQuerySpec query = new SqlQuerySpec(sqlQueryString, List.of(new SqlParameter("@paths", chunk)));
+            List<String> queryResponse = this.queryItems(headers.getPartitionId(), cosmosDBName, recordMetadataCollection, query, new CosmosQueryRequestOptions(), String.class);
+            if (queryResponse != null) {
+                referenced.addAll(queryResponse);
+            }
+        }
+        return referenced;
     }
 
     private static SqlQuerySpec getIdsByMetadata_kindAndMetada_statusQuery(String kind, String status, Optional<CollaborationContext> collaborationContext) {
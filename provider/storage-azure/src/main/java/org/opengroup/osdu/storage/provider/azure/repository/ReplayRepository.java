@@ -14,11 +14,14 @@
 
 package org.opengroup.osdu.storage.provider.azure.repository;
 
+import com.azure.cosmos.models.CosmosPatchOperations;
 import com.azure.cosmos.models.CosmosQueryRequestOptions;
 import com.azure.cosmos.models.SqlParameter;
 import com.azure.cosmos.models.SqlQuerySpec;
+import org.opengroup.osdu.azure.cosmosdb.CosmosStoreBulkOperations;
 import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.storage.dto.ReplayMetaDataDTO;
+import org.opengroup.osdu.storage.dto.ReplaySummaryIncrement;
 import org.opengroup.osdu.storage.provider.azure.di.AzureBootstrapConfig;
 import org.opengroup.osdu.storage.provider.azure.di.CosmosContainerConfig;
 import org.opengroup.osdu.storage.provider.azure.model.ReplayMetaData;
@@ -29,6 +32,7 @@ import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class ReplayRepository extends SimpleCosmosStoreRepository<ReplayMetaData> implements IReplayRepository {
@@ -42,6 +46,9 @@ public class ReplayRepository extends SimpleCosmosStoreRepository<ReplayMetaData
     @Autowired
     private AzureBootstrapConfig azureBootstrapConfig;
 
+    @Autowired
+    private CosmosStoreBulkOperations cosmosBulkStore;
+
     public ReplayRepository() {
         super(ReplayMetaData.class);
     }
@@ -85,6 +92,44 @@ public class ReplayRepository extends SimpleCosmosStoreRepository<ReplayMetaData
 
     }
 
+    @Override
+    public ReplayMetaDataDTO getReplaySummary(String replayId) {
+
+        return this.findItem(headers.getPartitionId(),
+                        azureBootstrapConfig.getCosmosDBName(),
+                        cosmosContainerConfig.getReplayCollectionName(),
+                        replayId,
+                        replayId)
+                .filter(replayMetaData -> replayMetaData.getKind() == null)
+                .map(this::getReplayMetaDataDTOObject)
+                .orElse(null);
+    }
+
+    @Override
+    public void incrementReplaySummary(String replayId, ReplaySummaryIncrement increment) {
+
+        ReplayMetaDataDTO summary = this.getReplaySummary(replayId);
+        if (summary == null || summary.getTotalKinds() == null) {
+            return;
+        }
+
+        // the increments are applied by Cosmos DB, so concurrent updates from several instances are not lost
+        CosmosPatchOperations patchOperations = CosmosPatchOperations.create()
+                .increment("/processedRecords", increment.getProcessedRecords())
+                .increment("/startedKinds", increment.getStartedKinds())
+                .increment("/completedKinds", increment.getCompletedKinds())
+                .increment("/failedKinds", increment.getFailedKinds());
+        if (increment.getElapsedTime() != null) {
+            patchOperations.set("/elapsedTime", increment.getElapsedTime());
+        }
+        cosmosBulkStore.bulkMultiPatchWithCosmosClient(headers.getPartitionId(),
+                azureBootstrapConfig.getCosmosDBName(),
+                cosmosContainerConfig.getReplayCollectionName(),
+                Map.of(replayId, List.of(patchOperations)),
+                Map.of(replayId, replayId),
+                1);
+    }
+
     @Override
     public ReplayMetaDataDTO save(ReplayMetaDataDTO replayMetaDataDTO) {
 
@@ -114,6 +159,10 @@ public class ReplayRepository extends SimpleCosmosStoreRepository<ReplayMetaData
                 .filter(replayMetaData.getFilter())
                 .startedAt(replayMetaData.getStartedAt())
                 .kind(replayMetaData.getKind())
+                .totalKinds(replayMetaData.getTotalKinds())
+                .startedKinds(replayMetaData.getStartedKinds())
+                .completedKinds(replayMetaData.getCompletedKinds())
+                .failedKinds(replayMetaData.getFailedKinds())
                 .build();
     }
 
@@ -132,6 +181,10 @@ public class ReplayRepository extends SimpleCosmosStoreRepository<ReplayMetaData
                 .filter(replayMetaDataDTO.getFilter())
                 .startedAt(replayMetaDataDTO.getStartedAt())
                 .kind(replayMetaDataDTO.getKind())
+                .totalKinds(replayMetaDataDTO.getTotalKinds())
+                .startedKinds(replayMetaDataDTO.getStartedKinds())
+                .completedKinds(replayMetaDataDTO.getCompletedKinds())
+                .failedKinds(replayMetaDataDTO.getFailedKinds())
                 .build();
     }
 }
@@ -8,6 +8,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -21,9 +23,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -46,10 +52,14 @@ import org.opengroup.osdu.core.common.model.storage.TransferInfo;
 import org.opengroup.osdu.storage.provider.azure.repository.RecordMetadataRepository;
 import org.opengroup.osdu.storage.provider.azure.util.EntitlementsHelper;
 import org.opengroup.osdu.storage.provider.azure.util.RecordUtil;
+import org.opengroup.osdu.storage.service.deletion.VersionDeleter;
+import org.opengroup.osdu.storage.service.read.BlobReadConfig;
+import org.opengroup.osdu.storage.service.read.HedgedBlobReader;
 import org.opengroup.osdu.storage.util.CrcHashGenerator;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.google.common.collect.Sets;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -102,6 +112,8 @@ class CloudStorageImplTest {
     @BeforeEach
     void setup() {
         ReflectionTestUtils.setField(cloudStorage, "containerName", CONTAINER);
+        ReflectionTestUtils.setField(cloudStorage, "versionDeleter", new VersionDeleter(Executors.newFixedThreadPool(4), 4));
+        ReflectionTestUtils.setField(cloudStorage, "hedgedBlobReader", new HedgedBlobReader(new BlobReadConfig(), new SimpleMeterRegistry()));
     }
 
     @Test
@@ -116,7 +128,7 @@ class CloudStorageImplTest {
         RecordMetadata recordMetadata = setUpRecordMetadata("id1");
         recordMetadata.setGcsVersionPaths(List.of("path1"));
         when(entitlementsHelper.hasOwnerAccessToRecord(recordMetadata)).thenReturn(true);
-        when(recordRepository.getMetadataDocumentCountForBlob("path1")).thenReturn(1);
+        when(recordRepository.findReferencedBlobPaths(List.of("path1"))).thenReturn(Set.of("path1"));
         cloudStorage.delete(recordMetadata);
         verify(blobStore, Mockito.never()).deleteFromStorageContainer(any(String.class), any(String.class), any(String.class));
     }
@@ -138,16 +150,56 @@ class CloudStorageImplTest {
         recordMetadata.setGcsVersionPaths(Arrays.asList("path1", "path2"));
 
         when(entitlementsHelper.hasOwnerAccessToRecord(recordMetadata)).thenReturn(true);
-        when(recordRepository.getMetadataDocumentCountForBlob("path1")).thenReturn(0);
-        when(recordRepository.getMetadataDocumentCountForBlob("path2")).thenReturn(0);
+        when(recordRepository.findReferencedBlobPaths(Arrays.asList("path1", "path2"))).thenReturn(Collections.emptySet());
         when(headers.getPartitionId()).thenReturn(DATA_PARTITION);
 
         cloudStorage.delete(recordMetadata);
 
+        verify(recordRepository, Mockito.times(1)).findReferencedBlobPaths(any());
         verify(blobStore, Mockito.times(1)).deleteFromStorageContainer(DATA_PARTITION, "path1", CONTAINER);
         verify(blobStore, Mockito.times(1)).deleteFromStorageContainer(DATA_PARTITION, "path2", CONTAINER);
     }
 
+    @Test
+    void shouldDeleteOnlyUnreferencedBlobs_andUseOneReferenceCheck() {
+        RecordMetadata recordMetadata = setUpRecordMetadata("id1");
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            paths.add("kind/id1/" + i);
+        }
+        recordMetadata.setGcsVersionPaths(paths);
+        Set<String> deleted = ConcurrentHashMap.newKeySet();
+
+        when(entitlementsHelper.hasOwnerAccessToRecord(recordMetadata)).thenReturn(true);
+        when(recordRepository.findReferencedBlobPaths(paths)).thenReturn(Set.of("kind/id1/7"));
+        when(headers.getPartitionId()).thenReturn(DATA_PARTITION);
+        doAnswer(invocation -> deleted.add(invocation.getArgument(1)))
+                .when(blobStore).deleteFromStorageContainer(eq(DATA_PARTITION), anyString(), eq(CONTAINER));
+
+        cloudStorage.delete(recordMetadata);
+
+        verify(recordRepository, Mockito.times(1)).findReferencedBlobPaths(any());
+        assertEquals(499, deleted.size());
+        assertFalse(deleted.contains("kind/id1/7"));
+    }
+
+    @Test
+    void shouldReportFailedBlobs_andIgnoreMissingBlobs_uponDeleteAction() {
+        RecordMetadata recordMetadata = setUpRecordMetadata("id1");
+        recordMetadata.setGcsVersionPaths(Arrays.asList("path1", "path2", "path3"));
+
+        when(entitlementsHelper.hasOwnerAccessToRecord(recordMetadata)).thenReturn(true);
+        when(recordRepository.findReferencedBlobPaths(any())).thenReturn(Collections.emptySet());
+        when(headers.getPartitionId()).thenReturn(DATA_PARTITION);
+        doThrow(createNotFoundException("missing")).when(blobStore).deleteFromStorageContainer(DATA_PARTITION, "path2", CONTAINER);
+        doThrow(createServerErrorException("unavailable")).when(blobStore).deleteFromStorageContainer(DATA_PARTITION, "path3", CONTAINER);
+
+        AppException exception = assertThrows(AppException.class, () -> cloudStorage.delete(recordMetadata));
+
+        assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, exception.getError().getCode());
+        assertTrue(exception.getError().getMessage().contains("1 of 3"));
+    }
+
     @Test
     void shouldWriteToBlob_when_writeIsCalled() {
         ExecutorService executorService = Executors.newFixedThreadPool(3);
@@ -476,9 +528,8 @@ class CloudStorageImplTest {
         // versionPath2 delete is called but fails.
         verify(blobStore, times(1)).deleteFromStorageContainer(DATA_PARTITION, "versionPath2", CONTAINER);
 
-        // Other than 404 by blob store, no exception should be eaten.
-        // Delete for versionPath3 is never called, as it failed at versionPath2.
-        verify(blobStore, times(0)).deleteFromStorageContainer(DATA_PARTITION, "versionPath3", CONTAINER);
+        // Other than 404 by blob store, no exception should be eaten, but the remaining versions are still deleted.
+        verify(blobStore, times(1)).deleteFromStorageContainer(DATA_PARTITION, "versionPath3", CONTAINER);
     }
 
     @Test
@@ -27,7 +27,6 @@ import org.opengroup.osdu.core.common.model.http.AppException;
 import org.opengroup.osdu.core.common.model.http.CollaborationContext;
 import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
-import org.opengroup.osdu.storage.provider.azure.model.DocumentCount;
 import org.opengroup.osdu.storage.provider.azure.model.RecordMetadataDoc;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -57,7 +56,6 @@ class RecordMetadataRepositoryTest {
     private final static String LEGAL_TAG_NAME_PARAMETER = "@legalTagNamesString";
     private final static String ID0_PARAMETER = "@id0";
     private final static String ID1_PARAMETER = "@id1";
-    private final static String PATH_PARAMETER = "@path";    
 
     private final ObjectMapper mapper = new ObjectMapper();
 
@@ -594,53 +592,23 @@ class RecordMetadataRepositoryTest {
     }
 
     @Test
-    void getMetadataDocumentCountForBlob_shouldReturnZero_whenEmptyResultSetReturnedFromCosmos() {
-        DocumentCount documentCount = Mockito.mock(DocumentCount.class);
-        doReturn(Collections.singletonList(documentCount)).when(cosmosStore).queryItems(eq("opendes"), eq("osdu-db"), eq("collection"), any(SqlQuerySpec.class), any(CosmosQueryRequestOptions.class), eq(DocumentCount.class));
-
-        int actualRecordSize = recordMetadataRepository.getMetadataDocumentCountForBlob("path");
-
-        String requiredQuery = String.format("SELECT COUNT(1) AS documentCount from c WHERE ARRAY_CONTAINS (c.metadata.gcsVersionPaths, %s)", PATH_PARAMETER);
-        ArgumentCaptor<SqlQuerySpec> argumentCaptor = ArgumentCaptor.forClass(SqlQuerySpec.class);
-
-        verify(cosmosStore).queryItems(eq("opendes"), eq("osdu-db"), eq("collection"), argumentCaptor.capture(), any(CosmosQueryRequestOptions.class), eq(DocumentCount.class));
-
-        SqlQuerySpec capturedQuery = argumentCaptor.getValue();
-        assertEquals(requiredQuery, capturedQuery.getQueryText());
-        
-        List<SqlParameter> expectedParameters = Arrays.asList(
-            new SqlParameter(PATH_PARAMETER, "path")
-        );
-        List<SqlParameter> capturedParameters = capturedQuery.getParameters();
-
-        assertEquals(expectedParameters.size(), capturedParameters.size());
-        assertParametersMatch(expectedParameters, capturedParameters);        
-        assertEquals(0, actualRecordSize);
-    }
-
-    @Test
-    void getMetadataDocumentCountForBlob_shouldReturnValidRecordSize_whenValidResultSetReturnedFromCosmos() {
-        DocumentCount documentCount = new DocumentCount(1);
-        doReturn(Collections.singletonList(documentCount)).when(cosmosStore).queryItems(eq("opendes"), eq("osdu-db"), eq("collection"), any(SqlQuerySpec.class), any(CosmosQueryRequestOptions.class), eq(DocumentCount.class));
-
-        int actualRecordSize = recordMetadataRepository.getMetadataDocumentCountForBlob("path");
+    void findReferencedBlobPaths_shouldIssueOneQueryPerChunkOfPaths() {
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            paths.add("kind/id/" + i);
+        }
+        doReturn(Collections.singletonList("kind/id/3"), Collections.emptyList(), Collections.singletonList("kind/id/240"))
+                .when(cosmosStore).queryItems(eq("opendes"), eq("osdu-db"), eq("collection"), any(SqlQuerySpec.class), any(CosmosQueryRequestOptions.class), eq(String.class));
 
-        String requiredQuery = String.format("SELECT COUNT(1) AS documentCount from c WHERE ARRAY_CONTAINS (c.metadata.gcsVersionPaths, %s)", PATH_PARAMETER);
+        Set<String> referenced = recordMetadataRepository.findReferencedBlobPaths(paths);
 
         ArgumentCaptor<SqlQuerySpec> argumentCaptor = ArgumentCaptor.forClass(SqlQuerySpec.class);
-
-        verify(cosmosStore).queryItems(eq("opendes"), eq("osdu-db"), eq("collection"), argumentCaptor.capture(), any(CosmosQueryRequestOptions.class), eq(DocumentCount.class));
-
-        SqlQuerySpec capturedQuery = argumentCaptor.getValue();
-        assertEquals(requiredQuery, capturedQuery.getQueryText());
-        List<SqlParameter> expectedParameters = Arrays.asList(
-            new SqlParameter(PATH_PARAMETER, "path")
-        );
-        List<SqlParameter> capturedParameters = capturedQuery.getParameters();
-
-        assertEquals(expectedParameters.size(), capturedParameters.size());
-        assertParametersMatch(expectedParameters, capturedParameters);        
-        assertEquals(1, actualRecordSize);
+        verify(cosmosStore, times(3)).queryItems(eq("opendes"), eq("osdu-db"), eq("collection"), argumentCaptor.capture(), any(CosmosQueryRequestOptions.class), eq(String.class));
+        assertEquals("SELECT DISTINCT VALUE p FROM c JOIN p IN c.metadata.gcsVersionPaths WHERE ARRAY_CONTAINS(@paths, p)",
+                argumentCaptor.getValue().getQueryText());
+        assertEquals("@paths", argumentCaptor.getAllValues().get(0).getParameters().get(0).getName());
+        assertEquals(100, argumentCaptor.getAllValues().get(0).getParameters().get(0).getValue(List.class).size());
+        assertEquals(new HashSet<>(Arrays.asList("kind/id/3", "kind/id/240")), referenced);
     }
 
     @Test
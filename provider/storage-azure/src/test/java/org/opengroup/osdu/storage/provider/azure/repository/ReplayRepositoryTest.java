@@ -10,18 +10,25 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.storage.dto.ReplayMetaDataDTO;
+import org.opengroup.osdu.storage.provider.azure.model.ReplayMetaData;
 import org.opengroup.osdu.storage.provider.azure.di.AzureBootstrapConfig;
 import org.opengroup.osdu.storage.provider.azure.di.CosmosContainerConfig;
 import org.opengroup.osdu.azure.cosmosdb.CosmosStore;
+import org.opengroup.osdu.azure.cosmosdb.CosmosStoreBulkOperations;
+import org.opengroup.osdu.storage.dto.ReplaySummaryIncrement;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class ReplayRepositoryTest {
@@ -38,6 +45,9 @@ public class ReplayRepositoryTest {
     @Mock
     private CosmosStore cosmosStore;
 
+    @Mock
+    private CosmosStoreBulkOperations cosmosBulkStore;
+
     @InjectMocks
     ReplayRepository replayRepository;
 
@@ -90,4 +100,47 @@ public class ReplayRepositoryTest {
         ReplayMetaDataDTO replayMetaDataDTO= replayRepository.save(replayMetaData);
         assertEquals(REPLAY_ID,replayMetaDataDTO.getReplayId());
     }
+
+    @Test
+    void getReplaySummary_readsSummaryById() {
+
+        when(azureBootstrapConfig.getCosmosDBName()).thenReturn("osdu-db");
+        when(cosmosContainerConfig.getReplayCollectionName()).thenReturn("ReplayStatus");
+        ReplayMetaData summary = ReplayMetaData.builder().id(REPLAY_ID).replayId(REPLAY_ID).totalKinds(3).completedKinds(1).build();
+        when(cosmosStore.findItem("opendes", "osdu-db", "ReplayStatus", REPLAY_ID, REPLAY_ID, ReplayMetaData.class))
+                .thenReturn(Optional.of(summary));
+
+        ReplayMetaDataDTO replayMetaDataDTO = replayRepository.getReplaySummary(REPLAY_ID);
+
+        assertEquals(3, replayMetaDataDTO.getTotalKinds());
+        assertEquals(1, replayMetaDataDTO.getCompletedKinds());
+    }
+
+    @Test
+    void incrementReplaySummary_patchesCountersInStore() {
+
+        when(azureBootstrapConfig.getCosmosDBName()).thenReturn("osdu-db");
+        when(cosmosContainerConfig.getReplayCollectionName()).thenReturn("ReplayStatus");
+        ReplayMetaData summary = ReplayMetaData.builder().id(REPLAY_ID).replayId(REPLAY_ID).totalKinds(3).build();
+        when(cosmosStore.findItem("opendes", "osdu-db", "ReplayStatus", REPLAY_ID, REPLAY_ID, ReplayMetaData.class))
+                .thenReturn(Optional.of(summary));
+
+        replayRepository.incrementReplaySummary(REPLAY_ID, ReplaySummaryIncrement.builder().processedRecords(10).completedKinds(1).build());
+
+        verify(cosmosBulkStore).bulkMultiPatchWithCosmosClient(eq("opendes"), eq("osdu-db"), eq("ReplayStatus"), anyMap(),
+                eq(Map.of(REPLAY_ID, REPLAY_ID)), eq(1));
+    }
+
+    @Test
+    void incrementReplaySummary_skipsReplaysWithoutSummary() {
+
+        when(azureBootstrapConfig.getCosmosDBName()).thenReturn("osdu-db");
+        when(cosmosContainerConfig.getReplayCollectionName()).thenReturn("ReplayStatus");
+        when(cosmosStore.findItem("opendes", "osdu-db", "ReplayStatus", REPLAY_ID, REPLAY_ID, ReplayMetaData.class))
+                .thenReturn(Optional.empty());
+
+        replayRepository.incrementReplaySummary(REPLAY_ID, ReplaySummaryIncrement.builder().processedRecords(10).build());
+
+        verifyNoInteractions(cosmosBulkStore);
+    }
 }
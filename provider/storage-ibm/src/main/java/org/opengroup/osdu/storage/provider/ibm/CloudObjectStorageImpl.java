@@ -15,8 +15,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 
 import org.apache.http.HttpStatus;
@@ -33,6 +40,9 @@ import org.opengroup.osdu.core.common.util.Crc32c;
 import org.opengroup.osdu.core.ibm.objectstorage.CloudObjectStorageFactory;
 import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
 import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
+import org.opengroup.osdu.storage.service.deletion.VersionDeleter;
+import org.opengroup.osdu.storage.service.deletion.VersionDeletionResult;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import com.google.gson.Gson;
@@ -59,11 +69,27 @@ public class CloudObjectStorageImpl implements ICloudStorage {
 	@Inject
 	private JaxRsDpsLog logger;
 
+	@Inject
+	private VersionDeleter versionDeleter;
+
+	@Value("${ibm.cos.batch.max-concurrency:16}")
+	private int maxConcurrency;
+
 	AmazonS3 s3Client;
 
+	private ExecutorService batchPool;
+
 	@PostConstruct
 	public void init() {
 		s3Client = cosFactory.getClient();
+		batchPool = Executors.newFixedThreadPool(Math.max(1, maxConcurrency));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (batchPool != null) {
+			batchPool.shutdown();
+		}
 	}
 
 	@Override
@@ -72,38 +98,58 @@ public class CloudObjectStorageImpl implements ICloudStorage {
 		validateRecordAcls(recordsProcessing);
 
 		Gson gson = new GsonBuilder().serializeNulls().create();
+		String bucketName = getBucketName();
 
+		Map<String, Callable<Void>> tasks = new HashMap<>();
 		for (RecordProcessing rp : recordsProcessing) {
 
 			RecordMetadata rmd = rp.getRecordMetadata();
 			String itemName = getItemName(rmd);
 			String content = gson.toJson(rp.getRecordData());
-			byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
-			int bytesSize = bytes.length;
 
-			InputStream newStream = new ByteArrayInputStream(bytes);
+			tasks.put(itemName, () -> {
+				byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+				InputStream newStream = new ByteArrayInputStream(bytes);
 
-			ObjectMetadata metadata = new ObjectMetadata();
-			metadata.setContentLength(bytesSize);
-
-			PutObjectRequest req = new PutObjectRequest(getBucketName(), itemName, newStream, metadata);
-			s3Client.putObject(req);
-
-			logger.info("Item created!\n" + itemName);
+				ObjectMetadata metadata = new ObjectMetadata();
+				metadata.setContentLength(bytes.length);
 
+				s3Client.putObject(new PutObjectRequest(bucketName, itemName, newStream, metadata));
+				return null;
+			});
 		}
 
+		Map<String, Exception> errors = runAll(tasks);
+		logger.info(String.format("Items created: %d of %d", tasks.size() - errors.size(), tasks.size()));
+		if (!errors.isEmpty()) {
+			errors.forEach((itemName, e) -> logger.error("Failed to write item " + itemName, e));
+			throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error during record ingestion",
+					String.format("Failed to write the following items: %s", String.join(",", errors.keySet())));
+		}
 	}
 
 	@Override
 	public Map<String, String> getHash(Collection<RecordMetadata> records) {
 		Gson gson = new Gson();
-		Map<String, String> hashes = new HashMap<>();
+		String bucketName = getBucketName();
+		Map<String, String> hashes = new ConcurrentHashMap<>();
+
+		Map<String, Callable<Void>> tasks = new HashMap<>();
 		for (RecordMetadata rm : records) {
-			String jsonData = this.read(rm, rm.getLatestVersion(), false);
-			RecordData data = gson.fromJson(jsonData, RecordData.class);
-			String hash = getHash(data);
-			hashes.put(rm.getId(), hash);
+			String itemName = getItemName(rm);
+			tasks.put(rm.getId(), () -> {
+				String jsonData = s3Client.getObjectAsString(bucketName, itemName);
+				RecordData data = gson.fromJson(jsonData, RecordData.class);
+				hashes.put(rm.getId(), getHash(data));
+				return null;
+			});
+		}
+
+		Map<String, Exception> errors = runAll(tasks);
+		if (!errors.isEmpty()) {
+			errors.forEach((id, e) -> logger.error("Failed to hash record " + id, e));
+			throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error reading records",
+					String.format("Failed to read the following records: %s", String.join(",", errors.keySet())));
 		}
 		return hashes;
 	}
@@ -136,7 +182,17 @@ public class CloudObjectStorageImpl implements ICloudStorage {
 
 	@Override
 	public void deleteVersions(List<String> versionPaths) {
-		versionPaths.stream().forEach(versionPath -> deleteItem(versionPath));
+		String bucketName = getBucketName();
+		// COS deletes of missing keys succeed, so every completed delete is reported as DELETED
+		Map<String, VersionDeletionResult> results = versionDeleter.deleteAll(versionPaths, versionPath -> {
+			s3Client.deleteObject(bucketName, versionPath);
+			return true;
+		});
+
+		// deleting versions stays best effort, as with single item deletes
+		Map<String, VersionDeletionResult> errors = VersionDeleter.failures(results);
+		logger.info(String.format("Items deleted: %d of %d", results.size() - errors.size(), results.size()));
+		errors.keySet().forEach(versionPath -> logger.error("Failed to delete item " + versionPath));
 	}
 	
 	private void deleteItem(String itemName) {
@@ -295,17 +351,31 @@ public class CloudObjectStorageImpl implements ICloudStorage {
 	public Map<String, String> read(Map<String, String> objects, Optional<CollaborationContext> collaborationContext) {
 		// key -> record id
         // value -> record version path
-		Map<String, String> map = new HashMap<>();
+		Map<String, String> map = new ConcurrentHashMap<>();
+		String bucketName = getBucketName();
+
+		Map<String, RecordMetadata> recordsMetadata = recordsMetadataRepository.get(new ArrayList<>(objects.keySet()), collaborationContext);
 
+		Map<String, Callable<Void>> tasks = new HashMap<>();
         for (Map.Entry<String, String> record : objects.entrySet()) {
-            RecordMetadata recordMetadata = recordsMetadataRepository.get(record.getKey(), collaborationContext);
-            if (hasViewerAccessToRecord(recordMetadata))
-            	map.put(record.getKey(), getObjectAsString(record.getValue()));
-            else
-            	map.put(record.getKey(), null);
+            RecordMetadata recordMetadata = recordsMetadata.get(record.getKey());
+            if (recordMetadata != null && hasViewerAccessToRecord(recordMetadata)) {
+            	tasks.put(record.getKey(), () -> {
+            		map.put(record.getKey(), s3Client.getObjectAsString(bucketName, record.getValue()));
+            		return null;
+            	});
+            }
 		}
 
-		return map;
+		Map<String, Exception> errors = runAll(tasks);
+		errors.forEach((id, e) -> logger.error("Failed to read record " + id, e));
+
+		// records without access or whose read failed are reported with a null value
+		Map<String, String> output = new HashMap<>();
+		for (String id : objects.keySet()) {
+			output.put(id, map.get(id));
+		}
+		return output;
 	}
 
 	private String getItemName(RecordMetadata record) {
@@ -320,8 +390,42 @@ public class CloudObjectStorageImpl implements ICloudStorage {
 		return cosFactory.getBucketName(headers.getPartitionIdWithFallbackToAccountId(), RecordsMetadataRepositoryImpl.DB_NAME);
 	}
 
-	private String getObjectAsString(String objectName) {
-		return s3Client.getObjectAsString(getBucketName(), objectName);
+	/**
+	 * Runs the blob operations on the bounded batch pool and returns the failure of each item that did not
+	 * complete, keyed like the tasks. Request scoped beans must be resolved before the tasks are submitted.
+	 */
+	<K> Map<K, Exception> runAll(Map<K, Callable<Void>> tasks) {
+		Map<K, Exception> errors = new HashMap<>();
+		if (tasks.isEmpty()) {
+			return errors;
+		}
+
+		List<K> keys = new ArrayList<>(tasks.keySet());
+		List<Callable<Void>> callables = new ArrayList<>();
+		for (K key : keys) {
+			callables.add(tasks.get(key));
+		}
+
+		List<Future<Void>> futures;
+		try {
+			futures = batchPool.invokeAll(callables);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Interrupted",
+					"The blob batch operation was interrupted", e);
+		}
+
+		for (int i = 0; i < keys.size(); i++) {
+			try {
+				futures.get(i).get();
+			} catch (ExecutionException e) {
+				errors.put(keys.get(i), e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				errors.put(keys.get(i), e);
+			}
+		}
+		return errors;
 	}
 
 }
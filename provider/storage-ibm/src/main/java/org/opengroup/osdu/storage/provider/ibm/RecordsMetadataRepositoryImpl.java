@@ -7,14 +7,17 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import jakarta.annotation.PostConstruct;
 
+import org.apache.http.HttpStatus;
 import org.opengroup.osdu.core.common.model.http.AppException;
 import org.opengroup.osdu.core.common.model.http.CollaborationContext;
 import org.opengroup.osdu.core.common.model.legal.LegalCompliance;
@@ -29,7 +32,6 @@ import org.springframework.stereotype.Repository;
 
 import com.cloudant.client.api.Database;
 import com.cloudant.client.api.model.DesignDocument;
-import com.cloudant.client.api.model.Params;
 import com.cloudant.client.api.model.Response;
 import com.cloudant.client.api.query.JsonIndex;
 import com.cloudant.client.api.views.Key;
@@ -62,6 +64,8 @@ public class RecordsMetadataRepositoryImpl implements IRecordsMetadataRepository
 	private Database db;
 
 	public final static String DB_NAME = "records";
+
+	static final int ALL_DOCS_KEYS_LIMIT = 200;
 	
 	private static final Logger logger = LoggerFactory.getLogger(SchemaRepositoryImpl.class);
 
@@ -99,31 +103,25 @@ public class RecordsMetadataRepositoryImpl implements IRecordsMetadataRepository
 
 	@Override
 	public List<RecordMetadata> createOrUpdate(List<RecordMetadata> recordsMetadata, Optional<CollaborationContext> collaborationContext) {
-		
-		List<RecordMetadata> resultList = new ArrayList<RecordMetadata>();
-
-		if (recordsMetadata != null) {
-
-			// map id with revs
-            Map<String, String> idRevs = new HashMap<String, String>();
-
-            for (RecordMetadata rm : recordsMetadata) {
-            	try {
-    				RecordMetadataDoc rmc = db.find(RecordMetadataDoc.class, rm.getId(), new Params().revsInfo());
-    				idRevs.put(rm.getId(), rmc.getRev());
-    			} catch (NoDocumentException e) {
-    				// ignore
-    			}
-            }
-            
+
+		if (recordsMetadata != null && !recordsMetadata.isEmpty()) {
+
+			// map id with revs, resolved through _all_docs instead of one lookup per record
+			List<String> ids = new ArrayList<>();
+			for (RecordMetadata rm : recordsMetadata) {
+				ids.add(rm.getId());
+			}
+			Map<String, RecordMetadataDoc> existing = findAll(ids);
+
 			Date date = new Date();
 			long now = date.getTime();
 
 			List<RecordMetadataDoc> bulkList = new ArrayList<RecordMetadataDoc>();
 			for (RecordMetadata rm : recordsMetadata) {
 				RecordMetadataDoc rmd = new RecordMetadataDoc(rm);
-				if (idRevs.containsKey(rmd.getId())) {
-					rmd.setRev(idRevs.get(rmd.getId()));
+				RecordMetadataDoc current = existing.get(rmd.getId());
+				if (current != null) {
+					rmd.setRev(current.getRev());
 					rmd.setModifyTime(now);
 				} else {
 					rmd.setCreateTime(now);
@@ -131,12 +129,18 @@ public class RecordsMetadataRepositoryImpl implements IRecordsMetadataRepository
 				bulkList.add(rmd);
 			}
 
-			List<Response> bulkResponse = db.bulk(bulkList);
-			for (Response response : bulkResponse) {
-				RecordMetadataDoc rmdoc = new RecordMetadataDoc(response.getId(), response.getRev());
-				resultList.add(rmdoc);
+			// a conflict means another writer updated the record after its revision was read, so it is reported
+			// rather than written over with a refreshed revision
+			List<RecordMetadataDoc> conflicts = bulkWrite(bulkList);
+			if (!conflicts.isEmpty()) {
+				List<String> conflictIds = new ArrayList<>();
+				for (RecordMetadataDoc rmd : conflicts) {
+					conflictIds.add(rmd.getId());
+				}
+				logger.error("Failed to write record metadata for {} records: {}", conflictIds.size(), conflictIds);
+				throw new AppException(HttpStatus.SC_CONFLICT, "Record metadata conflict",
+						String.format("Record metadata could not be written for the following records: %s", String.join(",", conflictIds)));
 			}
-
 		}
 		return recordsMetadata;
 	}
@@ -160,13 +164,8 @@ public class RecordsMetadataRepositoryImpl implements IRecordsMetadataRepository
 	public Map<String, RecordMetadata> get(List<String> ids, Optional<CollaborationContext> collaborationContext) {
 		Map<String, RecordMetadata> output = new HashMap<>();
 
-		for (String id : ids) {
-			try {
-				RecordMetadataDoc rm = db.find(RecordMetadataDoc.class, id);
-				output.put(rm.getId(), rm.getRecordMetadata());
-			} catch (NoDocumentException e) {
-				// ignore
-			}
+		for (RecordMetadataDoc rm : findAll(ids).values()) {
+			output.put(rm.getId(), rm.getRecordMetadata());
 		}
 
 		return output;
@@ -194,7 +193,7 @@ public class RecordsMetadataRepositoryImpl implements IRecordsMetadataRepository
 		List<Row<String, Object>> filteredRows = null;
 		try {
 			filteredRows = db.getViewRequestBuilder(ddoc, viewName).newRequest(Key.Type.STRING, Object.class)
-					.keys(legalTagName).startKey(initialId).endKey(String.valueOf(numRecords)).build().getResponse().getRows();
+					.keys(legalTagName).startKey(initialId).endKey(String.valueOf(numRecords)).includeDocs(true).build().getResponse().getRows();
 		} catch (IOException e) {
 			logger.error(e.getMessage());
 			throw new AppException(500, e.getCause().toString(), e.getMessage());
@@ -205,7 +204,10 @@ public class RecordsMetadataRepositoryImpl implements IRecordsMetadataRepository
 		String nextCursor = null;
 		if (filteredRows != null && !filteredRows.isEmpty()) {
 			for (Row<String, Object> row : filteredRows) {
-				RecordMetadataDoc recordMetadataDoc = db.find(RecordMetadataDoc.class, row.getId());
+				RecordMetadataDoc recordMetadataDoc = row.getDocumentAsType(RecordMetadataDoc.class);
+				if (recordMetadataDoc == null) {
+					continue;
+				}
 				if (outputRecords.size() < numRecords) {
 					outputRecords.add(recordMetadataDoc.getRecordMetadata());
 				} else {
@@ -222,4 +224,54 @@ public class RecordsMetadataRepositoryImpl implements IRecordsMetadataRepository
 		return null;
 	}
 
+	/**
+	 * Fetches the current documents, revisions included, with one _all_docs request per
+	 * {@link #ALL_DOCS_KEYS_LIMIT} ids. Missing and deleted documents are left out of the result.
+	 */
+	Map<String, RecordMetadataDoc> findAll(Collection<String> ids) {
+		Map<String, RecordMetadataDoc> output = new HashMap<>();
+		List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+
+		for (int from = 0; from < distinctIds.size(); from += ALL_DOCS_KEYS_LIMIT) {
+			List<String> chunk = distinctIds.subList(from, Math.min(from + ALL_DOCS_KEYS_LIMIT, distinctIds.size()));
+			List<RecordMetadataDoc> docs;
+			try {
+				docs = db.getAllDocsRequestBuilder().keys(chunk.toArray(new String[0])).includeDocs(true).build()
+						.getResponse().getDocsAs(RecordMetadataDoc.class);
+			} catch (IOException e) {
+				logger.error(e.getMessage());
+				throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error reading record metadata", e.getMessage(), e);
+			}
+			for (RecordMetadataDoc doc : docs) {
+				if (doc != null && doc.getId() != null) {
+					output.put(doc.getId(), doc);
+				}
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Writes the documents through _bulk_docs and returns the ones that were rejected,
+	 * so a conflict on one document does not go unnoticed among the successful writes.
+	 */
+	private List<RecordMetadataDoc> bulkWrite(List<RecordMetadataDoc> docs) {
+		Map<String, RecordMetadataDoc> byId = new HashMap<>();
+		for (RecordMetadataDoc doc : docs) {
+			byId.put(doc.getId(), doc);
+		}
+
+		List<RecordMetadataDoc> rejected = new ArrayList<>();
+		for (Response response : db.bulk(docs)) {
+			if (response.getError() != null) {
+				logger.warn("Bulk write rejected record {}: {} {}", response.getId(), response.getError(), response.getReason());
+				RecordMetadataDoc doc = byId.get(response.getId());
+				if (doc != null) {
+					rejected.add(doc);
+				}
+			}
+		}
+		return rejected;
+	}
+
 }
@@ -0,0 +1,261 @@
+/* Licensed Materials - Property of IBM              */
+/* (c) Copyright IBM Corp. 2020. All Rights Reserved.*/
+
+package org.opengroup.osdu.storage.provider.ibm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
+import org.opengroup.osdu.core.common.model.entitlements.Acl;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.model.storage.RecordData;
+import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.opengroup.osdu.core.common.model.storage.RecordProcessing;
+import org.opengroup.osdu.core.ibm.objectstorage.CloudObjectStorageFactory;
+import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
+import org.opengroup.osdu.storage.service.deletion.VersionDeleter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.model.PutObjectRequest;
+
+public class CloudObjectStorageImplTest {
+
+	private static final int MAX_CONCURRENCY = 4;
+	private static final String BUCKET = "bucket";
+
+	private final Map<String, String> objects = new ConcurrentHashMap<>();
+	private final Set<String> failingItems = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	private CloudObjectStorageImpl storage;
+
+	private ExecutorService versionDeleterPool;
+	private IRecordsMetadataRepository recordsMetadataRepository;
+
+	@Before
+	public void setup() {
+		AmazonS3 s3Client = objectStoreStandIn();
+		CloudObjectStorageFactory cosFactory = mock(CloudObjectStorageFactory.class);
+		when(cosFactory.getClient()).thenReturn(s3Client);
+		when(cosFactory.getBucketName(anyString(), anyString())).thenReturn(BUCKET);
+
+		EntitlementsAndCacheServiceIBM entitlementsService = mock(EntitlementsAndCacheServiceIBM.class);
+		when(entitlementsService.hasAccessToData(any(DpsHeaders.class), any(Set.class))).thenReturn(true);
+
+		recordsMetadataRepository = mock(IRecordsMetadataRepository.class);
+
+		storage = new CloudObjectStorageImpl();
+		ReflectionTestUtils.setField(storage, "cosFactory", cosFactory);
+		ReflectionTestUtils.setField(storage, "entitlementsService", entitlementsService);
+		ReflectionTestUtils.setField(storage, "recordsMetadataRepository", recordsMetadataRepository);
+		ReflectionTestUtils.setField(storage, "headers", mock(DpsHeaders.class));
+		ReflectionTestUtils.setField(storage, "logger", mock(JaxRsDpsLog.class));
+		ReflectionTestUtils.setField(storage, "maxConcurrency", MAX_CONCURRENCY);
+		versionDeleterPool = Executors.newFixedThreadPool(MAX_CONCURRENCY);
+		ReflectionTestUtils.setField(storage, "versionDeleter", new VersionDeleter(versionDeleterPool, MAX_CONCURRENCY));
+		storage.init();
+	}
+
+	@After
+	public void tearDown() {
+		storage.shutdown();
+		versionDeleterPool.shutdown();
+	}
+
+	@Test
+	public void should_writeAllItems_withBoundedConcurrency() {
+		List<RecordProcessing> batch = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			batch.add(recordProcessing(record("tenant:record:" + i)));
+		}
+
+		storage.write(batch.toArray(new RecordProcessing[0]));
+
+		assertEquals(40, objects.size());
+		assertTrue(maxInFlight.get() > 1);
+		assertTrue(maxInFlight.get() <= MAX_CONCURRENCY);
+	}
+
+	@Test
+	public void should_reportFailedItems_when_writeFails() {
+		RecordMetadata failing = record("tenant:record:2");
+		failingItems.add(failing.getVersionPath(failing.getLatestVersion()));
+
+		try {
+			storage.write(recordProcessing(record("tenant:record:1")), recordProcessing(failing));
+			fail("Should not succeed");
+		} catch (AppException e) {
+			assertEquals(500, e.getError().getCode());
+			assertTrue(e.getError().getMessage().contains("tenant:record:2"));
+			assertFalse(e.getError().getMessage().contains("tenant:record:1/"));
+		}
+		assertEquals(1, objects.size());
+	}
+
+	@Test
+	public void should_readAllRecords_andReturnNullForFailedItems() {
+		Map<String, String> paths = new HashMap<>();
+		Map<String, RecordMetadata> metadata = new HashMap<>();
+		for (int i = 0; i < 10; i++) {
+			RecordMetadata rm = record("tenant:record:" + i);
+			String path = rm.getVersionPath(rm.getLatestVersion());
+			objects.put(path, "{\"data\":{\"index\":" + i + "}}");
+			paths.put(rm.getId(), path);
+			metadata.put(rm.getId(), rm);
+		}
+		failingItems.add(paths.get("tenant:record:3"));
+		when(recordsMetadataRepository.get(any(List.class), any(Optional.class))).thenReturn(metadata);
+
+		Map<String, String> result = storage.read(paths, Optional.empty());
+
+		assertEquals(10, result.size());
+		assertNull(result.get("tenant:record:3"));
+		assertEquals("{\"data\":{\"index\":7}}", result.get("tenant:record:7"));
+	}
+
+	@Test
+	public void should_deleteAllVersions_andIgnoreFailedItems() {
+		List<String> paths = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			String path = "kind/tenant:record:" + i + "/1";
+			objects.put(path, "{}");
+			paths.add(path);
+		}
+		failingItems.add("kind/tenant:record:5/1");
+
+		storage.deleteVersions(paths);
+
+		assertEquals(1, objects.size());
+		assertTrue(objects.containsKey("kind/tenant:record:5/1"));
+	}
+
+	@Test
+	public void should_hashAllRecords() {
+		List<RecordMetadata> records = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			RecordMetadata rm = record("tenant:record:" + i);
+			objects.put(rm.getVersionPath(rm.getLatestVersion()), "{\"data\":{\"index\":" + (i % 2) + "}}");
+			records.add(rm);
+		}
+
+		Map<String, String> hashes = storage.getHash(records);
+
+		assertEquals(10, hashes.size());
+		assertEquals(hashes.get("tenant:record:0"), hashes.get("tenant:record:2"));
+		assertFalse(hashes.get("tenant:record:0").equals(hashes.get("tenant:record:1")));
+	}
+
+	/**
+	 * Answers the object store calls from an in-memory map and tracks how many calls overlap.
+	 */
+	private AmazonS3 objectStoreStandIn() {
+		AmazonS3 s3Client = mock(AmazonS3.class);
+		when(s3Client.putObject(any(PutObjectRequest.class))).thenAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Exception {
+				PutObjectRequest request = (PutObjectRequest) invocation.getArguments()[0];
+				String content = readAll(request.getInputStream());
+				track(request.getKey());
+				objects.put(request.getKey(), content);
+				return null;
+			}
+		});
+		when(s3Client.getObjectAsString(anyString(), anyString())).thenAnswer(new Answer<String>() {
+			@Override
+			public String answer(InvocationOnMock invocation) throws Exception {
+				String key = (String) invocation.getArguments()[1];
+				track(key);
+				return objects.get(key);
+			}
+		});
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Exception {
+				String key = (String) invocation.getArguments()[1];
+				track(key);
+				objects.remove(key);
+				return null;
+			}
+		}).when(s3Client).deleteObject(anyString(), anyString());
+		return s3Client;
+	}
+
+	private void track(String key) throws InterruptedException {
+		int current = inFlight.incrementAndGet();
+		maxInFlight.accumulateAndGet(current, Math::max);
+		try {
+			Thread.sleep(5);
+			if (failingItems.contains(key)) {
+				throw new IllegalStateException("Simulated failure for " + key);
+			}
+		} finally {
+			inFlight.decrementAndGet();
+		}
+	}
+
+	private static String readAll(InputStream stream) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int read;
+		while ((read = stream.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static RecordProcessing recordProcessing(RecordMetadata rm) {
+		RecordProcessing rp = new RecordProcessing();
+		rp.setRecordMetadata(rm);
+		RecordData data = new RecordData();
+		Map<String, Object> values = new HashMap<>();
+		values.put("id", rm.getId());
+		data.setData(values);
+		rp.setRecordData(data);
+		return rp;
+	}
+
+	private static RecordMetadata record(String id) {
+		RecordMetadata rm = new RecordMetadata();
+		rm.setId(id);
+		rm.setKind("tenant:source:type:1.0.0");
+		rm.setUser("user@example.com");
+		Acl acl = new Acl();
+		acl.setViewers(new String[] {"viewers@tenant.example.com"});
+		acl.setOwners(new String[] {"owners@tenant.example.com"});
+		rm.setAcl(acl);
+		rm.addGcsPath(1L);
+		return rm;
+	}
+}
@@ -0,0 +1,192 @@
+/* Licensed Materials - Property of IBM              */
+/* (c) Copyright IBM Corp. 2020. All Rights Reserved.*/
+
+package org.opengroup.osdu.storage.provider.ibm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cloudant.client.api.Database;
+import com.cloudant.client.api.model.Response;
+import com.cloudant.client.api.views.AllDocsRequest;
+import com.cloudant.client.api.views.AllDocsRequestBuilder;
+import com.cloudant.client.api.views.AllDocsResponse;
+
+public class RecordsMetadataRepositoryImplTest {
+
+	private Database db;
+	private RecordsMetadataRepositoryImpl repository;
+
+	private final Map<String, RecordMetadataDoc> stored = new HashMap<>();
+	private final List<String[]> allDocsRequests = new ArrayList<>();
+
+	@Before
+	public void setup() {
+		db = mock(Database.class);
+		repository = new RecordsMetadataRepositoryImpl();
+		ReflectionTestUtils.setField(repository, "db", db);
+
+		when(db.getAllDocsRequestBuilder()).thenAnswer(new Answer<AllDocsRequestBuilder>() {
+			@Override
+			public AllDocsRequestBuilder answer(InvocationOnMock invocation) {
+				return allDocsBuilder();
+			}
+		});
+	}
+
+	@Test
+	public void should_readAllIds_withOneAllDocsRequestPerChunk() {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 250; i++) {
+			String id = "tenant:record:" + i;
+			ids.add(id);
+			if (i % 2 == 0) {
+				stored.put(id, doc(id, "1-a"));
+			}
+		}
+
+		Map<String, RecordMetadata> result = repository.get(ids, Optional.empty());
+
+		assertEquals(125, result.size());
+		assertEquals(2, allDocsRequests.size());
+		assertEquals(RecordsMetadataRepositoryImpl.ALL_DOCS_KEYS_LIMIT, allDocsRequests.get(0).length);
+		verify(db, never()).find(any(Class.class), anyString());
+	}
+
+	@Test
+	public void should_useRevisionsFromAllDocs_when_updatingRecords() {
+		stored.put("tenant:record:1", doc("tenant:record:1", "3-abc"));
+		final List<RecordMetadataDoc> written = new ArrayList<>();
+		when(db.bulk(any(List.class))).thenAnswer(new Answer<List<Response>>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public List<Response> answer(InvocationOnMock invocation) {
+				List<RecordMetadataDoc> docs = (List<RecordMetadataDoc>) invocation.getArguments()[0];
+				written.addAll(docs);
+				List<Response> responses = new ArrayList<>();
+				for (RecordMetadataDoc doc : docs) {
+					responses.add(response(doc.getId(), null));
+				}
+				return responses;
+			}
+		});
+
+		repository.createOrUpdate(Arrays.asList(metadata("tenant:record:1"), metadata("tenant:record:2")), Optional.empty());
+
+		assertEquals(1, allDocsRequests.size());
+		assertEquals(2, written.size());
+		assertEquals("3-abc", written.get(0).getRev());
+		assertNull(written.get(1).getRev());
+		verify(db, times(1)).bulk(any(List.class));
+		verify(db, never()).find(any(Class.class), anyString(), any(com.cloudant.client.api.model.Params.class));
+	}
+
+	@Test
+	public void should_reportConflicts_withoutOverwritingConcurrentWrites() {
+		stored.put("tenant:record:1", doc("tenant:record:1", "1-a"));
+		when(db.bulk(any(List.class))).thenAnswer(new Answer<List<Response>>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public List<Response> answer(InvocationOnMock invocation) {
+				List<Response> responses = new ArrayList<>();
+				for (RecordMetadataDoc doc : (List<RecordMetadataDoc>) invocation.getArguments()[0]) {
+					responses.add(response(doc.getId(), "tenant:record:1".equals(doc.getId()) ? "conflict" : null));
+				}
+				return responses;
+			}
+		});
+
+		try {
+			repository.createOrUpdate(Arrays.asList(metadata("tenant:record:1"), metadata("tenant:record:2")), Optional.empty());
+			fail("Should not succeed");
+		} catch (AppException e) {
+			assertEquals(409, e.getError().getCode());
+			assertTrue(e.getError().getMessage().contains("tenant:record:1"));
+			assertTrue(!e.getError().getMessage().contains("tenant:record:2"));
+		}
+		verify(db, times(1)).bulk(any(List.class));
+		assertEquals(1, allDocsRequests.size());
+	}
+
+	private AllDocsRequestBuilder allDocsBuilder() {
+		final String[][] keys = new String[1][];
+		final AllDocsRequest request = mock(AllDocsRequest.class);
+		try {
+			when(request.getResponse()).thenAnswer(new Answer<AllDocsResponse>() {
+				@Override
+				public AllDocsResponse answer(InvocationOnMock invocation) {
+					allDocsRequests.add(keys[0]);
+					List<RecordMetadataDoc> docs = new ArrayList<>();
+					for (String key : keys[0]) {
+						docs.add(stored.get(key));
+					}
+					AllDocsResponse response = mock(AllDocsResponse.class);
+					when(response.getDocsAs(RecordMetadataDoc.class)).thenReturn(docs);
+					return response;
+				}
+			});
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return mock(AllDocsRequestBuilder.class, new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) {
+				String method = invocation.getMethod().getName();
+				if ("build".equals(method)) {
+					return request;
+				}
+				if ("keys".equals(method)) {
+					Object[] args = invocation.getArguments();
+					keys[0] = args.length == 1 && args[0] instanceof String[]
+							? (String[]) args[0]
+							: Arrays.copyOf(args, args.length, String[].class);
+				}
+				return invocation.getMock();
+			}
+		});
+	}
+
+	private static RecordMetadataDoc doc(String id, String rev) {
+		RecordMetadataDoc doc = new RecordMetadataDoc(metadata(id));
+		doc.setRev(rev);
+		return doc;
+	}
+
+	private static RecordMetadata metadata(String id) {
+		RecordMetadata rm = new RecordMetadata();
+		rm.setId(id);
+		rm.setKind("tenant:source:type:1.0.0");
+		return rm;
+	}
+
+	private static Response response(String id, String error) {
+		Response response = mock(Response.class);
+		when(response.getId()).thenReturn(id);
+		when(response.getError()).thenReturn(error);
+		return response;
+	}
+}
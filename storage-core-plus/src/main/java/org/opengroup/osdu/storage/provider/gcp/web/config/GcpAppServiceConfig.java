@@ -40,4 +40,8 @@ public class GcpAppServiceConfig {
     private String redisGroupPassword;
     private Integer redisGroupExpiration = 30;
     private Boolean redisGroupWithSsl = false;
+
+    private Integer activeRecordsCountParallelism = 8;
+    // seconds; counts are not cached unless this is set, because a cached count misses records written meanwhile
+    private Integer activeRecordsCountCacheExpiration = 0;
 }
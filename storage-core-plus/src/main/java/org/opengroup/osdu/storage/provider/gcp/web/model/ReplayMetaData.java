@@ -55,4 +55,17 @@ public class ReplayMetaData {
 
   @JsonInclude(JsonInclude.Include.NON_NULL)
   private String elapsedTime;
+
+  // per-replay summary counters, only set on the entry without a kind
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer totalKinds;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer startedKinds;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer completedKinds;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer failedKinds;
 }
@@ -31,7 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
@@ -63,6 +63,9 @@ import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
 import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
 import org.opengroup.osdu.storage.service.DataAuthorizationService;
 import org.opengroup.osdu.storage.service.IEntitlementsExtensionService;
+import org.opengroup.osdu.storage.service.deletion.VersionDeleter;
+import org.opengroup.osdu.storage.service.deletion.VersionDeletionResult;
+import org.opengroup.osdu.storage.service.read.HedgedBlobReader;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Repository;
 
@@ -73,6 +76,7 @@ public class ObmStorage implements ICloudStorage {
     private static final String RECORD_WRITING_ERROR_REASON = "Error on writing record";
     private static final String RECORD_DOES_NOT_HAVE_VERSIONS_AVAILABLE_MSG = "Record %s does not have versions available";
     private static final String ERROR_ON_WRITING_THE_RECORD_HAS_OCCURRED_MSG = "An unexpected error on writing the record has occurred";
+    private static final String BLOB_READ_BACKEND = "obm";
 
     private final Driver storage;
     private final DataAuthorizationService dataAuthorizationService;
@@ -81,6 +85,8 @@ public class ObmStorage implements ICloudStorage {
     private final IRecordsMetadataRepository<?> recordRepository;
     private final IEntitlementsExtensionService entitlementsService;
     private final ExecutorService threadPool;
+    private final VersionDeleter versionDeleter;
+    private final HedgedBlobReader hedgedBlobReader;
     private final JaxRsDpsLog log;
 
     private final PartitionPropertyResolver partitionPropertyResolver;
@@ -248,22 +254,8 @@ public class ObmStorage implements ICloudStorage {
         String bucketName = getBucketName(this.tenantInfo);
         String dataPartitionId = tenantInfo.getDataPartitionId();
 
-        Map<String, String> map = new ConcurrentHashMap<>();
-
-        List<Callable<Boolean>> tasks = new ArrayList<>();
-
-        for (Map.Entry<String, String> object : objects.entrySet()) {
-            String originalKey = object.getKey();
-            tasks.add(() -> this.readBlobThread(dataPartitionId, originalKey, object.getValue(), bucketName, map));
-        }
-
-        try {
-            this.threadPool.invokeAll(tasks);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        return map;
+        return hedgedBlobReader.readAll(BLOB_READ_BACKEND, dataPartitionId, objects, (recordId, path) -> CompletableFuture
+            .supplyAsync(() -> this.readBlob(dataPartitionId, path, bucketName), this.threadPool));
     }
 
     @Override
@@ -341,13 +333,33 @@ public class ObmStorage implements ICloudStorage {
     @Override
     public void deleteVersions(List<String> versionPaths) {
         String bucket = getBucketName(this.tenantInfo);
-        versionPaths.stream().forEach(versionPath -> {
+        ObmDestination destination = getDestination();
+        Map<String, VersionDeletionResult> failures = VersionDeleter.failures(versionDeleter.deleteAll(versionPaths, versionPath -> {
             try {
-                storage.deleteBlob(bucket, versionPath, getDestination());
+                storage.deleteBlob(bucket, versionPath, destination);
+                return true;
             } catch (ObmDriverRuntimeException e) {
-                throw new AppException(HttpStatus.SC_FORBIDDEN, ACCESS_DENIED_ERROR_REASON, ACCESS_DENIED_ERROR_MSG, e);
+                if (e.getError().getHttpStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                    this.log.warning(String.format("Tried to delete non-existent version: %s", versionPath));
+                    return false;
+                }
+                throw e;
             }
-        });
+        }));
+
+        if (failures.isEmpty()) {
+            return;
+        }
+        failures.forEach((path, result) -> this.log.error(String.format("Failed to delete version %s", path), result.getError()));
+        boolean accessDenied = failures.values().stream()
+            .anyMatch(result -> result.getError() instanceof ObmDriverRuntimeException e
+                && e.getError().getHttpStatusCode() == HttpStatus.SC_FORBIDDEN);
+        if (accessDenied) {
+            throw new AppException(HttpStatus.SC_FORBIDDEN, ACCESS_DENIED_ERROR_REASON, ACCESS_DENIED_ERROR_MSG,
+                failures.values().iterator().next().getError());
+        }
+        throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error deleting record versions",
+            String.format("Failed to delete %d of %d record versions", failures.size(), versionPaths.size()));
     }
 
     @Override
@@ -424,15 +436,12 @@ public class ObmStorage implements ICloudStorage {
         }
     }
 
-    private boolean readBlobThread(String dataPartitionId, String originalKey, String object, String bucket, Map<String, String> map) {
+    private String readBlob(String dataPartitionId, String object, String bucket) {
         try {
-            String value = new String(storage.getBlobContent(bucket, object, getDestination(dataPartitionId)), UTF_8);
-            map.put(originalKey, value);
+            return new String(storage.getBlobContent(bucket, object, getDestination(dataPartitionId)), UTF_8);
         } catch (ObmDriverRuntimeException e) {
-            map.put(originalKey, null);
+            return null;
         }
-
-        return true;
     }
 
   private String getBucketName(TenantInfo tenant) {
@@ -22,15 +22,24 @@ import static org.opengroup.osdu.core.osm.core.model.where.predicate.Eq.eq;
 import static org.opengroup.osdu.storage.provider.gcp.web.repository.OsmRecordsMetadataRepository.*;
 import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_SINGLETON;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpStatus;
+import org.opengroup.osdu.core.common.cache.ICache;
+import org.opengroup.osdu.core.common.cache.VmCache;
 import org.opengroup.osdu.core.common.model.http.AppException;
 import org.opengroup.osdu.core.common.model.http.CollaborationContext;
 import org.opengroup.osdu.core.common.model.storage.DatastoreQueryResult;
@@ -49,6 +58,7 @@ import org.opengroup.osdu.core.osm.core.translate.ViewResult;
 import org.opengroup.osdu.storage.model.RecordId;
 import org.opengroup.osdu.storage.model.RecordIdAndKind;
 import org.opengroup.osdu.storage.model.RecordInfoQueryResult;
+import org.opengroup.osdu.storage.provider.gcp.web.config.GcpAppServiceConfig;
 import org.opengroup.osdu.storage.provider.interfaces.IQueryRepository;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Repository;
@@ -56,11 +66,30 @@ import org.springframework.stereotype.Repository;
 @Repository
 @Scope(SCOPE_SINGLETON)
 @Slf4j
-@RequiredArgsConstructor
 public class OsmQueryRepository implements IQueryRepository {
 
+  private static final int KIND_COUNT_CACHE_SIZE = 10000;
+
   private final Context context;
   private final TenantInfo tenantInfo;
+  private final ExecutorService threadPool;
+  private final GcpAppServiceConfig appServiceConfig;
+  // active record count per partition and kind, optionally kept briefly so repeated replay requests do not recount
+  private final ICache<String, Long> kindCountCache;
+
+  public OsmQueryRepository(
+      Context context,
+      TenantInfo tenantInfo,
+      ExecutorService threadPool,
+      GcpAppServiceConfig appServiceConfig) {
+    this.context = context;
+    this.tenantInfo = tenantInfo;
+    this.threadPool = threadPool;
+    this.appServiceConfig = appServiceConfig;
+    Integer expiration = appServiceConfig.getActiveRecordsCountCacheExpiration();
+    this.kindCountCache =
+        expiration != null && expiration > 0 ? new VmCache<>(expiration, KIND_COUNT_CACHE_SIZE) : null;
+  }
 
   @Override
   public DatastoreQueryResult getAllKinds(Integer limit, String cursor) {
@@ -178,16 +207,9 @@ public class OsmQueryRepository implements IQueryRepository {
 
   @Override
   public HashMap<String, Long> getActiveRecordsCount() {
-    HashMap<String, Long> kindCounts = new HashMap<>();
     try {
       List<String> kinds = getAllKinds(null, null).getResults();
-      for (String kind : kinds) {
-        Long count = getActiveRecordCountForKind(kind);
-        if (count != null && count > 0 ) {
-          kindCounts.put(kind, count);
-        }
-      }
-      return kindCounts;
+      return countActiveRecords(kinds, false);
     } catch (Exception e) {
       throw new AppException(
           HttpStatus.SC_INTERNAL_SERVER_ERROR,
@@ -199,25 +221,18 @@ public class OsmQueryRepository implements IQueryRepository {
 
   @Override
   public Map<String, Long> getActiveRecordsCountForKinds(List<String> kinds) {
-    Map<String, Long> kindCounts = new HashMap<>();
-    for (String kind : kinds) {
-      try {
-        long count = getActiveRecordCountForKind(kind);
-        if (count != 0) {
-          kindCounts.put(kind, count);
-        }
-      } catch (Exception e) {
-        log.error("Error counting records for kind = %s : %s".formatted(kind, e.getMessage()), e);
-      }
-    }
-    return kindCounts;
+    return countActiveRecords(kinds, true);
   }
 
   public Long getActiveRecordCountForKind(String kind) {
+    return getActiveRecordCountForKind(getDestination(), kind);
+  }
+
+  private Long getActiveRecordCountForKind(Destination destination, String kind) {
     GetQuery<Long> q =
         new GetQuery<>(
             Long.class,
-            getDestination(),
+            destination,
             and(eq(KIND, kind), eq(STATUS, RecordState.active)), Count.countAll());
 
     List<Long> resultsAsList = context.getResultsAsList(q);
@@ -225,6 +240,102 @@ public class OsmQueryRepository implements IQueryRepository {
     return resultsAsList.get(0);
   }
 
+  /**
+   * Counts active records of the given kinds, leaving out kinds without any. OSM has no grouped
+   * count, so kinds not found in the cache are counted one query per kind by a bounded number of
+   * workers on the shared pool. Failed kinds are either logged and skipped, or fail the whole call.
+   */
+  private HashMap<String, Long> countActiveRecords(List<String> kinds, boolean skipFailedKinds) {
+    // tenant info is request scoped, so resolve everything the workers need up front
+    Destination destination = getDestination();
+    String partitionId = tenantInfo.getDataPartitionId();
+
+    Map<String, Long> kindCounts = new ConcurrentHashMap<>();
+    Queue<String> pending = new ConcurrentLinkedQueue<>();
+    for (String kind : kinds) {
+      Long cached = kindCountCache == null ? null : kindCountCache.get(getKindCountCacheKey(partitionId, kind));
+      if (cached == null) {
+        pending.add(kind);
+      } else if (cached > 0) {
+        kindCounts.put(kind, cached);
+      }
+    }
+
+    Runnable worker =
+        () -> {
+          String kind;
+          while ((kind = pending.poll()) != null) {
+            try {
+              Long count = getActiveRecordCountForKind(destination, kind);
+              if (count == null) {
+                continue;
+              }
+              if (kindCountCache != null) {
+                kindCountCache.put(getKindCountCacheKey(partitionId, kind), count);
+              }
+              if (count > 0) {
+                kindCounts.put(kind, count);
+              }
+            } catch (RuntimeException e) {
+              if (!skipFailedKinds) {
+                pending.clear();
+                throw e;
+              }
+              log.error("Error counting records for kind = %s : %s".formatted(kind, e.getMessage()), e);
+            }
+          }
+        };
+
+    int workers = Math.min(getCountParallelism(), pending.size());
+    if (workers <= 1) {
+      worker.run();
+    } else {
+      runWorkers(worker, workers);
+    }
+    return new HashMap<>(kindCounts);
+  }
+
+  private void runWorkers(Runnable worker, int workers) {
+    List<Callable<Void>> tasks = new ArrayList<>(workers);
+    for (int i = 0; i < workers; i++) {
+      tasks.add(
+          () -> {
+            worker.run();
+            return null;
+          });
+    }
+    try {
+      for (Future<Void> future : threadPool.invokeAll(tasks)) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AppException(
+          HttpStatus.SC_SERVICE_UNAVAILABLE,
+          "Error retrieving active records count",
+          "Interrupted while counting active records",
+          e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new AppException(
+          HttpStatus.SC_INTERNAL_SERVER_ERROR,
+          "Error retrieving active records count",
+          e.getCause().getMessage(),
+          e);
+    }
+  }
+
+  private int getCountParallelism() {
+    Integer parallelism = appServiceConfig.getActiveRecordsCountParallelism();
+    return parallelism == null ? 1 : parallelism;
+  }
+
+  private static String getKindCountCacheKey(String partitionId, String kind) {
+    return partitionId + ":" + kind;
+  }
+
   private int getLimitTuned(Integer limit) {
     return (limit != null && limit > 0) ? limit : PAGE_SIZE;
   }
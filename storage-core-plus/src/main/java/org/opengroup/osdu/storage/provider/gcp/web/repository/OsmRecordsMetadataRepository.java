@@ -82,6 +82,9 @@ public class OsmRecordsMetadataRepository implements IRecordsMetadataRepository<
   public static final String LEGAL_COMPLIANCE = "legal.status";
   public static final String STATUS = "status";
 
+  // upper bound of queries issued to fill a single getRecords page
+  private static final int MAX_PAGE_FETCHES = 50;
+
   @Override
   public List<RecordMetadata> createOrUpdate(List<RecordMetadata> recordsMetadata,
       Optional<CollaborationContext> collaborationContext) {
@@ -180,6 +183,21 @@ public class OsmRecordsMetadataRepository implements IRecordsMetadataRepository<
   @Override
   public RecordInfoQueryResult<RecordMetadata> getRecords(String kind, Long modifiedAfterTime, String cursor, int limit,
       boolean deletedRecords, SortOrder sortOrder, Optional<CollaborationContext> collaborationContext) {
+    return queryRecords(kind, MODIFY_TIME, modifiedAfterTime, cursor, limit, deletedRecords, sortOrder,
+        collaborationContext);
+  }
+
+  @Override
+  public RecordInfoQueryResult<RecordMetadata> getRecordsCreatedAfter(String kind, Long createdAfterTime,
+      String cursor, int limit, boolean deletedRecords, SortOrder sortOrder,
+      Optional<CollaborationContext> collaborationContext) {
+    return queryRecords(kind, CREATE_TIME, createdAfterTime, cursor, limit, deletedRecords, sortOrder,
+        collaborationContext);
+  }
+
+  private RecordInfoQueryResult<RecordMetadata> queryRecords(String kind, String timeField, Long afterTime,
+      String cursor, int limit, boolean deletedRecords, SortOrder sortOrder,
+      Optional<CollaborationContext> collaborationContext) {
     Where whereClause = eq(STATUS, deletedRecords ? RecordState.deleted.name() : RecordState.active.name());
     String sortField = CREATE_TIME;
 
@@ -187,9 +205,9 @@ public class OsmRecordsMetadataRepository implements IRecordsMetadataRepository<
       whereClause = and(whereClause, eq(KIND, kind));
     }
 
-    if (modifiedAfterTime != null) {
-      whereClause = and(whereClause, ge(MODIFY_TIME, modifiedAfterTime));
-      sortField = MODIFY_TIME;
+    if (afterTime != null) {
+      whereClause = and(whereClause, ge(timeField, afterTime));
+      sortField = timeField;
     }
 
     OrderBy orderByClause =
@@ -199,27 +217,36 @@ public class OsmRecordsMetadataRepository implements IRecordsMetadataRepository<
     GetQuery<RecordMetadata> query = new GetQuery<>(RecordMetadata.class, getDestination(),
         whereClause, orderByClause);
 
-    Outcome<RecordMetadata> queryOutcome = context.getResults(query, null, limit, cursor)
-        .outcome();
-
-    List<RecordMetadata> resultList = queryOutcome.getList() != null ? queryOutcome.getList() : new ArrayList<>();
+    // Namespace filtering happens after the query, so keep reading until the page is full. Each round asks only for
+    // the missing number of items, which keeps the returned cursor exactly behind the last consumed item.
+    List<RecordMetadata> resultList = new ArrayList<>(limit);
+    String pointer = cursor;
+    int fetches = 0;
+    do {
+      Outcome<RecordMetadata> queryOutcome = context.getResults(query, null, limit - resultList.size(), pointer)
+          .outcome();
+      List<RecordMetadata> page = queryOutcome.getList() != null ? queryOutcome.getList() : new ArrayList<>();
+      resultList.addAll(filterByCollaborationContext(page, collaborationContext));
+      pointer = CollectionUtils.isEmpty(page) ? null : queryOutcome.getPointer();
+      fetches++;
+    } while (resultList.size() < limit && StringUtils.isNotEmpty(pointer) && fetches < MAX_PAGE_FETCHES);
+
+    return new RecordInfoQueryResult<>(StringUtils.isNotEmpty(pointer) ? pointer : null, resultList);
+  }
 
-    // Filter by collaboration context and restore original IDs
+  private List<RecordMetadata> filterByCollaborationContext(List<RecordMetadata> records,
+      Optional<CollaborationContext> collaborationContext) {
     if (collaborationContext.isPresent()) {
       String namespace = CollaborationContextUtil.getNamespace(collaborationContext);
-      resultList = resultList.stream()
+      return records.stream()
           .filter(record -> record != null && record.getId() != null && record.getId().startsWith(namespace))
           .peek(record -> restoreOriginalId(record, collaborationContext))
           .collect(Collectors.toList());
-    } else {
-      // SOR only: filter out records that have any collaboration prefix (contain ":" before the normal ID format)
-      resultList = resultList.stream()
-          .filter(record -> record != null && record.getId() != null && !hasCollaborationPrefix(record.getId()))
-          .collect(Collectors.toList());
     }
-
-    String nextCursor = CollectionUtils.isEmpty(resultList) ? null : queryOutcome.getPointer();
-    return new RecordInfoQueryResult<>(nextCursor, resultList);
+    // SOR only: filter out records that have any collaboration prefix (contain ":" before the normal ID format)
+    return records.stream()
+        .filter(record -> record != null && record.getId() != null && !hasCollaborationPrefix(record.getId()))
+        .collect(Collectors.toList());
   }
 
   @Override
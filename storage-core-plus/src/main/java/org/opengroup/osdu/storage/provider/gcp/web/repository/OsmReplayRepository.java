@@ -35,6 +35,7 @@ import org.opengroup.osdu.core.osm.core.model.query.GetQuery;
 import org.opengroup.osdu.core.osm.core.service.Context;
 import org.opengroup.osdu.core.osm.core.service.Transaction;
 import org.opengroup.osdu.storage.dto.ReplayMetaDataDTO;
+import org.opengroup.osdu.storage.dto.ReplaySummaryIncrement;
 import org.opengroup.osdu.storage.provider.gcp.web.model.ReplayMetaData;
 import org.opengroup.osdu.storage.provider.interfaces.IReplayRepository;
 import org.springframework.context.annotation.Scope;
@@ -46,6 +47,7 @@ import org.springframework.stereotype.Repository;
 @RequiredArgsConstructor
 public class OsmReplayRepository implements IReplayRepository {
 
+  private static final String ID = "id";
   private static final String REPLAY_ID = "replayId";
   private final Context context;
   private final TenantInfo tenantInfo;
@@ -77,6 +79,29 @@ public class OsmReplayRepository implements IReplayRepository {
         .orElse(null);
   }
 
+  /**
+   * OSM has neither an atomic increment nor a conditional write, so the summary counters cannot be kept consistent
+   * across instances and there is no summary to read. The status is built from the per-kind entries instead.
+   *
+   * @param replayId The unique identifier for the replay operation
+   * @return always null
+   */
+  @Override
+  public ReplayMetaDataDTO getReplaySummary(String replayId) {
+    return null;
+  }
+
+  /**
+   * There is no per-replay summary to update, see {@link #getReplaySummary(String)}.
+   *
+   * @param replayId The unique identifier for the replay operation
+   * @param increment The change of one per-kind entry
+   */
+  @Override
+  public void incrementReplaySummary(String replayId, ReplaySummaryIncrement increment) {
+    // no summary to update
+  }
+
   @Override
   public ReplayMetaDataDTO save(ReplayMetaDataDTO replayMetaDataDTO) {
     Transaction txn = context.beginTransaction(getDestination());
@@ -115,6 +140,10 @@ public class OsmReplayRepository implements IReplayRepository {
         .processedRecords(replayMetaData.getProcessedRecords())
         .state(replayMetaData.getState())
         .elapsedTime(replayMetaData.getElapsedTime())
+        .totalKinds(replayMetaData.getTotalKinds())
+        .startedKinds(replayMetaData.getStartedKinds())
+        .completedKinds(replayMetaData.getCompletedKinds())
+        .failedKinds(replayMetaData.getFailedKinds())
         .build();
   }
 
@@ -133,6 +162,10 @@ public class OsmReplayRepository implements IReplayRepository {
         .processedRecords(replayMetaDataDTO.getProcessedRecords())
         .state(replayMetaDataDTO.getState())
         .elapsedTime(replayMetaDataDTO.getElapsedTime())
+        .totalKinds(replayMetaDataDTO.getTotalKinds())
+        .startedKinds(replayMetaDataDTO.getStartedKinds())
+        .completedKinds(replayMetaDataDTO.getCompletedKinds())
+        .failedKinds(replayMetaDataDTO.getFailedKinds())
         .build();
   }
 }
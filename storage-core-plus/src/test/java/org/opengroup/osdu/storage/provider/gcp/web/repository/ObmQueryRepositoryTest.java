@@ -42,8 +42,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -55,6 +60,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.opengroup.osdu.core.common.model.http.AppException;
@@ -68,6 +74,7 @@ import org.opengroup.osdu.core.osm.core.translate.ViewResult;
 import org.opengroup.osdu.storage.model.RecordId;
 import org.opengroup.osdu.storage.model.RecordIdAndKind;
 import org.opengroup.osdu.storage.model.RecordInfoQueryResult;
+import org.opengroup.osdu.storage.provider.gcp.web.config.GcpAppServiceConfig;
 import org.opengroup.osdu.storage.service.SchemaService;
 
 /**
@@ -98,6 +105,9 @@ class OsmQueryRepositoryTest {
     @Mock
     private SchemaService schemaService;
 
+    @Spy
+    private GcpAppServiceConfig appServiceConfig = new GcpAppServiceConfig();
+
     @InjectMocks
     private OsmQueryRepository repository;
 
@@ -106,6 +116,8 @@ class OsmQueryRepositoryTest {
         // Setup tenant info - use lenient() to avoid unnecessary stubbing warnings
         lenient().when(tenantInfo.getDataPartitionId()).thenReturn(TEST_PARTITION_ID);
         lenient().when(tenantInfo.getName()).thenReturn(TEST_TENANT_NAME);
+        // count kinds on the calling thread so sequential count stubs map to kinds in order
+        appServiceConfig.setActiveRecordsCountParallelism(1);
     }
 
     @Nested
@@ -529,6 +541,147 @@ class OsmQueryRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Parallel active records count Tests")
+    class ParallelActiveRecordsCountTests {
+
+        private static final int KIND_COUNT = 40;
+        private static final int PARALLELISM = 8;
+        private static final long QUERY_LATENCY_MILLIS = 25;
+
+        private final AtomicInteger countQueries = new AtomicInteger();
+        private final AtomicInteger runningQueries = new AtomicInteger();
+        private final AtomicInteger maxRunningQueries = new AtomicInteger();
+
+        private ExecutorService threadPool;
+        private OsmQueryRepository parallelRepository;
+
+        @BeforeEach
+        void setUp() {
+            threadPool = Executors.newFixedThreadPool(32);
+            GcpAppServiceConfig config = new GcpAppServiceConfig();
+            config.setActiveRecordsCountParallelism(PARALLELISM);
+            parallelRepository = new OsmQueryRepository(context, tenantInfo, threadPool, config);
+        }
+
+        @AfterEach
+        void tearDown() {
+            threadPool.shutdownNow();
+        }
+
+        @Test
+        @DisplayName("Should count kinds concurrently within the configured parallelism")
+        void getActiveRecordsCount_ManyKinds_ShouldCountInParallel() {
+            // Arrange
+            List<String> kinds = kinds();
+            setupViewResultsMock(createViewResultsForKinds(kinds.toArray(new String[0])), null);
+            setupInMemoryCounts(-1);
+
+            // Act
+            long start = System.nanoTime();
+            HashMap<String, Long> result = parallelRepository.getActiveRecordsCount();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // Assert
+            assertEquals(KIND_COUNT, result.size());
+            assertTrue(result.values().stream().allMatch(count -> count == 7L));
+            assertTrue(maxRunningQueries.get() > 1);
+            assertTrue(maxRunningQueries.get() <= PARALLELISM);
+            // serial counting takes KIND_COUNT * latency (1s); leave headroom for slow build agents
+            assertTrue(elapsedMillis < KIND_COUNT * QUERY_LATENCY_MILLIS / 2,
+                    "counting " + KIND_COUNT + " kinds took " + elapsedMillis + "ms");
+        }
+
+        @Test
+        @DisplayName("Should serve repeated counts from cache when the cache is enabled")
+        void getActiveRecordsCountForKinds_Repeated_ShouldUseCache() {
+            // Arrange
+            GcpAppServiceConfig config = new GcpAppServiceConfig();
+            config.setActiveRecordsCountParallelism(PARALLELISM);
+            config.setActiveRecordsCountCacheExpiration(60);
+            OsmQueryRepository cachingRepository = new OsmQueryRepository(context, tenantInfo, threadPool, config);
+            List<String> kinds = kinds();
+            setupInMemoryCounts(-1);
+
+            // Act
+            Map<String, Long> first = cachingRepository.getActiveRecordsCountForKinds(kinds);
+            Map<String, Long> second = cachingRepository.getActiveRecordsCountForKinds(kinds.subList(0, 10));
+
+            // Assert
+            assertEquals(KIND_COUNT, first.size());
+            assertEquals(10, second.size());
+            assertEquals(KIND_COUNT, countQueries.get());
+        }
+
+        @Test
+        @DisplayName("Should recount repeated counts by default")
+        void getActiveRecordsCountForKinds_Repeated_ShouldRecountByDefault() {
+            // Arrange
+            List<String> kinds = kinds();
+            setupInMemoryCounts(-1);
+
+            // Act
+            parallelRepository.getActiveRecordsCountForKinds(kinds);
+            parallelRepository.getActiveRecordsCountForKinds(kinds.subList(0, 10));
+
+            // Assert
+            assertEquals(KIND_COUNT + 10, countQueries.get());
+        }
+
+        @Test
+        @DisplayName("Should skip failed kinds when counting requested kinds")
+        void getActiveRecordsCountForKinds_OnPartialError_ShouldSkipFailedKind() {
+            // Arrange
+            setupInMemoryCounts(3);
+
+            // Act
+            Map<String, Long> result = parallelRepository.getActiveRecordsCountForKinds(kinds());
+
+            // Assert
+            assertEquals(KIND_COUNT - 1, result.size());
+        }
+
+        @Test
+        @DisplayName("Should fail whole count when a kind fails while counting all kinds")
+        void getActiveRecordsCount_OnError_ShouldThrowAppException() {
+            // Arrange
+            List<String> kinds = kinds();
+            setupViewResultsMock(createViewResultsForKinds(kinds.toArray(new String[0])), null);
+            setupInMemoryCounts(3);
+
+            // Act & Assert
+            AppException exception = assertThrows(AppException.class,
+                    () -> parallelRepository.getActiveRecordsCount());
+            assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, exception.getError().getCode());
+        }
+
+        private List<String> kinds() {
+            List<String> kinds = new ArrayList<>();
+            for (int i = 0; i < KIND_COUNT; i++) {
+                kinds.add("test:kind" + i + ":1.0.0");
+            }
+            return kinds;
+        }
+
+        // in-memory OSM driver: every kind holds 7 active records and each count query takes a fixed latency
+        private void setupInMemoryCounts(int failingQuery) {
+            when(context.getResultsAsList(any(GetQuery.class))).thenAnswer(invocation -> {
+                int query = countQueries.incrementAndGet();
+                int running = runningQueries.incrementAndGet();
+                maxRunningQueries.accumulateAndGet(running, Math::max);
+                try {
+                    Thread.sleep(QUERY_LATENCY_MILLIS);
+                    if (query == failingQuery) {
+                        throw new RuntimeException("Count query failed");
+                    }
+                    return Collections.singletonList(7L);
+                } finally {
+                    runningQueries.decrementAndGet();
+                }
+            });
+        }
+    }
+
     @Nested
     @DisplayName("getActiveRecordCountForKind Tests")
     class GetActiveRecordCountForKindTests {
@@ -16,6 +16,7 @@
 package org.opengroup.osdu.storage.provider.gcp.web.repository;
 
 import com.google.gson.Gson;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,6 +30,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
 import org.opengroup.osdu.core.common.model.entitlements.Acl;
@@ -52,6 +54,10 @@ import org.opengroup.osdu.storage.provider.gcp.web.config.PartitionPropertyNames
 import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
 import org.opengroup.osdu.storage.service.DataAuthorizationService;
 import org.opengroup.osdu.storage.service.IEntitlementsExtensionService;
+import org.opengroup.osdu.storage.service.deletion.VersionDeleter;
+import org.opengroup.osdu.storage.service.read.BlobReadConfig;
+import org.opengroup.osdu.storage.service.read.HedgedBlobReader;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap;
@@ -65,6 +71,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
@@ -86,6 +93,7 @@ import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.ArgumentMatchers.contains;
 
 @ExtendWith(MockitoExtension.class)
@@ -114,6 +122,9 @@ class ObmStorageTest {
     @Mock
     private ExecutorService threadPool;
 
+    @Spy
+    private HedgedBlobReader hedgedBlobReader = new HedgedBlobReader(new BlobReadConfig(), new SimpleMeterRegistry());
+
     @Mock
     private JaxRsDpsLog log;
 
@@ -531,56 +542,53 @@ class ObmStorageTest {
 
         @Test
         @DisplayName("Should successfully read multiple records")
-        void shouldReadMultipleRecords() throws Exception {
+        void shouldReadMultipleRecords() {
             // Arrange
             Map<String, String> objects = new HashMap<>();
             objects.put("key1", "path/to/record1/1");
             objects.put("key2", "path/to/record2/1");
 
-            when(threadPool.invokeAll(anyList())).thenAnswer(invocation -> {
-                @SuppressWarnings("unchecked")
-                List<Callable<Boolean>> tasks = (List<Callable<Boolean>>) invocation.getArgument(0);
-                List<Future<Boolean>> futures = new ArrayList<>();
-                for (Callable<Boolean> task : tasks) {
-                    try {
-                        task.call();
-                        @SuppressWarnings("unchecked")
-                        Future<Boolean> future = (Future<Boolean>) mock(Future.class);
-                        lenient().when(future.get()).thenReturn(true);
-                        futures.add(future);
-                    } catch (Exception e) {
-                        // ignore
-                    }
-                }
-                return futures;
-            });
-
-            lenient().when(storage.getBlobContent(eq(BUCKET_NAME), anyString(), any(ObmDestination.class)))
+            runTasksInline();
+            when(storage.getBlobContent(eq(BUCKET_NAME), anyString(), any(ObmDestination.class)))
                     .thenReturn("{\"data\":\"test\"}".getBytes(StandardCharsets.UTF_8));
 
             // Act
             Map<String, String> result = obmStorage.read(objects, Optional.empty());
 
             // Assert
-            assertNotNull(result);
-            verify(threadPool).invokeAll(anyList());
+            assertEquals(2, result.size());
+            assertEquals("{\"data\":\"test\"}", result.get("key1"));
+            verify(threadPool, times(2)).execute(any(Runnable.class));
         }
 
         @Test
-        @DisplayName("Should handle InterruptedException")
-        void shouldHandleInterruptedException() throws Exception {
+        @DisplayName("Should leave out records whose blob cannot be read")
+        void shouldLeaveOutUnreadableRecords() {
             // Arrange
             Map<String, String> objects = new HashMap<>();
             objects.put("key1", "path/to/record1/1");
+            objects.put("key2", "path/to/record2/1");
 
-            when(threadPool.invokeAll(anyList())).thenThrow(new InterruptedException());
+            runTasksInline();
+            when(storage.getBlobContent(eq(BUCKET_NAME), eq("path/to/record1/1"), any(ObmDestination.class)))
+                    .thenReturn("{\"data\":\"test\"}".getBytes(StandardCharsets.UTF_8));
+            when(storage.getBlobContent(eq(BUCKET_NAME), eq("path/to/record2/1"), any(ObmDestination.class)))
+                    .thenThrow(new ObmDriverRuntimeException(getNotFoundError(),
+                            new RuntimeException("Not found")));
 
             // Act
             Map<String, String> result = obmStorage.read(objects, Optional.empty());
 
             // Assert
-            assertNotNull(result);
-            assertTrue(Thread.interrupted()); // Clear interrupted status
+            assertEquals(1, result.size());
+            assertTrue(result.containsKey("key1"));
+        }
+
+        private void runTasksInline() {
+            doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(0).run();
+                return null;
+            }).when(threadPool).execute(any(Runnable.class));
         }
     }
 
@@ -750,6 +758,11 @@ class ObmStorageTest {
     @DisplayName("Delete Versions Tests")
     class DeleteVersionsTests {
 
+        @BeforeEach
+        void setUpVersionDeleter() {
+            ReflectionTestUtils.setField(obmStorage, "versionDeleter", new VersionDeleter(Executors.newFixedThreadPool(2), 2));
+        }
+
         @Test
         @DisplayName("Should successfully delete multiple versions")
         void shouldDeleteVersions() {
@@ -774,9 +787,25 @@ class ObmStorageTest {
                     .when(storage).deleteBlob(eq(BUCKET_NAME), anyString(), any(ObmDestination.class));
 
             // Act & Assert
-            assertThrows(AppException.class, () -> {
+            AppException exception = assertThrows(AppException.class, () -> {
                 obmStorage.deleteVersions(versionPaths);
             });
+            assertEquals(HttpStatus.SC_FORBIDDEN, exception.getError().getCode());
+        }
+
+        @Test
+        @DisplayName("Should ignore missing versions and keep deleting the others")
+        void shouldIgnoreMissingVersions() {
+            // Arrange
+            List<String> versionPaths = Arrays.asList("path/version/1", "path/version/2", "path/version/3");
+            doThrow(new ObmDriverRuntimeException(getNotFoundError(), new RuntimeException("Not found")))
+                    .when(storage).deleteBlob(eq(BUCKET_NAME), eq("path/version/1"), any(ObmDestination.class));
+
+            // Act
+            obmStorage.deleteVersions(versionPaths);
+
+            // Assert
+            verify(storage, times(3)).deleteBlob(eq(BUCKET_NAME), anyString(), any(ObmDestination.class));
         }
     }
 
@@ -863,7 +892,7 @@ class ObmStorageTest {
             // Re-create obmStorage to pick up new mock behavior
             ObmStorage newObmStorage = new ObmStorage(
                     storage, dataAuthorizationService, headers, tenantInfo, recordRepository,
-                    entitlementsService, threadPool, log, partitionPropertyResolver, partitionPropertyNames
+                    entitlementsService, threadPool, null, hedgedBlobReader, log, partitionPropertyResolver, partitionPropertyNames
             );
 
             RecordMetadata metadata = createRecordMetadata();
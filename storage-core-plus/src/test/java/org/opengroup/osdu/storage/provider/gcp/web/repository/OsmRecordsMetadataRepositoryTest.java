@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
@@ -58,6 +59,7 @@ import org.opengroup.osdu.core.osm.core.service.Results;
 import org.opengroup.osdu.core.osm.core.translate.Outcome;
 import org.opengroup.osdu.storage.model.RecordInfoQueryResult;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Arrays;
 import java.util.Collections;
@@ -293,29 +295,32 @@ class OsmRecordsMetadataRepositoryTest {
 
   @Test
   void getRecords_shouldHandleBasicQueryingWithVariations() {
-    RecordMetadata recordMetadata = createRecordMetadata(TEST_ID);
+    List<RecordMetadata> page = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      page.add(createRecordMetadata(TEST_ID + i));
+    }
     when(outcome.getPointer()).thenReturn(TEST_CURSOR);
-    when(outcome.getList()).thenReturn(Collections.singletonList(recordMetadata));
+    when(outcome.getList()).thenReturn(page);
     when(results.outcome()).thenReturn(outcome);
     when(context.getResults(any(GetQuery.class), isNull(), eq(10), any())).thenReturn(results);
 
     // Active records, no kind
     RecordInfoQueryResult<RecordMetadata> result = repository.getRecords(
             null, null, TEST_CURSOR, 10, false, SortOrder.ASC, Optional.empty());
-    assertEquals(1, result.getResults().size());
+    assertEquals(10, result.getResults().size());
     assertEquals(TEST_CURSOR, result.getCursor());
 
     // Deleted records with kind
     result = repository.getRecords(TEST_KIND, null, null, 10, true, SortOrder.DESC, Optional.empty());
-    assertEquals(1, result.getResults().size());
+    assertEquals(10, result.getResults().size());
 
     // With modifiedAfterTime
     result = repository.getRecords(null, 1234567890L, null, 10, false, SortOrder.ASC, Optional.empty());
-    assertEquals(1, result.getResults().size());
+    assertEquals(10, result.getResults().size());
 
     // Null sort order (defaults to ASC)
     result = repository.getRecords(null, null, null, 10, false, null, Optional.empty());
-    assertEquals(1, result.getResults().size());
+    assertEquals(10, result.getResults().size());
   }
 
   @Test
@@ -327,7 +332,6 @@ class OsmRecordsMetadataRepositoryTest {
     RecordMetadata collabRecord = createRecordMetadata(collabRecordId);
     RecordMetadata otherRecord = createRecordMetadata(otherCollabId);
 
-    when(outcome.getPointer()).thenReturn(TEST_CURSOR);
     when(outcome.getList()).thenReturn(Arrays.asList(collabRecord, otherRecord));
     when(results.outcome()).thenReturn(outcome);
     when(context.getResults(any(GetQuery.class), isNull(), eq(10), isNull())).thenReturn(results);
@@ -347,7 +351,6 @@ class OsmRecordsMetadataRepositoryTest {
     RecordMetadata regularRecord = createRecordMetadata(regularId);
     RecordMetadata collabRecord = createRecordMetadata(collabId);
 
-    when(outcome.getPointer()).thenReturn(TEST_CURSOR);
     when(outcome.getList()).thenReturn(Arrays.asList(regularRecord, collabRecord));
     when(results.outcome()).thenReturn(outcome);
     when(context.getResults(any(GetQuery.class), isNull(), eq(10), isNull())).thenReturn(results);
@@ -381,7 +384,6 @@ class OsmRecordsMetadataRepositoryTest {
     RecordMetadata validRecord = createRecordMetadata(TEST_ID);
     RecordMetadata nullIdRecord = new RecordMetadata();
     nullIdRecord.setId(null);
-    when(outcome.getPointer()).thenReturn(TEST_CURSOR);
     when(outcome.getList()).thenReturn(Arrays.asList(null, validRecord, nullIdRecord));
 
     result = repository.getRecords(null, null, null, 10, false, SortOrder.ASC, Optional.empty());
@@ -392,6 +394,46 @@ class OsmRecordsMetadataRepositoryTest {
     assertEquals(1, result.getResults().size());
   }
 
+  @Test
+  void getRecords_shouldReturnFullPages_whenCollaborationRecordsAreInterleaved() {
+    List<RecordMetadata> stored = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      stored.add(createRecordMetadata(i % 2 == 0 ? "sor-" + i : COLLAB_ID + ":" + COLLAB_APP + ":collab-" + i));
+    }
+    givenInMemoryDriver(stored);
+
+    RecordInfoQueryResult<RecordMetadata> first = repository.getRecords(
+            TEST_KIND, null, null, 10, false, SortOrder.ASC, Optional.empty());
+    assertEquals(10, first.getResults().size());
+    assertNotNull(first.getCursor());
+
+    RecordInfoQueryResult<RecordMetadata> second = repository.getRecords(
+            TEST_KIND, null, first.getCursor(), 10, false, SortOrder.ASC, Optional.empty());
+    assertEquals(5, second.getResults().size());
+    assertNull(second.getCursor());
+    assertEquals("sor-18", first.getResults().get(9).getId());
+    assertEquals("sor-20", second.getResults().get(0).getId());
+  }
+
+  @Test
+  void getRecords_shouldSkipEmptyRawPages_whenCollaborationContextPresent() {
+    List<RecordMetadata> stored = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      stored.add(createRecordMetadata("sor-" + i));
+    }
+    stored.add(createRecordMetadata(COLLAB_ID + ":" + COLLAB_APP + ":collab-1"));
+    stored.add(createRecordMetadata(COLLAB_ID + ":" + COLLAB_APP + ":collab-2"));
+    givenInMemoryDriver(stored);
+
+    RecordInfoQueryResult<RecordMetadata> result = repository.getRecords(
+            TEST_KIND, null, null, 2, false, SortOrder.ASC, Optional.of(createCollaborationContext()));
+
+    assertEquals(2, result.getResults().size());
+    assertEquals("collab-1", result.getResults().get(0).getId());
+    assertEquals("collab-2", result.getResults().get(1).getId());
+    assertNull(result.getCursor());
+  }
+
   // ========================================
   // get(List<String>) Tests
   // ========================================
@@ -526,4 +568,23 @@ class OsmRecordsMetadataRepositoryTest {
     collaborationContext.setApplication(COLLAB_APP);
     return collaborationContext;
   }
+
+  /**
+   * Serves getResults from an in-memory list, using the offset of the next item as the cursor.
+   */
+  @SuppressWarnings("unchecked")
+  private void givenInMemoryDriver(List<RecordMetadata> stored) {
+    when(context.getResults(any(GetQuery.class), isNull(), anyInt(), any())).thenAnswer(invocation -> {
+      int pageSize = invocation.getArgument(2);
+      String pointer = invocation.getArgument(3);
+      int from = pointer == null ? 0 : Integer.parseInt(pointer);
+      int to = Math.min(from + pageSize, stored.size());
+      Outcome<RecordMetadata> pageOutcome = mock(Outcome.class);
+      lenient().when(pageOutcome.getList()).thenReturn(new ArrayList<>(stored.subList(from, to)));
+      lenient().when(pageOutcome.getPointer()).thenReturn(to < stored.size() ? String.valueOf(to) : null);
+      Results<GetQuery<RecordMetadata>, RecordMetadata> pageResults = mock(Results.class);
+      when(pageResults.outcome()).thenReturn(pageOutcome);
+      return pageResults;
+    });
+  }
 }
@@ -37,6 +37,7 @@ import org.opengroup.osdu.core.osm.core.model.query.GetQuery;
 import org.opengroup.osdu.core.osm.core.service.Context;
 import org.opengroup.osdu.core.osm.core.service.Transaction;
 import org.opengroup.osdu.storage.dto.ReplayMetaDataDTO;
+import org.opengroup.osdu.storage.dto.ReplaySummaryIncrement;
 import org.opengroup.osdu.storage.provider.gcp.web.model.ReplayMetaData;
 import org.opengroup.osdu.storage.request.ReplayFilter;
 
@@ -577,6 +578,33 @@ class OsmReplayRepositoryTest {
     }
   }
 
+  // ========================================
+  // Replay Summary Tests
+  // ========================================
+
+  @Nested
+  @DisplayName("Replay Summary Tests")
+  class ReplaySummaryTests {
+
+    @Test
+    @DisplayName("Should not keep a summary, the status is built from the per-kind entries")
+    void getReplaySummary_ReturnsNull() {
+      assertNull(repository.getReplaySummary(TEST_REPLAY_ID));
+      verifyNoInteractions(context);
+    }
+
+    @Test
+    @DisplayName("Should not write summary increments")
+    void incrementReplaySummary_DoesNotWrite() {
+      repository.incrementReplaySummary(TEST_REPLAY_ID, ReplaySummaryIncrement.builder()
+              .processedRecords(5)
+              .completedKinds(1)
+              .build());
+
+      verifyNoInteractions(context);
+    }
+  }
+
   // ========================================
   // Edge Cases and Integration Tests
   // ========================================
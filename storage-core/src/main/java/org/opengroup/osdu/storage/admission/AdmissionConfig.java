@@ -0,0 +1,81 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.admission;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "storage.admission")
+public class AdmissionConfig {
+
+    public static final String BLOB_READ = "blob-read";
+
+    private boolean enabled = false;
+
+    // limits by API class (read, write, replay) and for blob reads, applying to each partition
+    private Map<String, Limits> defaults = defaultLimits();
+
+    // per partition overrides of the defaults, e.g. storage.admission.partitions.opendes.write.max-concurrent=8
+    private Map<String, Map<String, Limits>> partitions = new HashMap<>();
+
+    public Limits getLimits(String partitionId, String resource) {
+        Map<String, Limits> partitionLimits = this.partitions.get(partitionId);
+        if (partitionLimits != null && partitionLimits.containsKey(resource)) {
+            return partitionLimits.get(resource);
+        }
+        return this.defaults.getOrDefault(resource, new Limits());
+    }
+
+    private static Map<String, Limits> defaultLimits() {
+        Map<String, Limits> limits = new HashMap<>();
+        limits.put(ApiClass.READ.getConfigName(), new Limits(64, 128, 1000, 0));
+        limits.put(ApiClass.WRITE.getConfigName(), new Limits(32, 64, 1000, 0));
+        limits.put(ApiClass.REPLAY.getConfigName(), new Limits(4, 4, 0, 0));
+        // half of the shared 192 thread pool, so that one partition cannot take all of it
+        limits.put(BLOB_READ, new Limits(96, 1024, 2000, 0));
+        return limits;
+    }
+
+    @Getter
+    @Setter
+    public static class Limits {
+
+        private int maxConcurrent = 32;
+
+        // callers waiting for a slot, further ones are rejected at once
+        private int maxQueued = 64;
+
+        private long queueTimeoutMs = 1000;
+
+        // callers are rejected instead of queued when the expected wait exceeds this target, 0 for no target
+        private long latencyTargetMs = 0;
+
+        public Limits() {
+        }
+
+        public Limits(int maxConcurrent, int maxQueued, long queueTimeoutMs, long latencyTargetMs) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.queueTimeoutMs = queueTimeoutMs;
+            this.latencyTargetMs = latencyTargetMs;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.opengroup.osdu.storage.exception.TooManyRequestsException;
+import org.opengroup.osdu.storage.metrics.PartitionKeys;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per data partition bulkheads for API calls, by {@link ApiClass}, and for blob reads, so that one partition's load
+ * cannot take the request threads and the shared thread pools from the other partitions. Calls over the limits are
+ * rejected with a {@link TooManyRequestsException} carrying the time to retry after. Partitions with configured limits
+ * and, up to a maximum, existing partitions get their own bulkheads, calls for any other partition id share one.
+ */
+@Component
+public class AdmissionController {
+
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static final String REJECTED_METRIC = "storage.admission.rejected";
+
+    private static final Permit UNLIMITED = () -> {};
+
+    private final AdmissionConfig config;
+    private final MeterRegistry meterRegistry;
+    private final PartitionKeys partitionKeys;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AdmissionController(AdmissionConfig config, ObjectProvider<MeterRegistry> meterRegistry, PartitionKeys partitionKeys) {
+        this(config, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), partitionKeys);
+    }
+
+    public AdmissionController(AdmissionConfig config, MeterRegistry meterRegistry) {
+        this(config, meterRegistry, new PartitionKeys(partitionId -> true, PartitionKeys.DEFAULT_MAX_PARTITIONS));
+    }
+
+    public AdmissionController(AdmissionConfig config, MeterRegistry meterRegistry, PartitionKeys partitionKeys) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.partitionKeys = partitionKeys;
+    }
+
+    public boolean isEnabled() {
+        return this.config.isEnabled();
+    }
+
+    /**
+     * Waits for a slot of the partition and API class, the permit must be closed once the call is done.
+     */
+    public Permit admit(String partitionId, ApiClass apiClass) {
+        return this.acquire(partitionId, apiClass.getConfigName());
+    }
+
+    public Permit acquireBlobRead(String partitionId) {
+        return this.acquire(partitionId, AdmissionConfig.BLOB_READ);
+    }
+
+    /**
+     * @return null when no blob read slot of the partition is free right away
+     */
+    public Permit tryAcquireBlobRead(String partitionId) {
+        if (!this.isEnabled()) {
+            return UNLIMITED;
+        }
+        return this.getBulkhead(this.getPartitionKey(partitionId), AdmissionConfig.BLOB_READ).tryAcquire();
+    }
+
+    private Permit acquire(String partitionId, String resource) {
+        if (!this.isEnabled()) {
+            return UNLIMITED;
+        }
+        String partition = this.getPartitionKey(partitionId);
+        Bulkhead bulkhead = this.getBulkhead(partition, resource);
+        Permit permit;
+        try {
+            permit = bulkhead.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permit = null;
+        }
+        if (permit == null) {
+            Counter.builder(REJECTED_METRIC).tag("partition", partition).tag("resource", resource)
+                    .register(this.meterRegistry).increment();
+            throw new TooManyRequestsException(
+                    String.format("Too many concurrent %s calls for data partition '%s'", resource, partitionId),
+                    bulkhead.getRetryAfterSeconds());
+        }
+        return permit;
+    }
+
+    // @param partition a key from getPartitionKey, so that the number of bulkheads is bounded
+    Bulkhead getBulkhead(String partition, String resource) {
+        return this.bulkheads.computeIfAbsent(partition + "/" + resource,
+                key -> new Bulkhead(this.config.getLimits(partition, resource)));
+    }
+
+    String getPartitionKey(String partitionId) {
+        return this.config.getPartitions().containsKey(partitionId) ? partitionId : this.partitionKeys.of(partitionId);
+    }
+}
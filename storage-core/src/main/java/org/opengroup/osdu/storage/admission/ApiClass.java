@@ -0,0 +1,54 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Classes of API calls admitted against separate per-partition limits.
+ */
+public enum ApiClass {
+    READ,
+    WRITE,
+    REPLAY;
+
+    private static final String GET = "GET";
+    private static final String QUERY_PATH = "query";
+    private static final String REPLAY_PATH = "replay";
+
+    /**
+     * Queries are POSTed but only read records, replays run long background work and are kept apart from both.
+     * Calls are classified by the first segment of their path, record ids further down may contain anything.
+     */
+    public static ApiClass of(HttpServletRequest request) {
+        String segment = firstSegment(request.getRequestURI().substring(request.getContextPath().length()));
+        if (REPLAY_PATH.equals(segment)) {
+            return REPLAY;
+        }
+        if (GET.equalsIgnoreCase(request.getMethod()) || QUERY_PATH.equals(segment)) {
+            return READ;
+        }
+        return WRITE;
+    }
+
+    private static String firstSegment(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return path.substring(start, end < 0 ? path.length() : end);
+    }
+
+    public String getConfigName() {
+        return this.name().toLowerCase();
+    }
+}
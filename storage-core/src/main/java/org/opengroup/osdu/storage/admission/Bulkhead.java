@@ -0,0 +1,94 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.admission;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opengroup.osdu.storage.admission.AdmissionConfig.Limits;
+
+/**
+ * Caps the concurrent calls of one partition and resource. Callers beyond the cap wait in a bounded queue unless
+ * the wait expected from the recent call latency exceeds the latency target.
+ */
+final class Bulkhead {
+
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final Limits limits;
+    private final Semaphore slots;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong latencyNanos = new AtomicLong();
+
+    Bulkhead(Limits limits) {
+        this.limits = limits;
+        this.slots = new Semaphore(Math.max(1, limits.getMaxConcurrent()), true);
+    }
+
+    /**
+     * @return null when the caller is shed
+     */
+    AdmissionController.Permit acquire() throws InterruptedException {
+        if (this.slots.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+            return this.newPermit();
+        }
+        if (this.limits.getLatencyTargetMs() > 0
+                && this.getExpectedWaitNanos() > TimeUnit.MILLISECONDS.toNanos(this.limits.getLatencyTargetMs())) {
+            return null;
+        }
+        if (this.queued.incrementAndGet() > this.limits.getMaxQueued()) {
+            this.queued.decrementAndGet();
+            return null;
+        }
+        try {
+            return this.slots.tryAcquire(this.limits.getQueueTimeoutMs(), TimeUnit.MILLISECONDS) ? this.newPermit() : null;
+        } finally {
+            this.queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return null when no slot is free right away
+     */
+    AdmissionController.Permit tryAcquire() {
+        return this.slots.tryAcquire() ? this.newPermit() : null;
+    }
+
+    long getRetryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(this.getExpectedWaitNanos() / 1e9));
+    }
+
+    int getQueued() {
+        return this.queued.get();
+    }
+
+    // every queued caller and the new one wait for a call to finish, maxConcurrent calls finishing per latency
+    private long getExpectedWaitNanos() {
+        return (long) ((this.queued.get() + 1) * (double) this.latencyNanos.get() / Math.max(1, this.limits.getMaxConcurrent()));
+    }
+
+    private AdmissionController.Permit newPermit() {
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                long latency = System.nanoTime() - start;
+                this.latencyNanos.updateAndGet(average -> average == 0 ? latency : (long) (average + LATENCY_WEIGHT * (latency - average)));
+                this.slots.release();
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.api;
+
+import static org.opengroup.osdu.storage.validation.ValidationDoc.INVALID_KIND_PARAM;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import java.util.Optional;
+import org.opengroup.osdu.core.common.http.CollaborationContextFactory;
+import org.opengroup.osdu.core.common.model.http.AppError;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+import org.opengroup.osdu.core.common.model.storage.StorageRole;
+import org.opengroup.osdu.core.common.model.storage.validation.ValidationDoc;
+import org.opengroup.osdu.core.common.model.validation.ValidateCollaborationContext;
+import org.opengroup.osdu.storage.response.ChangeFeedResponse;
+import org.opengroup.osdu.storage.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.annotation.RequestScope;
+
+@ConditionalOnProperty(value = "feature.changefeed.enabled", havingValue = "true", matchIfMissing = false)
+@RestController
+@RequestMapping("changes")
+@Tag(name = "changes", description = "Record change feed")
+@RequestScope
+@Validated
+public class ChangeFeedApi {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private CollaborationContextFactory collaborationContextFactory;
+
+    @Operation(summary = "${changeFeedApi.getChanges.summary}", description = "${changeFeedApi.getChanges.description}",
+            security = {@SecurityRequirement(name = "Authorization")}, tags = {"changes"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Change events retrieved successfully.", content = {@Content(schema = @Schema(implementation = ChangeFeedResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Bad Request", content = {@Content(schema = @Schema(implementation = AppError.class))}),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = {@Content(schema = @Schema(implementation = AppError.class))}),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = {@Content(schema = @Schema(implementation = AppError.class))}),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error", content = {@Content(schema = @Schema(implementation = AppError.class))}),
+            @ApiResponse(responseCode = "502", description = "Bad Gateway", content = {@Content(schema = @Schema(implementation = AppError.class))}),
+            @ApiResponse(responseCode = "503", description = "Service Unavailable", content = {@Content(schema = @Schema(implementation = AppError.class))})
+    })
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("@authorizationFilter.hasRole('" + StorageRole.VIEWER + "', '" + StorageRole.CREATOR + "', '" + StorageRole.ADMIN + "')")
+    public ResponseEntity<ChangeFeedResponse> getChanges(@Parameter(description = "x-collaboration")
+                                                         @RequestHeader(name = "x-collaboration", required = false) @Valid @ValidateCollaborationContext String collaborationDirectives,
+                                                         @Parameter(description = "Kind to follow", example = "tenant1:public:well:1.0.2") @RequestParam
+                                                         @Pattern(regexp = ValidationDoc.KIND_REGEX, message = INVALID_KIND_PARAM) String kind,
+                                                         @Parameter(description = "Token returned by the previous call, omit to start from the beginning") @RequestParam(required = false) String token,
+                                                         @Parameter(description = "Page Size", example = "100") @RequestParam(required = false, defaultValue = "100")
+                                                         @Max(value = 1000, message = "Value for limit param should be between 1 and 1000")
+                                                         @Min(value = 1, message = "Value for limit param should be between 1 and 1000") Integer limit,
+                                                         @Parameter(description = "Include the record data of active records") @RequestParam(required = false, defaultValue = "false") boolean includeData) {
+        Optional<CollaborationContext> collaborationContext = collaborationContextFactory.create(collaborationDirectives);
+        return ResponseEntity.ok(this.changeFeedService.getChanges(kind, token, limit, includeData, collaborationContext));
+    }
+}
@@ -78,9 +78,11 @@ public class ReplayApi {
     })
     @GetMapping(value = "/status/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("@authorizationFilter.hasRole('" + Role.USER_OPS + "')")
-    public ResponseEntity<ReplayStatusResponse> getReplayStatus(@PathVariable("id") String id) {
+    public ResponseEntity<ReplayStatusResponse> getReplayStatus(@PathVariable("id") String id,
+                                                                @Parameter(description = "Include the status of every kind, false returns the replay summary only")
+                                                                @RequestParam(name = "detail", defaultValue = "true") boolean detail) {
 
-        return new ResponseEntity<>(replayService.getReplayStatus(id), HttpStatus.OK);
+        return new ResponseEntity<>(replayService.getReplayStatus(id, detail), HttpStatus.OK);
     }
 
     @Operation(summary = "${replayApi.triggerReplay.summary}", description = "${replayApi.triggerReplay.description}",
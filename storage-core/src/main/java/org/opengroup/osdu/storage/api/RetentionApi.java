@@ -0,0 +1,99 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.opengroup.osdu.core.common.model.http.AppError;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.storage.response.VersionRetentionJob;
+import org.opengroup.osdu.storage.service.retention.VersionRetentionJobService;
+import org.opengroup.osdu.storage.util.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.annotation.RequestScope;
+
+@ConditionalOnProperty(value = "feature.retention.enabled", havingValue = "true", matchIfMissing = false)
+@RestController
+@RequestMapping("retention")
+@Tag(name = "retention", description = "Record version retention API")
+@RequestScope
+@Validated
+public class RetentionApi {
+
+    @Autowired
+    private VersionRetentionJobService jobService;
+
+    @Autowired
+    private DpsHeaders headers;
+
+    @Operation(summary = "${retentionApi.prune.summary}", description = "${retentionApi.prune.description}",
+            security = {@SecurityRequirement(name = "Authorization")}, tags = {"retention"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Version retention job queued", content = {@Content(schema = @Schema(implementation = VersionRetentionJob.class))}),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = {@Content(schema = @Schema(implementation = AppError.class))}),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = {@Content(schema = @Schema(implementation = AppError.class))}),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error", content = {@Content(schema = @Schema(implementation = AppError.class))})
+    })
+    @PostMapping(value = "/prune", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("@authorizationFilter.hasRole('" + Role.USER_OPS + "')")
+    public ResponseEntity<VersionRetentionJob> prune(
+            @Parameter(description = "When true only reports the versions that would be pruned")
+            @RequestParam(name = "dryRun", defaultValue = "true") boolean dryRun) {
+
+        // the job outlives the request, the caller token is only used when there is no service account token
+        Map<String, String> jobHeaders = new HashMap<>();
+        for (String header : List.of(DpsHeaders.CORRELATION_ID, DpsHeaders.USER_EMAIL, DpsHeaders.AUTHORIZATION)) {
+            if (this.headers.getHeaders().containsKey(header)) {
+                jobHeaders.put(header, this.headers.getHeaders().get(header));
+            }
+        }
+        return new ResponseEntity<>(this.jobService.submit(this.headers.getPartitionId(), dryRun, jobHeaders), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "${retentionApi.job.summary}", description = "${retentionApi.job.description}",
+            security = {@SecurityRequirement(name = "Authorization")}, tags = {"retention"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Version retention job", content = {@Content(schema = @Schema(implementation = VersionRetentionJob.class))}),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = {@Content(schema = @Schema(implementation = AppError.class))}),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = {@Content(schema = @Schema(implementation = AppError.class))}),
+            @ApiResponse(responseCode = "404", description = "Job not found", content = {@Content(schema = @Schema(implementation = AppError.class))})
+    })
+    @GetMapping(value = "/prune/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("@authorizationFilter.hasRole('" + Role.USER_OPS + "')")
+    public ResponseEntity<VersionRetentionJob> getPruneJob(@PathVariable("jobId") String jobId) {
+        return new ResponseEntity<>(this.jobService.getJob(this.headers.getPartitionId(), jobId), HttpStatus.OK);
+    }
+}
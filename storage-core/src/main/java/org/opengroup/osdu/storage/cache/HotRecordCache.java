@@ -0,0 +1,214 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-instance read-through cache of record blobs by version path, for frequently read records such as reference
+ * data. A version path names an immutable blob, so entries never go stale; record changes only evict them to free
+ * space early. Access checks are not part of the cache and still run on fresh metadata for every read.
+ */
+@Component
+public class HotRecordCache {
+
+    public static final String REQUESTS_METRIC = "storage.record.hot-cache.requests";
+    public static final String HIT_RATIO_METRIC = "storage.record.hot-cache.hit.ratio";
+    public static final String SIZE_METRIC = "storage.record.hot-cache.size";
+
+    private final HotRecordCacheConfig config;
+    private final List<Pattern> kindPatterns = new ArrayList<>();
+
+    // least recently read first
+    private final LinkedHashMap<String, String> blobs = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> versionPathsByRecordId = new HashMap<>();
+    private long sizeBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public HotRecordCache(HotRecordCacheConfig config, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(config, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public HotRecordCache(HotRecordCacheConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        for (String kind : config.getKinds()) {
+            this.kindPatterns.add(Pattern.compile(Pattern.quote(kind).replace("*", "\\E.*\\Q")));
+        }
+        this.hits = Counter.builder(REQUESTS_METRIC).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(REQUESTS_METRIC).tag("result", "miss").register(meterRegistry);
+        Gauge.builder(HIT_RATIO_METRIC, this, HotRecordCache::getHitRatio).register(meterRegistry);
+        Gauge.builder(SIZE_METRIC, this, HotRecordCache::getSizeBytes).baseUnit("bytes").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return this.config.isEnabled();
+    }
+
+    public String read(RecordMetadata recordMetadata, Long version, Supplier<String> loader) {
+        if (!this.config.isEnabled()) {
+            return loader.get();
+        }
+        String versionPath = recordMetadata.getVersionPath(version);
+        if (!this.isCacheable(versionPath)) {
+            return loader.get();
+        }
+        String blob = this.get(versionPath);
+        if (blob == null) {
+            blob = loader.get();
+            this.put(versionPath, blob);
+        }
+        return blob;
+    }
+
+    /**
+     * Reads the blobs of the given records by id, loading only the ones not cached.
+     */
+    public Map<String, String> read(Map<String, String> versionPathsById, Optional<CollaborationContext> collaborationContext,
+                                    Function<Map<String, String>, Map<String, String>> loader) {
+        if (!this.config.isEnabled() || collaborationContext.isPresent()) {
+            return loader.apply(versionPathsById);
+        }
+
+        Map<String, String> blobsById = new HashMap<>();
+        Map<String, String> missingVersionPaths = new HashMap<>();
+        for (Map.Entry<String, String> versionPath : versionPathsById.entrySet()) {
+            String blob = this.isCacheable(versionPath.getValue()) ? this.get(versionPath.getValue()) : null;
+            if (blob == null) {
+                missingVersionPaths.put(versionPath.getKey(), versionPath.getValue());
+            } else {
+                blobsById.put(versionPath.getKey(), blob);
+            }
+        }
+        if (missingVersionPaths.isEmpty()) {
+            return blobsById;
+        }
+
+        Map<String, String> loaded = loader.apply(missingVersionPaths);
+        for (Map.Entry<String, String> blob : loaded.entrySet()) {
+            String versionPath = missingVersionPaths.get(blob.getKey());
+            if (versionPath != null && this.isCacheable(versionPath)) {
+                this.put(versionPath, blob.getValue());
+            }
+        }
+        blobsById.putAll(loaded);
+        return blobsById;
+    }
+
+    public synchronized void invalidate(String recordId) {
+        Set<String> versionPaths = this.versionPathsByRecordId.remove(recordId);
+        if (versionPaths != null) {
+            for (String versionPath : versionPaths) {
+                this.sizeBytes -= sizeOf(this.blobs.remove(versionPath));
+            }
+        }
+    }
+
+    public double getHitRatio() {
+        double requests = this.hits.count() + this.misses.count();
+        return requests == 0 ? 0 : this.hits.count() / requests;
+    }
+
+    public synchronized long getSizeBytes() {
+        return this.sizeBytes;
+    }
+
+    private boolean isCacheable(String versionPath) {
+        if (!this.config.isEnabled() || versionPath == null) {
+            return false;
+        }
+        // version paths are <kind>/<record id>/<version>
+        int kindEnd = versionPath.indexOf('/');
+        if (kindEnd <= 0) {
+            return false;
+        }
+        String kind = versionPath.substring(0, kindEnd);
+        for (Pattern kindPattern : this.kindPatterns) {
+            if (kindPattern.matcher(kind).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized String get(String versionPath) {
+        String blob = this.blobs.get(versionPath);
+        if (blob == null) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+        return blob;
+    }
+
+    private synchronized void put(String versionPath, String blob) {
+        long size = sizeOf(blob);
+        if (size == 0 || size > this.config.getMaxRecordBytes() || this.blobs.containsKey(versionPath)) {
+            return;
+        }
+        String recordId = getRecordId(versionPath);
+        if (recordId == null) {
+            return;
+        }
+
+        this.blobs.put(versionPath, blob);
+        this.versionPathsByRecordId.computeIfAbsent(recordId, id -> new HashSet<>()).add(versionPath);
+        this.sizeBytes += size;
+
+        Iterator<Map.Entry<String, String>> eldest = this.blobs.entrySet().iterator();
+        while (this.sizeBytes > this.config.getMaxBytes() && eldest.hasNext()) {
+            Map.Entry<String, String> evicted = eldest.next();
+            eldest.remove();
+            this.sizeBytes -= sizeOf(evicted.getValue());
+            String evictedRecordId = getRecordId(evicted.getKey());
+            Set<String> versionPaths = this.versionPathsByRecordId.get(evictedRecordId);
+            if (versionPaths != null && versionPaths.remove(evicted.getKey()) && versionPaths.isEmpty()) {
+                this.versionPathsByRecordId.remove(evictedRecordId);
+            }
+        }
+    }
+
+    private static String getRecordId(String versionPath) {
+        int idStart = versionPath.indexOf('/') + 1;
+        int idEnd = versionPath.lastIndexOf('/');
+        return idStart > 0 && idEnd > idStart ? versionPath.substring(idStart, idEnd) : null;
+    }
+
+    // record blobs are held as java strings, two bytes per character
+    private static long sizeOf(String blob) {
+        return blob == null ? 0 : 2L * blob.length();
+    }
+}
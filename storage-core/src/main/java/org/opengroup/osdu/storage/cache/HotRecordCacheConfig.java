@@ -0,0 +1,39 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "record.hot-cache")
+public class HotRecordCacheConfig {
+
+    private boolean enabled = false;
+
+    // total size of the cached record blobs per instance
+    private long maxBytes = 64L * 1024 * 1024;
+
+    // larger records are always read from blob storage
+    private long maxRecordBytes = 1024 * 1024;
+
+    // kinds whose records are cached, '*' matches any characters, e.g. osdu:wks:reference-data--*:*
+    private List<String> kinds = new ArrayList<>();
+}
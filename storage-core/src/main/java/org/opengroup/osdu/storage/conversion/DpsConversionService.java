@@ -20,7 +20,6 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
 import org.opengroup.osdu.core.common.Constants;
 import org.opengroup.osdu.core.common.crs.CrsConversionServiceErrorMessages;
@@ -32,52 +31,23 @@ import org.opengroup.osdu.core.common.model.crs.ConvertStatus;
 import org.opengroup.osdu.core.common.model.crs.RecordsAndStatuses;
 import org.opengroup.osdu.core.common.model.http.AppException;
 import org.opengroup.osdu.core.common.model.storage.ConversionStatus;
-import org.opengroup.osdu.core.common.model.storage.Record;
-import org.opengroup.osdu.core.common.model.http.CollaborationContext;
-import org.opengroup.osdu.core.common.model.http.DpsHeaders;
-import org.opengroup.osdu.core.common.cache.ICache;
-import org.opengroup.osdu.core.common.cache.VmCache;
-import org.opengroup.osdu.storage.service.QueryService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import jakarta.annotation.PostConstruct;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 public class DpsConversionService {
-    private static final int CACHE_SIZE = 1000;
-
-    @Value("${cache.expiration.sec:60}")
-    private int cacheExpirationSec;
-
-    @Autowired
-    private QueryService queryService;
-
     @Autowired
     private CrsConversionService crsConversionService;
 
     @Autowired
-    private DpsHeaders headers;
+    private UnitReferenceResolver unitReferenceResolver;
 
     @Autowired
     private JaxRsDpsLog logger;
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
-    private ICache<String, Record> cache;
-
-    @PostConstruct
-    private void setup() {
-        cache = new VmCache<>(cacheExpirationSec, CACHE_SIZE);
-    }
-
     private UnitConversionImpl unitConversionService = new UnitConversionImpl();
     private DatesConversionImpl datesConversionService = new DatesConversionImpl();
 
@@ -227,6 +197,7 @@ public class DpsConversionService {
     }
 
     private void updatePersistableReference(List<ConversionRecord> conversionRecords) {
+        Map<String, String> persistableReferences = this.resolvePersistableReferences(conversionRecords);
         for (ConversionRecord conversionRecord : conversionRecords) {
             JsonObject recordObj = conversionRecord.getRecordJsonObject();
             JsonArray metaArray = recordObj.getAsJsonArray(Constants.META);
@@ -240,7 +211,7 @@ public class DpsConversionService {
                     return;
                 }
                 String unitOfMeasureID = unitOfMeasureIDElement.getAsString().replaceAll(":$", "");
-                String persistableReference = this.getPersistableReferenceByUnitOfMeasureID(unitOfMeasureID);
+                String persistableReference = persistableReferences.getOrDefault(unitOfMeasureID, "");
                 if (persistableReference.equals("")) {
                     this.logger.warning("Persistable reference was not obtained for record %s by unit of measure %s"
                             .formatted(recordObj.get(Constants.ID), unitOfMeasureID));
@@ -252,53 +223,27 @@ public class DpsConversionService {
         }
     }
 
-    private String getCacheKey(String partitionId, String recordId) {
-        return String.format("%s-record-%s", partitionId, recordId);
-    }
-
-    private Record getRecordFromCache(String recordId) {
-        Record recordObj = null;
-        if (this.cache != null) {
-            String cacheKey = this.getCacheKey(this.headers.getPartitionId(), recordId);
-            recordObj = this.cache.get(cacheKey);
-        }
-        return recordObj;
-    }
-
-    private void putRecordToCache(String recordId, Record record) {
-        if (this.cache != null) {
-            String cacheKey = this.getCacheKey(this.headers.getPartitionId(), recordId);
-            this.cache.put(cacheKey, record);
-        }
-    }
-
-    private String getPersistableReferenceByUnitOfMeasureID(String unitOfMeasureID) {
-        Record recordObj = this.getRecordFromCache(unitOfMeasureID);
-        if (recordObj == null) {
-            String blob;
-            try {
-                blob = this.queryService.getRecordInfo(unitOfMeasureID, null, Optional.<CollaborationContext>empty());
-            } catch (AppException e) {
-                this.logger.error(String.format("Wrong unitOfMeasureID provided: %s", unitOfMeasureID), e);
-                return "";
+    private Map<String, String> resolvePersistableReferences(List<ConversionRecord> conversionRecords) {
+        Set<String> unitOfMeasureIDs = new LinkedHashSet<>();
+        for (ConversionRecord conversionRecord : conversionRecords) {
+            JsonArray metaArray = conversionRecord.getRecordJsonObject().getAsJsonArray(Constants.META);
+            if (metaArray == null) {
+                continue;
             }
-            try {
-                recordObj = objectMapper.readValue(blob, Record.class);
-            } catch (JsonProcessingException e) {
-                this.logger.error(String.format("Error occurred during parsing record for unitOfMeasureID: %s", unitOfMeasureID), e);
-                return "";
+            for (JsonElement item : metaArray) {
+                if (!item.isJsonObject()) {
+                    continue;
+                }
+                JsonElement unitOfMeasureIDElement = item.getAsJsonObject().get(UNIT_OF_MEASURE_ID);
+                if (unitOfMeasureIDElement != null && !unitOfMeasureIDElement.getAsString().equals("")) {
+                    unitOfMeasureIDs.add(unitOfMeasureIDElement.getAsString().replaceAll(":$", ""));
+                }
             }
-            this.putRecordToCache(unitOfMeasureID, recordObj);
-        }
-        Map<String, Object> recordData = recordObj.getData();
-        if (recordData == null) {
-            return "";
         }
-        Object persistableReference = recordData.get(StringUtils.capitalize(Constants.PERSISTABLE_REFERENCE));
-        if (persistableReference == null) {
-            return "";
+        if (unitOfMeasureIDs.isEmpty()) {
+            return Collections.emptyMap();
         }
-        return persistableReference.toString();
+        return this.unitReferenceResolver.resolve(unitOfMeasureIDs);
     }
 
     private void checkMismatchAndLogMissing(List<JsonObject> originalRecords, List<ConversionRecord> convertedRecords) {
@@ -0,0 +1,199 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.conversion;
+
+import org.apache.commons.lang3.StringUtils;
+import org.opengroup.osdu.core.common.Constants;
+import org.opengroup.osdu.core.common.cache.ICache;
+import org.opengroup.osdu.core.common.cache.VmCache;
+import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.model.storage.MultiRecordIds;
+import org.opengroup.osdu.core.common.model.storage.MultiRecordInfo;
+import org.opengroup.osdu.core.common.model.storage.Record;
+import org.opengroup.osdu.storage.service.BatchService;
+import org.opengroup.osdu.storage.util.RecordConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Resolves unit of measure reference records to their persistable references. Units missing from the cache are
+ * fetched together, at most {@link RecordConstants#MAX_RECORD_ID_NUMBER} per metadata and blob read. The configured
+ * unit catalog is only loaded by {@link #warmUp()}, so user requests never read it with their own access rights.
+ */
+@Component
+public class UnitReferenceResolver {
+
+    @Value("${conversion.unit-reference.cache.expiration.sec:600}")
+    private int cacheExpirationSec;
+
+    @Value("${conversion.unit-reference.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${conversion.unit-reference.catalog:}")
+    private List<String> catalog = new ArrayList<>();
+
+    @Lazy
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private DpsHeaders headers;
+
+    @Autowired
+    private JaxRsDpsLog logger;
+
+    private ICache<String, String> cache;
+
+    // partitions whose catalog was loaded, expiring together with the loaded units
+    private ICache<String, Boolean> loadedCatalogs;
+
+    @PostConstruct
+    private void setup() {
+        cache = new VmCache<>(cacheExpirationSec, cacheMaxSize);
+        loadedCatalogs = new VmCache<>(cacheExpirationSec, cacheMaxSize);
+    }
+
+    /**
+     * Returns the persistable references of the given units by unit id. Units that cannot be read or have no
+     * persistable reference are left out.
+     */
+    public Map<String, String> resolve(Collection<String> unitOfMeasureIds) {
+        String partitionId = this.headers.getPartitionId();
+        Map<String, String> persistableReferences = new HashMap<>();
+        Set<String> missingIds = new LinkedHashSet<>();
+        for (String unitOfMeasureId : unitOfMeasureIds) {
+            String persistableReference = this.getFromCache(partitionId, unitOfMeasureId);
+            if (persistableReference == null) {
+                missingIds.add(unitOfMeasureId);
+            } else {
+                persistableReferences.put(unitOfMeasureId, persistableReference);
+            }
+        }
+        if (missingIds.isEmpty()) {
+            return persistableReferences;
+        }
+
+        Map<String, String> fetched = this.fetch(new ArrayList<>(missingIds), false);
+        for (Map.Entry<String, String> persistableReference : fetched.entrySet()) {
+            this.putToCache(partitionId, persistableReference.getKey(), persistableReference.getValue());
+        }
+        for (String unitOfMeasureId : unitOfMeasureIds) {
+            String persistableReference = fetched.get(unitOfMeasureId);
+            if (persistableReference != null) {
+                persistableReferences.put(unitOfMeasureId, persistableReference);
+            }
+        }
+        return persistableReferences;
+    }
+
+    /**
+     * Loads the configured unit catalog for the partition of the current request, unless it was loaded within the
+     * cache expiration. Meant for the startup warmup, which runs as the service principal. The partition is only
+     * marked as loaded once every unit record could be read, so a failed load is retried on the next call.
+     */
+    public void warmUp() {
+        String partitionId = this.headers.getPartitionId();
+        if (this.loadedCatalogs != null && this.loadedCatalogs.get(partitionId) != null) {
+            return;
+        }
+        Set<String> missingIds = new LinkedHashSet<>();
+        for (String unitOfMeasureId : this.catalog) {
+            if (StringUtils.isNotBlank(unitOfMeasureId) && this.getFromCache(partitionId, unitOfMeasureId.trim()) == null) {
+                missingIds.add(unitOfMeasureId.trim());
+            }
+        }
+        Map<String, String> fetched = this.fetch(new ArrayList<>(missingIds), true);
+        for (Map.Entry<String, String> persistableReference : fetched.entrySet()) {
+            this.putToCache(partitionId, persistableReference.getKey(), persistableReference.getValue());
+        }
+        if (this.loadedCatalogs != null) {
+            this.loadedCatalogs.put(partitionId, Boolean.TRUE);
+        }
+    }
+
+    private Map<String, String> fetch(List<String> unitOfMeasureIds, boolean failOnReadError) {
+        Map<String, String> persistableReferences = new HashMap<>();
+        for (int start = 0; start < unitOfMeasureIds.size(); start += RecordConstants.MAX_RECORD_ID_NUMBER) {
+            List<String> chunk = unitOfMeasureIds.subList(start, Math.min(start + RecordConstants.MAX_RECORD_ID_NUMBER, unitOfMeasureIds.size()));
+            MultiRecordIds ids = new MultiRecordIds();
+            ids.setRecords(new ArrayList<>(chunk));
+            MultiRecordInfo recordsInfo;
+            try {
+                recordsInfo = this.batchService.getMultipleRecords(ids, Optional.<CollaborationContext>empty());
+            } catch (AppException e) {
+                this.logger.error(String.format("Error occurred during reading unit of measure records: %s", chunk), e);
+                if (failOnReadError) {
+                    throw e;
+                }
+                continue;
+            }
+
+            for (Record record : recordsInfo.getRecords()) {
+                String persistableReference = getPersistableReference(record);
+                if (persistableReference.isEmpty()) {
+                    this.logger.warning(String.format("Unit of measure record %s has no persistable reference", record.getId()));
+                } else {
+                    persistableReferences.put(record.getId(), persistableReference);
+                }
+            }
+            if (recordsInfo.getInvalidRecords() != null) {
+                recordsInfo.getInvalidRecords().forEach(unitOfMeasureId ->
+                        this.logger.warning(String.format("Wrong unitOfMeasureID provided: %s", unitOfMeasureId)));
+            }
+        }
+        return persistableReferences;
+    }
+
+    private static String getPersistableReference(Record record) {
+        Map<String, Object> recordData = record.getData();
+        if (recordData == null) {
+            return "";
+        }
+        Object persistableReference = recordData.get(StringUtils.capitalize(Constants.PERSISTABLE_REFERENCE));
+        if (persistableReference == null) {
+            return "";
+        }
+        return persistableReference.toString();
+    }
+
+    private String getCacheKey(String partitionId, String unitOfMeasureId) {
+        return String.format("%s-unit-%s", partitionId, unitOfMeasureId);
+    }
+
+    private String getFromCache(String partitionId, String unitOfMeasureId) {
+        return this.cache == null ? null : this.cache.get(this.getCacheKey(partitionId, unitOfMeasureId));
+    }
+
+    private void putToCache(String partitionId, String unitOfMeasureId, String persistableReference) {
+        if (this.cache != null) {
+            this.cache.put(this.getCacheKey(partitionId, unitOfMeasureId), persistableReference);
+        }
+    }
+}
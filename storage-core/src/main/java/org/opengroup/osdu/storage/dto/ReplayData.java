@@ -43,4 +43,7 @@ public class ReplayData {
     private Long totalCount;
 
     private Long startAtTimestamp;
+
+    // page size of the next query when adaptive replay paging is enabled
+    private Integer pageSize;
 }
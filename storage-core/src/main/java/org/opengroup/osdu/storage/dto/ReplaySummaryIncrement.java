@@ -0,0 +1,38 @@
+// Copyright © Microsoft Corporation
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Change of one per-kind replay entry, added to the per-replay summary counters. A counter goes down when a kind
+ * leaves a state, e.g. a failed kind that is retried.
+ */
+@Data
+@Builder
+public class ReplaySummaryIncrement {
+
+    private long processedRecords;
+
+    private int startedKinds;
+
+    private int completedKinds;
+
+    private int failedKinds;
+
+    // replaces the stored elapsed time, the latest update wins
+    private String elapsedTime;
+}
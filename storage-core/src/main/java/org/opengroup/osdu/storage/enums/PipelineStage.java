@@ -0,0 +1,51 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.enums;
+
+import lombok.Getter;
+
+/**
+ * Stages of the record ingestion and retrieval pipelines that are timed separately, so a slow request can be
+ * attributed to the stage that actually spent the time.
+ */
+@Getter
+public enum PipelineStage {
+
+    VALIDATION("validation"),
+
+    ENTITLEMENTS("entitlements"),
+
+    LEGAL("legal"),
+
+    OPA("opa"),
+
+    METADATA_FETCH("metadata-fetch"),
+
+    METADATA_WRITE("metadata-write"),
+
+    BLOB_IO("blob-io"),
+
+    HASHING("hashing"),
+
+    CONVERSION("conversion"),
+
+    PUBLISH("publish");
+
+    // name used as the meter tag and as the Server-Timing metric name
+    private final String value;
+
+    PipelineStage(String value) {
+        this.value = value;
+    }
+}
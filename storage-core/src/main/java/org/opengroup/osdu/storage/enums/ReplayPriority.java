@@ -0,0 +1,38 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.enums;
+
+import lombok.Getter;
+
+/**
+ * Scheduling class of a replay operation. Under contention a class only takes replay throughput while the
+ * partition's token bucket holds more than its reserve, so higher classes are served first.
+ */
+@Getter
+public enum ReplayPriority {
+
+    URGENT(0.0),
+
+    NORMAL(0.25),
+
+    BACKGROUND(0.5);
+
+    // fraction of the bucket capacity left for higher priority classes
+    private final double reserve;
+
+    ReplayPriority(double reserve) {
+        this.reserve = reserve;
+    }
+}
@@ -0,0 +1,43 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.logging;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.opengroup.osdu.core.common.logging.audit.AuditPayload;
+
+/**
+ * An audit event captured on the request thread. The payload is only built by the emitter, from the resources of
+ * all events with the same key. Only the headers the audit entry needs are kept, never the credentials.
+ */
+@Getter
+@AllArgsConstructor
+public class AuditEvent {
+
+    // events with equal keys are coalesced into one payload
+    private final String key;
+
+    private final Map<String, String> headers;
+
+    // read events are written through the ReadAuditLogsConsumer
+    private final boolean read;
+
+    private final List<String> resources;
+
+    private final Function<List<String>, AuditPayload> payloadFactory;
+}
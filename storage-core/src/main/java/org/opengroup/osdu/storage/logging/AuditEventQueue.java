@@ -0,0 +1,313 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.logging;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.opengroup.osdu.core.common.logging.ILogger;
+import org.opengroup.osdu.core.common.logging.audit.AuditPayload;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.storage.util.BackgroundRequestAttributes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Takes audit events off the request thread. Events go into a bounded lock-free queue and a background emitter
+ * writes them once per window, coalescing the resources of events with the same key into one audit entry. When the
+ * queue is full the configured {@link AuditOverflowPolicy} applies. Events still queued or spilled are written on
+ * shutdown. Read events are written through the {@link ReadAuditLogsConsumer}, in a request scope bound to the
+ * headers of the event.
+ */
+@Component
+public class AuditEventQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventQueue.class);
+
+    private static final String SPILL_FILE_NAME = "storage-audit-spill.jsonl";
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuditEventQueueConfig config;
+
+    private final ILogger auditLogger;
+
+    private final ReadAuditLogsConsumer readAuditLogsConsumer;
+
+    private final DpsHeaders dpsHeaders;
+
+    private final String auditLogName;
+
+    private final Queue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Object spillLock = new Object();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final LongAdder emitted = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder spilled = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+
+    private Thread emitter;
+
+    public AuditEventQueue(AuditEventQueueConfig config, ILogger auditLogger, ReadAuditLogsConsumer readAuditLogsConsumer,
+                           DpsHeaders dpsHeaders, @Value("${LOG_PREFIX:storage}") String logPrefix) {
+        this.config = config;
+        this.auditLogger = auditLogger;
+        this.readAuditLogsConsumer = readAuditLogsConsumer;
+        this.dpsHeaders = dpsHeaders;
+        this.auditLogName = logPrefix + ".audit";
+    }
+
+    public boolean isEnabled() {
+        return this.config.isEnabled();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!this.config.isEnabled() || this.running) {
+            return;
+        }
+        this.running = true;
+        this.emitter = new Thread(this::emitLoop, "storage-audit-emitter");
+        this.emitter.setDaemon(true);
+        this.emitter.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        this.emitter.interrupt();
+        try {
+            this.emitter.join(this.config.getShutdownTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // anything submitted while the emitter was stopping
+        flush();
+        logger.info("Audit event queue stopped, submitted: {}, emitted: {}, dropped: {}, spilled: {}, failed: {}",
+                getSubmitted(), getEmitted(), getDropped(), getSpilled(), getFailed());
+    }
+
+    public void submit(AuditEvent event) {
+        this.submitted.increment();
+        while (true) {
+            if (this.queued.incrementAndGet() <= this.config.getCapacity()) {
+                this.queue.offer(event);
+                return;
+            }
+            this.queued.decrementAndGet();
+
+            switch (this.config.getOverflowPolicy()) {
+                case DROP:
+                    this.dropped.increment();
+                    return;
+                case SPILL:
+                    spill(event);
+                    return;
+                default:
+                    if (!this.running) {
+                        // nothing would drain the queue, so write on the caller thread
+                        emit(event.isRead(), event.getHeaders(), event.getPayloadFactory().apply(event.getResources()));
+                        return;
+                    }
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes all queued events, then the spilled ones.
+     */
+    public synchronized void flush() {
+        Map<String, List<AuditEvent>> batches = new LinkedHashMap<>();
+        AuditEvent event;
+        while ((event = this.queue.poll()) != null) {
+            this.queued.decrementAndGet();
+            batches.computeIfAbsent(event.getKey(), key -> new ArrayList<>()).add(event);
+        }
+
+        for (List<AuditEvent> batch : batches.values()) {
+            AuditEvent first = batch.get(0);
+            List<String> resources = new ArrayList<>();
+            for (AuditEvent batchEvent : batch) {
+                resources.addAll(batchEvent.getResources());
+            }
+            emit(first.isRead(), first.getHeaders(), first.getPayloadFactory().apply(resources));
+        }
+
+        replaySpill();
+    }
+
+    public long getSubmitted() {
+        return this.submitted.sum();
+    }
+
+    public long getEmitted() {
+        return this.emitted.sum();
+    }
+
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    public long getSpilled() {
+        return this.spilled.sum();
+    }
+
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    private void emitLoop() {
+        while (this.running) {
+            try {
+                Thread.sleep(this.config.getWindowMillis());
+            } catch (InterruptedException e) {
+                // stop() flushes what is left
+                return;
+            }
+            try {
+                flush();
+            } catch (Exception e) {
+                logger.error("Failed to flush audit events: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void emit(boolean read, Map<String, String> headers, AuditPayload payload) {
+        try {
+            if (read) {
+                emitRead(headers, payload);
+            } else {
+                this.auditLogger.audit(this.auditLogName, payload, headers);
+            }
+            this.emitted.increment();
+        } catch (Exception e) {
+            this.failed.increment();
+            logger.error("Failed to write audit event: {}", e.getMessage(), e);
+        }
+    }
+
+    private void emitRead(Map<String, String> headers, AuditPayload payload) {
+        if (RequestContextHolder.getRequestAttributes() != null) {
+            // written on the request thread that submitted the event
+            this.readAuditLogsConsumer.accept(payload);
+            return;
+        }
+        // the consumer and the logger behind it read the request scoped headers
+        BackgroundRequestAttributes requestAttributes = new BackgroundRequestAttributes();
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            headers.forEach(this.dpsHeaders::put);
+            this.readAuditLogsConsumer.accept(payload);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            requestAttributes.requestCompleted();
+        }
+    }
+
+    private void spill(AuditEvent event) {
+        ObjectNode line = this.objectMapper.createObjectNode();
+        line.set("headers", this.objectMapper.valueToTree(event.getHeaders()));
+        line.put("read", event.isRead());
+        line.set("payload", this.objectMapper.valueToTree(event.getPayloadFactory().apply(event.getResources())));
+        synchronized (this.spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(this.objectMapper.writeValueAsString(line));
+                writer.newLine();
+                this.spilled.increment();
+            } catch (IOException e) {
+                this.dropped.increment();
+                logger.error("Failed to spill audit event, event dropped: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void replaySpill() {
+        Path replayFile = Paths.get(this.config.getSpillDirectory(), SPILL_FILE_NAME + ".replay");
+        synchronized (this.spillLock) {
+            // a replay file left by an earlier failed replay is written before new spills are picked up
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(spillFile())) {
+                    return;
+                }
+                try {
+                    Files.move(spillFile(), replayFile, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    logger.error("Failed to replay spilled audit events: {}", e.getMessage(), e);
+                    return;
+                }
+            }
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode spilledEvent = this.objectMapper.readTree(line);
+                Map<String, String> headers = this.objectMapper.convertValue(spilledEvent.get("headers"),
+                        new TypeReference<Map<String, String>>() {});
+                emit(spilledEvent.path("read").asBoolean(), headers,
+                        this.objectMapper.convertValue(spilledEvent.get("payload"), AuditPayload.class));
+            }
+            Files.delete(replayFile);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Failed to replay spilled audit events from {}: {}", replayFile, e.getMessage(), e);
+        }
+    }
+
+    private Path spillFile() {
+        return Paths.get(this.config.getSpillDirectory(), SPILL_FILE_NAME);
+    }
+}
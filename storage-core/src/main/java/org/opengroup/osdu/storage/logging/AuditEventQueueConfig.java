@@ -0,0 +1,42 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "audit.async")
+public class AuditEventQueueConfig {
+
+    // when disabled audit events are written on the request thread
+    private boolean enabled = false;
+
+    private int capacity = 10000;
+
+    // events of the same type and request arriving within one window are written as one audit entry
+    private long windowMillis = 200;
+
+    private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.BLOCK;
+
+    private String spillDirectory = System.getProperty("java.io.tmpdir");
+
+    // upper bound of the final flush on shutdown
+    private long shutdownTimeoutMillis = 10000;
+}
@@ -0,0 +1,27 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.logging;
+
+public enum AuditOverflowPolicy {
+
+    // the request thread waits until the emitter frees space in the queue
+    BLOCK,
+
+    // the event is discarded and counted
+    DROP,
+
+    // the event is appended to a local file that the emitter replays once the queue has drained
+    SPILL
+}
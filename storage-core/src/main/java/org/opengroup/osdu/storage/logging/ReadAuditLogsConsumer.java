@@ -62,7 +62,7 @@ public class ReadAuditLogsConsumer implements Consumer<AuditPayload> {
         }
     }
 
-    private boolean isReadAuditLogsTurnedOn() {
+    public boolean isReadAuditLogsTurnedOn() {
         String cacheKey = READ_AUDIT_LOGS_SWITCH_NAME + "-" + dpsHeaders.getPartitionId();
         Boolean isReadAuditLogsTurnedOn = readAuditLogSwitchCache.get(cacheKey);
         if (isReadAuditLogsTurnedOn != null) {
@@ -23,13 +23,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.annotation.RequestScope;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 
 @Component
 @RequestScope
 public class StorageAuditLogger {
 
+	// headers kept on queued audit events, the credentials are left out
+	private static final List<String> AUDIT_HEADERS = List.of(DpsHeaders.CORRELATION_ID, DpsHeaders.DATA_PARTITION_ID,
+			DpsHeaders.ACCOUNT_ID, DpsHeaders.USER_EMAIL, DpsHeaders.USER_ID);
+
 	@Autowired
 	private JaxRsDpsLog logger;
 
@@ -41,8 +48,13 @@ public class StorageAuditLogger {
 
 	private StorageAuditEvents events = null;
 
+	private String auditEventsKey;
+
+	@Autowired
+	private ReadAuditLogsConsumer readAuditLogsConsumer;
+
 	@Autowired
-	private Consumer<AuditPayload> readAuditLogsConsumer;
+	private AuditEventQueue auditEventQueue;
 
 	private StorageAuditEvents getAuditEvents() {
 		if (this.events == null) {
@@ -53,110 +65,144 @@ public class StorageAuditLogger {
 
 			this.events = new StorageAuditEvents(user, userIpAddress, userAgent, userAuthorizedGroupName
 			);
+			this.auditEventsKey = String.join("|", String.valueOf(user), String.valueOf(userIpAddress),
+					String.valueOf(userAgent), String.valueOf(userAuthorizedGroupName));
 		}
 		return this.events;
 	}
 
 	public void createOrUpdateRecordsSuccess(List<String> resource) {
-		this.writeLog(this.getAuditEvents().getCreateOrUpdateRecordsEventSuccess(resource));
+		this.writeLog("createOrUpdateRecordsSuccess", resource, this.getAuditEvents()::getCreateOrUpdateRecordsEventSuccess);
 	}
 
 	public void createOrUpdateRecordsFail(List<String> resource) {
-		this.writeLog(this.getAuditEvents().getCreateOrUpdateRecordsEventFail(resource));
+		this.writeLog("createOrUpdateRecordsFail", resource, this.getAuditEvents()::getCreateOrUpdateRecordsEventFail);
 	}
 
 	public void deleteRecordSuccess(List<String> resource) {
-		this.writeLog(this.getAuditEvents().getDeleteRecordEventSuccess(resource));
+		this.writeLog("deleteRecordSuccess", resource, this.getAuditEvents()::getDeleteRecordEventSuccess);
 	}
 
 	public void deleteRecordFail(List<String> resource) {
-		this.writeLog(this.getAuditEvents().getDeleteRecordEventFail(resource));
+		this.writeLog("deleteRecordFail", resource, this.getAuditEvents()::getDeleteRecordEventFail);
 	}
 
 	public void purgeRecordSuccess(List<String> resource) {
-		this.writeLog(this.getAuditEvents().getPurgeRecordEventSuccess(resource));
+		this.writeLog("purgeRecordSuccess", resource, this.getAuditEvents()::getPurgeRecordEventSuccess);
 	}
 
 	public void purgeRecordFail(List<String> resource) {
-		this.writeLog(this.getAuditEvents().getPurgeRecordEventFail(resource));
+		this.writeLog("purgeRecordFail", resource, this.getAuditEvents()::getPurgeRecordEventFail);
 	}
 
 	public void purgeRecordVersionsSuccess(String recordId, List<String> resource) {
-		this.writeLog(this.getAuditEvents().getPurgeRecordVersionsEventSuccess(recordId, resource));
+		StorageAuditEvents auditEvents = this.getAuditEvents();
+		this.writeLog("purgeRecordVersionsSuccess:" + recordId, resource,
+				resources -> auditEvents.getPurgeRecordVersionsEventSuccess(recordId, resources));
 	}
 
 	public void purgeRecordVersionsFail(String recordId, List<String> resource) {
-		this.writeLog(this.getAuditEvents().getPurgeRecordVersionsEventFail(recordId, resource));
+		StorageAuditEvents auditEvents = this.getAuditEvents();
+		this.writeLog("purgeRecordVersionsFail:" + recordId, resource,
+				resources -> auditEvents.getPurgeRecordVersionsEventFail(recordId, resources));
 	}
 
 	public void readAllVersionsOfRecordSuccess(List<String> resource) {
-		readAuditLogsConsumer.accept(this.getAuditEvents().getReadAllVersionsOfRecordSuccess(resource));
+		this.writeReadLog("readAllVersionsOfRecordSuccess", resource, this.getAuditEvents()::getReadAllVersionsOfRecordSuccess);
 	}
 
 	public void readAllVersionsOfRecordFail(List<String> resource) {
-		readAuditLogsConsumer.accept(this.getAuditEvents().getReadAllVersionsOfRecordFail(resource));
+		this.writeReadLog("readAllVersionsOfRecordFail", resource, this.getAuditEvents()::getReadAllVersionsOfRecordFail);
 	}
 
 	public void readSpecificVersionOfRecordSuccess(List<String> resource) {
-		readAuditLogsConsumer.accept(this.getAuditEvents().getReadSpecificVersionOfRecordSuccess(resource));
+		this.writeReadLog("readSpecificVersionOfRecordSuccess", resource, this.getAuditEvents()::getReadSpecificVersionOfRecordSuccess);
 	}
 
 	public void readSpecificVersionOfRecordFail(List<String> resource) {
-		readAuditLogsConsumer.accept(this.getAuditEvents().getReadSpecificVersionOfRecordFail(resource));
+		this.writeReadLog("readSpecificVersionOfRecordFail", resource, this.getAuditEvents()::getReadSpecificVersionOfRecordFail);
 	}
 
 	public void readLatestVersionOfRecordSuccess(List<String> resource) {
-		readAuditLogsConsumer.accept(this.getAuditEvents().getReadLatestVersionOfRecordSuccess(resource));
+		this.writeReadLog("readLatestVersionOfRecordSuccess", resource, this.getAuditEvents()::getReadLatestVersionOfRecordSuccess);
 	}
 
 	public void readLatestVersionOfRecordFail(List<String> resource) {
-		readAuditLogsConsumer.accept(this.getAuditEvents().getReadLatestVersionOfRecordFail(resource));
+		this.writeReadLog("readLatestVersionOfRecordFail", resource, this.getAuditEvents()::getReadLatestVersionOfRecordFail);
 	}
 
 	public void readMultipleRecordsSuccess(List<String> resource) {
-		readAuditLogsConsumer.accept(this.getAuditEvents().getReadMultipleRecordsSuccess(resource));
+		this.writeReadLog("readMultipleRecordsSuccess", resource, this.getAuditEvents()::getReadMultipleRecordsSuccess);
 	}
 
 	public void readAllRecordsOfGivenKindSuccess(List<String> resource) {
-		readAuditLogsConsumer.accept(this.getAuditEvents().getReadAllRecordsOfGivenKindSuccess(resource));
+		this.writeReadLog("readAllRecordsOfGivenKindSuccess", resource, this.getAuditEvents()::getReadAllRecordsOfGivenKindSuccess);
 	}
 
 	public void readAllKindsSuccess(List<String> resource) {
-		readAuditLogsConsumer.accept(this.getAuditEvents().getAllKindsEventSuccess(resource));
+		this.writeReadLog("readAllKindsSuccess", resource, this.getAuditEvents()::getAllKindsEventSuccess);
 	}
 
 	public void createSchemaSuccess(List<String> resource) {
-		this.writeLog(this.getAuditEvents().getCreateSchemaEventSuccess(resource));
+		this.writeLog("createSchemaSuccess", resource, this.getAuditEvents()::getCreateSchemaEventSuccess);
 	}
 
 	public void deleteSchemaSuccess(List<String> resource) {
-		this.writeLog(this.getAuditEvents().getDeleteSchemaEventSuccess(resource));
+		this.writeLog("deleteSchemaSuccess", resource, this.getAuditEvents()::getDeleteSchemaEventSuccess);
 	}
 
 	public void readSchemaSuccess(List<String> resource) {
-		readAuditLogsConsumer.accept(this.getAuditEvents().getReadSchemaEventSuccess(resource));
+		this.writeReadLog("readSchemaSuccess", resource, this.getAuditEvents()::getReadSchemaEventSuccess);
 	}
 
 	public void updateRecordsComplianceStateSuccess(List<String> resource) {
-		this.writeLog(this.getAuditEvents().getUpdateRecordsComplianceStateEventSuccess(resource));
+		this.writeLog("updateRecordsComplianceStateSuccess", resource, this.getAuditEvents()::getUpdateRecordsComplianceStateEventSuccess);
 	}
 
 	public void readMultipleRecordsWithOptionalConversionSuccess(List<String> resource) {
-		readAuditLogsConsumer.accept(getAuditEvents().getReadMultipleRecordsWithOptionalConversionSuccess(resource));
+		this.writeReadLog("readMultipleRecordsWithOptionalConversionSuccess", resource, this.getAuditEvents()::getReadMultipleRecordsWithOptionalConversionSuccess);
 	}
 
 	public void readMultipleRecordsWithOptionalConversionFail(List<String> resource) {
-		readAuditLogsConsumer.accept(getAuditEvents().getReadMultipleRecordsWithOptionalConversionFail(resource));
+		this.writeReadLog("readMultipleRecordsWithOptionalConversionFail", resource, this.getAuditEvents()::getReadMultipleRecordsWithOptionalConversionFail);
 	}
 
-	public void createReplayRequestFail(List<String> resource)
-	{
-		this.writeLog(this.getAuditEvents().getCreateReplayRequestFail(resource));
+	public void createReplayRequestFail(List<String> resource) {
+		this.writeLog("createReplayRequestFail", resource, this.getAuditEvents()::getCreateReplayRequestFail);
 	}
 
-	public void createReplayRequestSuccess(List<String> resource)
-	{
-		this.writeLog(this.getAuditEvents().getCreateReplayRequestSuccess(resource));
+	public void createReplayRequestSuccess(List<String> resource) {
+		this.writeLog("createReplayRequestSuccess", resource, this.getAuditEvents()::getCreateReplayRequestSuccess);
+	}
+
+	private void writeLog(String type, List<String> resources, Function<List<String>, AuditPayload> payloadFactory) {
+		if (this.auditEventQueue.isEnabled()) {
+			this.auditEventQueue.submit(this.createAuditEvent(type, false, resources, payloadFactory));
+		} else {
+			this.writeLog(payloadFactory.apply(resources));
+		}
+	}
+
+	private void writeReadLog(String type, List<String> resources, Function<List<String>, AuditPayload> payloadFactory) {
+		if (!this.auditEventQueue.isEnabled()) {
+			this.readAuditLogsConsumer.accept(payloadFactory.apply(resources));
+		} else if (this.readAuditLogsConsumer.isReadAuditLogsTurnedOn()) {
+			this.auditEventQueue.submit(this.createAuditEvent(type, true, resources, payloadFactory));
+		}
+	}
+
+	private AuditEvent createAuditEvent(String type, boolean read, List<String> resources,
+			Function<List<String>, AuditPayload> payloadFactory) {
+		// the emitter runs outside of the request scope, so the headers the audit entry needs are copied
+		Map<String, String> headers = new TreeMap<>();
+		for (String header : AUDIT_HEADERS) {
+			String value = this.dpsHeaders.getHeaders().get(header);
+			if (value != null) {
+				headers.put(header, value);
+			}
+		}
+		String key = String.join("|", type, this.auditEventsKey, headers.toString());
+		return new AuditEvent(key, headers, read, new ArrayList<>(resources), payloadFactory);
 	}
 
 	private void writeLog(AuditPayload log) {
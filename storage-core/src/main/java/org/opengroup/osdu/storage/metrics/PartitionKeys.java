@@ -0,0 +1,81 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.metrics;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.opengroup.osdu.core.common.provider.interfaces.ITenantFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps the data-partition-id header of a call to a key for per partition state and metric tags. The header is
+ * caller supplied, so only ids of existing partitions, up to a maximum number of them, get their own key and all
+ * other ids share {@link #OTHER}.
+ */
+@Slf4j
+@Component
+public class PartitionKeys {
+
+    public static final String OTHER = "other";
+
+    public static final int DEFAULT_MAX_PARTITIONS = 256;
+
+    private static final Pattern PARTITION_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]{0,63}");
+
+    private final Predicate<String> partitionExists;
+    private final int maxPartitions;
+    private final Set<String> known = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public PartitionKeys(ObjectProvider<ITenantFactory> tenantFactory,
+                         @Value("${storage.partition-keys.max-partitions:256}") int maxPartitions) {
+        this(partitionId -> {
+            ITenantFactory factory = tenantFactory.getIfAvailable();
+            return factory == null || factory.exists(partitionId);
+        }, maxPartitions);
+    }
+
+    public PartitionKeys(Predicate<String> partitionExists, int maxPartitions) {
+        this.partitionExists = partitionExists;
+        this.maxPartitions = maxPartitions;
+    }
+
+    public String of(String partitionId) {
+        if (partitionId == null || this.known.contains(partitionId)) {
+            return partitionId == null ? OTHER : partitionId;
+        }
+        if (!PARTITION_ID.matcher(partitionId).matches() || this.known.size() >= this.maxPartitions
+                || !this.exists(partitionId)) {
+            return OTHER;
+        }
+        this.known.add(partitionId);
+        return partitionId;
+    }
+
+    private boolean exists(String partitionId) {
+        try {
+            return this.partitionExists.test(partitionId);
+        } catch (RuntimeException e) {
+            // not remembered, the partition gets its own key once the lookup succeeds
+            log.warn("Could not look up data partition '{}': {}", partitionId, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.storage.enums.PipelineStage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Records per-stage latency of the record pipelines, tagged by partition, operation and provider, together with
+ * the number of records and payload bytes handled per call. When Server-Timing is enabled the stage durations of
+ * the current request are also accumulated so they can be returned to the caller.
+ */
+@Component
+public class PipelineMetrics {
+
+    public static final String STAGE_TIMER = "storage.pipeline.stage";
+    public static final String RECORDS_SUMMARY = "storage.pipeline.records";
+    public static final String PAYLOAD_SUMMARY = "storage.pipeline.payload.bytes";
+
+    static final String SERVER_TIMING_ATTRIBUTE = PipelineMetrics.class.getName() + ".serverTiming";
+
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final String provider;
+    private final boolean serverTimingEnabled;
+    private final PartitionKeys partitionKeys;
+
+    @Autowired
+    public PipelineMetrics(ObjectProvider<MeterRegistry> meterRegistry,
+                           @Value("${storage.metrics.provider:unknown}") String provider,
+                           @Value("${storage.server-timing.enabled:false}") boolean serverTimingEnabled,
+                           PartitionKeys partitionKeys) {
+        // providers without a metrics backend still get a working, no-op registry
+        this(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), provider, serverTimingEnabled, partitionKeys);
+    }
+
+    public PipelineMetrics(MeterRegistry meterRegistry, String provider, boolean serverTimingEnabled) {
+        this(meterRegistry, provider, serverTimingEnabled,
+                new PartitionKeys(partitionId -> true, PartitionKeys.DEFAULT_MAX_PARTITIONS));
+    }
+
+    public PipelineMetrics(MeterRegistry meterRegistry, String provider, boolean serverTimingEnabled,
+                           PartitionKeys partitionKeys) {
+        this.meterRegistry = meterRegistry;
+        this.provider = provider;
+        this.serverTimingEnabled = serverTimingEnabled;
+        this.partitionKeys = partitionKeys;
+    }
+
+    public <T> T time(PipelineStage stage, String operation, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            this.record(stage, operation, System.nanoTime() - start);
+        }
+    }
+
+    public void run(PipelineStage stage, String operation, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            this.record(stage, operation, System.nanoTime() - start);
+        }
+    }
+
+    public void record(PipelineStage stage, String operation, long durationNanos) {
+        HttpServletRequest request = currentRequest();
+        Timer.builder(STAGE_TIMER)
+                .tags(this.tags(request, operation).and("stage", stage.getValue()))
+                .register(this.meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        if (this.serverTimingEnabled && request != null) {
+            addServerTiming(request, stage, durationNanos);
+        }
+    }
+
+    /**
+     * Records the size of one pipeline call. A negative payload size means it is not known and is not recorded.
+     */
+    public void recordBatch(String operation, int records, long payloadBytes) {
+        Tags tags = this.tags(currentRequest(), operation);
+        DistributionSummary.builder(RECORDS_SUMMARY)
+                .baseUnit("records")
+                .tags(tags)
+                .register(this.meterRegistry)
+                .record(records);
+        if (payloadBytes >= 0) {
+            DistributionSummary.builder(PAYLOAD_SUMMARY)
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(this.meterRegistry)
+                    .record(payloadBytes);
+        }
+    }
+
+    /**
+     * Size of the current request body, or -1 when there is no request or it is sent without a content length.
+     */
+    public long requestPayloadBytes() {
+        HttpServletRequest request = currentRequest();
+        return request == null ? -1 : request.getContentLengthLong();
+    }
+
+    /**
+     * Approximate size of serialized records, counting one byte per character as record JSON is mostly ASCII.
+     */
+    public static long payloadSize(Collection<String> records) {
+        long size = 0;
+        for (String record : records) {
+            if (record != null) {
+                size += record.length();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Server-Timing header value for the stages recorded during the current request, or null if there are none.
+     */
+    public String getServerTiming() {
+        HttpServletRequest request = currentRequest();
+        if (!this.serverTimingEnabled || request == null) {
+            return null;
+        }
+        Object attribute = request.getAttribute(SERVER_TIMING_ATTRIBUTE);
+        if (!(attribute instanceof Map<?, ?> timings) || timings.isEmpty()) {
+            return null;
+        }
+
+        StringJoiner serverTiming = new StringJoiner(", ");
+        synchronized (timings) {
+            for (Map.Entry<?, ?> timing : timings.entrySet()) {
+                double millis = ((long[]) timing.getValue())[0] / 1_000_000d;
+                serverTiming.add(String.format(Locale.ROOT, "%s;dur=%.1f", ((PipelineStage) timing.getKey()).getValue(), millis));
+            }
+        }
+        return serverTiming.toString();
+    }
+
+    public boolean isServerTimingEnabled() {
+        return this.serverTimingEnabled;
+    }
+
+    private Tags tags(HttpServletRequest request, String operation) {
+        String partition = request == null ? null : request.getHeader(DpsHeaders.DATA_PARTITION_ID);
+        return Tags.of(
+                // the header is caller supplied, the tag only takes a bounded set of partition values
+                "partition", partition == null || partition.isEmpty() ? UNKNOWN : this.partitionKeys.of(partition),
+                "operation", operation,
+                "provider", this.provider);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addServerTiming(HttpServletRequest request, PipelineStage stage, long durationNanos) {
+        Map<PipelineStage, long[]> timings = (Map<PipelineStage, long[]>) request.getAttribute(SERVER_TIMING_ATTRIBUTE);
+        if (timings == null) {
+            timings = new EnumMap<>(PipelineStage.class);
+            request.setAttribute(SERVER_TIMING_ATTRIBUTE, timings);
+        }
+        synchronized (timings) {
+            timings.computeIfAbsent(stage, s -> new long[1])[0] += durationNanos;
+        }
+    }
+
+    // background threads, e.g. replay or message consumers, have no request bound
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+}
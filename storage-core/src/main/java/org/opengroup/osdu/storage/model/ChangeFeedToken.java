@@ -0,0 +1,44 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resume position of a change feed. Records are ordered by change time, so the position is a watermark plus the
+ * 128 bit hashes of the ids already delivered at exactly that watermark. This keeps the position stable when many
+ * records share the same change time, e.g. all records of one ingestion batch. A token is only valid for the kind and
+ * collaboration context it was issued for.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedToken {
+
+    private String kind;
+
+    private String collaboration;
+
+    private long watermark;
+
+    @Builder.Default
+    private List<String> seen = new ArrayList<>();
+}
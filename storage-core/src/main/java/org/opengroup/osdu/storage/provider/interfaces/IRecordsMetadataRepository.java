@@ -56,4 +56,11 @@ public interface IRecordsMetadataRepository<K extends Serializable> {
     default RecordInfoQueryResult<RecordMetadata> getRecords(String kind, Long modifiedAfterTime, String cursor, int limit, boolean deletedRecords, SortOrder sortOrder, Optional<CollaborationContext> collaborationContext) {
         throw new NotImplementedException("IRecordsMetadataRepository.getRecords not implemented");
     }
+
+    /**
+     * Same as {@link #getRecords} but filters on {@code createTime >= createdAfterTime} and orders by create time.
+     */
+    default RecordInfoQueryResult<RecordMetadata> getRecordsCreatedAfter(String kind, Long createdAfterTime, String cursor, int limit, boolean deletedRecords, SortOrder sortOrder, Optional<CollaborationContext> collaborationContext) {
+        throw new NotImplementedException("IRecordsMetadataRepository.getRecordsCreatedAfter not implemented");
+    }
 }
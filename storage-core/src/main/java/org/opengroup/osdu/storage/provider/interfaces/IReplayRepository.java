@@ -14,7 +14,9 @@
 
 package org.opengroup.osdu.storage.provider.interfaces;
 
+import org.apache.commons.lang3.NotImplementedException;
 import org.opengroup.osdu.storage.dto.ReplayMetaDataDTO;
+import org.opengroup.osdu.storage.dto.ReplaySummaryIncrement;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 
 import java.util.List;
@@ -27,4 +29,23 @@ public interface IReplayRepository {
     ReplayMetaDataDTO getReplayStatusByKindAndReplayId(String kind, String replayId);
 
     ReplayMetaDataDTO save(ReplayMetaDataDTO replayMetaData);
+
+    /**
+     * Returns the per-replay summary, the entry without a kind whose id is the replay id, or null when the replay
+     * has no summary. Providers should override this with a point read.
+     */
+    default ReplayMetaDataDTO getReplaySummary(String replayId) {
+        return getReplayStatusByReplayId(replayId).stream()
+                .filter(replayMetaData -> replayMetaData.getKind() == null && replayId.equals(replayMetaData.getId()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Adds the increment to the counters of the per-replay summary in a single atomic store operation, as replay
+     * pages of one replay are processed concurrently by several instances. Replays without a summary are left alone.
+     */
+    default void incrementReplaySummary(String replayId, ReplaySummaryIncrement increment) {
+        throw new NotImplementedException("IReplayRepository.incrementReplaySummary not implemented");
+    }
 }
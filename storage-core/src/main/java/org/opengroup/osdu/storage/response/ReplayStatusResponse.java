@@ -1,5 +1,6 @@
 package org.opengroup.osdu.storage.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -31,5 +32,14 @@ public class ReplayStatusResponse {
 
     private ReplayFilter filter;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalKinds;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer completedKinds;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer failedKinds;
+
     private List<ReplayStatus> status;
 }
@@ -0,0 +1,56 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionRetentionJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private String jobId;
+
+    private String dataPartitionId;
+
+    private boolean dryRun;
+
+    private Status status;
+
+    private long createTime;
+
+    private Long endTime;
+
+    private String error;
+
+    @Builder.Default
+    private List<VersionRetentionReport> reports = new ArrayList<>();
+
+    @JsonIgnore
+    public boolean isActive() {
+        return this.status == Status.QUEUED || this.status == Status.RUNNING;
+    }
+}
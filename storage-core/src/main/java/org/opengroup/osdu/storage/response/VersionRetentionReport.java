@@ -0,0 +1,60 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionRetentionReport {
+
+    private String dataPartitionId;
+
+    private String kind;
+
+    private boolean dryRun;
+
+    private long recordsScanned;
+
+    private long recordsPruned;
+
+    private long versionsPruned;
+
+    @Builder.Default
+    private List<String> prunedVersionPaths = new ArrayList<>();
+
+    @Builder.Default
+    private List<String> failedRecordIds = new ArrayList<>();
+
+    public void merge(VersionRetentionReport other, int reportLimit) {
+        this.recordsScanned += other.getRecordsScanned();
+        this.recordsPruned += other.getRecordsPruned();
+        this.versionsPruned += other.getVersionsPruned();
+        this.failedRecordIds.addAll(other.getFailedRecordIds());
+        for (String path : other.getPrunedVersionPaths()) {
+            if (this.prunedVersionPaths.size() >= reportLimit) {
+                break;
+            }
+            this.prunedVersionPaths.add(path);
+        }
+    }
+}
@@ -29,8 +29,11 @@ import org.opengroup.osdu.core.common.model.storage.Record;
 import org.opengroup.osdu.core.common.model.storage.*;
 import org.opengroup.osdu.core.common.storage.PersistenceHelper;
 import org.opengroup.osdu.core.common.util.CollaborationContextUtil;
+import org.opengroup.osdu.storage.cache.HotRecordCache;
 import org.opengroup.osdu.storage.conversion.DpsConversionService;
+import org.opengroup.osdu.storage.enums.PipelineStage;
 import org.opengroup.osdu.storage.logging.StorageAuditLogger;
+import org.opengroup.osdu.storage.metrics.PipelineMetrics;
 import org.opengroup.osdu.storage.opa.model.ValidationOutputRecord;
 import org.opengroup.osdu.storage.opa.service.IOPAService;
 import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
@@ -49,6 +52,8 @@ public abstract class BatchServiceImpl implements BatchService {
     private static final String FRAME_OF_REF_HEADER = "frame-of-reference";
     private static final String NO_FRAME_OF_REFERENCE = "none";
     private static final String SI_FRAME_OF_REFERENCE = "units=SI;crs=wgs84;elevation=msl;azimuth=true north;dates=utc;";
+    private static final String GET_RECORDS_OPERATION = "get-records";
+    private static final String FETCH_RECORDS_OPERATION = "fetch-records";
 
     @Autowired
     private IRecordsMetadataRepository recordRepository;
@@ -80,6 +85,12 @@ public abstract class BatchServiceImpl implements BatchService {
     @Autowired
     private IFeatureFlag featureFlag;
 
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @Autowired
+    private HotRecordCache hotRecordCache;
+
     public final Gson gson = new GsonBuilder().setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE).create();
 
     @Override
@@ -90,7 +101,8 @@ public abstract class BatchServiceImpl implements BatchService {
         List<String> recordsNotFound = new ArrayList<>();
         List<String> retryRecords = new ArrayList<>();
 
-        Map<String, RecordMetadata> recordsMetadata = this.recordRepository.get(recordIds, collaborationContext);
+        Map<String, RecordMetadata> recordsMetadata = this.pipelineMetrics.time(PipelineStage.METADATA_FETCH, GET_RECORDS_OPERATION,
+                () -> this.recordRepository.get(recordIds, collaborationContext));
 
         for (String recordId : recordIds) {
             RecordMetadata recordMetadata = recordsMetadata.get(CollaborationContextUtil.composeIdWithNamespace(recordId, collaborationContext));
@@ -119,10 +131,13 @@ public abstract class BatchServiceImpl implements BatchService {
             return response;
         }
 
-        Map<String, String> recordsPreAclMap = this.cloudStorage.read(validRecords, collaborationContext);
+        Map<String, String> recordsPreAclMap = this.pipelineMetrics.time(PipelineStage.BLOB_IO, GET_RECORDS_OPERATION,
+                () -> this.hotRecordCache.read(validRecords, collaborationContext,
+                        versionPaths -> this.cloudStorage.read(versionPaths, collaborationContext)));
+        this.pipelineMetrics.recordBatch(GET_RECORDS_OPERATION, recordIds.size(), PipelineMetrics.payloadSize(recordsPreAclMap.values()));
 
         this.logUnauthorizedGCSRecords(validRecords, recordsPreAclMap);
-        Map<String, String> recordsMap = this.postCheckRecordsAcl(recordsPreAclMap, recordsMetadata, collaborationContext);
+        Map<String, String> recordsMap = this.postCheckRecordsAcl(recordsPreAclMap, recordsMetadata, collaborationContext, GET_RECORDS_OPERATION);
         this.auditLogger.readMultipleRecordsSuccess(validRecordObjects);
 
         validRecordObjects.clear();
@@ -184,7 +199,8 @@ public abstract class BatchServiceImpl implements BatchService {
         List<ConversionStatus> conversionStatuses = new ArrayList<>();
 
         List<String> recordIds = ids.getRecords();
-        Map<String, RecordMetadata> recordsMetadata = this.recordRepository.get(recordIds, collaborationContext);
+        Map<String, RecordMetadata> recordsMetadata = this.pipelineMetrics.time(PipelineStage.METADATA_FETCH, FETCH_RECORDS_OPERATION,
+                () -> this.recordRepository.get(recordIds, collaborationContext));
 
         for (String recordId : recordIds) {
             RecordMetadata recordMetadata = recordsMetadata.get(CollaborationContextUtil.composeIdWithNamespace(recordId, collaborationContext));
@@ -207,9 +223,12 @@ public abstract class BatchServiceImpl implements BatchService {
         }
 
         List<String> recordsNotFoundInCloudStorage = new ArrayList<>();
-        Map<String, String> recordsPreAclMap = this.cloudStorage.read(validRecords, collaborationContext);
+        Map<String, String> recordsPreAclMap = this.pipelineMetrics.time(PipelineStage.BLOB_IO, FETCH_RECORDS_OPERATION,
+                () -> this.hotRecordCache.read(validRecords, collaborationContext,
+                        versionPaths -> this.cloudStorage.read(versionPaths, collaborationContext)));
+        this.pipelineMetrics.recordBatch(FETCH_RECORDS_OPERATION, recordIds.size(), PipelineMetrics.payloadSize(recordsPreAclMap.values()));
         this.logUnauthorizedGCSRecords(validRecords, recordsPreAclMap);
-        Map<String, String> recordsFromCloudStorage = this.postCheckRecordsAcl(recordsPreAclMap, recordsMetadata, collaborationContext);
+        Map<String, String> recordsFromCloudStorage = this.postCheckRecordsAcl(recordsPreAclMap, recordsMetadata, collaborationContext, FETCH_RECORDS_OPERATION);
 
         this.auditLogger.readMultipleRecordsSuccess(validRecordObjects);
 
@@ -234,7 +253,8 @@ public abstract class BatchServiceImpl implements BatchService {
         }
 
         if (isConversionNeeded && !validRecords.isEmpty()) {
-            RecordsAndStatuses recordsAndStatuses = this.conversionService.doConversion(jsonObjectRecords);
+            RecordsAndStatuses recordsAndStatuses = this.pipelineMetrics.time(PipelineStage.CONVERSION, FETCH_RECORDS_OPERATION,
+                    () -> this.conversionService.doConversion(jsonObjectRecords));
             this.checkMismatchAndAddToNotFound(recordIds, recordsNotFound, recordsAndStatuses.getRecords());
             response.setConversionStatuses(recordsAndStatuses.getConversionStatuses());
             response.setRecords(this.convertFromJsonObjectListToStringList(recordsAndStatuses.getRecords()));
@@ -262,7 +282,7 @@ public abstract class BatchServiceImpl implements BatchService {
         return records;
     }
 
-    private Map<String, String> postCheckRecordsAcl(Map<String, String> recordsPreAclMap, Map<String, RecordMetadata> recordsMetadata, Optional<CollaborationContext> collaborationContext) {
+    private Map<String, String> postCheckRecordsAcl(Map<String, String> recordsPreAclMap, Map<String, RecordMetadata> recordsMetadata, Optional<CollaborationContext> collaborationContext, String operation) {
         Map<String, String> recordsMap = new HashMap<>();
         List<RecordMetadata> recordMetadataList = new ArrayList<>();
         for (Map.Entry<String, String> record : recordsPreAclMap.entrySet()) {
@@ -270,7 +290,7 @@ public abstract class BatchServiceImpl implements BatchService {
             recordMetadataList.add(recordMetadata);
         }
 
-        if (this.entitlementsAndCacheService.isDataManager(this.headers)) {
+        if (this.pipelineMetrics.time(PipelineStage.ENTITLEMENTS, operation, () -> this.entitlementsAndCacheService.isDataManager(this.headers))) {
             for (RecordMetadata metadata : recordMetadataList) {
                 String recordId = metadata.getId();
                 String recordData = recordsPreAclMap.get(recordId);
@@ -278,7 +298,8 @@ public abstract class BatchServiceImpl implements BatchService {
             }
         } else {
             if (featureFlag.isFeatureEnabled(OPA_FEATURE_NAME)) {
-                List<ValidationOutputRecord> dataAuthResult = this.opaService.validateUserAccessToRecords(recordMetadataList, OperationType.view);
+                List<ValidationOutputRecord> dataAuthResult = this.pipelineMetrics.time(PipelineStage.OPA, operation,
+                        () -> this.opaService.validateUserAccessToRecords(recordMetadataList, OperationType.view));
                 for (ValidationOutputRecord outputRecord : dataAuthResult) {
                     if (outputRecord.getErrors().isEmpty()) {
                         String recordId = outputRecord.getId();
@@ -287,7 +308,8 @@ public abstract class BatchServiceImpl implements BatchService {
                     }
                 }
             } else {
-                List<RecordMetadata> passAclCheckRecordsMetadata = this.entitlementsAndCacheService.hasValidAccess(recordMetadataList, this.headers);
+                List<RecordMetadata> passAclCheckRecordsMetadata = this.pipelineMetrics.time(PipelineStage.ENTITLEMENTS, operation,
+                        () -> this.entitlementsAndCacheService.hasValidAccess(recordMetadataList, this.headers));
                 for (RecordMetadata metadata : passAclCheckRecordsMetadata) {
                     String recordId = metadata.getId();
                     String recordData = recordsPreAclMap.get(recordId);
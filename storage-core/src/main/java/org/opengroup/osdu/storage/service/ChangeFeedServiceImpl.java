@@ -0,0 +1,265 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service;
+
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import org.apache.http.HttpStatus;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+import org.opengroup.osdu.core.common.model.indexer.OperationType;
+import org.opengroup.osdu.core.common.model.search.SortOrder;
+import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.opengroup.osdu.core.common.model.storage.RecordState;
+import org.opengroup.osdu.storage.logging.StorageAuditLogger;
+import org.opengroup.osdu.storage.model.ChangeEvent;
+import org.opengroup.osdu.storage.model.ChangeFeedToken;
+import org.opengroup.osdu.storage.model.RecordInfoQueryResult;
+import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
+import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
+import org.opengroup.osdu.storage.response.ChangeFeedResponse;
+import org.opengroup.osdu.storage.util.EncodeDecode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Change feed over the records of a kind. The change time of a record is max(createTime, modifyTime). Records that
+ * were never modified are read by create time with {@link IRecordsMetadataRepository#getRecordsCreatedAfter}, modified
+ * and soft deleted records by modify time with {@link IRecordsMetadataRepository#getRecords}. The three streams are
+ * merged by change time, so a single watermark covers creates, updates and deletions.
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    // guards a single poll against scanning an unbounded number of already delivered records
+    private static final int MAX_PAGES_PER_STREAM = 10;
+
+    private static final Type DATA_TYPE = new TypeToken<Map<String, Object>>() {}.getType();
+
+    @Autowired
+    private IRecordsMetadataRepository recordRepository;
+
+    @Autowired
+    private ICloudStorage cloudStorage;
+
+    @Autowired
+    private DataAuthorizationService dataAuthorizationService;
+
+    @Autowired
+    private EncodeDecode encodeDecode;
+
+    @Autowired
+    private StorageAuditLogger auditLogger;
+
+    private final Gson gson = new Gson();
+
+    @Override
+    public ChangeFeedResponse getChanges(String kind, String token, int limit, boolean includeData, Optional<CollaborationContext> collaborationContext) {
+        String collaboration = collaborationContext.map(context -> String.valueOf(context.getId())).orElse(null);
+        ChangeFeedToken position = Strings.isNullOrEmpty(token)
+                ? ChangeFeedToken.builder().kind(kind).collaboration(collaboration).watermark(0L).build()
+                : this.decodeToken(token);
+        if (!kind.equals(position.getKind())) {
+            throw new AppException(HttpStatus.SC_BAD_REQUEST, "Invalid token", "The token was issued for a different kind");
+        }
+        if (!Objects.equals(collaboration, position.getCollaboration())) {
+            throw new AppException(HttpStatus.SC_BAD_REQUEST, "Invalid token", "The token was issued for a different collaboration context");
+        }
+
+        long watermark = position.getWatermark();
+        Set<String> seen = new HashSet<>(position.getSeen());
+        // a record is in exactly one stream, whose sort key is its change time
+        Stream created = this.fetchUnseen(watermark, seen, limit, RecordMetadata::getCreateTime, ChangeFeedServiceImpl::isCreate,
+                (cursor, pageSize) -> this.recordRepository.getRecordsCreatedAfter(kind, watermark, cursor, pageSize, false, SortOrder.ASC, collaborationContext));
+        Stream modified = this.fetchUnseen(watermark, seen, limit, RecordMetadata::getModifyTime, recordMetadata -> !isCreate(recordMetadata),
+                (cursor, pageSize) -> this.recordRepository.getRecords(kind, watermark, cursor, pageSize, false, SortOrder.ASC, collaborationContext));
+        Stream deleted = this.fetchUnseen(watermark, seen, limit, RecordMetadata::getModifyTime, recordMetadata -> true,
+                (cursor, pageSize) -> this.recordRepository.getRecords(kind, watermark, cursor, pageSize, true, SortOrder.ASC, collaborationContext));
+
+        // a stream that was not drained may still hold records from the last sort key it scanned on
+        long boundary = Math.min(created.boundary(watermark), Math.min(modified.boundary(watermark), deleted.boundary(watermark)));
+        List<RecordMetadata> merged = new ArrayList<>(created.records);
+        merged.addAll(modified.records);
+        merged.addAll(deleted.records);
+        merged.removeIf(recordMetadata -> changeTime(recordMetadata) > boundary);
+        merged.sort(Comparator.comparingLong(ChangeFeedServiceImpl::changeTime).thenComparing(RecordMetadata::getId));
+        List<RecordMetadata> taken = merged.subList(0, Math.min(limit, merged.size()));
+
+        ChangeFeedToken next = this.advance(position, taken);
+        List<ChangeEvent> events = this.toEvents(taken, includeData, collaborationContext);
+
+        return ChangeFeedResponse.builder()
+                .events(events)
+                .token(this.encodeToken(next))
+                .hasMore(merged.size() > taken.size() || !created.exhausted || !modified.exhausted || !deleted.exhausted)
+                .build();
+    }
+
+    private Stream fetchUnseen(long watermark, Set<String> seen, int limit, ToLongFunction<RecordMetadata> sortKey,
+                               Predicate<RecordMetadata> member, PageReader reader) {
+        Stream stream = new Stream(sortKey);
+        // records already delivered at the watermark come back first, so the page is sized to step over them
+        int pageSize = limit + seen.size();
+        String cursor = null;
+        int pages = 0;
+        do {
+            RecordInfoQueryResult<RecordMetadata> page = reader.read(cursor, pageSize);
+            if (page.getResults() != null) {
+                for (RecordMetadata recordMetadata : page.getResults()) {
+                    stream.last = recordMetadata;
+                    long changeTime = changeTime(recordMetadata);
+                    if (!member.test(recordMetadata) || changeTime < watermark
+                            || (changeTime == watermark && seen.contains(hash(recordMetadata.getId())))) {
+                        continue;
+                    }
+                    stream.records.add(recordMetadata);
+                }
+            }
+            cursor = page.getCursor();
+            pages++;
+        } while (stream.records.size() < limit && !Strings.isNullOrEmpty(cursor) && pages < MAX_PAGES_PER_STREAM);
+        stream.exhausted = Strings.isNullOrEmpty(cursor);
+        return stream;
+    }
+
+    private ChangeFeedToken advance(ChangeFeedToken position, List<RecordMetadata> taken) {
+        if (taken.isEmpty()) {
+            return position;
+        }
+        long watermark = changeTime(taken.get(taken.size() - 1));
+        List<String> seen = watermark == position.getWatermark() ? new ArrayList<>(position.getSeen()) : new ArrayList<>();
+        for (RecordMetadata recordMetadata : taken) {
+            if (changeTime(recordMetadata) == watermark) {
+                seen.add(hash(recordMetadata.getId()));
+            }
+        }
+        return position.toBuilder().watermark(watermark).seen(seen).build();
+    }
+
+    private List<ChangeEvent> toEvents(List<RecordMetadata> taken, boolean includeData, Optional<CollaborationContext> collaborationContext) {
+        List<ChangeEvent> events = new ArrayList<>(taken.size());
+        Map<String, String> versionPaths = new HashMap<>();
+        for (RecordMetadata recordMetadata : taken) {
+            if (!this.dataAuthorizationService.hasAccess(recordMetadata, OperationType.view)) {
+                continue;
+            }
+            OperationType op;
+            if (recordMetadata.getStatus() == RecordState.deleted) {
+                op = OperationType.delete;
+            } else {
+                op = isCreate(recordMetadata) ? OperationType.create : OperationType.update;
+                versionPaths.put(recordMetadata.getId(), recordMetadata.getVersionPath(recordMetadata.getLatestVersion()));
+            }
+            events.add(ChangeEvent.builder()
+                    .id(recordMetadata.getId())
+                    .version(recordMetadata.getLatestVersion())
+                    .kind(recordMetadata.getKind())
+                    .op(op)
+                    .modifyTime(changeTime(recordMetadata))
+                    .build());
+        }
+
+        if (includeData && !versionPaths.isEmpty()) {
+            Map<String, String> blobs = this.cloudStorage.read(versionPaths, collaborationContext);
+            this.auditLogger.readMultipleRecordsSuccess(new ArrayList<>(blobs.keySet()));
+            for (ChangeEvent event : events) {
+                String blob = blobs.get(event.getId());
+                if (Strings.isNullOrEmpty(blob)) {
+                    continue;
+                }
+                JsonElement data = this.gson.fromJson(blob, JsonObject.class).get("data");
+                if (data != null && !data.isJsonNull()) {
+                    event.setData(this.gson.fromJson(data, DATA_TYPE));
+                }
+            }
+        }
+        return events;
+    }
+
+    private String encodeToken(ChangeFeedToken token) {
+        return this.encodeDecode.serializeCursor(this.gson.toJson(token));
+    }
+
+    private ChangeFeedToken decodeToken(String token) {
+        try {
+            ChangeFeedToken position = this.gson.fromJson(this.encodeDecode.deserializeCursor(token), ChangeFeedToken.class);
+            if (position == null || position.getKind() == null) {
+                throw new JsonSyntaxException("Empty change feed token");
+            }
+            if (position.getSeen() == null) {
+                position.setSeen(new ArrayList<>());
+            }
+            return position;
+        } catch (JsonSyntaxException e) {
+            throw new AppException(HttpStatus.SC_BAD_REQUEST, "Invalid token", "The change feed token is invalid", e);
+        }
+    }
+
+    // records are stored with modify time 0 until their first update
+    private static boolean isCreate(RecordMetadata recordMetadata) {
+        return recordMetadata.getModifyTime() <= recordMetadata.getCreateTime();
+    }
+
+    private static long changeTime(RecordMetadata recordMetadata) {
+        return Math.max(recordMetadata.getCreateTime(), recordMetadata.getModifyTime());
+    }
+
+    // 128 bits keep the token compact while making a collision between two ids practically impossible
+    private static String hash(String id) {
+        byte[] digest = Hashing.sha256().hashString(id, StandardCharsets.UTF_8).asBytes();
+        return BaseEncoding.base64Url().omitPadding().encode(digest, 0, 16);
+    }
+
+    private interface PageReader {
+        RecordInfoQueryResult<RecordMetadata> read(String cursor, int pageSize);
+    }
+
+    private static class Stream {
+        private final List<RecordMetadata> records = new ArrayList<>();
+        private final ToLongFunction<RecordMetadata> sortKey;
+        private RecordMetadata last;
+        private boolean exhausted;
+
+        private Stream(ToLongFunction<RecordMetadata> sortKey) {
+            this.sortKey = sortKey;
+        }
+
+        private long boundary(long watermark) {
+            if (this.exhausted) {
+                return Long.MAX_VALUE;
+            }
+            return this.last == null ? watermark : this.sortKey.applyAsLong(this.last);
+        }
+    }
+}
@@ -30,7 +30,10 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.opengroup.osdu.storage.util.RecordConstants.OPA_FEATURE_NAME;
 
@@ -85,6 +88,27 @@ public class DataAuthorizationService {
         return postAclCheck != null && !postAclCheck.isEmpty();
     }
 
+    /**
+     * @return the records the user may view or owns, for reads whose blobs may not pass the provider's viewer filter
+     */
+    public List<RecordMetadata> filterViewerOrOwnerAccess(List<RecordMetadata> recordsMetadata, OperationType operationType) {
+        if (recordsMetadata.isEmpty() || this.entitlementsService.isDataManager(this.headers)) {
+            return recordsMetadata;
+        }
+        if (featureFlag.isFeatureEnabled(OPA_FEATURE_NAME)) {
+            Set<String> allowedIds = new HashSet<>();
+            for (ValidationOutputRecord outputRecord : this.opaService.validateUserAccessToRecords(recordsMetadata, operationType)) {
+                if (outputRecord.getErrors().isEmpty()) {
+                    allowedIds.add(outputRecord.getId());
+                }
+            }
+            return recordsMetadata.stream().filter(metadata -> allowedIds.contains(metadata.getId())).collect(Collectors.toList());
+        }
+
+        List<RecordMetadata> postAclCheck = this.entitlementsService.hasValidAccess(recordsMetadata, this.headers);
+        return postAclCheck == null ? Collections.emptyList() : postAclCheck;
+    }
+
     public boolean hasAccess(RecordMetadata recordMetadata, OperationType operationType) {
         if (this.entitlementsService.isDataManager(this.headers)) {
             return true;
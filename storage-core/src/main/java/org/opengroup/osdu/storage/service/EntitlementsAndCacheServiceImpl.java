@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.lettuce.core.RedisException;
 import org.apache.http.HttpStatus;
 import org.opengroup.osdu.core.common.cache.ICache;
+import org.opengroup.osdu.core.common.cache.VmCache;
 import org.opengroup.osdu.core.common.entitlements.IEntitlementsFactory;
 import org.opengroup.osdu.core.common.entitlements.IEntitlementsService;
 import org.opengroup.osdu.core.common.http.HttpResponse;
@@ -32,14 +33,20 @@ import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
 import org.opengroup.osdu.core.common.util.Crc32c;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.xml.bind.DataBindingException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Optional.ofNullable;
 
@@ -59,8 +66,28 @@ public class EntitlementsAndCacheServiceImpl implements IEntitlementsExtensionSe
     @Autowired
     private JaxRsDpsLog logger;
 
+    // opt-in, invalidateGroups only clears the tier of this instance, so other instances may serve revoked groups
+    // until the TTL passes, keep it well below the TTL of the shared cache
+    @Value("${entitlements.groups-cache.local.ttl-seconds:0}")
+    private int localCacheTtlSeconds;
+
+    @Value("${entitlements.groups-cache.local.max-size:10000}")
+    private int localCacheMaxSize;
+
+    // in-process tier in front of the shared groups cache, not set when its TTL is 0
+    private ICache<String, Groups> localCache;
+
+    private final Map<String, CompletableFuture<Groups>> inFlightRequests = new ConcurrentHashMap<>();
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    @PostConstruct
+    private void setupLocalCache() {
+        if (localCacheTtlSeconds > 0) {
+            localCache = new VmCache<>(localCacheTtlSeconds, localCacheMaxSize);
+        }
+    }
+
     @Override
     public String authorize(DpsHeaders headers, String... roles) {
         return authorizeWithGroupName(headers, roles).user();
@@ -159,7 +186,11 @@ public class EntitlementsAndCacheServiceImpl implements IEntitlementsExtensionSe
     public Groups getGroups(DpsHeaders headers) {
         String cacheKey = this.getGroupCacheKey(headers);
 
-        Groups groups = null;
+        Groups groups = this.localCache != null ? this.localCache.get(cacheKey) : null;
+        if (groups != null) {
+            return groups;
+        }
+
         try {
             groups = this.cache.get(cacheKey);
         } catch (RedisException ex) {
@@ -167,20 +198,10 @@ public class EntitlementsAndCacheServiceImpl implements IEntitlementsExtensionSe
         }
 
         if (groups == null) {
-            IEntitlementsService service = this.factory.create(headers);
-            try {
-                groups = service.getGroups();
-                this.cache.put(cacheKey, groups);
-                this.logger.debug("Entitlements cache miss");
-
-            } catch (EntitlementsException e) {
-                HttpResponse response = e.getHttpResponse();
-                this.logger.error(String.format("Error requesting entitlements service %s", response));
-                String errorMessage = this.deserializeErrorMessage(response.getBody());
-                throw new AppException(e.getHttpResponse().getResponseCode(), ERROR_REASON, errorMessage, e);
-            } catch (RedisException ex) {
-                this.logger.error(String.format("Error putting key %s into redis: %s", cacheKey, ex.getMessage()), ex);
-            }
+            groups = this.getGroupsOnce(cacheKey, headers);
+        }
+        if (this.localCache != null && groups != null) {
+            this.localCache.put(cacheKey, groups);
         }
         return groups;
     }
@@ -188,6 +209,9 @@ public class EntitlementsAndCacheServiceImpl implements IEntitlementsExtensionSe
     @Override
     public void invalidateGroups(DpsHeaders headers) {
         String cacheKey = this.getGroupCacheKey(headers);
+        if (this.localCache != null) {
+            this.localCache.delete(cacheKey);
+        }
         try {
             this.cache.delete(cacheKey);
         } catch (RedisException ex) {
@@ -195,6 +219,54 @@ public class EntitlementsAndCacheServiceImpl implements IEntitlementsExtensionSe
         }
     }
 
+    /**
+     * Collapses concurrent cache misses of the same key into one entitlements call.
+     */
+    private Groups getGroupsOnce(String cacheKey, DpsHeaders headers) {
+        CompletableFuture<Groups> request = new CompletableFuture<>();
+        CompletableFuture<Groups> inFlightRequest = this.inFlightRequests.putIfAbsent(cacheKey, request);
+        if (inFlightRequest != null) {
+            try {
+                return inFlightRequest.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof AppException) {
+                    throw (AppException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        try {
+            Groups groups = this.requestGroups(cacheKey, headers);
+            request.complete(groups);
+            return groups;
+        } catch (RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlightRequests.remove(cacheKey, request);
+        }
+    }
+
+    private Groups requestGroups(String cacheKey, DpsHeaders headers) {
+        Groups groups = null;
+        IEntitlementsService service = this.factory.create(headers);
+        try {
+            groups = service.getGroups();
+            this.cache.put(cacheKey, groups);
+            this.logger.debug("Entitlements cache miss");
+
+        } catch (EntitlementsException e) {
+            HttpResponse response = e.getHttpResponse();
+            this.logger.error(String.format("Error requesting entitlements service %s", response));
+            String errorMessage = this.deserializeErrorMessage(response.getBody());
+            throw new AppException(e.getHttpResponse().getResponseCode(), ERROR_REASON, errorMessage, e);
+        } catch (RedisException ex) {
+            this.logger.error(String.format("Error putting key %s into redis: %s", cacheKey, ex.getMessage()), ex);
+        }
+        return groups;
+    }
+
     private String deserializeErrorMessage(String response) {
         try {
             JsonNode rootNode = objectMapper.readTree(response);
@@ -31,7 +31,9 @@ import org.opengroup.osdu.core.common.model.storage.*;
 import org.opengroup.osdu.core.common.model.storage.validation.ValidationDoc;
 import org.opengroup.osdu.core.common.model.tenant.TenantInfo;
 import org.opengroup.osdu.core.common.util.CollaborationContextUtil;
+import org.opengroup.osdu.storage.enums.PipelineStage;
 import org.opengroup.osdu.storage.logging.StorageAuditLogger;
+import org.opengroup.osdu.storage.metrics.PipelineMetrics;
 import org.opengroup.osdu.storage.opa.model.OpaError;
 import org.opengroup.osdu.storage.opa.model.ValidationOutputRecord;
 import org.opengroup.osdu.storage.opa.service.IOPAService;
@@ -51,6 +53,8 @@ import static org.opengroup.osdu.storage.util.RecordConstants.OPA_FEATURE_NAME;
 @Service
 public class IngestionServiceImpl implements IngestionService {
 
+	private static final String CREATE_UPDATE_RECORDS_OPERATION = "create-update-records";
+
 	@Autowired
 	private IRecordsMetadataRepository recordRepository;
 
@@ -90,11 +94,17 @@ public class IngestionServiceImpl implements IngestionService {
 	@Autowired
 	RecordBlocks recordBlocks;
 
+	@Autowired
+	private PipelineMetrics pipelineMetrics;
+
 	@Override
 	public TransferInfo createUpdateRecords(boolean skipDupes, List<Record> inputRecords, String user, Optional<CollaborationContext> collaborationContext) {
-		this.validateKindFormat(inputRecords);
-		this.validateRecordIds(inputRecords);
-		this.validateAcl(inputRecords);
+		this.pipelineMetrics.recordBatch(CREATE_UPDATE_RECORDS_OPERATION, inputRecords.size(), this.pipelineMetrics.requestPayloadBytes());
+		this.pipelineMetrics.run(PipelineStage.VALIDATION, CREATE_UPDATE_RECORDS_OPERATION, () -> {
+			this.validateKindFormat(inputRecords);
+			this.validateRecordIds(inputRecords);
+		});
+		this.pipelineMetrics.run(PipelineStage.ENTITLEMENTS, CREATE_UPDATE_RECORDS_OPERATION, () -> this.validateAcl(inputRecords));
 
 		TransferInfo transfer = new TransferInfo(user, inputRecords.size());
 
@@ -179,11 +189,13 @@ public class IngestionServiceImpl implements IngestionService {
 		List<RecordProcessing> recordsToProcess = new ArrayList<>();
 
 		List<String> ids = this.getRecordIds(inputRecords, recordParentMap);
-		Map<String, RecordMetadata> existingRecords = this.recordRepository.get(ids, collaborationContext);
+		Map<String, RecordMetadata> existingRecords = this.pipelineMetrics.time(PipelineStage.METADATA_FETCH, CREATE_UPDATE_RECORDS_OPERATION,
+				() -> this.recordRepository.get(ids, collaborationContext));
 
 		this.validateParentsExist(existingRecords, recordParentMap);
 		if(featureFlag.isFeatureEnabled(OPA_FEATURE_NAME)) {
-		    this.validateUserAccessAndCompliancePolicyConstraints(inputRecords, existingRecords, recordParentMap);
+			this.pipelineMetrics.run(PipelineStage.OPA, CREATE_UPDATE_RECORDS_OPERATION,
+					() -> this.validateUserAccessAndCompliancePolicyConstraints(inputRecords, existingRecords, recordParentMap));
 		} else {
 			this.validateUserAccessAndComplianceConstraints(inputRecords, existingRecords, recordParentMap);
 		}
@@ -192,10 +204,14 @@ public class IngestionServiceImpl implements IngestionService {
         Map<RecordMetadata, RecordData> recordUpdateWithoutVersions = new HashMap<>();
 
 		final long currentTimestamp = System.currentTimeMillis();
+		// hashing is interleaved with building the metadata, so its time is accumulated and recorded once
+		final long[] hashingNanos = new long[1];
 
 		inputRecords.forEach(record -> {
 			RecordData recordData = new RecordData(record);
+			long hashingStart = System.nanoTime();
 			Map<String, String> hash = recordBlocks.hashForRecordData(recordData);
+			hashingNanos[0] += System.nanoTime() - hashingStart;
 			if (!existingRecords.containsKey(CollaborationContextUtil.composeIdWithNamespace(record.getId(), collaborationContext))) {
 				RecordMetadata recordMetadata = new RecordMetadata(record);
 				recordMetadata.setUser(transfer.getUser());
@@ -233,7 +249,10 @@ public class IngestionServiceImpl implements IngestionService {
 		recordUpdatesMap.putAll(recordUpdateWithoutVersions);
 
 		this.populateUpdatedRecords(recordUpdatesMap, recordsToProcess, transfer, currentTimestamp);
+		long hashingStart = System.nanoTime();
 		recordBlocks.populateRecordBlocksMetadata(existingRecords, recordsToProcess, collaborationContext);
+		hashingNanos[0] += System.nanoTime() - hashingStart;
+		this.pipelineMetrics.record(PipelineStage.HASHING, CREATE_UPDATE_RECORDS_OPERATION, hashingNanos[0]);
 
 		if (skipDupes) {
 			// Skipdupes now compares both the data and metadata fields
@@ -244,10 +263,14 @@ public class IngestionServiceImpl implements IngestionService {
 
 	private void validateUserAccessAndComplianceConstraints(
 			List<Record> inputRecords, Map<String, RecordMetadata> existingRecords,  Map<String, List<RecordIdWithVersion>> recordParentMap) {
-		this.validateUserHasAccessToAllRecords(existingRecords);
-		this.validateLegalConstraints(inputRecords);
-		this.validateOwnerAccessOnExistingRecords(inputRecords, existingRecords);
-		this.populateLegalInfoFromParents(inputRecords, existingRecords, recordParentMap);
+		this.pipelineMetrics.run(PipelineStage.ENTITLEMENTS, CREATE_UPDATE_RECORDS_OPERATION,
+				() -> this.validateUserHasAccessToAllRecords(existingRecords));
+		this.pipelineMetrics.run(PipelineStage.LEGAL, CREATE_UPDATE_RECORDS_OPERATION,
+				() -> this.validateLegalConstraints(inputRecords));
+		this.pipelineMetrics.run(PipelineStage.ENTITLEMENTS, CREATE_UPDATE_RECORDS_OPERATION,
+				() -> this.validateOwnerAccessOnExistingRecords(inputRecords, existingRecords));
+		this.pipelineMetrics.run(PipelineStage.LEGAL, CREATE_UPDATE_RECORDS_OPERATION,
+				() -> this.populateLegalInfoFromParents(inputRecords, existingRecords, recordParentMap));
 	}
 
 	private void validateOwnerAccessOnExistingRecords(List<Record> inputRecords, Map<String, RecordMetadata> existingRecords) {
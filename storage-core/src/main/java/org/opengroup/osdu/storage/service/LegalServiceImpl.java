@@ -18,6 +18,7 @@ import com.google.common.collect.Lists;
 import io.lettuce.core.RedisException;
 import org.apache.http.HttpStatus;
 import org.opengroup.osdu.core.common.cache.ICache;
+import org.opengroup.osdu.core.common.cache.VmCache;
 import org.opengroup.osdu.core.common.legal.ILegalFactory;
 import org.opengroup.osdu.core.common.legal.ILegalProvider;
 import org.opengroup.osdu.core.common.legal.ILegalService;
@@ -36,8 +37,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -45,6 +49,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 @Service
 public class LegalServiceImpl implements ILegalService {
@@ -52,6 +59,7 @@ public class LegalServiceImpl implements ILegalService {
     protected static final String LEGAL_PROPERTIES_KEY = "@legal-properties";
     protected static final String DEFAULT_DATA_COUNTRY = "US";
     private static final int LEGALTAG_PARTITION_COUNT = 25;
+    private static final String VALID_LEGAL_TAG = "Valid LegalTag";
     public static Map<String, Set<String>> validCountryCodes = new HashMap<>();
     @Autowired
     private DpsHeaders headers;
@@ -62,25 +70,58 @@ public class LegalServiceImpl implements ILegalService {
     private ILegalFactory factory;
     @Autowired
     private JaxRsDpsLog log;
+    // the provider's @Primary pool where there is one, else the pool of the core ThreadPoolFactory
+    @Autowired
+    private ExecutorService threadPoolFactory;
+
+    @Value("${legal.tag-cache.local.ttl-seconds:0}")
+    private int localCacheTtlSeconds;
+
+    @Value("${legal.tag-cache.invalid.ttl-seconds:0}")
+    private int invalidCacheTtlSeconds;
+
+    @Value("${legal.tag-cache.local.max-size:1000}")
+    private int localCacheMaxSize;
+
+    // in-process copies keyed by partition and tag, in front of the shared legal tag cache, not set when their TTL
+    // is 0. Compliance changes only evict the shared cache, so a tag can stay valid here for up to the local TTL.
+    private ICache<String, String> localTagCache;
+    private ICache<String, String> invalidTagCache;
 
     private final static Logger LOGGER = LoggerFactory.getLogger(LegalServiceImpl.class);
 
+    @PostConstruct
+    private void setupLocalCaches() {
+        if (localCacheTtlSeconds > 0) {
+            localTagCache = new VmCache<>(localCacheTtlSeconds, localCacheMaxSize);
+        }
+        if (invalidCacheTtlSeconds > 0) {
+            invalidTagCache = new VmCache<>(invalidCacheTtlSeconds, localCacheMaxSize);
+        }
+    }
+
     @Override
     public void validateLegalTags(Set<String> legaltags) {
 
-        if (this.isInCache(legaltags)) {
+        String partitionId = this.headers.getPartitionId();
+        Set<String> uncachedLegalTags = this.getUncachedLegalTags(partitionId, legaltags);
+        if (uncachedLegalTags.isEmpty()) {
             return;
         }
 
-        InvalidTagWithReason[] invalidLegalTags = this.getInvalidLegalTags(legaltags);
+        InvalidTagWithReason[] invalidLegalTags = this.getInvalidLegalTags(uncachedLegalTags);
 
         if (invalidLegalTags.length > 0) {
             LOGGER.info("Invalid Legal Tags : {}", invalidLegalTags.toString());
-            throw new AppException(HttpStatus.SC_BAD_REQUEST, "Invalid legal tags",
-                    String.format("Invalid legal tags: %s", invalidLegalTags[0].getName()));
+            if (this.invalidTagCache != null) {
+                for (InvalidTagWithReason invalidLegalTag : invalidLegalTags) {
+                    this.invalidTagCache.put(localKey(partitionId, invalidLegalTag.getName()), String.valueOf(invalidLegalTag.getReason()));
+                }
+            }
+            throw invalidLegalTagsException(invalidLegalTags[0].getName());
         }
 
-        this.addToCache(legaltags);
+        this.addToCache(partitionId, uncachedLegalTags);
     }
 
     @Override
@@ -162,12 +203,24 @@ public class LegalServiceImpl implements ILegalService {
             List<String> legalTags = new ArrayList<>(legalTagNames);
             List<List<String>> legalTagsList = Lists.partition(legalTags, LEGALTAG_PARTITION_COUNT);
 
-            ILegalProvider legalService = this.factory.create(this.headers);
             Set<InvalidTagWithReason> invalidLegalTagSet = new HashSet<>();
-            for (List<String> tags : legalTagsList) {
-                InvalidTagsWithReason response = legalService
-                        .validate(tags.toArray(new String[tags.size()]));
-                invalidLegalTagSet.addAll(Arrays.asList(response.getInvalidLegalTags()));
+            if (legalTagsList.size() <= 1) {
+                ILegalProvider legalService = this.factory.create(this.headers);
+                for (List<String> tags : legalTagsList) {
+                    InvalidTagsWithReason response = legalService
+                            .validate(tags.toArray(new String[tags.size()]));
+                    invalidLegalTagSet.addAll(Arrays.asList(response.getInvalidLegalTags()));
+                }
+            } else {
+                // the request scoped headers cannot be read from the pool threads
+                ILegalProvider legalService = this.factory.create(DpsHeaders.createFromMap(this.headers.getHeaders()));
+                List<Future<InvalidTagsWithReason>> responses = new ArrayList<>();
+                for (List<String> tags : legalTagsList) {
+                    responses.add(this.threadPoolFactory.submit(() -> legalService.validate(tags.toArray(new String[tags.size()]))));
+                }
+                for (Future<InvalidTagsWithReason> response : responses) {
+                    invalidLegalTagSet.addAll(Arrays.asList(getValidateResponse(response).getInvalidLegalTags()));
+                }
             }
             return invalidLegalTagSet.toArray(new InvalidTagWithReason[invalidLegalTagSet.size()]);
         } catch (LegalException e) {
@@ -177,34 +230,99 @@ public class LegalServiceImpl implements ILegalService {
         }
     }
 
-    private boolean isInCache(Set<String> legalTagNames) {
-        String currentLegalTagName = null;
+    private InvalidTagsWithReason getValidateResponse(Future<InvalidTagsWithReason> response) throws LegalException {
         try {
-            for (String legalTagName : legalTagNames) {
-                String legalTag = null;
-                currentLegalTagName = legalTagName;
-                legalTag = this.cache.get(legalTagName);
-                if (legalTag == null) {
-                    LOGGER.info("Legal Tag not present in the cache.");
-                    return false;
+            return response.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LegalException) {
+                throw (LegalException) e.getCause();
+            }
+            if (e.getCause() instanceof AppException) {
+                throw (AppException) e.getCause();
+            }
+            throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error validating legal tags",
+                    "An unexpected error occurred when validating legal tags", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error validating legal tags",
+                    "Interrupted while validating legal tags", e);
+        }
+    }
+
+    /**
+     * Looks the tags up in the local cache first, when enabled, and reads the remaining ones from the shared cache.
+     * A tag that was recently found invalid fails the request without asking the legal service again.
+     */
+    private Set<String> getUncachedLegalTags(String partitionId, Set<String> legalTagNames) {
+        Set<String> uncachedLegalTags = new HashSet<>();
+        for (String legalTagName : legalTagNames) {
+            String localKey = localKey(partitionId, legalTagName);
+            if (this.invalidTagCache != null && this.invalidTagCache.get(localKey) != null) {
+                LOGGER.info("Legal Tag {} is cached as invalid", legalTagName);
+                throw invalidLegalTagsException(legalTagName);
+            }
+            if (this.localTagCache == null || this.localTagCache.get(localKey) == null) {
+                uncachedLegalTags.add(legalTagName);
+            }
+        }
+        if (uncachedLegalTags.isEmpty()) {
+            return uncachedLegalTags;
+        }
+
+        try {
+            Map<String, String> cachedLegalTags = this.getFromCache(uncachedLegalTags);
+            if (this.localTagCache != null) {
+                for (String legalTagName : cachedLegalTags.keySet()) {
+                    this.localTagCache.put(localKey(partitionId, legalTagName), VALID_LEGAL_TAG);
                 }
             }
+            uncachedLegalTags.removeAll(cachedLegalTags.keySet());
         } catch (RedisException ex) {
-            this.log.error(String.format("Error getting key %s from redis: %s", currentLegalTagName, ex.getMessage()), ex);
+            // as before, an unreachable cache does not block the request
+            this.log.error(String.format("Error getting keys %s from redis: %s", uncachedLegalTags, ex.getMessage()), ex);
+            return new HashSet<>();
+        }
+
+        if (uncachedLegalTags.isEmpty()) {
+            LOGGER.info("Legal Tags are present in cache {}", legalTagNames.toString());
+        } else {
+            LOGGER.info("Legal Tag not present in the cache.");
         }
-        LOGGER.info("Legal Tags are present in cache {}", legalTagNames.toString());
-        return true;
+        return uncachedLegalTags;
     }
 
-    private void addToCache(Set<String> legalTagNames) {
-        String currentLegalTagName = null;
+    private Map<String, String> getFromCache(Set<String> legalTagNames) {
+        Map<String, String> cachedLegalTags = new HashMap<>();
+        for (String legalTagName : legalTagNames) {
+            String legalTag = this.cache.get(legalTagName);
+            if (legalTag != null) {
+                cachedLegalTags.put(legalTagName, legalTag);
+            }
+        }
+        return cachedLegalTags;
+    }
+
+    private void addToCache(String partitionId, Set<String> legalTagNames) {
+        for (String legalTagName : legalTagNames) {
+            if (this.localTagCache != null) {
+                this.localTagCache.put(localKey(partitionId, legalTagName), VALID_LEGAL_TAG);
+            }
+        }
         try {
             for (String legalTagName : legalTagNames) {
-                currentLegalTagName = legalTagName;
-                this.cache.put(legalTagName, "Valid LegalTag");
+                this.cache.put(legalTagName, VALID_LEGAL_TAG);
             }
         } catch (RedisException ex) {
-            this.log.error(String.format("Error putting key %s into redis: %s", currentLegalTagName, ex.getMessage()), ex);
+            this.log.error(String.format("Error putting keys %s into redis: %s", legalTagNames, ex.getMessage()), ex);
         }
     }
+
+    private static AppException invalidLegalTagsException(String legalTagName) {
+        return new AppException(HttpStatus.SC_BAD_REQUEST, "Invalid legal tags",
+                String.format("Invalid legal tags: %s", legalTagName));
+    }
+
+    private static String localKey(String partitionId, String legalTagName) {
+        return partitionId + ":" + legalTagName;
+    }
 }
@@ -18,6 +18,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.google.common.base.Strings;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
 import org.apache.commons.lang3.NotImplementedException;
@@ -30,25 +31,38 @@ import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.core.common.model.indexer.OperationType;
 import org.opengroup.osdu.core.common.model.storage.*;
 import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.storage.cache.HotRecordCache;
+import org.opengroup.osdu.storage.enums.PipelineStage;
+import org.opengroup.osdu.storage.metrics.PipelineMetrics;
 import org.opengroup.osdu.storage.model.RecordChangedV2;
 import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
 import org.opengroup.osdu.storage.provider.interfaces.IMessageBus;
 import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
 import org.opengroup.osdu.storage.util.JsonPatchUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static org.opengroup.osdu.storage.util.RecordConstants.COLLABORATIONS_FEATURE_NAME;
 
 @Service
 public class PersistenceServiceImpl implements PersistenceService {
 
+    private static final String PERSIST_RECORDS_OPERATION = "persist-records";
+
     @Autowired
     private IRecordsMetadataRepository recordRepository;
 
@@ -66,6 +80,24 @@ public class PersistenceServiceImpl implements PersistenceService {
     @Autowired
     private IFeatureFlag collaborationFeatureFlag;
 
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @Autowired
+    private HotRecordCache hotRecordCache;
+
+    // the provider's @Primary pool where there is one, else the pool of the core ThreadPoolFactory
+    @Autowired
+    private ExecutorService threadPoolFactory;
+
+    // batches larger than this commit chunk by chunk, 0 writes all blobs before any metadata
+    @Value("${storage.commit.chunk-size:0}")
+    private int commitChunkSize;
+
+    // metadata writes of committed chunks in flight while the next chunks' blobs are written
+    @Value("${storage.commit.max-concurrency:4}")
+    private int commitMaxConcurrency;
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
@@ -98,18 +130,27 @@ public class PersistenceServiceImpl implements PersistenceService {
         }
 
         this.commitBatch(recordsProcessing, recordsMetadata, collaborationContext);
-        if (collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)) {
-            this.pubSubClient.publishMessage(collaborationContext, this.headers, recordChangedV2);
-        } else if (!collaborationContext.isPresent()) {
-            this.pubSubClient.publishMessage(this.headers, pubsubInfo);
-        }
+        this.evictHotRecords(recordsMetadata);
+        this.pipelineMetrics.run(PipelineStage.PUBLISH, PERSIST_RECORDS_OPERATION, () -> {
+            if (collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)) {
+                this.pubSubClient.publishMessage(collaborationContext, this.headers, recordChangedV2);
+            } else if (!collaborationContext.isPresent()) {
+                this.pubSubClient.publishMessage(this.headers, pubsubInfo);
+            }
+        });
     }
 
     private void commitBatch(List<RecordProcessing> recordsProcessing, List<RecordMetadata> recordsMetadata, Optional<CollaborationContext> collaborationContext) {
 
         try {
-            this.commitCloudStorageTransaction(recordsProcessing);
-            this.commitDatastoreTransaction(recordsMetadata, collaborationContext);
+            if (this.commitChunkSize > 0 && recordsProcessing.size() > this.commitChunkSize) {
+                this.commitChunks(recordsProcessing, recordsMetadata, collaborationContext);
+            } else {
+                this.pipelineMetrics.run(PipelineStage.BLOB_IO, PERSIST_RECORDS_OPERATION,
+                        () -> this.commitCloudStorageTransaction(recordsProcessing));
+                this.pipelineMetrics.run(PipelineStage.METADATA_WRITE, PERSIST_RECORDS_OPERATION,
+                        () -> this.commitDatastoreTransaction(recordsMetadata, collaborationContext));
+            }
         } catch (AppException e) {
 
             //try deleting the latest version of the record from blob storage and Datastore
@@ -129,6 +170,87 @@ public class PersistenceServiceImpl implements PersistenceService {
         }
     }
 
+    /**
+     * Writes the metadata of each chunk as soon as its blobs are written, while the blobs of the following chunks
+     * are written. All metadata writes have finished when this returns or throws, so a cleanup after a failure is
+     * never overtaken by a late metadata write.
+     */
+    private void commitChunks(List<RecordProcessing> recordsProcessing, List<RecordMetadata> recordsMetadata, Optional<CollaborationContext> collaborationContext) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        Deque<Future<?>> metadataWrites = new ArrayDeque<>();
+        try {
+            for (int start = 0; start < recordsProcessing.size(); start += this.commitChunkSize) {
+                int end = Math.min(start + this.commitChunkSize, recordsProcessing.size());
+                List<RecordProcessing> chunk = recordsProcessing.subList(start, end);
+                List<RecordMetadata> chunkMetadata = new ArrayList<>(recordsMetadata.subList(start, end));
+
+                this.pipelineMetrics.run(PipelineStage.BLOB_IO, PERSIST_RECORDS_OPERATION,
+                        () -> this.commitCloudStorageTransaction(chunk));
+                while (metadataWrites.size() >= Math.max(1, this.commitMaxConcurrency)) {
+                    this.awaitMetadataWrite(metadataWrites.poll());
+                }
+                metadataWrites.add(this.threadPoolFactory.submit(() -> runInRequestScope(requestAttributes,
+                        () -> this.pipelineMetrics.run(PipelineStage.METADATA_WRITE, PERSIST_RECORDS_OPERATION,
+                                () -> this.commitDatastoreTransaction(chunkMetadata, collaborationContext)))));
+            }
+            while (!metadataWrites.isEmpty()) {
+                this.awaitMetadataWrite(metadataWrites.poll());
+            }
+        } catch (RuntimeException e) {
+            while (!metadataWrites.isEmpty()) {
+                try {
+                    this.awaitMetadataWrite(metadataWrites.poll());
+                } catch (AppException metadataWriteException) {
+                    e.addSuppressed(metadataWriteException);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the metadata write even if the thread is interrupted, e.g. by a failed blob write, and restores the
+     * interrupt afterwards. Giving up early would let the cleanup race the write.
+     */
+    private void awaitMetadataWrite(Future<?> metadataWrite) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                try {
+                    metadataWrite.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AppException appException) {
+                throw appException;
+            }
+            throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error writing record.",
+                    "The server could not process your request at the moment.", e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // request scoped beans, e.g. headers used by the metadata repositories, are resolved on the pool thread too
+    private static void runInRequestScope(RequestAttributes requestAttributes, Runnable task) {
+        boolean bound = requestAttributes != null && RequestContextHolder.getRequestAttributes() == null;
+        if (bound) {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+        }
+        try {
+            task.run();
+        } finally {
+            if (bound) {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }
+    }
+
     @Override
     public List<String> updateMetadataWithBlobSync(List<RecordMetadata> recordMetadata, List<String> recordsId, Map<String, String> recordsIdMap, Optional<CollaborationContext> collaborationContext) {
         Map<String, Acl> originalAcls = new HashMap<>();
@@ -157,6 +279,7 @@ public class PersistenceServiceImpl implements PersistenceService {
             pubsubInfo[i] = getPubSubInfo(metadata, OperationType.update);
             recordChangedV2[i] = getRecordChangedV2(metadata, OperationType.update);
         }
+        this.evictHotRecords(recordMetadata);
         if (collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)) {
             this.pubSubClient.publishMessage(collaborationContext, this.headers, recordChangedV2);
         } else if (!collaborationContext.isPresent()) {
@@ -212,6 +335,7 @@ public class PersistenceServiceImpl implements PersistenceService {
                 pubSubInfos.add(pubSubInfo);
                 recordChangedV2s.add(recordChangedV2);
             }
+            this.evictHotRecords(jsonPatchPerRecord.keySet());
             if (collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)) {
                 this.pubSubClient.publishMessage(collaborationContext, this.headers, recordChangedV2s.stream().toArray(RecordChangedV2[]::new));
             } else if (!collaborationContext.isPresent()) {
@@ -234,6 +358,7 @@ public class PersistenceServiceImpl implements PersistenceService {
             pubsubInfo[i] = getPubSubInfo(metadata, OperationType.update);
             recordChangedV2[i] = getRecordChangedV2(metadata, OperationType.update);
         }
+        this.evictHotRecords(recordMetadataList);
         if (collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)) {
             this.pubSubClient.publishMessage(collaborationContext, this.headers, recordChangedV2);
         } else if (collaborationContext.isEmpty()) {
@@ -242,6 +367,13 @@ public class PersistenceServiceImpl implements PersistenceService {
 
     }
 
+    // drops cached blobs of records announced as changed, their new versions are cached on the next read
+    private void evictHotRecords(Collection<RecordMetadata> recordsMetadata) {
+        for (RecordMetadata recordMetadata : recordsMetadata) {
+            this.hotRecordCache.invalidate(recordMetadata.getId());
+        }
+    }
+
     private PubSubInfo getPubSubInfo(RecordMetadata recordMetadata, OperationType operationType) {
         return PubSubInfo.builder()
                 .id(recordMetadata.getId())
@@ -29,6 +29,9 @@ import org.opengroup.osdu.core.common.model.http.CollaborationContext;
 import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
 import org.opengroup.osdu.core.common.model.indexer.OperationType;
 import org.opengroup.osdu.core.common.model.tenant.TenantInfo;
+import org.opengroup.osdu.storage.cache.HotRecordCache;
+import org.opengroup.osdu.storage.enums.PipelineStage;
+import org.opengroup.osdu.storage.metrics.PipelineMetrics;
 import org.opengroup.osdu.storage.model.GetRecordsModel;
 import org.opengroup.osdu.storage.model.RecordInfoQueryResult;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -57,6 +60,9 @@ import org.opengroup.osdu.core.common.model.http.AppException;
 @Service
 public class QueryServiceImpl implements QueryService {
 
+	private static final String GET_RECORD_OPERATION = "get-record";
+	private static final String QUERY_RECORDS_OPERATION = "query-records";
+
 	@Autowired
 	private IRecordsMetadataRepository recordRepository;
 
@@ -75,6 +81,12 @@ public class QueryServiceImpl implements QueryService {
 	@Autowired
 	private DataAuthorizationService dataAuthorizationService;
 
+	@Autowired
+	private PipelineMetrics pipelineMetrics;
+
+	@Autowired
+	private HotRecordCache hotRecordCache;
+
 	public final Gson gson = new GsonBuilder().setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE).create();
 
 
@@ -146,14 +158,19 @@ public class QueryServiceImpl implements QueryService {
 
 		try {
 			// all eligible records
-			RecordInfoQueryResult<RecordMetadata> records = recordRepository.getRecords(recordSearchModel.getKind(),
-					modifiedAfterTime, cursor, recordSearchModel.getLimit(), recordSearchModel.isDeletedRecords(),
-					recordSearchModel.getSortOrder(), collaborationContext);
+			RecordInfoQueryResult<RecordMetadata> records = this.pipelineMetrics.time(PipelineStage.METADATA_FETCH, QUERY_RECORDS_OPERATION,
+					() -> recordRepository.getRecords(recordSearchModel.getKind(), modifiedAfterTime, cursor, recordSearchModel.getLimit(),
+							recordSearchModel.isDeletedRecords(), recordSearchModel.getSortOrder(), collaborationContext));
 
 			if (records.getResults() == null || records.getResults().isEmpty()) {
             	return new RecordInfoQueryResult<>(records.getCursor(), results);
         	}
 			List<RecordMetadata> recordsList = records.getResults();
+			if (this.hotRecordCache.isEnabled()) {
+				// the provider's read only filters the blobs it loads, cached blobs are served without it
+				recordsList = this.pipelineMetrics.time(PipelineStage.ENTITLEMENTS, QUERY_RECORDS_OPERATION,
+						() -> this.dataAuthorizationService.filterViewerOrOwnerAccess(records.getResults(), OperationType.view));
+			}
 			Map<String, String> recordVersionMap = new HashMap<>();
 			Map<String, RecordMetadata> recordIdMetadataMap = new HashMap<>();
 
@@ -163,7 +180,18 @@ public class QueryServiceImpl implements QueryService {
 				recordIdMetadataMap.put(id, metadata);
 			});
 
-			Map<String, String> recordDetailsMap = this.cloudStorage.read(recordVersionMap, collaborationContext);
+			Map<String, String> recordDetailsMap = this.pipelineMetrics.time(PipelineStage.BLOB_IO, QUERY_RECORDS_OPERATION,
+					() -> this.hotRecordCache.read(recordVersionMap, collaborationContext,
+							versionPaths -> this.cloudStorage.read(versionPaths, collaborationContext)));
+			this.pipelineMetrics.recordBatch(QUERY_RECORDS_OPERATION, recordsList.size(), PipelineMetrics.payloadSize(recordDetailsMap.values()));
+
+			// blobs not read within the request deadline come back as null, the page is failed rather than returned
+			// without them, so the caller retries it with the same cursor
+			long unreadRecords = recordDetailsMap.values().stream().filter(recordData -> recordData == null).count();
+			if (unreadRecords > 0) {
+				throw new AppException(HttpStatus.SC_SERVICE_UNAVAILABLE, "Record data not read in time",
+						String.format("The data of %d records could not be read within the request deadline, retry with the same cursor", unreadRecords));
+			}
 			List<String> validAttributes = PersistenceHelper.getValidRecordAttributes(new String[] {});
 
 			recordDetailsMap.keySet().forEach(recordId -> {
@@ -223,7 +251,8 @@ public class QueryServiceImpl implements QueryService {
 			throw new AppException(HttpStatus.SC_BAD_REQUEST, "Invalid record ID", msg);
 		}
 
-		RecordMetadata recordMetadata = this.recordRepository.get(recordId, collaborationContext);
+		RecordMetadata recordMetadata = this.pipelineMetrics.time(PipelineStage.METADATA_FETCH, GET_RECORD_OPERATION,
+				() -> this.recordRepository.get(recordId, collaborationContext));
 
 		if (recordMetadata == null) {
 			throw new AppException(HttpStatus.SC_NOT_FOUND, "Record not found",
@@ -243,11 +272,13 @@ public class QueryServiceImpl implements QueryService {
 					"The record with the given ID is not active");
 		}
 
-		String blob = this.cloudStorage.read(recordMetadata, version, true);
+		String blob = this.pipelineMetrics.time(PipelineStage.BLOB_IO, GET_RECORD_OPERATION,
+				() -> this.hotRecordCache.read(recordMetadata, version, () -> this.cloudStorage.read(recordMetadata, version, true)));
 		// post acl check, enforce application data restriction
 		List<RecordMetadata> recordMetadataList = new ArrayList<>();
 		recordMetadataList.add(recordMetadata);
-		if(!this.dataAuthorizationService.validateViewerOrOwnerAccess(recordMetadata, OperationType.view)) {
+		if(!this.pipelineMetrics.time(PipelineStage.ENTITLEMENTS, GET_RECORD_OPERATION,
+				() -> this.dataAuthorizationService.validateViewerOrOwnerAccess(recordMetadata, OperationType.view))) {
             throw new AppException(HttpStatus.SC_FORBIDDEN, "Access denied",
                     "The user is not authorized to perform this action");
         }
@@ -17,6 +17,7 @@ package org.opengroup.osdu.storage.service;
 import io.lettuce.core.RedisException;
 import org.apache.http.HttpStatus;
 import org.opengroup.osdu.core.common.cache.ICache;
+import org.opengroup.osdu.core.common.cache.VmCache;
 import org.opengroup.osdu.core.common.feature.IFeatureFlag;
 import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
 import org.opengroup.osdu.core.common.model.http.AppException;
@@ -34,14 +35,20 @@ import org.opengroup.osdu.storage.model.RecordChangedV2;
 import org.opengroup.osdu.storage.provider.interfaces.IMessageBus;
 import org.opengroup.osdu.storage.provider.interfaces.ISchemaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import static java.util.Collections.singletonList;
 import static org.opengroup.osdu.storage.util.RecordConstants.COLLABORATIONS_FEATURE_NAME;
@@ -51,6 +58,8 @@ public class SchemaServiceImpl implements SchemaService {
 
     private static final String INVALID_SCHEMA_REASON = "Invalid schema";
 
+    private static final int EVICTION_STRIPES = 64;
+
     private static final Map<String, String> ALLOWED_TYPES = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
 
     static {
@@ -92,6 +101,35 @@ public class SchemaServiceImpl implements SchemaService {
     @Autowired
     private IFeatureFlag collaborationFeatureFlag;
 
+    @Value("${schema.cache.local.ttl-seconds:60}")
+    private int localCacheTtlSeconds;
+
+    @Value("${schema.cache.local.max-size:1000}")
+    private int localCacheMaxSize;
+
+    @Value("${schema.cache.absent.ttl-seconds:10}")
+    private int absentCacheTtlSeconds;
+
+    // in-process tiers in front of the shared schema cache, not set when their TTL is 0
+    private ICache<String, Schema> localCache;
+    private ICache<String, Boolean> absentSchemaCache;
+
+    private final Map<String, CompletableFuture<Schema>> inFlightLoads = new ConcurrentHashMap<>();
+
+    // eviction counts by stripe of local keys, a load only caches its result when no eviction of the kind happened
+    // since it started, so that a schema read before a create or delete does not outlive the eviction
+    private final AtomicLongArray evictions = new AtomicLongArray(EVICTION_STRIPES);
+
+    @PostConstruct
+    private void setupLocalCaches() {
+        if (localCacheTtlSeconds > 0) {
+            localCache = new VmCache<>(localCacheTtlSeconds, localCacheMaxSize);
+        }
+        if (absentCacheTtlSeconds > 0) {
+            absentSchemaCache = new VmCache<>(absentCacheTtlSeconds, localCacheMaxSize);
+        }
+    }
+
     @Override
     public void createSchema(Schema inputSchema) {
         this.validateKindFromTenant(inputSchema.getKind());
@@ -104,6 +142,7 @@ public class SchemaServiceImpl implements SchemaService {
             this.schemaRepository.add(schema, headers.getUserEmail());
             this.auditLogger.createSchemaSuccess(singletonList(inputSchema.getKind()));
 
+            this.evictLocalSchema(inputSchema.getKind());
             this.cache.put(this.getSchemaCacheKey(inputSchema.getKind()), schema);
 
             if (collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)) {
@@ -145,6 +184,7 @@ public class SchemaServiceImpl implements SchemaService {
         this.schemaRepository.delete(kind);
         this.auditLogger.deleteSchemaSuccess(singletonList(schema.getKind()));
 
+        this.evictLocalSchema(kind);
         this.cache.delete(this.getSchemaCacheKey(kind));
         if (collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)) {
             this.pubSubClient.publishMessage(Optional.empty(), this.headers,
@@ -229,6 +269,18 @@ public class SchemaServiceImpl implements SchemaService {
     private Schema fetchSchema(String kind) {
 
         String key = this.getSchemaCacheKey(kind);
+        String localKey = this.getLocalCacheKey(key);
+        long generation = this.getEvictions(localKey);
+        if (this.localCache != null) {
+            Schema localSchema = this.localCache.get(localKey);
+            if (localSchema != null) {
+                return localSchema;
+            }
+        }
+        if (this.absentSchemaCache != null && this.absentSchemaCache.get(localKey) != null) {
+            return null;
+        }
+
         Schema cachedSchema = null;
         try {
             cachedSchema = this.cache.get(key);
@@ -237,21 +289,95 @@ public class SchemaServiceImpl implements SchemaService {
         }
 
         if (cachedSchema == null) {
-            Schema schema = this.schemaRepository.get(kind);
-            this.auditLogger.readSchemaSuccess(singletonList(kind));
+            return this.loadSchemaOnce(kind, key, localKey, generation);
+        }
+        this.putLocal(this.localCache, localKey, cachedSchema, generation);
+        return cachedSchema;
+    }
 
-            if (schema == null) {
-                return null;
-            }
+    /**
+     * Collapses concurrent cache misses of the same kind into one repository read.
+     */
+    private Schema loadSchemaOnce(String kind, String key, String localKey, long generation) {
+        CompletableFuture<Schema> load = new CompletableFuture<>();
+        CompletableFuture<Schema> inFlightLoad = this.inFlightLoads.putIfAbsent(localKey, load);
+        if (inFlightLoad != null) {
             try {
-                this.cache.put(key, schema);
-            } catch (RedisException ex) {
-                this.log.error(String.format("Error putting key %s into redis: %s", key, ex.getMessage()), ex);
+                return inFlightLoad.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
             }
+        }
+
+        try {
+            Schema schema = this.loadSchema(kind, key, localKey, generation);
+            load.complete(schema);
+            return schema;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlightLoads.remove(localKey, load);
+        }
+    }
+
+    private Schema loadSchema(String kind, String key, String localKey, long generation) {
+        Schema schema = this.schemaRepository.get(kind);
+        this.auditLogger.readSchemaSuccess(singletonList(kind));
 
+        if (schema == null) {
+            this.putLocal(this.absentSchemaCache, localKey, Boolean.TRUE, generation);
+            return null;
+        }
+        if (this.getEvictions(localKey) != generation) {
             return schema;
-        } else {
-            return cachedSchema;
+        }
+        try {
+            this.cache.put(key, schema);
+        } catch (RedisException ex) {
+            this.log.error(String.format("Error putting key %s into redis: %s", key, ex.getMessage()), ex);
+        }
+        this.putLocal(this.localCache, localKey, schema, generation);
+
+        return schema;
+    }
+
+    /**
+     * Skips the put when the kind was evicted since the value was read, and takes it back when an eviction ran
+     * concurrently with the put.
+     */
+    private <V> void putLocal(ICache<String, V> localTier, String localKey, V value, long generation) {
+        if (localTier == null || this.getEvictions(localKey) != generation) {
+            return;
+        }
+        localTier.put(localKey, value);
+        if (this.getEvictions(localKey) != generation) {
+            localTier.delete(localKey);
+        }
+    }
+
+    private long getEvictions(String localKey) {
+        return this.evictions.get(getEvictionStripe(localKey));
+    }
+
+    private static int getEvictionStripe(String localKey) {
+        return Math.floorMod(localKey.hashCode(), EVICTION_STRIPES);
+    }
+
+    private void evictLocalSchema(String kind) {
+        String localKey = this.getLocalCacheKey(this.getSchemaCacheKey(kind));
+        // counted before the deletes, so that loads racing the eviction see it when they check after their put
+        this.evictions.incrementAndGet(getEvictionStripe(localKey));
+        // later lookups start a new load instead of joining one that may have read the old schema
+        this.inFlightLoads.remove(localKey);
+        if (this.localCache != null) {
+            this.localCache.delete(localKey);
+        }
+        if (this.absentSchemaCache != null) {
+            this.absentSchemaCache.delete(localKey);
         }
     }
 
@@ -296,6 +422,11 @@ public class SchemaServiceImpl implements SchemaService {
         return Crc32c.hashToBase64EncodedString(String.format("schema:%s", kind));
     }
 
+    // the local tiers are shared by all partitions served by this instance
+    private String getLocalCacheKey(String schemaCacheKey) {
+        return this.tenant.getDataPartitionId() + ":" + schemaCacheKey;
+    }
+
     private AppException getSchemaNotFoundException(String kind) {
         return new AppException(HttpStatus.SC_NOT_FOUND, "Schema not found",
                 String.format("Schema not registered for kind '%s'", kind));
@@ -0,0 +1,125 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.deletion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.apache.http.HttpStatus;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes version blobs with bounded concurrency on the shared thread pool. At most {@code maxConcurrency}
+ * workers drain the paths of one call, so a large purge cannot take over the pool. Every path gets its own
+ * {@link VersionDeletionResult}; a failing path does not stop the others. Providers supply the blob delete
+ * itself and resolve request scoped values (partition, bucket) before calling {@link #deleteAll}.
+ */
+@Component
+public class VersionDeleter {
+
+    @FunctionalInterface
+    public interface DeleteOperation {
+        /**
+         * @return false when the blob did not exist
+         */
+        boolean delete(String path) throws Exception;
+    }
+
+    private final ExecutorService threadPool;
+
+    private final int maxConcurrency;
+
+    // the provider's @Primary pool where there is one, else the pool of the core ThreadPoolFactory
+    // picked by parameter name next to further ExecutorService beans such as the AWS replay pool
+    public VersionDeleter(ExecutorService threadPoolFactory,
+                          @Value("${storage.version-deletion.max-concurrency:16}") int maxConcurrency) {
+        this.threadPool = threadPoolFactory;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * @return the result of every distinct path, in the order of {@code paths}
+     */
+    public Map<String, VersionDeletionResult> deleteAll(Collection<String> paths, DeleteOperation operation) {
+        Map<String, VersionDeletionResult> ordered = new LinkedHashMap<>();
+        if (paths == null || paths.isEmpty()) {
+            return ordered;
+        }
+
+        LinkedHashSet<String> distinctPaths = new LinkedHashSet<>(paths);
+        Queue<String> pending = new ConcurrentLinkedQueue<>(distinctPaths);
+        Map<String, VersionDeletionResult> results = new ConcurrentHashMap<>();
+
+        int workers = Math.min(this.maxConcurrency, distinctPaths.size());
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(() -> {
+                String path;
+                while ((path = pending.poll()) != null) {
+                    results.put(path, deleteOne(path, operation));
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : this.threadPool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error deleting record versions",
+                    "The version deletion was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error deleting record versions",
+                    "An unexpected error on deleting record versions has occurred", e);
+        }
+
+        for (String path : distinctPaths) {
+            ordered.put(path, results.get(path));
+        }
+        return ordered;
+    }
+
+    public static Map<String, VersionDeletionResult> failures(Map<String, VersionDeletionResult> results) {
+        Map<String, VersionDeletionResult> failures = new LinkedHashMap<>();
+        results.forEach((path, result) -> {
+            if (result.isFailed()) {
+                failures.put(path, result);
+            }
+        });
+        return failures;
+    }
+
+    private static VersionDeletionResult deleteOne(String path, DeleteOperation operation) {
+        try {
+            return operation.delete(path) ? VersionDeletionResult.deleted(path) : VersionDeletionResult.notFound(path);
+        } catch (Exception e) {
+            return VersionDeletionResult.failed(path, e);
+        }
+    }
+}
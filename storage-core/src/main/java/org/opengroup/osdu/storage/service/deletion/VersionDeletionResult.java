@@ -0,0 +1,56 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.deletion;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of deleting a single version blob. A blob that was already missing is reported as
+ * {@link Outcome#NOT_FOUND}, which callers treat the same as a successful delete.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class VersionDeletionResult {
+
+    public enum Outcome {
+        DELETED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private final String path;
+
+    private final Outcome outcome;
+
+    private final Exception error;
+
+    public static VersionDeletionResult deleted(String path) {
+        return new VersionDeletionResult(path, Outcome.DELETED, null);
+    }
+
+    public static VersionDeletionResult notFound(String path) {
+        return new VersionDeletionResult(path, Outcome.NOT_FOUND, null);
+    }
+
+    public static VersionDeletionResult failed(String path, Exception error) {
+        return new VersionDeletionResult(path, Outcome.FAILED, error);
+    }
+
+    public boolean isFailed() {
+        return this.outcome == Outcome.FAILED;
+    }
+}
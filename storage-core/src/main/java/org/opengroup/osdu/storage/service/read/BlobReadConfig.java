@@ -0,0 +1,47 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.read;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "storage.blob-read")
+public class BlobReadConfig {
+
+    // budget for all blob reads of a request, counted from its first blob read, 0 for no deadline
+    private long deadlineMs = 0;
+
+    private boolean hedgingEnabled = false;
+
+    // a read still running after this percentile of the recent read latencies is duplicated
+    private double hedgePercentile = 95;
+
+    // lower bound of the hedging delay, so that fast backends are not read twice on jitter
+    private long hedgeMinDelayMs = 10;
+
+    // hedged reads allowed per started read
+    private double hedgeMaxRate = 0.05;
+
+    // recent read latencies kept per backend to compute the percentile
+    private int latencySamples = 1000;
+
+    // no hedging before this many latencies were recorded for a backend
+    private int minLatencySamples = 100;
+}
@@ -0,0 +1,255 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.read;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.http.HttpStatus;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.storage.admission.AdmissionConfig;
+import org.opengroup.osdu.storage.admission.AdmissionController;
+import org.opengroup.osdu.storage.exception.TooManyRequestsException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Fans out the blob reads of a batch for the providers' {@code ICloudStorage.read(Map, Optional)}. Reads of a
+ * request share one deadline budget, and a read still running after the recent latency percentile of its backend
+ * can be duplicated, the first answer winning. Hedging is capped to a share of all reads so that a slow backend is
+ * not hit with twice the load. Every read, hedges included, holds a blob read slot of the partition's bulkhead.
+ */
+@Component
+public class HedgedBlobReader {
+
+    @FunctionalInterface
+    public interface BlobRead {
+        /**
+         * @return the blob content, or a future completed with null when the blob cannot be read
+         */
+        CompletableFuture<String> read(String id, String path);
+    }
+
+    public static final String HEDGES_METRIC = "storage.blob-read.hedges";
+    public static final String DEADLINE_EXCEEDED_METRIC = "storage.blob-read.deadline-exceeded";
+
+    private static final String DEADLINE_ATTRIBUTE = HedgedBlobReader.class.getName() + ".deadline";
+    private static final double MAX_HEDGE_BURST = 10;
+
+    private final BlobReadConfig config;
+    private final AdmissionController admissionController;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Backend> backends = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HedgedBlobReader(BlobReadConfig config, AdmissionController admissionController, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(config, admissionController, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public HedgedBlobReader(BlobReadConfig config, AdmissionController admissionController, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.admissionController = admissionController;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public HedgedBlobReader(BlobReadConfig config, MeterRegistry meterRegistry) {
+        this(config, new AdmissionController(new AdmissionConfig(), meterRegistry), meterRegistry);
+    }
+
+    /**
+     * Reads the blobs by id. Blobs read as null are left out, blobs not read within the request deadline are mapped
+     * to null so that callers report them as records to retry.
+     *
+     * @throws TooManyRequestsException when the partition's blob read bulkhead stays full
+     */
+    public Map<String, String> readAll(String backendName, String partitionId, Map<String, String> pathsById, BlobRead read) {
+        Backend backend = this.backends.computeIfAbsent(backendName, name -> new Backend(this.config.getLatencySamples()));
+        boolean hasDeadline = this.config.getDeadlineMs() > 0;
+        long deadline = hasDeadline ? this.getDeadlineNanos() : 0;
+        long hedgeDelayNanos = this.config.isHedgingEnabled() ? backend.getHedgeDelayNanos(this.config) : -1;
+
+        Map<String, CompletableFuture<String>> reads = new HashMap<>();
+        for (Map.Entry<String, String> pathById : pathsById.entrySet()) {
+            AdmissionController.Permit permit = this.admissionController.acquireBlobRead(partitionId);
+            reads.put(pathById.getKey(), this.read(backendName, partitionId, backend, permit, pathById.getKey(), pathById.getValue(), read, hedgeDelayNanos));
+        }
+
+        Map<String, String> blobs = new HashMap<>();
+        for (Map.Entry<String, CompletableFuture<String>> blobRead : reads.entrySet()) {
+            try {
+                String blob = await(blobRead.getValue(), hasDeadline, deadline);
+                if (blob != null) {
+                    blobs.put(blobRead.getKey(), blob);
+                }
+            } catch (TimeoutException e) {
+                Counter.builder(DEADLINE_EXCEEDED_METRIC).tag("backend", backendName).register(this.meterRegistry).increment();
+                blobs.put(blobRead.getKey(), null);
+            }
+        }
+        return blobs;
+    }
+
+    private CompletableFuture<String> read(String backendName, String partitionId, Backend backend, AdmissionController.Permit permit,
+                                           String id, String path, BlobRead read, long hedgeDelayNanos) {
+        backend.addHedgeBudget(this.config.getHedgeMaxRate());
+        CompletableFuture<String> primary = timed(backend, permit, () -> read.read(id, path));
+        if (hedgeDelayNanos < 0) {
+            return primary;
+        }
+
+        CompletableFuture<String> winner = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger(1);
+        primary.whenComplete((blob, error) -> complete(winner, attempts, blob, error));
+        CompletableFuture.delayedExecutor(hedgeDelayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (winner.isDone() || !backend.tryHedge()) {
+                return;
+            }
+            // a hedge never waits for a slot of the partition's blob reads
+            AdmissionController.Permit hedgePermit = this.admissionController.tryAcquireBlobRead(partitionId);
+            if (hedgePermit == null) {
+                return;
+            }
+            attempts.incrementAndGet();
+            CompletableFuture<String> hedge = timed(backend, hedgePermit, () -> read.read(id, path));
+            hedge.whenComplete((blob, error) -> {
+                boolean won = complete(winner, attempts, blob, error);
+                Counter.builder(HEDGES_METRIC).tag("backend", backendName).tag("result", won ? "won" : "lost")
+                        .register(this.meterRegistry).increment();
+            });
+        });
+        return winner;
+    }
+
+    // the first read to succeed wins, a failure only counts once every attempt failed
+    private static boolean complete(CompletableFuture<String> winner, AtomicInteger attempts, String blob, Throwable error) {
+        if (error == null) {
+            return winner.complete(blob);
+        }
+        if (attempts.decrementAndGet() == 0) {
+            winner.completeExceptionally(error);
+        }
+        return false;
+    }
+
+    private static CompletableFuture<String> timed(Backend backend, AdmissionController.Permit permit, Supplier<CompletableFuture<String>> read) {
+        long start = System.nanoTime();
+        CompletableFuture<String> blobRead;
+        try {
+            blobRead = read.get();
+        } catch (RuntimeException e) {
+            blobRead = CompletableFuture.failedFuture(e);
+        }
+        return blobRead.whenComplete((blob, error) -> {
+            permit.close();
+            if (error == null) {
+                backend.recordLatency(System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static String await(CompletableFuture<String> blobRead, boolean hasDeadline, long deadline) throws TimeoutException {
+        try {
+            if (!hasDeadline) {
+                return blobRead.get();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 && !blobRead.isDone()) {
+                throw new TimeoutException();
+            }
+            return blobRead.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error reading records",
+                    "The record read was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AppException appException) {
+                throw appException;
+            }
+            throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error reading records",
+                    "Unable to process parallel blob download", e.getCause());
+        }
+    }
+
+    // the budget starts with the first blob read of the request and covers all later ones
+    private long getDeadlineNanos() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.config.getDeadlineMs());
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return deadline;
+        }
+        if (attributes.getAttribute(DEADLINE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long requestDeadline) {
+            return requestDeadline;
+        }
+        attributes.setAttribute(DEADLINE_ATTRIBUTE, deadline, RequestAttributes.SCOPE_REQUEST);
+        return deadline;
+    }
+
+    private static final class Backend {
+
+        private final long[] latencies;
+        private int recorded;
+        private int next;
+        private double hedgeBudget;
+
+        private Backend(int latencySamples) {
+            this.latencies = new long[Math.max(1, latencySamples)];
+        }
+
+        private synchronized void recordLatency(long nanos) {
+            this.latencies[this.next] = nanos;
+            this.next = (this.next + 1) % this.latencies.length;
+            this.recorded = Math.min(this.recorded + 1, this.latencies.length);
+        }
+
+        /**
+         * @return -1 while too few latencies are known
+         */
+        private synchronized long getHedgeDelayNanos(BlobReadConfig config) {
+            if (this.recorded < Math.max(1, config.getMinLatencySamples())) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(this.latencies, this.recorded);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(config.getHedgePercentile() / 100 * sorted.length) - 1;
+            long percentile = sorted[Math.min(sorted.length - 1, Math.max(0, index))];
+            return Math.max(percentile, TimeUnit.MILLISECONDS.toNanos(config.getHedgeMinDelayMs()));
+        }
+
+        private synchronized void addHedgeBudget(double hedgeRate) {
+            this.hedgeBudget = Math.min(MAX_HEDGE_BURST, this.hedgeBudget + hedgeRate);
+        }
+
+        private synchronized boolean tryHedge() {
+            if (this.hedgeBudget < 1) {
+                return false;
+            }
+            this.hedgeBudget -= 1;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.replay;
+
+/**
+ * Backpressure signal for replay paging. Providers can expose the lag of the consumers of the replay operation
+ * topics, e.g. the indexer, so that the replay slows down while they catch up.
+ */
+public interface IReplayLagSignal {
+
+    /**
+     * @param operation replay operation, e.g. reindex or replay
+     * @return true when the consumers of the operation are behind
+     */
+    boolean isConsumerBehind(String operation);
+}
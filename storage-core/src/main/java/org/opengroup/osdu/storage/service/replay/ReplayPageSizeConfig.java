@@ -0,0 +1,43 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.replay;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "replay.adaptive-page-size")
+public class ReplayPageSizeConfig {
+
+    // when disabled every page uses the queryBatchSize of the replay operation
+    private boolean enabled = false;
+
+    private int minPageSize = 500;
+
+    private int maxPageSize = 20000;
+
+    // fetch and publish time a single replay page should take
+    private long targetPageMillis = 30000;
+
+    // upper bound of the page size increase from one page to the next
+    private double maxGrowthFactor = 2.0;
+
+    // page size multiplier applied while a lag signal reports the consumers are behind
+    private double lagBackoffFactor = 0.5;
+}
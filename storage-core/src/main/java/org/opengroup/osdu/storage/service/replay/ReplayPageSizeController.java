@@ -0,0 +1,105 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.replay;
+
+import java.util.Collections;
+import java.util.List;
+import org.opengroup.osdu.storage.dto.ReplayData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunes the replay page size of each kind from the measured fetch and publish time of the previous page. The page
+ * size travels with the replay message, so every kind adapts on its own and no state is kept between messages.
+ * The next page is sized to fit {@code targetPageMillis} at the measured cost per record, grows by at most
+ * {@code maxGrowthFactor} per page and is cut by {@code lagBackoffFactor} while a lag signal reports the consumers
+ * are behind.
+ */
+@Component
+@ConditionalOnProperty(value = "feature.replay.enabled", havingValue = "true", matchIfMissing = false)
+public class ReplayPageSizeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayPageSizeController.class);
+
+    private final ReplayPageSizeConfig config;
+
+    @Autowired(required = false)
+    private List<IReplayLagSignal> lagSignals = Collections.emptyList();
+
+    public ReplayPageSizeController(ReplayPageSizeConfig config) {
+        this.config = config;
+    }
+
+    public boolean isEnabled() {
+        return this.config.isEnabled();
+    }
+
+    /**
+     * @return the page size carried by the message, or the configured page size of the operation for the first page
+     */
+    public int getPageSize(ReplayData replayData, int configuredPageSize) {
+        if (!this.config.isEnabled()) {
+            return configuredPageSize;
+        }
+        return clamp(replayData.getPageSize() != null ? replayData.getPageSize() : configuredPageSize);
+    }
+
+    public int nextPageSize(String operation, int pageSize, int fetchedRecords, long elapsedMillis) {
+        if (!this.config.isEnabled()) {
+            return pageSize;
+        }
+
+        double next;
+        if (isConsumerBehind(operation)) {
+            next = pageSize * this.config.getLagBackoffFactor();
+        } else if (fetchedRecords == 0 || elapsedMillis <= 0) {
+            next = pageSize;
+        } else {
+            double millisPerRecord = (double) elapsedMillis / fetchedRecords;
+            next = Math.min(this.config.getTargetPageMillis() / millisPerRecord, pageSize * this.config.getMaxGrowthFactor());
+            // a short last page says nothing about larger pages
+            if (fetchedRecords < pageSize) {
+                next = Math.min(next, pageSize);
+            }
+        }
+
+        int nextPageSize = clamp((long) next);
+        if (nextPageSize != pageSize) {
+            logger.info("Replay page size changed from {} to {}, operation: {}, records: {}, elapsed: {} ms",
+                    pageSize, nextPageSize, operation, fetchedRecords, elapsedMillis);
+        }
+        return nextPageSize;
+    }
+
+    private boolean isConsumerBehind(String operation) {
+        for (IReplayLagSignal lagSignal : this.lagSignals) {
+            try {
+                if (lagSignal.isConsumerBehind(operation)) {
+                    return true;
+                }
+            } catch (Exception e) {
+                logger.warn("Replay lag signal {} failed: {}", lagSignal.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private int clamp(long pageSize) {
+        return (int) Math.max(this.config.getMinPageSize(), Math.min(this.config.getMaxPageSize(), pageSize));
+    }
+}
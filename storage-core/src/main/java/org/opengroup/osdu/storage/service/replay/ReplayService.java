@@ -14,14 +14,18 @@
 
 package org.opengroup.osdu.storage.service.replay;
 
+import jakarta.annotation.PostConstruct;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.http.HttpStatus;
+import org.opengroup.osdu.core.common.cache.ICache;
+import org.opengroup.osdu.core.common.cache.VmCache;
 import org.opengroup.osdu.core.common.model.http.AppException;
 import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.core.common.model.indexer.OperationType;
 import org.opengroup.osdu.core.common.model.storage.PubSubInfo;
 import org.opengroup.osdu.storage.dto.ReplayMessage;
 import org.opengroup.osdu.storage.dto.ReplayMetaDataDTO;
+import org.opengroup.osdu.storage.dto.ReplaySummaryIncrement;
 import org.opengroup.osdu.storage.enums.ReplayOperation;
 import org.opengroup.osdu.storage.logging.StorageAuditLogger;
 import org.opengroup.osdu.storage.model.RecordId;
@@ -75,12 +79,30 @@ public class ReplayService implements IReplayService {
     @Autowired
     private StorageAuditLogger auditLogger;
 
+    @Autowired
+    private ReplayPageSizeController pageSizeController;
+
+    @Autowired
+    private ReplayThrottle replayThrottle;
+
     @Value("#{${replay.operation.routingProperties}}")
     private Map<String, Map<String, String>> replayOperationRoutingProperties;
 
     @Value("#{${replay.routingProperties}}")
     private Map<String, String> replayRoutingProperty;
 
+    @Value("${replay.status.cache.ttl-seconds:5}")
+    private int statusCacheTtlSeconds;
+
+    private static final int STATUS_CACHE_SIZE = 1000;
+
+    private ICache<String, ReplayStatusResponse> statusCache;
+
+    @PostConstruct
+    private void setupStatusCache() {
+        statusCache = new VmCache<>(statusCacheTtlSeconds, STATUS_CACHE_SIZE);
+    }
+
     public ReplayResponse handleReplayRequest(ReplayRequest replayRequest) {
 
         Set<String> validReplayOperation = ReplayOperation.getValidReplayOperations();
@@ -101,13 +123,20 @@ public class ReplayService implements IReplayService {
     private ReplayResponse replay(ReplayRequest replayRequest, ReplayType replayOperation) {
 
         List<ReplayMessage> replayMessageList = this.generateReplayMessageList(replayRequest, replayOperation);
+        // the entry without a kind doubles as the replay summary, its id is the replay id so it can be read directly
         ReplayMetaDataDTO replayMetaData = ReplayMetaDataDTO.builder()
-                                                            .id(UUID.randomUUID().toString())
+                                                            .id(replayRequest.getReplayId())
                                                             .replayId(replayRequest.getReplayId())
                                                             .totalRecords(getTotalRecordCount(replayMessageList))
                                                             .startedAt(ReplayUtils.formatMillisToDate(System.currentTimeMillis()))
                                                             .operation(replayRequest.getOperation())
                                                             .filter(replayRequest.getFilter())
+                                                            .processedRecords(0L)
+                                                            .state(ReplayState.QUEUED.name())
+                                                            .totalKinds(replayMessageList.size())
+                                                            .startedKinds(0)
+                                                            .completedKinds(0)
+                                                            .failedKinds(0)
                                                             .build();
 
         return this.startReplay(replayMessageList, replayMetaData);
@@ -180,6 +209,46 @@ public class ReplayService implements IReplayService {
         return ReplayResponse.builder().replayId(replayMetaData.getReplayId()).build();
     }
 
+    /**
+     * Status read used by the API. Without {@code detail} the per-replay summary is returned when the replay has
+     * one, otherwise the per-kind entries are aggregated. Responses are cached for a few seconds per replay.
+     */
+    public ReplayStatusResponse getReplayStatus(String replayId, boolean detail) {
+        String cacheKey = headers.getPartitionId() + ":" + replayId + ":" + detail;
+        ReplayStatusResponse response = statusCache.get(cacheKey);
+        if (response != null) {
+            return response;
+        }
+
+        response = detail ? getReplayStatus(replayId) : getReplayStatusSummary(replayId);
+        statusCache.put(cacheKey, response);
+        return response;
+    }
+
+    private ReplayStatusResponse getReplayStatusSummary(String replayId) {
+        ReplayMetaDataDTO summary = replayRepository.getReplaySummary(replayId);
+        if (summary == null || summary.getTotalKinds() == null) {
+            return getReplayStatus(replayId);
+        }
+
+        ReplayStatusResponse response = new ReplayStatusResponse();
+        response.setReplayId(replayId);
+        response.setOperation(summary.getOperation());
+        response.setFilter(summary.getFilter());
+        response.setTotalRecords(summary.getTotalRecords());
+        response.setStartedAt(summary.getStartedAt());
+        response.setElapsedTime(summary.getElapsedTime());
+        response.setProcessedRecords(summary.getProcessedRecords());
+        // derived from the counters, which the store updates atomically
+        response.setOverallState(getSummaryState(summary).name());
+        response.setTotalKinds(summary.getTotalKinds());
+        response.setCompletedKinds(summary.getCompletedKinds());
+        response.setFailedKinds(summary.getFailedKinds());
+
+        logger.info("GET Replay status summary operation successful. Replay status: {}", response);
+        return response;
+    }
+
     public ReplayStatusResponse getReplayStatus(String replayId) {
         List<ReplayMetaDataDTO> replayMetaDataDTOList = replayRepository.getReplayStatusByReplayId(replayId);
 
@@ -253,8 +322,11 @@ public class ReplayService implements IReplayService {
                 replayMessage.getBody().getKind(),
                 replayMessage.getBody().getReplayId()
                                                                                             );
+        String previousState = replayMetadata.getState();
+        long previousProcessedRecords = count(replayMetadata.getProcessedRecords());
         replayMetadata.setState(ReplayState.FAILED.name());
         replayRepository.save(replayMetadata);
+        updateSummary(replayMessage, previousState, previousProcessedRecords, replayMetadata);
         try {
             auditLogger.createReplayRequestFail(Collections.singletonList(replayMetadata.toString()));
         } catch (Exception e) {
@@ -272,23 +344,34 @@ public class ReplayService implements IReplayService {
         String replayId = replayMessage.getBody().getReplayId();
         StopWatch stopWatch = new StopWatch();
 
+        Map<String, String> routingInfo = replayOperationRoutingProperties.get(replayMessage.getBody().getOperation());
+        int pageSize = pageSizeController.getPageSize(replayMessage.getBody(), Integer.parseInt(routingInfo.get("queryBatchSize")));
+
         stopWatch.start("Fetch Record");
-        RecordInfoQueryResult<RecordIdAndKind> recordInfoQueryResult = getRecordIdsAndKind(replayMessage);
+        RecordInfoQueryResult<RecordIdAndKind> recordInfoQueryResult = getRecordIdsAndKind(replayMessage, pageSize);
         stopWatch.stop();
+        long fetchMillis = stopWatch.getLastTaskTimeMillis();
 
         logger.info("TaskName : {}, RecordIdsCount : {}, OperationTime : {} ms", stopWatch.getLastTaskName(),
                 recordInfoQueryResult.getResults() == null ? 0 : recordInfoQueryResult.getResults().size(), stopWatch.getLastTaskTimeMillis());
 
+        replayThrottle.acquire(headers.getPartitionId(), replayMessage.getBody().getOperation(),
+                recordInfoQueryResult.getResults().size());
+
         stopWatch.start("Published RecordChangedMessages");
-        publishRecordChangedMessages(recordInfoQueryResult.getResults(), replayOperationRoutingProperties.get(replayMessage.getBody().getOperation()));
+        publishRecordChangedMessages(recordInfoQueryResult.getResults(), routingInfo);
         stopWatch.stop();
 
         logger.info("TaskName : {}, RecordIdsCount : {}, OperationTime : {} ms", stopWatch.getLastTaskName(),
                 recordInfoQueryResult.getResults().size(), stopWatch.getLastTaskTimeMillis());
+        long publishMillis = stopWatch.getLastTaskTimeMillis();
 
-        ReplayMetaDataDTO progress = saveProgress(replayMessage, recordInfoQueryResult.getResults().size(),
-                recordInfoQueryResult.getCursor() == null ? ReplayState.COMPLETED : ReplayState.IN_PROGRESS
-                                                 );
+        ReplayState kindState = recordInfoQueryResult.getCursor() == null ? ReplayState.COMPLETED : ReplayState.IN_PROGRESS;
+        // the summary follows the change of the kind entry, so a redelivered page is not counted twice
+        ReplayMetaDataDTO previous = replayRepository.getReplayStatusByKindAndReplayId(kind, replayId);
+        ReplayMetaDataDTO progress = saveProgress(replayMessage, recordInfoQueryResult.getResults().size(), kindState);
+        updateSummary(replayMessage, previous == null ? null : previous.getState(),
+                previous == null ? 0 : count(previous.getProcessedRecords()), progress);
 
         logger.info("Replay operation progress tracked for ReplayId= {}, Kind= {}, Status= {}, ElapsedTime= {}, TotalRecord= {}",
                 replayId, kind, progress.getState(), progress.getElapsedTime(), progress.getTotalRecords());
@@ -310,6 +393,10 @@ public class ReplayService implements IReplayService {
                                        .completionCount(progress.getProcessedRecords())
                                        .totalCount(replayMessage.getBody().getTotalCount())
                                        .cursor(recordInfoQueryResult.getCursor())
+                                       .pageSize(pageSizeController.isEnabled()
+                                               ? pageSizeController.nextPageSize(replayMessage.getBody().getOperation(), pageSize,
+                                                       recordInfoQueryResult.getResults().size(), fetchMillis + publishMillis)
+                                               : null)
                                        .build();
 
         ReplayMessage newMessage = ReplayMessage.builder().headers(newHeaders).body(newData).build();
@@ -322,17 +409,15 @@ public class ReplayService implements IReplayService {
         logger.info("Processed ReplayMessage in {} ms", stopWatch.getTotalTimeMillis());
     }
 
-    private RecordInfoQueryResult<RecordIdAndKind> getRecordIdsAndKind(ReplayMessage replayMessage) {
+    private RecordInfoQueryResult<RecordIdAndKind> getRecordIdsAndKind(ReplayMessage replayMessage, int batchSize) {
 
         RecordInfoQueryResult<RecordIdAndKind> recordInfoQueryResult = new RecordInfoQueryResult<>();
-        Map<String, String> routingInfo = replayOperationRoutingProperties.get(replayMessage.getBody().getOperation());
-        int BATCH_SIZE = Integer.parseInt(routingInfo.get("queryBatchSize"));
 
         if (replayMessage.getBody().getReplayType().equals(ReplayType.REPLAY_KIND.name())) {
 
             List<RecordIdAndKind> result = new ArrayList<>();
             RecordInfoQueryResult<RecordId> queryResult = queryRepository.getAllRecordIdsFromKind(
-                    BATCH_SIZE,
+                    batchSize,
                     replayMessage.getBody().getCursor(),
                     replayMessage.getBody().getKind()
                                                                                                  );
@@ -348,7 +433,7 @@ public class ReplayService implements IReplayService {
         else if (replayMessage.getBody().getReplayType().equals(ReplayType.REPLAY_ALL.name())) {
 
             recordInfoQueryResult = queryRepository.getAllRecordIdAndKind(
-                    BATCH_SIZE,
+                    batchSize,
                     replayMessage.getBody().getCursor());
         }
         return recordInfoQueryResult;
@@ -376,6 +461,66 @@ public class ReplayService implements IReplayService {
         return replayRepository.save(progress);
     }
 
+    /**
+     * Adds the change of one per-kind entry to the replay summary. The increment is the difference between the entry
+     * before and after the update, so the summary keeps matching the per-kind entries when a page is redelivered or a
+     * failed kind is retried, and nothing is written when the entry did not change. The store applies the increment
+     * atomically, since pages of one replay are processed by several instances. The per-kind entries stay the source
+     * of truth, so a failing summary update is only logged.
+     */
+    private void updateSummary(ReplayMessage replayMessage, String previousState, long previousProcessedRecords,
+                               ReplayMetaDataDTO current) {
+        String replayId = replayMessage.getBody().getReplayId();
+        Long startAt = replayMessage.getBody().getStartAtTimestamp();
+        String currentState = current.getState();
+        ReplaySummaryIncrement increment = ReplaySummaryIncrement.builder()
+                .processedRecords(count(current.getProcessedRecords()) - previousProcessedRecords)
+                .startedKinds(isStarted(currentState) - isStarted(previousState))
+                .completedKinds(isInState(currentState, ReplayState.COMPLETED) - isInState(previousState, ReplayState.COMPLETED))
+                .failedKinds(isInState(currentState, ReplayState.FAILED) - isInState(previousState, ReplayState.FAILED))
+                .elapsedTime(startAt == null ? null
+                        : ReplayUtils.formatMillisToHoursMinutesSeconds(System.currentTimeMillis() - startAt))
+                .build();
+        if (increment.getProcessedRecords() == 0 && increment.getStartedKinds() == 0
+                && increment.getCompletedKinds() == 0 && increment.getFailedKinds() == 0) {
+            return;
+        }
+        try {
+            replayRepository.incrementReplaySummary(replayId, increment);
+        } catch (Exception e) {
+            logger.warn("Failed to update the summary of replayId {}: {}", replayId, e.getMessage(), e);
+        }
+    }
+
+    private static ReplayState getSummaryState(ReplayMetaDataDTO summary) {
+        if (count(summary.getFailedKinds()) > 0) {
+            return ReplayState.FAILED;
+        }
+        if (count(summary.getStartedKinds()) == 0) {
+            return ReplayState.QUEUED;
+        }
+        if (count(summary.getCompletedKinds()) >= summary.getTotalKinds()) {
+            return ReplayState.COMPLETED;
+        }
+        return ReplayState.IN_PROGRESS;
+    }
+
+    private static int count(Integer kinds) {
+        return kinds == null ? 0 : kinds;
+    }
+
+    private static long count(Long records) {
+        return records == null ? 0 : records;
+    }
+
+    private static int isStarted(String state) {
+        return state == null || ReplayState.QUEUED.name().equals(state) ? 0 : 1;
+    }
+
+    private static int isInState(String state, ReplayState replayState) {
+        return replayState.name().equals(state) ? 1 : 0;
+    }
+
     private void publishRecordChangedMessages(List<RecordIdAndKind> recordQueryResult, Map<String, String> routingProperties) {
 
         PubSubInfo[] pubSubInfo = new PubSubInfo[recordQueryResult.size()];
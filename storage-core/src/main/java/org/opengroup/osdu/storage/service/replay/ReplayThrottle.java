@@ -0,0 +1,214 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.replay;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.http.HttpStatus;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.storage.enums.ReplayPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps the replay record throughput of each data partition with a token bucket, so a full-partition replay cannot
+ * take the message bus and metadata store capacity away from interactive traffic. Each replay page acquires one
+ * token per record before it is published. A page larger than the bucket is let through once the bucket is full and
+ * leaves it in debt, which the following pages wait out. Lower priority classes only acquire tokens while the bucket
+ * holds more than their {@link ReplayPriority#getReserve() reserve}, so under contention urgent pages go first.
+ * <p>
+ * The buckets are held in memory, so the configured rates apply to each storage instance: a partition replayed by
+ * several pods at once publishes up to the rate times the number of pods. The counters are exported as
+ * {@value #RECORDS_METRIC}, {@value #THROTTLED_PAGES_METRIC} and {@value #WAIT_METRIC}, tagged by partition and
+ * priority.
+ */
+@Component
+@ConditionalOnProperty(value = "feature.replay.enabled", havingValue = "true", matchIfMissing = false)
+public class ReplayThrottle {
+
+    public static final String RECORDS_METRIC = "storage.replay.throttle.records";
+
+    public static final String THROTTLED_PAGES_METRIC = "storage.replay.throttle.throttled.pages";
+
+    public static final String WAIT_METRIC = "storage.replay.throttle.wait";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayThrottle.class);
+
+    private static final long MIN_SLEEP_MILLIS = 1;
+
+    private static final long MAX_SLEEP_MILLIS = 1000;
+
+    private final ReplayThrottleConfig config;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final Map<String, ThrottleStats> stats = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ReplayThrottle(ReplayThrottleConfig config, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(config, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public ReplayThrottle(ReplayThrottleConfig config) {
+        this(config, Metrics.globalRegistry);
+    }
+
+    public ReplayThrottle(ReplayThrottleConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ReplayPriority getPriority(String operation) {
+        return this.config.getPriority(operation);
+    }
+
+    /**
+     * Blocks until the data partition has throughput for the given number of replay records.
+     */
+    public void acquire(String dataPartitionId, String operation, int records) {
+        if (!this.config.isEnabled() || records <= 0) {
+            return;
+        }
+        double recordsPerSecond = this.config.getRecordsPerSecond(dataPartitionId);
+        if (recordsPerSecond <= 0) {
+            return;
+        }
+
+        ReplayPriority priority = this.config.getPriority(operation);
+        TokenBucket bucket = this.buckets.computeIfAbsent(dataPartitionId, id -> new TokenBucket());
+        ThrottleStats throttleStats = this.stats.computeIfAbsent(statsKey(dataPartitionId, priority),
+                key -> this.registerStats(dataPartitionId, priority));
+
+        long startNanos = System.nanoTime();
+        boolean throttled = false;
+        long waitNanos;
+        while ((waitNanos = bucket.tryAcquire(records, recordsPerSecond, priority)) > 0) {
+            throttled = true;
+            sleep(waitNanos);
+        }
+
+        throttleStats.grantedRecords.add(records);
+        if (throttled) {
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            throttleStats.throttledPages.increment();
+            throttleStats.waitMillis.add(waitedMillis);
+            logger.debug("Replay page of {} records throttled for {} ms, partition: {}, priority: {}",
+                    records, waitedMillis, dataPartitionId, priority);
+        }
+    }
+
+    /**
+     * @return the throughput counters of a data partition and priority class
+     */
+    public ThrottleStats getStats(String dataPartitionId, ReplayPriority priority) {
+        return this.stats.getOrDefault(statsKey(dataPartitionId, priority), new ThrottleStats());
+    }
+
+    public Map<String, ThrottleStats> getStats() {
+        return Collections.unmodifiableMap(this.stats);
+    }
+
+    private ThrottleStats registerStats(String dataPartitionId, ReplayPriority priority) {
+        ThrottleStats throttleStats = new ThrottleStats();
+        Tags tags = Tags.of("partition", dataPartitionId, "priority", priority.name().toLowerCase());
+        FunctionCounter.builder(RECORDS_METRIC, throttleStats, ThrottleStats::getGrantedRecords)
+                .tags(tags).register(this.meterRegistry);
+        FunctionCounter.builder(THROTTLED_PAGES_METRIC, throttleStats, ThrottleStats::getThrottledPages)
+                .tags(tags).register(this.meterRegistry);
+        FunctionCounter.builder(WAIT_METRIC, throttleStats, ThrottleStats::getWaitMillis)
+                .baseUnit("milliseconds").tags(tags).register(this.meterRegistry);
+        return throttleStats;
+    }
+
+    private void sleep(long waitNanos) {
+        long millis = Math.max(MIN_SLEEP_MILLIS, Math.min(MAX_SLEEP_MILLIS, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(HttpStatus.SC_SERVICE_UNAVAILABLE, "Replay interrupted",
+                    "Interrupted while waiting for replay throughput");
+        }
+    }
+
+    private static String statsKey(String dataPartitionId, ReplayPriority priority) {
+        return dataPartitionId + ":" + priority.name();
+    }
+
+    public static class ThrottleStats {
+
+        private final LongAdder grantedRecords = new LongAdder();
+
+        private final LongAdder throttledPages = new LongAdder();
+
+        private final LongAdder waitMillis = new LongAdder();
+
+        public long getGrantedRecords() {
+            return this.grantedRecords.sum();
+        }
+
+        public long getThrottledPages() {
+            return this.throttledPages.sum();
+        }
+
+        public long getWaitMillis() {
+            return this.waitMillis.sum();
+        }
+    }
+
+    private class TokenBucket {
+
+        private double tokens;
+
+        private long lastRefillNanos;
+
+        private boolean filled;
+
+        /**
+         * @return 0 when the records were granted, otherwise the nanoseconds until the bucket may grant them
+         */
+        synchronized long tryAcquire(int records, double recordsPerSecond, ReplayPriority priority) {
+            double capacity = Math.max(1, recordsPerSecond * config.getBurstSeconds());
+            long now = System.nanoTime();
+            if (!this.filled) {
+                this.tokens = capacity;
+                this.filled = true;
+            } else {
+                this.tokens = Math.min(capacity, this.tokens + (now - this.lastRefillNanos) * recordsPerSecond / 1e9);
+            }
+            this.lastRefillNanos = now;
+
+            double required = Math.min(records + capacity * priority.getReserve(), capacity);
+            if (this.tokens >= required) {
+                this.tokens -= records;
+                return 0;
+            }
+            return (long) ((required - this.tokens) / recordsPerSecond * 1e9);
+        }
+    }
+}
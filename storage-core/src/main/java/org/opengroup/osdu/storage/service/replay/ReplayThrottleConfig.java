@@ -0,0 +1,55 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.replay;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.opengroup.osdu.storage.enums.ReplayPriority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "replay.throttle")
+public class ReplayThrottleConfig {
+
+    private boolean enabled = false;
+
+    // replay records published per second and storage instance in a data partition without an explicit rate,
+    // 0 means unlimited. The buckets are not shared between pods, divide a partition wide target by the replica count
+    private double defaultRecordsPerSecond = 0;
+
+    // records per second and storage instance by data partition id
+    private Map<String, Double> partitions = new HashMap<>();
+
+    // seconds of throughput a partition may accumulate while replay is idle
+    private double burstSeconds = 1.0;
+
+    // priority class by replay operation, e.g. reindex: URGENT
+    private Map<String, ReplayPriority> operationPriorities = new HashMap<>();
+
+    private ReplayPriority defaultPriority = ReplayPriority.NORMAL;
+
+    public double getRecordsPerSecond(String dataPartitionId) {
+        return this.partitions.getOrDefault(dataPartitionId, this.defaultRecordsPerSecond);
+    }
+
+    public ReplayPriority getPriority(String operation) {
+        return operation == null ? this.defaultPriority : this.operationPriorities.getOrDefault(operation, this.defaultPriority);
+    }
+}
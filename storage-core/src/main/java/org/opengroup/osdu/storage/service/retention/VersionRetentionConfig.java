@@ -0,0 +1,51 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.retention;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "retention")
+public class VersionRetentionConfig {
+
+    private List<VersionRetentionPolicy> policies = new ArrayList<>();
+
+    // metadata page size used while scanning a kind
+    private int pageSize = 500;
+
+    // number of version paths handed to a single ICloudStorage.deleteVersions call
+    private int deleteBatchSize = 50;
+
+    // upper bound of version blobs deleted per second by a single pruning run
+    private double maxVersionDeletesPerSecond = 100;
+
+    // maximum number of version paths listed in a pruning report
+    private int reportLimit = 1000;
+
+    private boolean dryRun = true;
+
+    // finished jobs kept for the job status API
+    private int jobHistory = 100;
+
+    // data partitions visited by the background scheduler
+    private List<String> dataPartitions = new ArrayList<>();
+}
@@ -0,0 +1,163 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.retention;
+
+import com.google.common.base.Strings;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.http.HttpStatus;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.util.IServiceAccountJwtClient;
+import org.opengroup.osdu.storage.response.VersionRetentionJob;
+import org.opengroup.osdu.storage.response.VersionRetentionReport;
+import org.opengroup.osdu.storage.util.BackgroundRequestAttributes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Runs version retention jobs one at a time on a background thread. A job prunes one data partition inside a request
+ * scope bound to that partition, so the repositories, blob storage, audit logger and message bus see the same
+ * headers as in a request. The service account token is used where the provider has one, else the token of the
+ * caller. Jobs are kept in memory by the instance that runs them, the latest {@code retention.job-history} are kept.
+ */
+@Service
+public class VersionRetentionJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VersionRetentionJobService.class);
+
+    @Autowired
+    private VersionRetentionService retentionService;
+
+    @Autowired
+    private VersionRetentionConfig retentionConfig;
+
+    @Autowired
+    private DpsHeaders dpsHeaders;
+
+    @Autowired
+    private ObjectProvider<IServiceAccountJwtClient> serviceAccountJwtClient;
+
+    @Autowired
+    private Clock clock;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "storage-version-retention");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, VersionRetentionJob> jobs = new LinkedHashMap<String, VersionRetentionJob>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VersionRetentionJob> eldest) {
+            return size() > retentionConfig.getJobHistory() && !eldest.getValue().isActive();
+        }
+    };
+
+    /**
+     * Queues a job for the data partition, or returns the queued or running one with the same dry run setting.
+     *
+     * @param headers headers of the job's request scope, e.g. the correlation id and user of the caller
+     */
+    public synchronized VersionRetentionJob submit(String dataPartitionId, boolean dryRun, Map<String, String> headers) {
+        for (VersionRetentionJob job : this.jobs.values()) {
+            if (job.isActive() && job.isDryRun() == dryRun && job.getDataPartitionId().equals(dataPartitionId)) {
+                return job;
+            }
+        }
+        VersionRetentionJob job = VersionRetentionJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .dataPartitionId(dataPartitionId)
+                .dryRun(dryRun)
+                .status(VersionRetentionJob.Status.QUEUED)
+                .createTime(this.clock.millis())
+                .build();
+        this.jobs.put(job.getJobId(), job);
+        Map<String, String> jobHeaders = new HashMap<>(headers);
+        this.executor.execute(() -> this.run(job, jobHeaders));
+        return job;
+    }
+
+    public synchronized VersionRetentionJob getJob(String dataPartitionId, String jobId) {
+        VersionRetentionJob job = this.jobs.get(jobId);
+        if (job == null || !job.getDataPartitionId().equals(dataPartitionId)) {
+            throw new AppException(HttpStatus.SC_NOT_FOUND, "Retention job not found",
+                    String.format("Retention job %s was not found on this instance", jobId));
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    private void run(VersionRetentionJob job, Map<String, String> headers) {
+        this.update(job.toBuilder().status(VersionRetentionJob.Status.RUNNING).build());
+        try {
+            List<VersionRetentionReport> reports = this.prune(job, headers);
+            reports.forEach(report -> logger.info("Version retention job {} report: {}", job.getJobId(), report));
+            this.update(job.toBuilder()
+                    .status(VersionRetentionJob.Status.COMPLETED)
+                    .endTime(this.clock.millis())
+                    .reports(reports)
+                    .build());
+        } catch (Exception e) {
+            logger.error("Version retention job {} failed for partition {}", job.getJobId(), job.getDataPartitionId(), e);
+            this.update(job.toBuilder()
+                    .status(VersionRetentionJob.Status.FAILED)
+                    .endTime(this.clock.millis())
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
+    private List<VersionRetentionReport> prune(VersionRetentionJob job, Map<String, String> headers) {
+        BackgroundRequestAttributes requestAttributes = new BackgroundRequestAttributes();
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            headers.forEach(this.dpsHeaders::put);
+            this.dpsHeaders.put(DpsHeaders.DATA_PARTITION_ID, job.getDataPartitionId());
+            if (Strings.isNullOrEmpty(headers.get(DpsHeaders.CORRELATION_ID))) {
+                this.dpsHeaders.put(DpsHeaders.CORRELATION_ID, "storage-retention-" + job.getJobId());
+            }
+            // the token clients of some providers are request scoped
+            IServiceAccountJwtClient client = this.serviceAccountJwtClient.getIfAvailable();
+            String token = client == null ? null : client.getIdToken(job.getDataPartitionId());
+            if (!Strings.isNullOrEmpty(token)) {
+                this.dpsHeaders.put(DpsHeaders.AUTHORIZATION, token);
+            }
+            return this.retentionService.pruneConfiguredPolicies(job.getDataPartitionId(), job.isDryRun());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            requestAttributes.requestCompleted();
+        }
+    }
+
+    private synchronized void update(VersionRetentionJob job) {
+        this.jobs.put(job.getJobId(), job);
+    }
+}
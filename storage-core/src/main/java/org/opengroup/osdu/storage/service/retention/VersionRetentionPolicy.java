@@ -0,0 +1,51 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.retention;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Declarative version retention rule. A policy without a data partition id applies to every partition, a policy
+ * without a kind applies to every kind of the partition. The latest version of a record is never pruned.
+ * When both {@code keepLatest} and {@code maxAge} are set, a version is pruned only if it violates both of them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionRetentionPolicy {
+
+    private String dataPartitionId;
+
+    private String kind;
+
+    // number of most recent versions to keep, including the latest one
+    private Integer keepLatest;
+
+    // versions created within this window are kept
+    private Duration maxAge;
+
+    public boolean appliesTo(String partitionId) {
+        return this.dataPartitionId == null || this.dataPartitionId.equalsIgnoreCase(partitionId);
+    }
+
+    public boolean isValid() {
+        return (this.keepLatest != null && this.keepLatest > 0) || (this.maxAge != null && !this.maxAge.isNegative());
+    }
+}
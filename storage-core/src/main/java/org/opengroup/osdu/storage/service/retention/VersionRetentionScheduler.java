@@ -0,0 +1,57 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.retention;
+
+import java.util.Map;
+import org.opengroup.osdu.storage.response.VersionRetentionJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically queues a version retention job for each of {@code retention.data-partitions}. The jobs run with the
+ * service account headers of their partition, see {@link VersionRetentionJobService}. A partition whose previous job
+ * is still running is not queued again.
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(value = "retention.scheduler.enabled", havingValue = "true", matchIfMissing = false)
+public class VersionRetentionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(VersionRetentionScheduler.class);
+
+    @Autowired
+    private VersionRetentionJobService jobService;
+
+    @Autowired
+    private VersionRetentionConfig retentionConfig;
+
+    @Scheduled(fixedDelayString = "${retention.scheduler.interval-ms:3600000}",
+            initialDelayString = "${retention.scheduler.initial-delay-ms:600000}")
+    public void prune() {
+        for (String dataPartitionId : this.retentionConfig.getDataPartitions()) {
+            try {
+                VersionRetentionJob job = this.jobService.submit(dataPartitionId, this.retentionConfig.isDryRun(), Map.of());
+                logger.info("Version retention job {} is {} for partition {}", job.getJobId(), job.getStatus(), dataPartitionId);
+            } catch (Exception e) {
+                logger.error("Version retention could not be queued for partition {}", dataPartitionId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.retention;
+
+import com.google.common.base.Strings;
+import com.google.common.util.concurrent.RateLimiter;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.opengroup.osdu.core.common.feature.IFeatureFlag;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.model.indexer.DeletionType;
+import org.opengroup.osdu.core.common.model.indexer.OperationType;
+import org.opengroup.osdu.core.common.model.search.SortOrder;
+import org.opengroup.osdu.core.common.model.storage.DatastoreQueryResult;
+import org.opengroup.osdu.core.common.model.storage.PubSubDeleteInfo;
+import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.opengroup.osdu.storage.logging.StorageAuditLogger;
+import org.opengroup.osdu.storage.model.RecordChangedV2Delete;
+import org.opengroup.osdu.storage.model.RecordInfoQueryResult;
+import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
+import org.opengroup.osdu.storage.provider.interfaces.IMessageBus;
+import org.opengroup.osdu.storage.provider.interfaces.IQueryRepository;
+import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
+import org.opengroup.osdu.storage.response.VersionRetentionReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import static org.opengroup.osdu.storage.util.RecordConstants.COLLABORATIONS_FEATURE_NAME;
+
+/**
+ * Applies {@link VersionRetentionPolicy} rules to the records of a data partition. Metadata is paged through
+ * {@link IRecordsMetadataRepository#getRecords}, the retained version list is written first and the expired version
+ * blobs are then removed in batches through {@link ICloudStorage#deleteVersions}, the same order used by
+ * {@code RecordServiceImpl.purgeRecordVersions}. Like a purge, every pruned record is audited and a hard delete
+ * notification is published per removed version. Records modified after their page was read are skipped and left for
+ * the next run. Blob deletions are throttled with a rate limiter.
+ */
+@Service
+public class VersionRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VersionRetentionService.class);
+
+    // version ids are issued as epoch microseconds
+    private static final long VERSION_TICKS_PER_MILLI = 1000L;
+
+    @Autowired
+    private IRecordsMetadataRepository recordRepository;
+
+    @Autowired
+    private IQueryRepository queryRepository;
+
+    @Autowired
+    private ICloudStorage cloudStorage;
+
+    @Autowired
+    private VersionRetentionConfig retentionConfig;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private StorageAuditLogger auditLogger;
+
+    @Autowired
+    private IMessageBus pubSubClient;
+
+    @Autowired
+    private DpsHeaders headers;
+
+    @Autowired
+    private IFeatureFlag collaborationFeatureFlag;
+
+    public List<VersionRetentionReport> pruneConfiguredPolicies(String dataPartitionId, boolean dryRun) {
+        List<VersionRetentionReport> reports = new ArrayList<>();
+        for (VersionRetentionPolicy policy : this.retentionConfig.getPolicies()) {
+            if (!policy.appliesTo(dataPartitionId)) {
+                continue;
+            }
+            if (!policy.isValid()) {
+                logger.warn("Skipping invalid version retention policy {}", policy);
+                continue;
+            }
+            reports.add(this.prune(policy, dataPartitionId, dryRun));
+        }
+        return reports;
+    }
+
+    public VersionRetentionReport prune(VersionRetentionPolicy policy, String dataPartitionId, boolean dryRun) {
+        RateLimiter rateLimiter = RateLimiter.create(this.retentionConfig.getMaxVersionDeletesPerSecond());
+
+        if (!Strings.isNullOrEmpty(policy.getKind())) {
+            return this.pruneKind(policy.getKind(), policy, dataPartitionId, dryRun, rateLimiter);
+        }
+
+        VersionRetentionReport partitionReport = VersionRetentionReport.builder()
+                .dataPartitionId(dataPartitionId)
+                .dryRun(dryRun)
+                .build();
+        String cursor = null;
+        do {
+            DatastoreQueryResult kinds = this.queryRepository.getAllKinds(this.retentionConfig.getPageSize(), cursor);
+            for (String kind : kinds.getResults()) {
+                VersionRetentionReport kindReport = this.pruneKind(kind, policy, dataPartitionId, dryRun, rateLimiter);
+                partitionReport.merge(kindReport, this.retentionConfig.getReportLimit());
+            }
+            cursor = kinds.getCursor();
+        } while (!Strings.isNullOrEmpty(cursor));
+        return partitionReport;
+    }
+
+    private VersionRetentionReport pruneKind(String kind, VersionRetentionPolicy policy, String dataPartitionId,
+                                             boolean dryRun, RateLimiter rateLimiter) {
+        VersionRetentionReport report = VersionRetentionReport.builder()
+                .dataPartitionId(dataPartitionId)
+                .kind(kind)
+                .dryRun(dryRun)
+                .build();
+        long now = this.clock.millis();
+        String cursor = null;
+        do {
+            RecordInfoQueryResult<RecordMetadata> page = this.recordRepository.getRecords(kind, null, cursor,
+                    this.retentionConfig.getPageSize(), false, SortOrder.ASC, Optional.empty());
+            List<PrunedRecord> batch = new ArrayList<>();
+            int batchPaths = 0;
+            for (RecordMetadata recordMetadata : page.getResults()) {
+                report.setRecordsScanned(report.getRecordsScanned() + 1);
+                List<String> expired = selectExpiredVersionPaths(recordMetadata, policy, now);
+                if (expired.isEmpty()) {
+                    continue;
+                }
+                batch.add(new PrunedRecord(recordMetadata, expired));
+                batchPaths += expired.size();
+                if (batchPaths >= this.retentionConfig.getDeleteBatchSize()) {
+                    this.commit(batch, dryRun, rateLimiter, report);
+                    batch = new ArrayList<>();
+                    batchPaths = 0;
+                }
+            }
+            this.commit(batch, dryRun, rateLimiter, report);
+            cursor = page.getCursor();
+        } while (!Strings.isNullOrEmpty(cursor));
+
+        logger.info("Version retention for kind {} in partition {} finished: dryRun={}, scanned={}, pruned records={}, pruned versions={}",
+                kind, dataPartitionId, dryRun, report.getRecordsScanned(), report.getRecordsPruned(), report.getVersionsPruned());
+        return report;
+    }
+
+    private void commit(List<PrunedRecord> batch, boolean dryRun, RateLimiter rateLimiter, VersionRetentionReport report) {
+        if (!dryRun) {
+            batch = this.getUnmodified(batch);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<RecordMetadata> metadata = new ArrayList<>(batch.size());
+        List<String> versionPaths = new ArrayList<>();
+        for (PrunedRecord prunedRecord : batch) {
+            metadata.add(prunedRecord.metadata);
+            versionPaths.addAll(prunedRecord.expiredPaths);
+        }
+
+        if (!dryRun) {
+            // modifyTime is left alone, pruning old versions does not change the record
+            batch.forEach(prunedRecord -> prunedRecord.metadata.setGcsVersionPaths(prunedRecord.retainedPaths()));
+            try {
+                this.recordRepository.createOrUpdate(metadata, Optional.empty());
+            } catch (AppException e) {
+                logger.warn("Version retention could not update metadata of {} records: {}", metadata.size(), e.getMessage());
+                this.restore(batch);
+                this.auditFailure(batch);
+                metadata.forEach(recordMetadata -> report.getFailedRecordIds().add(recordMetadata.getId()));
+                return;
+            }
+
+            rateLimiter.acquire(Math.max(1, versionPaths.size()));
+            try {
+                this.cloudStorage.deleteVersions(versionPaths);
+            } catch (AppException e) {
+                logger.warn("Version retention could not delete {} version blobs, reverting metadata: {}", versionPaths.size(), e.getMessage());
+                this.restore(batch);
+                try {
+                    this.recordRepository.createOrUpdate(metadata, Optional.empty());
+                } catch (AppException revertException) {
+                    logger.error("Version retention could not revert metadata of {} records", metadata.size(), revertException);
+                }
+                this.auditFailure(batch);
+                metadata.forEach(recordMetadata -> report.getFailedRecordIds().add(recordMetadata.getId()));
+                return;
+            }
+
+            this.auditAndPublish(batch);
+        }
+
+        report.setRecordsPruned(report.getRecordsPruned() + batch.size());
+        report.setVersionsPruned(report.getVersionsPruned() + versionPaths.size());
+        for (String path : versionPaths) {
+            if (report.getPrunedVersionPaths().size() >= this.retentionConfig.getReportLimit()) {
+                break;
+            }
+            report.getPrunedVersionPaths().add(path);
+        }
+    }
+
+    /**
+     * Re-reads the metadata of the batch and drops the records that were written since their page was read, so a
+     * concurrent update is not overwritten with the stale version list.
+     */
+    private List<PrunedRecord> getUnmodified(List<PrunedRecord> batch) {
+        List<String> ids = batch.stream().map(prunedRecord -> prunedRecord.metadata.getId()).collect(Collectors.toList());
+        Map<String, RecordMetadata> current = this.recordRepository.get(ids, Optional.empty());
+        List<PrunedRecord> unmodified = new ArrayList<>(batch.size());
+        for (PrunedRecord prunedRecord : batch) {
+            RecordMetadata currentMetadata = current.get(prunedRecord.metadata.getId());
+            if (currentMetadata == null
+                    || currentMetadata.getModifyTime() != prunedRecord.originalModifyTime
+                    || !Objects.equals(currentMetadata.getGcsVersionPaths(), prunedRecord.originalPaths)) {
+                logger.info("Version retention skipped record {}, it was modified since it was read", prunedRecord.metadata.getId());
+                continue;
+            }
+            unmodified.add(prunedRecord);
+        }
+        return unmodified;
+    }
+
+    private void auditFailure(List<PrunedRecord> batch) {
+        batch.forEach(prunedRecord -> this.auditLogger.purgeRecordVersionsFail(prunedRecord.metadata.getId(), prunedRecord.expiredPaths));
+    }
+
+    private void auditAndPublish(List<PrunedRecord> batch) {
+        boolean collaborationEnabled = this.collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME);
+        List<PubSubDeleteInfo> deleteInfos = new ArrayList<>();
+        List<RecordChangedV2Delete> recordChangedMessages = new ArrayList<>();
+        for (PrunedRecord prunedRecord : batch) {
+            RecordMetadata recordMetadata = prunedRecord.metadata;
+            this.auditLogger.purgeRecordVersionsSuccess(recordMetadata.getId(), prunedRecord.expiredPaths);
+            for (String versionPath : prunedRecord.expiredPaths) {
+                String[] versionPathParts = versionPath.split("/");
+                if (versionPathParts.length != 3) {
+                    this.auditLogger.purgeRecordVersionsFail(recordMetadata.getId(), List.of(versionPath));
+                    continue;
+                }
+                String version = versionPathParts[2];
+                if (collaborationEnabled) {
+                    recordChangedMessages.add(RecordChangedV2Delete.builder()
+                            .id(recordMetadata.getId())
+                            .version(Long.parseLong(version))
+                            .modifiedBy(recordMetadata.getModifyUser())
+                            .kind(recordMetadata.getKind())
+                            .op(OperationType.delete)
+                            .deletionType(DeletionType.hard)
+                            .build());
+                }
+                deleteInfos.add(new PubSubDeleteInfo(recordMetadata.getId() + "/" + version, recordMetadata.getKind(), DeletionType.hard));
+            }
+        }
+        if (!recordChangedMessages.isEmpty()) {
+            this.pubSubClient.publishMessage(Optional.empty(), this.headers,
+                    recordChangedMessages.toArray(new RecordChangedV2Delete[recordChangedMessages.size()]));
+        }
+        if (!deleteInfos.isEmpty()) {
+            this.pubSubClient.publishMessage(this.headers, deleteInfos.toArray(new PubSubDeleteInfo[deleteInfos.size()]));
+        }
+    }
+
+    private void restore(List<PrunedRecord> batch) {
+        batch.forEach(prunedRecord -> prunedRecord.metadata.setGcsVersionPaths(prunedRecord.originalPaths));
+    }
+
+    static List<String> selectExpiredVersionPaths(RecordMetadata recordMetadata, VersionRetentionPolicy policy, long now) {
+        List<String> versionPaths = recordMetadata.getGcsVersionPaths();
+        List<String> expired = new ArrayList<>();
+        if (versionPaths == null || versionPaths.size() < 2) {
+            return expired;
+        }
+
+        // the latest version is always retained, the remaining ones are evaluated newest first
+        List<String> candidates = new ArrayList<>(versionPaths.subList(0, versionPaths.size() - 1));
+        candidates.sort(Comparator.comparingLong(VersionRetentionService::getVersion).reversed());
+
+        int keepLatest = policy.getKeepLatest() == null ? 0 : policy.getKeepLatest();
+        Long cutoff = policy.getMaxAge() == null ? null : now - policy.getMaxAge().toMillis();
+        for (int i = 0; i < candidates.size(); i++) {
+            String path = candidates.get(i);
+            boolean protectedByCount = policy.getKeepLatest() != null && i + 1 < keepLatest;
+            boolean protectedByAge = cutoff != null && getVersion(path) / VERSION_TICKS_PER_MILLI >= cutoff;
+            if (!protectedByCount && !protectedByAge) {
+                expired.add(path);
+            }
+        }
+        return expired;
+    }
+
+    private static long getVersion(String versionPath) {
+        String[] versionPathParts = versionPath.split("/");
+        try {
+            return Long.parseLong(versionPathParts[versionPathParts.length - 1]);
+        } catch (NumberFormatException e) {
+            // unknown layouts are treated as the newest versions so they are never pruned by age
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static class PrunedRecord {
+        private final RecordMetadata metadata;
+        private final List<String> originalPaths;
+        private final long originalModifyTime;
+        private final List<String> expiredPaths;
+
+        private PrunedRecord(RecordMetadata metadata, List<String> expiredPaths) {
+            this.metadata = metadata;
+            this.originalPaths = new ArrayList<>(metadata.getGcsVersionPaths());
+            this.originalModifyTime = metadata.getModifyTime();
+            this.expiredPaths = expiredPaths;
+        }
+
+        private List<String> retainedPaths() {
+            List<String> retained = new ArrayList<>(this.originalPaths);
+            retained.removeAll(this.expiredPaths);
+            return retained;
+        }
+    }
+}
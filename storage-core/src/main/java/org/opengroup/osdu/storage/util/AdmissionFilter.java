@@ -0,0 +1,61 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.util;
+
+import com.google.common.base.Strings;
+import org.opengroup.osdu.storage.admission.AdmissionController;
+import org.opengroup.osdu.storage.admission.ApiClass;
+import org.opengroup.osdu.storage.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Order(10)
+@Component
+public class AdmissionFilter extends BaseOsduFilter implements Filter {
+
+    @Autowired
+    private AdmissionController admissionController;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String partitionId = this.dpsHeaders.getPartitionId();
+        if (!admissionController.isEnabled() || isExcludedPath(httpRequest) || Strings.isNullOrEmpty(partitionId)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try (AdmissionController.Permit permit = admit(partitionId, ApiClass.of(httpRequest), (HttpServletResponse) response)) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private AdmissionController.Permit admit(String partitionId, ApiClass apiClass, HttpServletResponse response) {
+        try {
+            return admissionController.admit(partitionId, apiClass);
+        } catch (TooManyRequestsException e) {
+            //the rejection is rendered by the storage filter that has the higher filter order
+            response.setHeader(TooManyRequestsException.RETRY_AFTER_HEADER, String.valueOf(e.getRetryAfterSeconds()));
+            throw e;
+        }
+    }
+}
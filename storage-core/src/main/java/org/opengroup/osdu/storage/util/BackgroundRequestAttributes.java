@@ -0,0 +1,77 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.web.context.request.RequestAttributes;
+
+/**
+ * Request scope for work that runs outside of a request, such as the warmup or the audit emitter, so request scoped
+ * beans like the headers and the service account token clients can be used. Bind it with
+ * {@link org.springframework.web.context.request.RequestContextHolder} and complete it when done.
+ */
+public class BackgroundRequestAttributes implements RequestAttributes {
+
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final Map<String, Runnable> destructionCallbacks = new LinkedHashMap<>();
+
+    @Override
+    public Object getAttribute(String name, int scope) {
+        return this.attributes.get(name);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value, int scope) {
+        this.attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name, int scope) {
+        this.attributes.remove(name);
+        this.destructionCallbacks.remove(name);
+    }
+
+    @Override
+    public String[] getAttributeNames(int scope) {
+        return this.attributes.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback, int scope) {
+        this.destructionCallbacks.put(name, callback);
+    }
+
+    @Override
+    public Object resolveReference(String key) {
+        return null;
+    }
+
+    @Override
+    public String getSessionId() {
+        return "storage-background";
+    }
+
+    @Override
+    public Object getSessionMutex() {
+        return this;
+    }
+
+    public void requestCompleted() {
+        this.destructionCallbacks.values().forEach(Runnable::run);
+        this.destructionCallbacks.clear();
+        this.attributes.clear();
+    }
+}
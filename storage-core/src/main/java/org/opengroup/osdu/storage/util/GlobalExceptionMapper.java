@@ -34,6 +34,7 @@ import org.opengroup.osdu.core.common.exception.NotFoundException;
 import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
 import org.opengroup.osdu.core.common.model.http.AppException;
 import org.opengroup.osdu.storage.exception.DeleteRecordsException;
+import org.opengroup.osdu.storage.exception.TooManyRequestsException;
 import org.opengroup.osdu.storage.validation.RequestValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
@@ -72,6 +73,14 @@ public class GlobalExceptionMapper extends ResponseEntityExceptionHandler {
         return this.getErrorResponse(e);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    protected ResponseEntity<Object> handleTooManyRequestsException(TooManyRequestsException e) {
+        ResponseEntity<Object> response = this.getErrorResponse(e);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(TooManyRequestsException.RETRY_AFTER_HEADER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(ValidationException.class)
     protected ResponseEntity<Object> handleValidationException(ValidationException e) {
         if (e.getCause() instanceof RequestValidationException) {
@@ -0,0 +1,388 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.opengroup.osdu.core.common.feature.IFeatureFlag;
+import org.opengroup.osdu.core.common.http.HttpClient;
+import org.opengroup.osdu.core.common.http.HttpRequest;
+import org.opengroup.osdu.core.common.http.HttpResponse;
+import org.opengroup.osdu.core.common.legal.ILegalService;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.util.IServiceAccountJwtClient;
+import org.opengroup.osdu.storage.conversion.UnitReferenceResolver;
+import org.opengroup.osdu.storage.service.IEntitlementsExtensionService;
+import org.opengroup.osdu.storage.service.SchemaService;
+import org.opengroup.osdu.storage.util.BackgroundRequestAttributes;
+import org.opengroup.osdu.storage.util.CollaborationFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import static org.opengroup.osdu.storage.util.RecordConstants.COLLABORATIONS_FEATURE_NAME;
+
+/**
+ * Warms the caches and clients of the local instance before it reports ready, so that the first client requests do
+ * not pay for them. Per partition, it reads the entitlements groups of the service principal, validates the
+ * configured legal tag and countries, loads the configured schemas and the unit catalog. These are reads only.
+ * <p>
+ * Optionally, synthetic ingest, read and purge cycles are also run against the local API to exercise the hot code
+ * paths. Those are real writes and purges which publish record changed events, so they only run in a collaboration
+ * namespace. Spring Boot only accepts traffic once all application runners are done, and the warmup never holds that
+ * back for longer than the configured timeout.
+ */
+@Slf4j
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    static final String METRIC_NAME = "storage.warmup";
+    static final String STEP_METRIC_NAME = "storage.warmup.step";
+    static final String OUTCOME_COMPLETED = "completed";
+    static final String OUTCOME_TIMED_OUT = "timed-out";
+    static final String OUTCOME_FAILED = "failed";
+
+    static final String STEP_INGEST = "ingest";
+    static final String STEP_FETCH = "fetch";
+    static final String STEP_READ = "read";
+    static final String STEP_PURGE = "purge";
+    static final String STEP_ENTITLEMENTS = "entitlements";
+    static final String STEP_LEGAL = "legal";
+    static final String STEP_SCHEMA = "schema";
+    static final String STEP_UNITS = "units";
+
+    private static final String ENTITY_TYPE = "storage-warmup";
+    private static final String FRAME_OF_REFERENCE_HEADER = "frame-of-reference";
+
+    private final WarmupConfig config;
+    private final ObjectProvider<IServiceAccountJwtClient> serviceAccountJwtClient;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final Gson gson = new Gson();
+
+    private HttpClient httpClient = new HttpClient();
+
+    @Autowired
+    private IEntitlementsExtensionService entitlementsService;
+
+    @Autowired
+    private ILegalService legalService;
+
+    @Autowired
+    private SchemaService schemaService;
+
+    @Autowired
+    private UnitReferenceResolver unitReferenceResolver;
+
+    @Autowired
+    private DpsHeaders dpsHeaders;
+
+    @Autowired
+    private IFeatureFlag collaborationFeatureFlag;
+
+    @Autowired
+    public StartupWarmup(WarmupConfig config, ObjectProvider<IServiceAccountJwtClient> serviceAccountJwtClient,
+                         Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(config, serviceAccountJwtClient, environment, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public StartupWarmup(WarmupConfig config, ObjectProvider<IServiceAccountJwtClient> serviceAccountJwtClient,
+                         Environment environment, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.serviceAccountJwtClient = serviceAccountJwtClient;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!this.config.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        String outcome = OUTCOME_COMPLETED;
+        try {
+            Future<?> warmup = executor.submit(this::warmUp);
+            try {
+                warmup.get(this.config.getTimeoutSeconds(), TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                outcome = OUTCOME_TIMED_OUT;
+                warmup.cancel(true);
+                log.warn("Storage warmup did not finish within {} seconds, accepting traffic anyway", this.config.getTimeoutSeconds());
+            } catch (ExecutionException e) {
+                outcome = OUTCOME_FAILED;
+                log.warn("Storage warmup failed, accepting traffic anyway", e.getCause());
+            } catch (InterruptedException e) {
+                outcome = OUTCOME_FAILED;
+                warmup.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder(METRIC_NAME)
+                .tag("outcome", outcome)
+                .register(this.meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Storage warmup {} in {} ms", outcome, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    void warmUp() {
+        for (String partitionId : this.config.getPartitions()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            String token = this.getServiceToken(partitionId);
+            if (StringUtils.isBlank(token)) {
+                log.info("Storage warmup for partition {} skipped, no service account token available", partitionId);
+                continue;
+            }
+            Map<String, String> headers = this.getHeaders(partitionId, token);
+            this.warmUpCaches(partitionId, headers);
+            if (this.isLoopbackEnabled(partitionId)) {
+                this.runLoopbackCycles(partitionId, this.getCollaborationHeaders(headers));
+            }
+        }
+    }
+
+    private void warmUpCaches(String partitionId, Map<String, String> headers) {
+        DpsHeaders serviceHeaders = DpsHeaders.createFromMap(headers);
+        this.runStep(partitionId, STEP_ENTITLEMENTS, () -> this.entitlementsService.getGroups(serviceHeaders));
+
+        // the legal, schema and unit services read the request scoped headers
+        BackgroundRequestAttributes requestAttributes = new BackgroundRequestAttributes();
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            headers.forEach(this.dpsHeaders::put);
+            this.runStep(partitionId, STEP_LEGAL, () -> {
+                this.legalService.validateOtherRelevantDataCountries(new HashSet<>(this.config.getCountries()));
+                if (StringUtils.isNotBlank(this.config.getLegalTag())) {
+                    this.legalService.validateLegalTags(Set.of(String.format(this.config.getLegalTag(), partitionId)));
+                }
+            });
+            this.runStep(partitionId, STEP_SCHEMA, () -> {
+                List<String> kinds = this.config.getSchemaKinds().isEmpty() ? List.of(this.config.getKind()) : this.config.getSchemaKinds();
+                kinds.forEach(kind -> this.schemaService.getSchema(String.format(kind, partitionId)));
+            });
+            this.runStep(partitionId, STEP_UNITS, this.unitReferenceResolver::warmUp);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            requestAttributes.requestCompleted();
+        }
+    }
+
+    private boolean isLoopbackEnabled(String partitionId) {
+        if (this.config.getCycles() <= 0) {
+            return false;
+        }
+        if (StringUtils.isAnyBlank(this.config.getAclViewers(), this.config.getAclOwners(), this.config.getLegalTag())) {
+            log.warn("Storage warmup cycles for partition {} skipped, acl and legal tag are not configured", partitionId);
+            return false;
+        }
+        if (StringUtils.isBlank(this.config.getCollaborationId())
+                || !this.collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)) {
+            log.warn("Storage warmup cycles for partition {} skipped, they need a collaboration id and collaborations enabled", partitionId);
+            return false;
+        }
+        return true;
+    }
+
+    private void runLoopbackCycles(String partitionId, Map<String, String> headers) {
+        List<String> ingested = new ArrayList<>();
+        try {
+            for (int cycle = 0; cycle < this.config.getCycles() && !Thread.currentThread().isInterrupted(); cycle++) {
+                List<String> ids = new ArrayList<>();
+                for (int i = 0; i < this.config.getRecordsPerCycle(); i++) {
+                    ids.add(String.format("%s:%s:%s-%d", partitionId, ENTITY_TYPE, this.instanceId, i));
+                }
+                if (!this.send(partitionId, STEP_INGEST, HttpRequest.builder()
+                        .url(this.getUrl("records"))
+                        .httpMethod("PUT")
+                        .headers(headers)
+                        .body(this.gson.toJson(this.createRecords(partitionId, ids))).build())) {
+                    return;
+                }
+                ids.stream().filter(id -> !ingested.contains(id)).forEach(ingested::add);
+
+                JsonObject fetchRequest = new JsonObject();
+                fetchRequest.add("records", this.gson.toJsonTree(ids));
+                Map<String, String> fetchHeaders = new HashMap<>(headers);
+                fetchHeaders.put(FRAME_OF_REFERENCE_HEADER, this.config.getFrameOfReference());
+                this.send(partitionId, STEP_FETCH, HttpRequest.builder()
+                        .url(this.getUrl("query/records:batch"))
+                        .httpMethod("POST")
+                        .headers(fetchHeaders)
+                        .body(fetchRequest.toString()).build());
+
+                this.send(partitionId, STEP_READ, HttpRequest.builder()
+                        .url(this.getUrl("records/" + ids.get(cycle % ids.size())))
+                        .httpMethod("GET")
+                        .headers(headers).build());
+            }
+        } finally {
+            for (String id : ingested) {
+                this.send(partitionId, STEP_PURGE, HttpRequest.builder()
+                        .url(this.getUrl("records/" + id))
+                        .httpMethod("DELETE")
+                        .headers(headers).build());
+            }
+        }
+    }
+
+    private boolean send(String partitionId, String step, HttpRequest request) {
+        long start = System.nanoTime();
+        HttpResponse response = this.httpClient.send(request);
+        boolean success = response.isSuccessCode();
+        this.recordStep(partitionId, step, success, start);
+        if (!success) {
+            log.warn("Storage warmup {} step for partition {} returned {}: {}",
+                    step, partitionId, response.getResponseCode(), response.getBody());
+        }
+        return success;
+    }
+
+    private void runStep(String partitionId, String step, Runnable action) {
+        long start = System.nanoTime();
+        boolean success = true;
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            success = false;
+            log.warn("Storage warmup {} step for partition {} failed", step, partitionId, e);
+        }
+        this.recordStep(partitionId, step, success, start);
+    }
+
+    private void recordStep(String partitionId, String step, boolean success, long start) {
+        Timer.builder(STEP_METRIC_NAME)
+                .tag("partition", partitionId)
+                .tag("step", step)
+                .tag("outcome", success ? "success" : "failure")
+                .register(this.meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private JsonArray createRecords(String partitionId, List<String> ids) {
+        JsonArray records = new JsonArray();
+        for (String id : ids) {
+            JsonObject acl = new JsonObject();
+            acl.add("viewers", this.gson.toJsonTree(List.of(String.format(this.config.getAclViewers(), partitionId))));
+            acl.add("owners", this.gson.toJsonTree(List.of(String.format(this.config.getAclOwners(), partitionId))));
+
+            JsonObject legal = new JsonObject();
+            legal.add("legaltags", this.gson.toJsonTree(List.of(String.format(this.config.getLegalTag(), partitionId))));
+            legal.add("otherRelevantDataCountries", this.gson.toJsonTree(this.config.getCountries()));
+
+            JsonObject data = new JsonObject();
+            data.addProperty("Name", id);
+            data.addProperty("Depth", 1000.0);
+
+            JsonObject record = new JsonObject();
+            record.addProperty("id", id);
+            record.addProperty("kind", String.format(this.config.getKind(), partitionId));
+            record.add("acl", acl);
+            record.add("legal", legal);
+            record.add("data", data);
+            if (StringUtils.isNotBlank(this.config.getUnitOfMeasureId())) {
+                JsonObject unit = new JsonObject();
+                unit.addProperty("kind", "Unit");
+                unit.addProperty("name", "m");
+                unit.addProperty("persistableReference", "");
+                unit.addProperty("unitOfMeasureID", String.format(this.config.getUnitOfMeasureId(), partitionId));
+                unit.add("propertyNames", this.gson.toJsonTree(List.of("Depth")));
+                JsonArray meta = new JsonArray();
+                meta.add(unit);
+                record.add("meta", meta);
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    private Map<String, String> getHeaders(String partitionId, String token) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(DpsHeaders.AUTHORIZATION, token);
+        headers.put(DpsHeaders.DATA_PARTITION_ID, partitionId);
+        headers.put(DpsHeaders.CONTENT_TYPE, "application/json");
+        headers.put(DpsHeaders.CORRELATION_ID, "storage-warmup-" + this.instanceId);
+        return headers;
+    }
+
+    private Map<String, String> getCollaborationHeaders(Map<String, String> headers) {
+        Map<String, String> collaborationHeaders = new HashMap<>(headers);
+        collaborationHeaders.put(CollaborationFilter.X_COLLABORATION_HEADER_NAME,
+                String.format("id=%s,application=storage-warmup", this.config.getCollaborationId()));
+        return collaborationHeaders;
+    }
+
+    private String getServiceToken(String partitionId) {
+        IServiceAccountJwtClient client = this.serviceAccountJwtClient.getIfAvailable();
+        if (client == null) {
+            return null;
+        }
+        // the token clients of some providers are request scoped
+        BackgroundRequestAttributes requestAttributes = new BackgroundRequestAttributes();
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            return client.getIdToken(partitionId);
+        } catch (RuntimeException e) {
+            log.warn("Storage warmup could not get a service account token for partition {}", partitionId, e);
+            return null;
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            requestAttributes.requestCompleted();
+        }
+    }
+
+    private String getUrl(String path) {
+        String port = this.environment.getProperty("local.server.port", this.environment.getProperty("server.port", "8080"));
+        String contextPath = StringUtils.removeEnd(this.environment.getProperty("server.servlet.contextPath", "/"), "/");
+        return String.format("http://localhost:%s%s/%s", port, contextPath, path);
+    }
+
+    // for unit testing purpose
+    void setHttpClient(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+}
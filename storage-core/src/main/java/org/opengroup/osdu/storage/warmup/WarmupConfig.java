@@ -0,0 +1,66 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Values containing %s are formatted with the data partition id.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "storage.warmup")
+public class WarmupConfig {
+
+    private boolean enabled = false;
+
+    // the instance reports ready once the warmup is done or timed out
+    private long timeoutSeconds = 120;
+
+    private List<String> partitions = new ArrayList<>();
+
+    // schemas loaded into the schema caches, the synthetic record kind when empty
+    private List<String> schemaKinds = new ArrayList<>();
+
+    // optional ingest, read and purge cycles per partition through the local API, 0 to only warm the caches and
+    // clients. The cycles write and purge records, which publishes record changed events, so they need collaborations
+    // enabled and a collaboration id.
+    private int cycles = 0;
+
+    private int recordsPerCycle = 10;
+
+    // collaboration namespace the synthetic records are written to, the cycles never write to the partition itself
+    private String collaborationId = "";
+
+    private String kind = "%s:storage-warmup:WarmupRecord:1.0.0";
+
+    private String aclViewers = "";
+
+    private String aclOwners = "";
+
+    private String legalTag = "";
+
+    private List<String> countries = new ArrayList<>(List.of("US"));
+
+    // when set, the synthetic records carry this unit so that reading them with conversion loads the unit catalog
+    private String unitOfMeasureId = "";
+
+    private String frameOfReference = "units=SI;crs=wgs84;elevation=msl;azimuth=true north;dates=utc;";
+}
@@ -0,0 +1,250 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.opengroup.osdu.storage.admission.AdmissionConfig.Limits;
+import org.opengroup.osdu.storage.exception.TooManyRequestsException;
+import org.opengroup.osdu.storage.metrics.PartitionKeys;
+import org.opengroup.osdu.storage.service.read.BlobReadConfig;
+import org.opengroup.osdu.storage.service.read.HedgedBlobReader;
+
+public class AdmissionControllerTest {
+
+    private static final String NOISY = "noisy";
+    private static final String QUIET = "quiet";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void should_notLimitCalls_when_disabled() {
+        AdmissionConfig config = new AdmissionConfig();
+        config.getDefaults().put(ApiClass.WRITE.getConfigName(), new Limits(1, 0, 0, 0));
+        AdmissionController controller = new AdmissionController(config, registry);
+
+        assertNotNull(controller.admit(NOISY, ApiClass.WRITE));
+        assertNotNull(controller.admit(NOISY, ApiClass.WRITE));
+    }
+
+    @Test
+    public void should_rejectCalls_beyondConcurrencyAndQueue() {
+        AdmissionController controller = new AdmissionController(config(ApiClass.WRITE, new Limits(2, 0, 0, 0)), registry);
+
+        AdmissionController.Permit first = controller.admit(NOISY, ApiClass.WRITE);
+        controller.admit(NOISY, ApiClass.WRITE);
+        TooManyRequestsException rejection = assertThrows(TooManyRequestsException.class, () -> controller.admit(NOISY, ApiClass.WRITE));
+
+        assertEquals(429, rejection.getError().getCode());
+        assertTrue(rejection.getRetryAfterSeconds() >= 1);
+        assertEquals(1, registry.get(AdmissionController.REJECTED_METRIC).tag("partition", NOISY).tag("resource", "write").counter().count());
+
+        first.close();
+        assertNotNull(controller.admit(NOISY, ApiClass.WRITE));
+    }
+
+    @Test
+    public void should_queueCall_untilSlotIsReleased() throws Exception {
+        AdmissionController controller = new AdmissionController(config(ApiClass.WRITE, new Limits(1, 1, 5000, 0)), registry);
+        AdmissionController.Permit running = controller.admit(NOISY, ApiClass.WRITE);
+
+        CompletableFuture<AdmissionController.Permit> queued = CompletableFuture.supplyAsync(() -> controller.admit(NOISY, ApiClass.WRITE));
+        while (controller.getBulkhead(NOISY, "write").getQueued() == 0) {
+            Thread.sleep(1);
+        }
+        running.close();
+
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void should_shedCall_when_expectedWaitExceedsLatencyTarget() throws Exception {
+        AdmissionController controller = new AdmissionController(config(ApiClass.WRITE, new Limits(1, 10, 5000, 10)), registry);
+        try (AdmissionController.Permit slowCall = controller.admit(NOISY, ApiClass.WRITE)) {
+            Thread.sleep(50);
+        }
+        controller.admit(NOISY, ApiClass.WRITE);
+
+        long start = System.nanoTime();
+        assertThrows(TooManyRequestsException.class, () -> controller.admit(NOISY, ApiClass.WRITE));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000, "shed call was queued");
+    }
+
+    @Test
+    public void should_limitPartitionsAndApiClassesSeparately() {
+        AdmissionConfig config = new AdmissionConfig();
+        config.setEnabled(true);
+        config.getPartitions().put(NOISY, Map.of(ApiClass.WRITE.getConfigName(), new Limits(1, 0, 0, 0)));
+        AdmissionController controller = new AdmissionController(config, registry);
+
+        controller.admit(NOISY, ApiClass.WRITE);
+
+        assertThrows(TooManyRequestsException.class, () -> controller.admit(NOISY, ApiClass.WRITE));
+        assertNotNull(controller.admit(NOISY, ApiClass.READ));
+        assertNotNull(controller.admit(QUIET, ApiClass.WRITE));
+        assertNotNull(controller.admit(QUIET, ApiClass.WRITE));
+    }
+
+    @Test
+    public void should_shareOneBulkhead_forUnknownPartitions() {
+        AdmissionConfig config = config(ApiClass.WRITE, new Limits(1, 0, 0, 0));
+        PartitionKeys partitionKeys = new PartitionKeys(QUIET::equals, 10);
+        AdmissionController controller = new AdmissionController(config, registry, partitionKeys);
+
+        controller.admit("unknown-1", ApiClass.WRITE);
+
+        assertThrows(TooManyRequestsException.class, () -> controller.admit("unknown-2", ApiClass.WRITE));
+        assertNotNull(controller.admit(QUIET, ApiClass.WRITE));
+        assertEquals(1, registry.get(AdmissionController.REJECTED_METRIC).tag("partition", PartitionKeys.OTHER).counter().count());
+        assertTrue(registry.find(AdmissionController.REJECTED_METRIC).tag("partition", "unknown-2").counters().isEmpty());
+    }
+
+    /**
+     * Two partitions share one blob thread pool through in-memory providers. The noisy partition floods large batch
+     * reads while the quiet one keeps issuing small reads, once without and once with bulkheads.
+     */
+    @Test
+    public void should_keepQuietPartitionServed_while_noisyPartitionFloodsBatchReads() throws Exception {
+        SimulationResult unlimited = simulate(false);
+        SimulationResult limited = simulate(true);
+
+        assertEquals(0, limited.rejected.getOrDefault(QUIET, 0));
+        assertTrue(limited.rejected.getOrDefault(NOISY, 0) > 0);
+        assertTrue(limited.blobStore.getMaxInFlight(NOISY) <= 8, "noisy partition used " + limited.blobStore.getMaxInFlight(NOISY) + " threads");
+        // without bulkheads the noisy partition takes more than its share of the blob threads, with them it leaves
+        // the quiet partition half of the pool, counted rather than timed so that slow build machines do not matter
+        assertTrue(limited.blobStore.getMaxInFlight(QUIET) > 0);
+        assertTrue(unlimited.blobStore.getMaxInFlight(NOISY) > 8, "noisy partition used " + unlimited.blobStore.getMaxInFlight(NOISY) + " threads");
+    }
+
+    private SimulationResult simulate(boolean enabled) throws Exception {
+        AdmissionConfig config = new AdmissionConfig();
+        config.setEnabled(enabled);
+        config.getDefaults().put(AdmissionConfig.BLOB_READ, new Limits(8, 1024, 5000, 0));
+        config.getPartitions().put(NOISY, Map.of(ApiClass.READ.getConfigName(), new Limits(4, 4, 50, 0)));
+        AdmissionController controller = new AdmissionController(config, registry);
+        HedgedBlobReader reader = new HedgedBlobReader(new BlobReadConfig(), controller, registry);
+        InMemoryBlobStore blobStore = new InMemoryBlobStore(16, 10);
+        ExecutorService clients = Executors.newFixedThreadPool(34);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, Integer> rejected = new ConcurrentHashMap<>();
+
+        try {
+            for (int client = 0; client < 30; client++) {
+                clients.submit(() -> {
+                    start.await();
+                    batchRead(controller, reader, blobStore, NOISY, 100, rejected);
+                    return null;
+                });
+            }
+            for (int client = 0; client < 4; client++) {
+                clients.submit(() -> {
+                    start.await();
+                    Thread.sleep(20);
+                    for (int request = 0; request < 10; request++) {
+                        batchRead(controller, reader, blobStore, QUIET, 5, rejected);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(60, TimeUnit.SECONDS));
+            return new SimulationResult(blobStore, rejected);
+        } finally {
+            clients.shutdownNow();
+            blobStore.shutdown();
+        }
+    }
+
+    private static void batchRead(AdmissionController controller, HedgedBlobReader reader, InMemoryBlobStore blobStore,
+                                  String partitionId, int records, Map<String, Integer> rejected) {
+        Map<String, String> paths = new HashMap<>();
+        for (int i = 0; i < records; i++) {
+            paths.put(partitionId + ":record:" + i, "kind/" + partitionId + ":record:" + i + "/1");
+        }
+        try (AdmissionController.Permit permit = controller.admit(partitionId, ApiClass.READ)) {
+            reader.readAll("memory", partitionId, paths, (id, path) -> blobStore.read(partitionId, path));
+        } catch (TooManyRequestsException e) {
+            rejected.merge(partitionId, 1, Integer::sum);
+        }
+    }
+
+    private static AdmissionConfig config(ApiClass apiClass, Limits limits) {
+        AdmissionConfig config = new AdmissionConfig();
+        config.setEnabled(true);
+        config.getDefaults().put(apiClass.getConfigName(), limits);
+        return config;
+    }
+
+    private record SimulationResult(InMemoryBlobStore blobStore, Map<String, Integer> rejected) {
+    }
+
+    /**
+     * Blob storage whose reads take a fixed latency on a thread pool shared by all partitions.
+     */
+    private static class InMemoryBlobStore {
+
+        private final ExecutorService threadPool;
+        private final long latencyMs;
+        private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> maxInFlight = new ConcurrentHashMap<>();
+
+        InMemoryBlobStore(int threads, long latencyMs) {
+            this.threadPool = Executors.newFixedThreadPool(threads);
+            this.latencyMs = latencyMs;
+        }
+
+        CompletableFuture<String> read(String partitionId, String path) {
+            return CompletableFuture.supplyAsync(() -> {
+                int reads = inFlight.computeIfAbsent(partitionId, key -> new AtomicInteger()).incrementAndGet();
+                maxInFlight.computeIfAbsent(partitionId, key -> new AtomicInteger()).accumulateAndGet(reads, Math::max);
+                try {
+                    Thread.sleep(latencyMs);
+                    return "{\"path\":\"" + path + "\"}";
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                } finally {
+                    inFlight.get(partitionId).decrementAndGet();
+                }
+            }, threadPool);
+        }
+
+        int getMaxInFlight(String partitionId) {
+            AtomicInteger reads = maxInFlight.get(partitionId);
+            return reads == null ? 0 : reads.get();
+        }
+
+        void shutdown() {
+            threadPool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+
+public class HotRecordCacheTest {
+
+    private static final String REFERENCE_KIND = "osdu:wks:reference-data--UnitOfMeasure:1.0.0";
+    private static final String WELL_KIND = "osdu:wks:master-data--Well:1.0.0";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void should_alwaysLoad_when_disabled() {
+        HotRecordCacheConfig config = config(1024 * 1024);
+        config.setEnabled(false);
+        HotRecordCache cache = new HotRecordCache(config, registry);
+
+        read(cache, "opendes:uom:m", 1);
+        read(cache, "opendes:uom:m", 1);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void should_serveRepeatedReadsFromCache_andReportHitRatio() {
+        HotRecordCache cache = new HotRecordCache(config(1024 * 1024), registry);
+
+        assertEquals("blob-opendes:uom:m-1", read(cache, "opendes:uom:m", 1));
+        assertEquals("blob-opendes:uom:m-1", read(cache, "opendes:uom:m", 1));
+        assertEquals("blob-opendes:uom:m-1", read(cache, "opendes:uom:m", 1));
+
+        assertEquals(1, loads.get());
+        assertEquals(2, registry.get(HotRecordCache.REQUESTS_METRIC).tag("result", "hit").counter().count());
+        assertEquals(1, registry.get(HotRecordCache.REQUESTS_METRIC).tag("result", "miss").counter().count());
+        assertEquals(2.0 / 3, registry.get(HotRecordCache.HIT_RATIO_METRIC).gauge().value(), 0.0001);
+    }
+
+    @Test
+    public void should_notCacheKinds_notMatchingConfiguredPatterns() {
+        HotRecordCache cache = new HotRecordCache(config(1024 * 1024), registry);
+
+        cache.read(Map.of("opendes:well:1", WELL_KIND + "/opendes:well:1/1"), Optional.empty(), this::load);
+        cache.read(Map.of("opendes:well:1", WELL_KIND + "/opendes:well:1/1"), Optional.empty(), this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getSizeBytes());
+    }
+
+    @Test
+    public void should_loadOnlyMissingRecords_when_readingBatch() {
+        HotRecordCache cache = new HotRecordCache(config(1024 * 1024), registry);
+        read(cache, "opendes:uom:m", 1);
+
+        Map<String, String> versionPaths = new HashMap<>();
+        versionPaths.put("opendes:uom:m", path("opendes:uom:m", 1));
+        versionPaths.put("opendes:uom:ft", path("opendes:uom:ft", 1));
+        Map<String, String> blobs = cache.read(versionPaths, Optional.empty(), this::load);
+
+        assertEquals(2, blobs.size());
+        assertEquals("blob-opendes:uom:ft-1", blobs.get("opendes:uom:ft"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void should_bypassCache_when_readingInCollaborationContext() {
+        HotRecordCache cache = new HotRecordCache(config(1024 * 1024), registry);
+        Optional<CollaborationContext> collaborationContext = Optional.of(
+                CollaborationContext.builder().id(UUID.randomUUID()).application("app").build());
+
+        cache.read(Map.of("opendes:uom:m", path("opendes:uom:m", 1)), collaborationContext, this::load);
+        cache.read(Map.of("opendes:uom:m", path("opendes:uom:m", 1)), collaborationContext, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void should_evictLeastRecentlyRead_when_byteBoundIsExceeded() {
+        // each blob is 20 characters, 40 bytes
+        HotRecordCache cache = new HotRecordCache(config(100), registry);
+        read(cache, "opendes:uom:a", 1);
+        read(cache, "opendes:uom:b", 1);
+        read(cache, "opendes:uom:a", 1);
+        read(cache, "opendes:uom:c", 1);
+
+        assertEquals(80, cache.getSizeBytes());
+        loads.set(0);
+        read(cache, "opendes:uom:a", 1);
+        read(cache, "opendes:uom:c", 1);
+        assertEquals(0, loads.get());
+        read(cache, "opendes:uom:b", 1);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void should_dropAllVersionsOfRecord_when_invalidated() {
+        HotRecordCache cache = new HotRecordCache(config(1024 * 1024), registry);
+        read(cache, "opendes:uom:m", 1);
+        read(cache, "opendes:uom:m", 2);
+        read(cache, "opendes:uom:ft", 1);
+
+        cache.invalidate("opendes:uom:m");
+
+        assertEquals(2 * "blob-opendes:uom:ft-1".length(), cache.getSizeBytes());
+        read(cache, "opendes:uom:m", 2);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void should_keepHighHitRatio_underZipfDistributedReads() {
+        int records = 5_000;
+        int reads = 200_000;
+        String blob = "x".repeat(500);
+        // room for a fifth of the records
+        HotRecordCache cache = new HotRecordCache(config(records / 5 * 2L * blob.length()), registry);
+        ZipfDistribution zipf = new ZipfDistribution(records, 1.0, new Random(42));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            String id = "opendes:uom:" + zipf.next();
+            cache.read(Map.of(id, path(id, 1)), Optional.empty(), versionPaths -> {
+                loads.incrementAndGet();
+                Map<String, String> blobs = new HashMap<>();
+                versionPaths.keySet().forEach(recordId -> blobs.put(recordId, blob));
+                return blobs;
+            });
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        double hitRatio = cache.getHitRatio();
+        assertTrue(hitRatio > 0.6, "hit ratio " + hitRatio + " over " + reads + " reads in " + elapsedMillis + "ms");
+        assertEquals(reads, loads.get() + Math.round(hitRatio * reads));
+    }
+
+    private String read(HotRecordCache cache, String id, long version) {
+        return cache.read(Map.of(id, path(id, version)), Optional.empty(), this::load).get(id);
+    }
+
+    private Map<String, String> load(Map<String, String> versionPaths) {
+        Map<String, String> blobs = new HashMap<>();
+        for (Map.Entry<String, String> versionPath : versionPaths.entrySet()) {
+            loads.incrementAndGet();
+            String version = versionPath.getValue().substring(versionPath.getValue().lastIndexOf('/') + 1);
+            blobs.put(versionPath.getKey(), "blob-" + versionPath.getKey() + "-" + version);
+        }
+        return blobs;
+    }
+
+    private static String path(String id, long version) {
+        return REFERENCE_KIND + "/" + id + "/" + version;
+    }
+
+    private static HotRecordCacheConfig config(long maxBytes) {
+        HotRecordCacheConfig config = new HotRecordCacheConfig();
+        config.setEnabled(true);
+        config.setMaxBytes(maxBytes);
+        config.setKinds(List.of("osdu:wks:reference-data--*:*"));
+        return config;
+    }
+
+    private static class ZipfDistribution {
+
+        private final double[] cumulative;
+        private final Random random;
+
+        ZipfDistribution(int size, double exponent, Random random) {
+            this.cumulative = new double[size];
+            this.random = random;
+            double sum = 0;
+            for (int rank = 1; rank <= size; rank++) {
+                sum += 1 / Math.pow(rank, exponent);
+                this.cumulative[rank - 1] = sum;
+            }
+            for (int i = 0; i < size; i++) {
+                this.cumulative[i] /= sum;
+            }
+        }
+
+        int next() {
+            int index = Arrays.binarySearch(this.cumulative, this.random.nextDouble());
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
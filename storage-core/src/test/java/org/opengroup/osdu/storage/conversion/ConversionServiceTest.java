@@ -32,10 +32,13 @@ import org.opengroup.osdu.core.common.model.storage.ConversionStatus;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.opengroup.osdu.storage.conversion.CrsConversionServiceErrorMessages.UNEXPECTED_DATA_FORMAT_JSON_OBJECT;
@@ -49,6 +52,9 @@ public class ConversionServiceTest {
     @Mock
     private JaxRsDpsLog logger;
 
+    @Mock
+    private UnitReferenceResolver unitReferenceResolver;
+
     @InjectMocks
     private DpsConversionService sut;
 
@@ -60,6 +66,7 @@ public class ConversionServiceTest {
     private static final String RECORD_1 = "{\"id\":\"unit-test-1\",\"kind\":\"unit:test:1.0.0\",\"acl\":{\"viewers\":[\"viewers@unittest.com\"],\"owners\":[\"owners@unittest.com\"]},\"legal\":{\"legaltags\":[\"unit-test-legal\"],\"otherRelevantDataCountries\":[\"AA\"]},\"data\":{\"msg\":\"testing record 1\",\"X\":16.00,\"Y\":10.00,\"Z\":0},\"meta\":[{\"path\":\"\",\"kind\":\"CRS\",\"persistableReference\":\"reference\",\"propertyNames\":[\"X\",\"Y\",\"Z\"],\"name\":\"GCS_WGS_1984\"}]}";
     private static final String RECORD_2 = "{\"id\":\"unit-test-2\",\"kind\":\"unit:test:1.0.0\",\"acl\":{\"viewers\":[\"viewers@unittest.com\"],\"owners\":[\"owners@unittest.com\"]},\"legal\":{\"legaltags\":[\"unit-test-legal\"],\"otherRelevantDataCountries\":[\"AA\"]},\"data\":{\"msg\":\"testing record 2\",\"X\":16.00,\"Y\":10.00,\"Z\":0}}";
     private static final String RECORD_3 = "{\"id\":\"unit-test-3\",\"kind\":\"unit:test:1.0.0\",\"acl\":{\"viewers\":[\"viewers@unittest.com\"],\"owners\":[\"owners@unittest.com\"]},\"legal\":{\"legaltags\":[\"unit-test-legal\"],\"otherRelevantDataCountries\":[\"AA\"]},\"data\":{\"msg\":\"testing record 1\",\"X\":16.00,\"Y\":10.00,\"Z\":0},\"meta\":[{\"path\":\"\",\"kind\":\"CRS\",\"persistableReference\":\"reference\",\"propertyNames\":[\"X\",\"Y\",\"Z\"],\"name\":\"GCS_WGS_1984\"}]}";
+    private static final String UNIT_RECORD = "{\"id\":\"unit-test-%s\",\"kind\":\"unit:test:1.0.0\",\"acl\":{\"viewers\":[\"viewers@unittest.com\"],\"owners\":[\"owners@unittest.com\"]},\"legal\":{\"legaltags\":[\"unit-test-legal\"],\"otherRelevantDataCountries\":[\"AA\"]},\"data\":{\"X\":16.00},\"meta\":[{\"kind\":\"CRS\",\"persistableReference\":\"reference\",\"unitOfMeasureID\":\"%s\",\"propertyNames\":[\"X\"]}]}";
     private static final String RECORD_4 = "{\"id\":\"unit-test-4\",\"kind\":\"unit:test:1.0.0\",\"acl\":{\"viewers\":[\"viewers@unittest.com\"],\"owners\":[\"owners@unittest.com\"]},\"legal\":{\"legaltags\":[\"unit-test-legal\"],\"otherRelevantDataCountries\":[\"AA\"]},\"data\":{\"msg\":\"testing record 4\",\"X\":16.00,\"Y\":10.00,\"Z\":0},\"meta\":[null]}";
     private static final String CONVERTED_RECORD_1 = "{\"id\":\"unit-test-1\",\"kind\":\"unit:test:1.0.0\",\"acl\":{\"viewers\":[\"viewers@unittest.com\"],\"owners\":[\"owners@unittest.com\"]},\"legal\":{\"legaltags\":[\"unit-test-legal\"],\"otherRelevantDataCountries\":[\"AA\"]},\"data\":{\"msg\":\"testing record 1\",\"X\":15788.036,\"Y\":9567.40,\"Z\":0},\"meta\":[{\"path\":\"\",\"kind\":\"CRS\",\"persistableReference\":\"reference\",\"propertyNames\":[\"X\",\"Y\",\"Z\"],\"name\":\"GCS_WGS_1984\"}]}";
     private static final String CONVERTED_RECORD_3 = "{\"id\":\"unit-test-3\",\"kind\":\"unit:test:1.0.0\",\"acl\":{\"viewers\":[\"viewers@unittest.com\"],\"owners\":[\"owners@unittest.com\"]},\"legal\":{\"legaltags\":[\"unit-test-legal\"],\"otherRelevantDataCountries\":[\"AA\"]},\"data\":{\"msg\":\"testing record 1\",\"X\":15788.036,\"Y\":9567.40,\"Z\":0},\"meta\":[{\"path\":\"\",\"kind\":\"CRS\",\"persistableReference\":\"reference\",\"propertyNames\":[\"X\",\"Y\",\"Z\"],\"name\":\"GCS_WGS_1984\"}]}";
@@ -645,4 +652,36 @@ public class ConversionServiceTest {
         assertEquals(1, result.getRecords().size());
         assertEquals(result.getRecords().get(0), this.jsonParser.parse(COMBINED_ANY_CRS_META_FOR_CONVERTED_RECORD));
     }
+
+    @Test
+    public void should_resolveUnitReferencesOfAllRecordsAtOnce_whenProvidedRecordsWithUnitOfMeasureIds() {
+        this.originalRecords.add(this.jsonParser.parse(String.format(UNIT_RECORD, "1", "opendes:reference-data--UnitOfMeasure:m:")).getAsJsonObject());
+        this.originalRecords.add(this.jsonParser.parse(String.format(UNIT_RECORD, "2", "opendes:reference-data--UnitOfMeasure:ft:")).getAsJsonObject());
+        this.originalRecords.add(this.jsonParser.parse(String.format(UNIT_RECORD, "3", "opendes:reference-data--UnitOfMeasure:m:")).getAsJsonObject());
+
+        List<ConversionStatus> conversionStatuses = new ArrayList<>();
+        for (JsonObject originalRecord : this.originalRecords) {
+            ConversionStatus conversionStatus = new ConversionStatus();
+            conversionStatus.setStatus(ConvertStatus.SUCCESS.toString());
+            conversionStatus.setId(originalRecord.get("id").getAsString());
+            conversionStatuses.add(conversionStatus);
+        }
+        RecordsAndStatuses crsConversionResult = new RecordsAndStatuses();
+        crsConversionResult.setConversionStatuses(conversionStatuses);
+        crsConversionResult.setRecords(new ArrayList<>(this.originalRecords));
+
+        when(this.crsConversionService.doCrsConversion(any(), any())).thenReturn(crsConversionResult);
+        when(this.unitReferenceResolver.resolve(any())).thenReturn(Map.of(
+                "opendes:reference-data--UnitOfMeasure:m", "{\"abcd\":{\"a\":0.0,\"b\":1.0,\"c\":1.0,\"d\":0.0},\"symbol\":\"m\",\"baseMeasurement\":{\"ancestry\":\"L\",\"type\":\"UM\"},\"type\":\"UAD\"}",
+                "opendes:reference-data--UnitOfMeasure:ft", "{\"abcd\":{\"a\":0.0,\"b\":0.3048,\"c\":1.0,\"d\":0.0},\"symbol\":\"ft\",\"baseMeasurement\":{\"ancestry\":\"L\",\"type\":\"UM\"},\"type\":\"UAD\"}"));
+        RecordsAndStatuses result = this.sut.doConversion(this.originalRecords);
+
+        verify(this.unitReferenceResolver, times(1)).resolve(Set.of("opendes:reference-data--UnitOfMeasure:m", "opendes:reference-data--UnitOfMeasure:ft"));
+        assertEquals(3, result.getRecords().size());
+        for (JsonObject record : result.getRecords()) {
+            String persistableReference = record.getAsJsonArray("meta").get(0).getAsJsonObject().get("persistableReference").getAsString();
+            String expectedSymbol = record.get("id").getAsString().equals("unit-test-2") ? "ft" : "m";
+            assertTrue(persistableReference.contains("\"symbol\":\"" + expectedSymbol + "\""));
+        }
+    }
 }
@@ -0,0 +1,238 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.conversion;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opengroup.osdu.core.common.cache.VmCache;
+import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.model.storage.MultiRecordIds;
+import org.opengroup.osdu.core.common.model.storage.MultiRecordInfo;
+import org.opengroup.osdu.core.common.model.storage.Record;
+import org.opengroup.osdu.storage.service.BatchService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UnitReferenceResolverTest {
+
+    private static final String UNIT_PREFIX = "opendes:reference-data--UnitOfMeasure:";
+
+    @Mock
+    private BatchService batchService;
+
+    @Mock
+    private DpsHeaders headers;
+
+    @Mock
+    private JaxRsDpsLog logger;
+
+    @InjectMocks
+    private UnitReferenceResolver sut;
+
+    private final Set<String> catalog = new HashSet<>();
+    private final AtomicInteger batchReads = new AtomicInteger();
+    private final AtomicInteger recordReads = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(this.sut, "cache", new VmCache<String, String>(600, 10000));
+        ReflectionTestUtils.setField(this.sut, "loadedCatalogs", new VmCache<String, Boolean>(600, 10000));
+        ReflectionTestUtils.setField(this.sut, "catalog", new ArrayList<String>());
+        when(this.headers.getPartitionId()).thenReturn("opendes");
+    }
+
+    @Test
+    public void should_fetchMissingUnitsInOneBatch_andServeThemFromCacheAfterwards() {
+        this.useSyntheticCatalog(10);
+
+        Map<String, String> first = this.sut.resolve(List.of(unit(1), unit(2), unit(3)));
+        Map<String, String> second = this.sut.resolve(List.of(unit(1), unit(2), unit(3)));
+
+        assertEquals(3, first.size());
+        assertEquals(persistableReference(2), first.get(unit(2)));
+        assertEquals(first, second);
+        assertEquals(1, this.batchReads.get());
+        assertEquals(3, this.recordReads.get());
+    }
+
+    @Test
+    public void should_readAtMostOneHundredUnitsPerBatch() {
+        this.useSyntheticCatalog(250);
+        List<String> unitIds = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            unitIds.add(unit(i));
+        }
+
+        Map<String, String> persistableReferences = this.sut.resolve(unitIds);
+
+        assertEquals(250, persistableReferences.size());
+        assertEquals(3, this.batchReads.get());
+    }
+
+    @Test
+    public void should_leaveOutUnknownUnits_andUnitsWithoutPersistableReference() {
+        this.useSyntheticCatalog(1);
+        this.catalog.add(UNIT_PREFIX + "no-reference");
+
+        Map<String, String> persistableReferences = this.sut.resolve(List.of(unit(0), UNIT_PREFIX + "no-reference", UNIT_PREFIX + "unknown"));
+
+        assertEquals(Map.of(unit(0), persistableReference(0)), persistableReferences);
+        verify(this.logger, times(1)).warning("Wrong unitOfMeasureID provided: " + UNIT_PREFIX + "unknown");
+        verify(this.logger, times(1)).warning("Unit of measure record " + UNIT_PREFIX + "no-reference has no persistable reference");
+    }
+
+    @Test
+    public void should_returnNoReferences_when_unitRecordsCannotBeRead() {
+        when(this.batchService.getMultipleRecords(any(), any())).thenThrow(new AppException(500, "Server error", "Metadata read failed"));
+
+        Map<String, String> persistableReferences = this.sut.resolve(List.of(unit(1)));
+
+        assertTrue(persistableReferences.isEmpty());
+    }
+
+    @Test
+    public void should_loadConfiguredCatalogOnce_onWarmUp() {
+        this.useSyntheticCatalog(20);
+        this.configureCatalog(20);
+
+        this.sut.warmUp();
+        this.sut.warmUp();
+        Map<String, String> persistableReferences = this.sut.resolve(List.of(unit(5), unit(15)));
+
+        assertEquals(2, persistableReferences.size());
+        assertEquals(1, this.batchReads.get());
+        assertEquals(20, this.recordReads.get());
+    }
+
+    @Test
+    public void should_notLoadConfiguredCatalog_onLookups() {
+        this.useSyntheticCatalog(20);
+        this.configureCatalog(20);
+
+        Map<String, String> persistableReferences = this.sut.resolve(List.of(unit(5)));
+
+        assertEquals(1, persistableReferences.size());
+        assertEquals(1, this.recordReads.get());
+    }
+
+    @Test
+    public void should_retryCatalogLoad_when_previousWarmUpFailed() {
+        this.configureCatalog(20);
+        when(this.batchService.getMultipleRecords(any(), any())).thenThrow(new AppException(500, "Server error", "Metadata read failed"));
+
+        assertThrows(AppException.class, () -> this.sut.warmUp());
+
+        this.useSyntheticCatalog(20);
+        this.sut.warmUp();
+        Map<String, String> persistableReferences = this.sut.resolve(List.of(unit(5), unit(15)));
+
+        assertEquals(2, persistableReferences.size());
+        assertEquals(20, this.recordReads.get());
+    }
+
+    @Test
+    public void should_readEachUnitOnce_underMixedUnitWorkload() {
+        int units = 5000;
+        this.useSyntheticCatalog(units);
+        Random random = new Random(7);
+
+        long start = System.nanoTime();
+        int batches = 500;
+        for (int batch = 0; batch < batches; batch++) {
+            Set<String> unitIds = new HashSet<>();
+            for (int i = 0; i < 40; i++) {
+                unitIds.add(unit(random.nextInt(units)));
+            }
+            assertEquals(unitIds.size(), this.sut.resolve(unitIds).size());
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // every batch needs at most one read, and no unit is read twice while the catalog fits in the cache
+        assertTrue(this.batchReads.get() <= batches, "batch reads " + this.batchReads.get() + " in " + elapsedMillis + "ms");
+        assertTrue(this.recordReads.get() <= units, "record reads " + this.recordReads.get() + " in " + elapsedMillis + "ms");
+    }
+
+    private void configureCatalog(int size) {
+        List<String> configuredCatalog = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            configuredCatalog.add(unit(i));
+        }
+        ReflectionTestUtils.setField(this.sut, "catalog", configuredCatalog);
+    }
+
+    private void useSyntheticCatalog(int size) {
+        for (int i = 0; i < size; i++) {
+            this.catalog.add(unit(i));
+        }
+        doAnswer(invocation -> {
+            MultiRecordIds ids = invocation.getArgument(0);
+            this.batchReads.incrementAndGet();
+            List<Record> records = new ArrayList<>();
+            List<String> invalidRecords = new ArrayList<>();
+            for (String id : ids.getRecords()) {
+                if (!this.catalog.contains(id)) {
+                    invalidRecords.add(id);
+                    continue;
+                }
+                this.recordReads.incrementAndGet();
+                Record record = new Record();
+                record.setId(id);
+                Map<String, Object> data = new HashMap<>();
+                if (id.startsWith(UNIT_PREFIX + "unit-")) {
+                    data.put("PersistableReference", persistableReference(Integer.parseInt(id.substring(id.lastIndexOf('-') + 1))));
+                }
+                record.setData(data);
+                records.add(record);
+            }
+            MultiRecordInfo recordsInfo = new MultiRecordInfo();
+            recordsInfo.setRecords(records);
+            recordsInfo.setInvalidRecords(invalidRecords);
+            recordsInfo.setRetryRecords(new ArrayList<>());
+            return recordsInfo;
+        }).when(this.batchService).getMultipleRecords(any(), any());
+    }
+
+    private static String unit(int index) {
+        return UNIT_PREFIX + "unit-" + index;
+    }
+
+    private static String persistableReference(int index) {
+        return "{\"abcd\":{\"a\":0.0,\"b\":" + (index + 1) + ".0,\"c\":1.0,\"d\":0.0},\"symbol\":\"u" + index + "\",\"type\":\"UAD\"}";
+    }
+}
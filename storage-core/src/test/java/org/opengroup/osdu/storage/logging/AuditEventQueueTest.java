@@ -0,0 +1,221 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.opengroup.osdu.core.common.logging.ILogger;
+import org.opengroup.osdu.core.common.logging.audit.AuditPayload;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.springframework.web.context.request.RequestContextHolder;
+
+public class AuditEventQueueTest {
+
+    private final StorageAuditEvents events = new StorageAuditEvents("user", "127.0.0.1", "agent", "users.datalake.viewers");
+
+    private final ILogger auditLogger = mock(ILogger.class);
+
+    private final ReadAuditLogsConsumer readAuditLogsConsumer = mock(ReadAuditLogsConsumer.class);
+
+    private final DpsHeaders dpsHeaders = mock(DpsHeaders.class);
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    public void should_coalesceResourcesOfSameEvent_andKeepFirstSeenOrder() {
+        AuditEventQueue queue = new AuditEventQueue(config(100, AuditOverflowPolicy.DROP), auditLogger, readAuditLogsConsumer, dpsHeaders, "storage");
+
+        queue.submit(event("read", "r1"));
+        queue.submit(event("write", "w1"));
+        queue.submit(event("read", "r2"));
+        queue.flush();
+
+        List<List<String>> written = writtenResources(2);
+        assertEquals(List.of("r1", "r2"), written.get(0));
+        assertEquals(List.of("w1"), written.get(1));
+    }
+
+    @Test
+    public void should_writeEventsInSubmissionOrder_acrossWindows() throws Exception {
+        AuditEventQueueConfig config = config(1000, AuditOverflowPolicy.BLOCK);
+        config.setWindowMillis(5);
+        AuditEventQueue queue = new AuditEventQueue(config, auditLogger, readAuditLogsConsumer, dpsHeaders, "storage");
+        queue.start();
+
+        List<List<String>> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            queue.submit(event("event-" + i, "resource-" + i));
+            expected.add(List.of("resource-" + i));
+            if (i % 50 == 0) {
+                Thread.sleep(10);
+            }
+        }
+        queue.stop();
+
+        assertEquals(expected, writtenResources(200));
+        assertEquals(200, queue.getEmitted());
+    }
+
+    @Test
+    public void should_countDroppedEvents_when_queueIsFull() {
+        AuditEventQueue queue = new AuditEventQueue(config(2, AuditOverflowPolicy.DROP), auditLogger, readAuditLogsConsumer, dpsHeaders, "storage");
+
+        for (int i = 0; i < 5; i++) {
+            queue.submit(event("event-" + i, "resource-" + i));
+        }
+        queue.flush();
+
+        assertEquals(5, queue.getSubmitted());
+        assertEquals(3, queue.getDropped());
+        assertEquals(2, queue.getEmitted());
+        assertEquals(queue.getSubmitted(), queue.getEmitted() + queue.getDropped());
+        assertEquals(List.of(List.of("resource-0"), List.of("resource-1")), writtenResources(2));
+    }
+
+    @Test
+    public void should_spillOverflowToDisk_andWriteItOnFlush() {
+        AuditEventQueue queue = new AuditEventQueue(config(1, AuditOverflowPolicy.SPILL), auditLogger, readAuditLogsConsumer, dpsHeaders, "storage");
+
+        for (int i = 0; i < 3; i++) {
+            queue.submit(event("event-" + i, "resource-" + i));
+        }
+        assertEquals(2, queue.getSpilled());
+
+        queue.flush();
+
+        assertEquals(0, queue.getDropped());
+        assertEquals(3, queue.getEmitted());
+        assertEquals(List.of(List.of("resource-0"), List.of("resource-1"), List.of("resource-2")), writtenResources(3));
+        assertFalse(Files.exists(spillDirectory.resolve("storage-audit-spill.jsonl")));
+    }
+
+    @Test
+    public void should_notLoseEvents_when_producerBlocksOnFullQueue() {
+        AuditEventQueueConfig config = config(1, AuditOverflowPolicy.BLOCK);
+        config.setWindowMillis(1);
+        AuditEventQueue queue = new AuditEventQueue(config, auditLogger, readAuditLogsConsumer, dpsHeaders, "storage");
+        queue.start();
+
+        for (int i = 0; i < 20; i++) {
+            queue.submit(event("event-" + i, "resource-" + i));
+        }
+        queue.stop();
+
+        assertEquals(20, queue.getEmitted());
+        assertEquals(0, queue.getDropped());
+    }
+
+    @Test
+    public void should_flushQueuedEvents_on_shutdown() {
+        AuditEventQueueConfig config = config(100, AuditOverflowPolicy.DROP);
+        config.setWindowMillis(60000);
+        AuditEventQueue queue = new AuditEventQueue(config, auditLogger, readAuditLogsConsumer, dpsHeaders, "storage");
+        queue.start();
+
+        queue.submit(event("read", "r1"));
+        queue.submit(event("read", "r2"));
+        queue.stop();
+
+        assertEquals(List.of(List.of("r1", "r2")), writtenResources(1));
+    }
+
+    @Test
+    public void should_writeReadEvents_throughReadAuditLogsConsumer_withEventHeaders() {
+        AuditEventQueue queue = new AuditEventQueue(config(100, AuditOverflowPolicy.DROP), auditLogger, readAuditLogsConsumer, dpsHeaders, "storage");
+        doAnswer(invocation -> {
+            assertNotNull(RequestContextHolder.getRequestAttributes());
+            return null;
+        }).when(readAuditLogsConsumer).accept(any());
+
+        queue.submit(event("read", true, "r1"));
+        queue.submit(event("read", true, "r2"));
+        queue.flush();
+
+        ArgumentCaptor<AuditPayload> captor = ArgumentCaptor.forClass(AuditPayload.class);
+        verify(readAuditLogsConsumer).accept(captor.capture());
+        verify(dpsHeaders).put("correlation-id", "read");
+        verify(auditLogger, never()).audit(any(), any(), any());
+        assertNull(RequestContextHolder.getRequestAttributes());
+        assertEquals(1, queue.getEmitted());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> auditLog = (Map<String, Object>) captor.getValue().get("auditLog");
+        assertEquals(List.of("r1", "r2"), auditLog.get("resources"));
+    }
+
+    @Test
+    public void should_replaySpilledReadEvents_throughReadAuditLogsConsumer() {
+        AuditEventQueue queue = new AuditEventQueue(config(1, AuditOverflowPolicy.SPILL), auditLogger, readAuditLogsConsumer, dpsHeaders, "storage");
+
+        queue.submit(event("write", "w1"));
+        queue.submit(event("read", true, "r1"));
+        assertEquals(1, queue.getSpilled());
+
+        queue.flush();
+
+        assertEquals(List.of(List.of("w1")), writtenResources(1));
+        verify(readAuditLogsConsumer).accept(any());
+        verify(dpsHeaders).put("correlation-id", "read");
+    }
+
+    private AuditEventQueueConfig config(int capacity, AuditOverflowPolicy overflowPolicy) {
+        AuditEventQueueConfig config = new AuditEventQueueConfig();
+        config.setEnabled(true);
+        config.setCapacity(capacity);
+        config.setOverflowPolicy(overflowPolicy);
+        config.setSpillDirectory(spillDirectory.toString());
+        return config;
+    }
+
+    private AuditEvent event(String key, String resource) {
+        return event(key, false, resource);
+    }
+
+    private AuditEvent event(String key, boolean read, String resource) {
+        return new AuditEvent(key, Map.of("correlation-id", key), read, Collections.singletonList(resource),
+                events::getReadMultipleRecordsSuccess);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<String>> writtenResources(int expectedPayloads) {
+        ArgumentCaptor<AuditPayload> captor = ArgumentCaptor.forClass(AuditPayload.class);
+        verify(auditLogger, times(expectedPayloads)).audit(eq("storage.audit"), captor.capture(), any());
+        List<List<String>> resources = new ArrayList<>();
+        for (AuditPayload payload : captor.getAllValues()) {
+            Map<String, Object> auditLog = (Map<String, Object>) payload.get("auditLog");
+            resources.add((List<String>) auditLog.get("resources"));
+        }
+        return resources;
+    }
+}
@@ -31,12 +31,17 @@ import org.opengroup.osdu.core.common.model.storage.StorageRole;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -61,6 +66,9 @@ public class AuditLoggerTest {
     @Mock
     private ReadAuditLogsConsumer readAuditLogsConsumer;
 
+    @Mock
+    private AuditEventQueue auditEventQueue;
+
 
     @BeforeEach
     public void setup() {
@@ -233,5 +241,75 @@ public class AuditLoggerTest {
 
         verify(readAuditLogsConsumer).accept(any());
     }
-}
 
+    @Test
+    public void should_writeSynchronously_when_auditQueueDisabled() {
+        List<String> resource = Collections.singletonList("1");
+
+        this.sut.createOrUpdateRecordsSuccess(resource);
+        this.sut.readMultipleRecordsSuccess(resource);
+
+        verify(this.log).audit(any());
+        verify(readAuditLogsConsumer).accept(any());
+        verify(auditEventQueue, never()).submit(any());
+    }
+
+    @Test
+    public void should_submitAuditEvent_when_auditQueueEnabled() {
+        when(auditEventQueue.isEnabled()).thenReturn(true);
+        when(dpsHeaders.getHeaders()).thenReturn(new HashMap<>(Map.of(DpsHeaders.CORRELATION_ID, "correlation-1",
+                DpsHeaders.DATA_PARTITION_ID, "opendes", DpsHeaders.AUTHORIZATION, "Bearer secret-token")));
+        List<String> resource = Arrays.asList("version1", "version2");
+
+        this.sut.purgeRecordVersionsSuccess("recordId1", resource);
+        this.sut.purgeRecordVersionsFail("recordId1", resource);
+
+        ArgumentCaptor<AuditEvent> captor = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditEventQueue, times(2)).submit(captor.capture());
+        verify(this.log, never()).audit(any());
+
+        AuditEvent event = captor.getAllValues().get(0);
+        assertEquals(resource, event.getResources());
+        assertEquals(Map.of(DpsHeaders.CORRELATION_ID, "correlation-1", DpsHeaders.DATA_PARTITION_ID, "opendes"),
+                event.getHeaders());
+        assertFalse(event.getKey().contains("secret-token"));
+        assertFalse(event.isRead());
+        assertNotEquals(event.getKey(), captor.getAllValues().get(1).getKey());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> auditLog = (Map<String, Object>) event.getPayloadFactory().apply(resource).get("auditLog");
+        assertEquals("ST015", auditLog.get("actionId"));
+        assertEquals(AuditStatus.SUCCESS, auditLog.get("status"));
+        assertEquals(resource, auditLog.get("resources"));
+    }
+
+    @Test
+    public void should_useSameKey_forSameEventTypeAndRequest() {
+        when(auditEventQueue.isEnabled()).thenReturn(true);
+        when(dpsHeaders.getHeaders()).thenReturn(new HashMap<>(Map.of(DpsHeaders.CORRELATION_ID, "correlation-1")));
+
+        this.sut.createOrUpdateRecordsSuccess(Collections.singletonList("1"));
+        this.sut.createOrUpdateRecordsSuccess(Collections.singletonList("2"));
+
+        ArgumentCaptor<AuditEvent> captor = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditEventQueue, times(2)).submit(captor.capture());
+        assertEquals(captor.getAllValues().get(0).getKey(), captor.getAllValues().get(1).getKey());
+    }
+
+    @Test
+    public void should_submitReadAuditEvent_onlyWhenReadAuditLogsTurnedOn() {
+        when(auditEventQueue.isEnabled()).thenReturn(true);
+        lenient().when(dpsHeaders.getHeaders()).thenReturn(new HashMap<>());
+        when(readAuditLogsConsumer.isReadAuditLogsTurnedOn()).thenReturn(false, true);
+        List<String> resource = Collections.singletonList("1");
+
+        this.sut.readAllKindsSuccess(resource);
+        verify(auditEventQueue, never()).submit(any());
+
+        this.sut.readAllKindsSuccess(resource);
+        ArgumentCaptor<AuditEvent> captor = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditEventQueue).submit(captor.capture());
+        assertTrue(captor.getValue().isRead());
+        verify(readAuditLogsConsumer, never()).accept(any());
+    }
+}
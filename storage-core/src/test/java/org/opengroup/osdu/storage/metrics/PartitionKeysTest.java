@@ -0,0 +1,58 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class PartitionKeysTest {
+
+    @Test
+    public void should_keepExistingPartitions_upToTheMaximum() {
+        PartitionKeys partitionKeys = new PartitionKeys(Set.of("opendes", "osdu", "m1")::contains, 2);
+
+        assertEquals("opendes", partitionKeys.of("opendes"));
+        assertEquals("osdu", partitionKeys.of("osdu"));
+        assertEquals(PartitionKeys.OTHER, partitionKeys.of("m1"));
+        assertEquals("opendes", partitionKeys.of("opendes"));
+    }
+
+    @Test
+    public void should_mapUnknownAndMalformedPartitions_toOther() {
+        PartitionKeys partitionKeys = new PartitionKeys(partitionId -> !partitionId.startsWith("unknown"), 10);
+
+        assertEquals(PartitionKeys.OTHER, partitionKeys.of("unknown-1"));
+        assertEquals(PartitionKeys.OTHER, partitionKeys.of("../../etc"));
+        assertEquals(PartitionKeys.OTHER, partitionKeys.of(null));
+        assertEquals("opendes", partitionKeys.of("opendes"));
+    }
+
+    @Test
+    public void should_notRememberPartition_when_lookupFails() {
+        boolean[] available = {false};
+        PartitionKeys partitionKeys = new PartitionKeys(partitionId -> {
+            if (!available[0]) {
+                throw new IllegalStateException("partition service unavailable");
+            }
+            return true;
+        }, 10);
+
+        assertEquals(PartitionKeys.OTHER, partitionKeys.of("opendes"));
+        available[0] = true;
+        assertEquals("opendes", partitionKeys.of("opendes"));
+    }
+}
@@ -0,0 +1,187 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.storage.enums.PipelineStage;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class PipelineMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    public void setup() {
+        request = new MockHttpServletRequest();
+        request.addHeader(DpsHeaders.DATA_PARTITION_ID, "opendes");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void should_recordStageTimer_taggedByPartitionOperationAndProvider() {
+        PipelineMetrics metrics = new PipelineMetrics(registry, "azure", false);
+
+        String result = metrics.time(PipelineStage.BLOB_IO, "get-records", () -> "blob");
+
+        assertEquals("blob", result);
+        Timer timer = registry.find(PipelineMetrics.STAGE_TIMER)
+                .tags("stage", "blob-io", "operation", "get-records", "partition", "opendes", "provider", "azure")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void should_tagUnknownPartitions_asOther() {
+        request.removeHeader(DpsHeaders.DATA_PARTITION_ID);
+        request.addHeader(DpsHeaders.DATA_PARTITION_ID, "random-1");
+        PipelineMetrics metrics = new PipelineMetrics(registry, "azure", false, new PartitionKeys("opendes"::equals, 10));
+
+        metrics.time(PipelineStage.BLOB_IO, "get-records", () -> "blob");
+
+        assertNotNull(registry.find(PipelineMetrics.STAGE_TIMER).tags("partition", PartitionKeys.OTHER).timer());
+        assertNull(registry.find(PipelineMetrics.STAGE_TIMER).tags("partition", "random-1").timer());
+    }
+
+    @Test
+    public void should_recordStageTimer_when_workFails() {
+        PipelineMetrics metrics = new PipelineMetrics(registry, "azure", false);
+
+        assertThrows(IllegalStateException.class, () -> metrics.run(PipelineStage.PUBLISH, "persist-records", () -> {
+            throw new IllegalStateException("broker unavailable");
+        }));
+
+        assertEquals(1, registry.get(PipelineMetrics.STAGE_TIMER).tag("stage", "publish").timer().count());
+    }
+
+    @Test
+    public void should_tagUnknownPartition_when_noRequestIsBound() {
+        RequestContextHolder.resetRequestAttributes();
+        PipelineMetrics metrics = new PipelineMetrics(registry, "azure", true);
+
+        metrics.record(PipelineStage.METADATA_WRITE, "persist-records", TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(1, registry.get(PipelineMetrics.STAGE_TIMER).tag("partition", "unknown").timer().count());
+        assertNull(metrics.getServerTiming());
+        assertEquals(-1, metrics.requestPayloadBytes());
+    }
+
+    @Test
+    public void should_recordRecordCountAndPayloadBytes() {
+        PipelineMetrics metrics = new PipelineMetrics(registry, "azure", false);
+
+        metrics.recordBatch("fetch-records", 20, PipelineMetrics.payloadSize(List.of("{\"id\":1}", "{}")));
+        metrics.recordBatch("fetch-records", 5, -1);
+
+        DistributionSummary records = registry.get(PipelineMetrics.RECORDS_SUMMARY).tag("operation", "fetch-records").summary();
+        assertEquals(2, records.count());
+        assertEquals(25, records.totalAmount());
+        DistributionSummary payload = registry.get(PipelineMetrics.PAYLOAD_SUMMARY).tag("operation", "fetch-records").summary();
+        assertEquals(1, payload.count());
+        assertEquals(10, payload.totalAmount());
+    }
+
+    @Test
+    public void should_useRequestContentLength_asPayloadBytes() {
+        request.setContent(new byte[1234]);
+        PipelineMetrics metrics = new PipelineMetrics(registry, "azure", false);
+
+        assertEquals(1234, metrics.requestPayloadBytes());
+    }
+
+    @Test
+    public void should_accumulateServerTimingPerStage_when_enabled() {
+        PipelineMetrics metrics = new PipelineMetrics(registry, "azure", true);
+
+        metrics.record(PipelineStage.VALIDATION, "create-update-records", TimeUnit.MICROSECONDS.toNanos(1500));
+        metrics.record(PipelineStage.BLOB_IO, "persist-records", TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.record(PipelineStage.BLOB_IO, "persist-records", TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertEquals("validation;dur=1.5, blob-io;dur=30.0", metrics.getServerTiming());
+    }
+
+    @Test
+    public void should_notTrackServerTiming_when_disabled() {
+        PipelineMetrics metrics = new PipelineMetrics(registry, "azure", false);
+
+        metrics.record(PipelineStage.VALIDATION, "create-update-records", 1000);
+
+        assertNull(metrics.getServerTiming());
+        assertNull(request.getAttribute(PipelineMetrics.SERVER_TIMING_ATTRIBUTE));
+    }
+
+    @Test
+    public void should_addServerTimingHeader_toResponse() {
+        PipelineMetrics metrics = new PipelineMetrics(registry, "azure", true);
+        metrics.record(PipelineStage.LEGAL, "create-update-records", TimeUnit.MILLISECONDS.toNanos(2));
+        ServerTimingResponseAdvice advice = new ServerTimingResponseAdvice();
+        ReflectionTestUtils.setField(advice, "pipelineMetrics", metrics);
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletServerHttpResponse response = new ServletServerHttpResponse(servletResponse);
+
+        Object body = advice.beforeBodyWrite("body", null, null, null, mock(ServerHttpRequest.class), response);
+        response.flush();
+
+        assertEquals("body", body);
+        assertEquals("legal;dur=2.0", servletResponse.getHeader(ServerTimingResponseAdvice.SERVER_TIMING));
+    }
+
+    @Test
+    public void should_keepTimingOverheadLow() {
+        PipelineMetrics metrics = new PipelineMetrics(registry, "azure", true);
+        int iterations = 200_000;
+        // warm up the meter lookups before measuring
+        for (int i = 0; i < 10_000; i++) {
+            metrics.time(PipelineStage.HASHING, "create-update-records", () -> Boolean.TRUE);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            metrics.time(PipelineStage.HASHING, "create-update-records", () -> Boolean.TRUE);
+        }
+        long averageNanos = (System.nanoTime() - start) / iterations;
+
+        // generous bound so the check holds on loaded build agents; typical cost is around a microsecond
+        assertTrue(averageNanos < TimeUnit.MICROSECONDS.toNanos(50), "average overhead per timed stage: " + averageNanos + "ns");
+    }
+}
@@ -0,0 +1,137 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.provider.inmemory;
+
+import com.google.gson.Gson;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.HttpStatus;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+import org.opengroup.osdu.core.common.model.storage.RecordData;
+import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.opengroup.osdu.core.common.model.storage.RecordProcessing;
+import org.opengroup.osdu.core.common.model.storage.TransferInfo;
+import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
+
+/**
+ * Map backed blob storage keyed by version path for end to end tests.
+ */
+public class InMemoryCloudStorage implements ICloudStorage {
+
+    private final Gson gson = new Gson();
+
+    private final Map<String, String> blobs = new ConcurrentHashMap<>();
+
+    private final AtomicInteger deleteRequests = new AtomicInteger();
+
+    public void put(String versionPath, String content) {
+        this.blobs.put(versionPath, content);
+    }
+
+    public boolean exists(String versionPath) {
+        return this.blobs.containsKey(versionPath);
+    }
+
+    public int size() {
+        return this.blobs.size();
+    }
+
+    public int getDeleteRequests() {
+        return this.deleteRequests.get();
+    }
+
+    @Override
+    public void write(RecordProcessing... recordsProcessing) {
+        for (RecordProcessing processing : recordsProcessing) {
+            RecordMetadata recordMetadata = processing.getRecordMetadata();
+            List<String> versionPaths = recordMetadata.getGcsVersionPaths();
+            this.blobs.put(versionPaths.get(versionPaths.size() - 1), this.gson.toJson(processing.getRecordData()));
+        }
+    }
+
+    @Override
+    public Map<String, String> getHash(Collection<RecordMetadata> records) {
+        Map<String, String> hashes = new HashMap<>();
+        for (RecordMetadata recordMetadata : records) {
+            List<String> versionPaths = recordMetadata.getGcsVersionPaths();
+            String content = this.blobs.get(versionPaths.get(versionPaths.size() - 1));
+            if (content != null) {
+                hashes.put(recordMetadata.getId(), Integer.toHexString(content.hashCode()));
+            }
+        }
+        return hashes;
+    }
+
+    @Override
+    public void delete(RecordMetadata record) {
+        this.deleteRequests.incrementAndGet();
+        record.getGcsVersionPaths().forEach(this.blobs::remove);
+    }
+
+    @Override
+    public void deleteVersion(RecordMetadata record, Long version) {
+        this.deleteRequests.incrementAndGet();
+        record.getGcsVersionPaths().stream()
+                .filter(path -> path.endsWith("/" + version))
+                .forEach(this.blobs::remove);
+    }
+
+    @Override
+    public void deleteVersions(List<String> versionPaths) {
+        this.deleteRequests.incrementAndGet();
+        versionPaths.forEach(this.blobs::remove);
+    }
+
+    @Override
+    public boolean hasAccess(RecordMetadata... records) {
+        return true;
+    }
+
+    @Override
+    public String read(RecordMetadata record, Long version, boolean checkDataInconsistency) {
+        String content = record.getGcsVersionPaths().stream()
+                .filter(path -> path.endsWith("/" + version))
+                .map(this.blobs::get)
+                .findFirst()
+                .orElse(null);
+        if (content == null) {
+            throw new AppException(HttpStatus.SC_NOT_FOUND, "Record not found", "Record version not found");
+        }
+        return content;
+    }
+
+    @Override
+    public Map<String, String> read(Map<String, String> objects, Optional<CollaborationContext> collaborationContext) {
+        Map<String, String> result = new HashMap<>();
+        objects.forEach((id, versionPath) -> {
+            String content = this.blobs.get(versionPath);
+            if (content != null) {
+                result.put(id, content);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public boolean isDuplicateRecord(TransferInfo transfer, Map<String, String> hashMap, Map.Entry<RecordMetadata, RecordData> kv) {
+        return false;
+    }
+}
@@ -0,0 +1,134 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.provider.inmemory;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+import org.opengroup.osdu.core.common.model.legal.LegalCompliance;
+import org.opengroup.osdu.core.common.model.search.SortOrder;
+import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.opengroup.osdu.core.common.model.storage.RecordState;
+import org.opengroup.osdu.storage.model.RecordInfoQueryResult;
+import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
+
+/**
+ * Map backed metadata repository for end to end tests. Cursors are page offsets.
+ */
+public class InMemoryRecordsMetadataRepository implements IRecordsMetadataRepository<String> {
+
+    private final Map<String, RecordMetadata> records = new ConcurrentHashMap<>();
+
+    private final AtomicInteger writeRequests = new AtomicInteger();
+
+    public int getWriteRequests() {
+        return this.writeRequests.get();
+    }
+
+    @Override
+    public List<RecordMetadata> createOrUpdate(List<RecordMetadata> recordsMetadata, Optional<CollaborationContext> collaborationContext) {
+        this.writeRequests.incrementAndGet();
+        recordsMetadata.forEach(recordMetadata -> this.records.put(recordMetadata.getId(), copy(recordMetadata)));
+        return recordsMetadata;
+    }
+
+    @Override
+    public void delete(String id, Optional<CollaborationContext> collaborationContext) {
+        this.records.remove(id);
+    }
+
+    @Override
+    public RecordMetadata get(String id, Optional<CollaborationContext> collaborationContext) {
+        RecordMetadata recordMetadata = this.records.get(id);
+        return recordMetadata == null ? null : copy(recordMetadata);
+    }
+
+    @Override
+    public Map<String, RecordMetadata> get(List<String> ids, Optional<CollaborationContext> collaborationContext) {
+        Map<String, RecordMetadata> result = new HashMap<>();
+        ids.forEach(id -> {
+            RecordMetadata recordMetadata = this.get(id, collaborationContext);
+            if (recordMetadata != null) {
+                result.put(id, recordMetadata);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public AbstractMap.SimpleEntry<String, List<RecordMetadata>> queryByLegalTagName(String legalTagName, int limit, String cursor) {
+        return this.queryByLegalTagName(new String[]{legalTagName}, limit, cursor);
+    }
+
+    @Override
+    public AbstractMap.SimpleEntry<String, List<RecordMetadata>> queryByLegalTagName(String[] legalTagName, int limit, String cursor) {
+        return new AbstractMap.SimpleEntry<>(null, new ArrayList<>());
+    }
+
+    @Override
+    public AbstractMap.SimpleEntry<String, List<RecordMetadata>> queryByLegal(String legalTagName, LegalCompliance status, int limit) {
+        return new AbstractMap.SimpleEntry<>(null, new ArrayList<>());
+    }
+
+    @Override
+    public RecordInfoQueryResult<RecordMetadata> getRecords(String kind, Long modifiedAfterTime, String cursor, int limit,
+                                                           boolean deletedRecords, SortOrder sortOrder,
+                                                           Optional<CollaborationContext> collaborationContext) {
+        return this.query(kind, RecordMetadata::getModifyTime, modifiedAfterTime, cursor, limit, deletedRecords, sortOrder);
+    }
+
+    @Override
+    public RecordInfoQueryResult<RecordMetadata> getRecordsCreatedAfter(String kind, Long createdAfterTime, String cursor, int limit,
+                                                                       boolean deletedRecords, SortOrder sortOrder,
+                                                                       Optional<CollaborationContext> collaborationContext) {
+        return this.query(kind, RecordMetadata::getCreateTime, createdAfterTime, cursor, limit, deletedRecords, sortOrder);
+    }
+
+    private RecordInfoQueryResult<RecordMetadata> query(String kind, ToLongFunction<RecordMetadata> time, Long afterTime,
+                                                        String cursor, int limit, boolean deletedRecords, SortOrder sortOrder) {
+        RecordState state = deletedRecords ? RecordState.deleted : RecordState.active;
+        Comparator<RecordMetadata> order = Comparator.comparingLong(time).thenComparing(RecordMetadata::getId);
+        if (sortOrder == SortOrder.DESC) {
+            order = order.reversed();
+        }
+        List<RecordMetadata> matching = this.records.values().stream()
+                .filter(recordMetadata -> kind.equals(recordMetadata.getKind()))
+                .filter(recordMetadata -> recordMetadata.getStatus() == state)
+                .filter(recordMetadata -> afterTime == null || time.applyAsLong(recordMetadata) >= afterTime)
+                .sorted(order)
+                .toList();
+
+        int offset = cursor == null ? 0 : Integer.parseInt(cursor);
+        int end = Math.min(offset + limit, matching.size());
+        List<RecordMetadata> page = matching.subList(Math.min(offset, end), end).stream()
+                .map(InMemoryRecordsMetadataRepository::copy)
+                .toList();
+        return new RecordInfoQueryResult<>(end < matching.size() ? String.valueOf(end) : null, new ArrayList<>(page));
+    }
+
+    private static RecordMetadata copy(RecordMetadata recordMetadata) {
+        RecordMetadata copy = recordMetadata.toBuilder().build();
+        copy.setGcsVersionPaths(new ArrayList<>(recordMetadata.getGcsVersionPaths()));
+        return copy;
+    }
+}
@@ -1,6 +1,7 @@
 package org.opengroup.osdu.storage.service;
 
 import com.google.common.collect.Sets;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opengroup.osdu.core.common.crs.CrsConverterClientFactory;
 import org.opengroup.osdu.core.common.feature.IFeatureFlag;
@@ -30,8 +32,11 @@ import org.opengroup.osdu.core.common.model.storage.Record;
 import org.opengroup.osdu.core.common.model.storage.RecordAncestry;
 import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
 import org.opengroup.osdu.core.common.model.storage.RecordState;
+import org.opengroup.osdu.storage.cache.HotRecordCache;
+import org.opengroup.osdu.storage.cache.HotRecordCacheConfig;
 import org.opengroup.osdu.storage.conversion.DpsConversionService;
 import org.opengroup.osdu.storage.logging.StorageAuditLogger;
+import org.opengroup.osdu.storage.metrics.PipelineMetrics;
 import org.opengroup.osdu.storage.opa.model.ValidationOutputRecord;
 import org.opengroup.osdu.storage.opa.service.IOPAService;
 import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
@@ -86,6 +91,12 @@ class BatchServiceImplTest {
     @Mock
     private IFeatureFlag featureFlag;
 
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry(), "test", false);
+
+    @Spy
+    private HotRecordCache hotRecordCache = new HotRecordCache(new HotRecordCacheConfig(), new SimpleMeterRegistry());
+
     @InjectMocks
     BatchServiceImpl sut = mock(BatchServiceImpl.class, Mockito.CALLS_REAL_METHODS);
     private static final String ACL_OWNER = "test_acl";
@@ -0,0 +1,224 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+import org.opengroup.osdu.core.common.model.indexer.OperationType;
+import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.opengroup.osdu.core.common.model.storage.RecordState;
+import org.opengroup.osdu.storage.logging.StorageAuditLogger;
+import org.opengroup.osdu.storage.model.ChangeEvent;
+import org.opengroup.osdu.storage.provider.inmemory.InMemoryCloudStorage;
+import org.opengroup.osdu.storage.provider.inmemory.InMemoryRecordsMetadataRepository;
+import org.opengroup.osdu.storage.response.ChangeFeedResponse;
+import org.opengroup.osdu.storage.util.EncodeDecode;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ChangeFeedServiceImplTest {
+
+    private static final String KIND = "opendes:wks:well:1.0.0";
+    private static final long T1 = 1_700_000_000_000L;
+    private static final long T2 = T1 + 1_000L;
+
+    private final InMemoryRecordsMetadataRepository recordRepository = new InMemoryRecordsMetadataRepository();
+    private final InMemoryCloudStorage cloudStorage = new InMemoryCloudStorage();
+    private final DataAuthorizationService dataAuthorizationService = mock(DataAuthorizationService.class);
+    private final StorageAuditLogger auditLogger = mock(StorageAuditLogger.class);
+
+    private ChangeFeedServiceImpl sut;
+
+    @BeforeEach
+    public void setup() {
+        when(this.dataAuthorizationService.hasAccess(any(), eq(OperationType.view))).thenReturn(true);
+        this.sut = new ChangeFeedServiceImpl();
+        ReflectionTestUtils.setField(this.sut, "recordRepository", this.recordRepository);
+        ReflectionTestUtils.setField(this.sut, "cloudStorage", this.cloudStorage);
+        ReflectionTestUtils.setField(this.sut, "dataAuthorizationService", this.dataAuthorizationService);
+        ReflectionTestUtils.setField(this.sut, "encodeDecode", new EncodeDecode());
+        ReflectionTestUtils.setField(this.sut, "auditLogger", this.auditLogger);
+    }
+
+    @Test
+    public void should_deliverEachRecordOnce_when_manyRecordsShareModifyTime() {
+        for (int i = 0; i < 25; i++) {
+            this.saveRecord("opendes:well:" + i, T1, RecordState.active);
+        }
+
+        Set<String> delivered = new HashSet<>();
+        String token = null;
+        int polls = 0;
+        ChangeFeedResponse response;
+        do {
+            response = this.sut.getChanges(KIND, token, 10, false, Optional.empty());
+            response.getEvents().forEach(event -> assertTrue(delivered.add(event.getId()), "duplicate " + event.getId()));
+            token = response.getToken();
+            polls++;
+        } while (response.isHasMore());
+
+        assertEquals(25, delivered.size());
+        assertEquals(3, polls);
+        assertTrue(this.sut.getChanges(KIND, token, 10, false, Optional.empty()).getEvents().isEmpty());
+    }
+
+    @Test
+    public void should_resumeWithLaterChanges_and_mergeDeletions() {
+        this.saveRecord("opendes:well:1", T1, RecordState.active);
+        this.saveRecord("opendes:well:2", T1, RecordState.active);
+        ChangeFeedResponse first = this.sut.getChanges(KIND, null, 10, false, Optional.empty());
+        assertEquals(2, first.getEvents().size());
+        assertFalse(first.isHasMore());
+
+        this.saveRecord("opendes:well:1", T2, RecordState.deleted);
+        this.saveRecord("opendes:well:3", T2, RecordState.active);
+        ChangeFeedResponse second = this.sut.getChanges(KIND, first.getToken(), 10, false, Optional.empty());
+
+        assertEquals(2, second.getEvents().size());
+        ChangeEvent deleted = second.getEvents().get(0);
+        assertEquals("opendes:well:1", deleted.getId());
+        assertEquals(OperationType.delete, deleted.getOp());
+        assertEquals(T2, deleted.getModifyTime());
+        assertEquals(OperationType.update, second.getEvents().get(1).getOp());
+    }
+
+    @Test
+    public void should_deliverCreates_byCreateTime_afterFirstPage() {
+        this.saveRecord("opendes:well:1", T1, RecordState.active);
+        ChangeFeedResponse first = this.sut.getChanges(KIND, null, 10, false, Optional.empty());
+        assertEquals(1, first.getEvents().size());
+
+        this.createRecord("opendes:well:2", T2);
+        ChangeFeedResponse second = this.sut.getChanges(KIND, first.getToken(), 10, false, Optional.empty());
+
+        assertEquals(1, second.getEvents().size());
+        assertEquals("opendes:well:2", second.getEvents().get(0).getId());
+        assertEquals(OperationType.create, second.getEvents().get(0).getOp());
+        assertEquals(T2, second.getEvents().get(0).getModifyTime());
+    }
+
+    @Test
+    public void should_deliverUpdateOnce_when_createdRecordIsModified() {
+        RecordMetadata recordMetadata = this.createRecord("opendes:well:1", T1);
+        ChangeFeedResponse first = this.sut.getChanges(KIND, null, 10, false, Optional.empty());
+        assertEquals(OperationType.create, first.getEvents().get(0).getOp());
+
+        recordMetadata.setModifyTime(T2);
+        this.recordRepository.createOrUpdate(List.of(recordMetadata), Optional.empty());
+        ChangeFeedResponse second = this.sut.getChanges(KIND, first.getToken(), 10, false, Optional.empty());
+
+        assertEquals(1, second.getEvents().size());
+        assertEquals(OperationType.update, second.getEvents().get(0).getOp());
+        assertEquals(T2, second.getEvents().get(0).getModifyTime());
+        assertTrue(this.sut.getChanges(KIND, second.getToken(), 10, false, Optional.empty()).getEvents().isEmpty());
+    }
+
+    @Test
+    public void should_advanceTokenPastRecords_when_userHasNoAccess() {
+        this.saveRecord("opendes:well:1", T1, RecordState.active);
+        this.saveRecord("opendes:well:2", T1, RecordState.active);
+        when(this.dataAuthorizationService.hasAccess(argThat(metadata -> metadata != null && "opendes:well:2".equals(metadata.getId())), eq(OperationType.view))).thenReturn(false);
+
+        ChangeFeedResponse response = this.sut.getChanges(KIND, null, 10, false, Optional.empty());
+
+        assertEquals(1, response.getEvents().size());
+        assertEquals("opendes:well:1", response.getEvents().get(0).getId());
+        assertTrue(this.sut.getChanges(KIND, response.getToken(), 10, false, Optional.empty()).getEvents().isEmpty());
+    }
+
+    @Test
+    public void should_includeRecordData_when_requested() {
+        RecordMetadata recordMetadata = this.saveRecord("opendes:well:1", T1, RecordState.active);
+        this.cloudStorage.put(recordMetadata.getGcsVersionPaths().get(0), "{\"data\":{\"name\":\"well 1\"},\"modifyUser\":\"user\"}");
+
+        ChangeEvent withData = this.sut.getChanges(KIND, null, 10, true, Optional.empty()).getEvents().get(0);
+        ChangeEvent withoutData = this.sut.getChanges(KIND, null, 10, false, Optional.empty()).getEvents().get(0);
+
+        assertEquals("well 1", withData.getData().get("name"));
+        assertNull(withoutData.getData());
+        verify(this.auditLogger).readMultipleRecordsSuccess(List.of("opendes:well:1"));
+    }
+
+    @Test
+    public void should_notAuditDataRead_when_dataIsNotRequested() {
+        this.saveRecord("opendes:well:1", T1, RecordState.active);
+
+        this.sut.getChanges(KIND, null, 10, false, Optional.empty());
+
+        verifyNoInteractions(this.auditLogger);
+    }
+
+    @Test
+    public void should_rejectToken_when_issuedForAnotherKind() {
+        this.saveRecord("opendes:well:1", T1, RecordState.active);
+        String token = this.sut.getChanges(KIND, null, 10, false, Optional.empty()).getToken();
+
+        AppException exception = assertThrows(AppException.class,
+                () -> this.sut.getChanges("opendes:wks:wellbore:1.0.0", token, 10, false, Optional.empty()));
+        assertEquals(400, exception.getError().getCode());
+    }
+
+    @Test
+    public void should_rejectToken_when_issuedForAnotherCollaborationContext() {
+        this.saveRecord("opendes:well:1", T1, RecordState.active);
+        CollaborationContext collaborationContext = CollaborationContext.builder().id(UUID.randomUUID()).application("app").build();
+        String token = this.sut.getChanges(KIND, null, 10, false, Optional.of(collaborationContext)).getToken();
+
+        AppException exception = assertThrows(AppException.class,
+                () -> this.sut.getChanges(KIND, token, 10, false, Optional.empty()));
+        assertEquals(400, exception.getError().getCode());
+    }
+
+    private RecordMetadata createRecord(String id, long createTime) {
+        RecordMetadata recordMetadata = new RecordMetadata();
+        recordMetadata.setId(id);
+        recordMetadata.setKind(KIND);
+        recordMetadata.setStatus(RecordState.active);
+        recordMetadata.setCreateTime(createTime);
+        recordMetadata.setGcsVersionPaths(List.of(KIND + "/" + id + "/" + createTime * 1000));
+        this.recordRepository.createOrUpdate(List.of(recordMetadata), Optional.empty());
+        return recordMetadata;
+    }
+
+    private RecordMetadata saveRecord(String id, long modifyTime, RecordState state) {
+        RecordMetadata recordMetadata = new RecordMetadata();
+        recordMetadata.setId(id);
+        recordMetadata.setKind(KIND);
+        recordMetadata.setStatus(state);
+        recordMetadata.setModifyTime(modifyTime);
+        recordMetadata.setGcsVersionPaths(List.of(KIND + "/" + id + "/" + modifyTime * 1000));
+        this.recordRepository.createOrUpdate(List.of(recordMetadata), Optional.empty());
+        return recordMetadata;
+    }
+}
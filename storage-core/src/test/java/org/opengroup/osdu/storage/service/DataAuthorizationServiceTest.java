@@ -13,6 +13,8 @@ import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.core.common.model.indexer.OperationType;
 import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
 import org.opengroup.osdu.core.common.model.storage.RecordState;
+import org.opengroup.osdu.storage.opa.model.OpaError;
+import org.opengroup.osdu.storage.opa.model.ValidationOutputRecord;
 import org.opengroup.osdu.storage.opa.service.IOPAService;
 import org.opengroup.osdu.storage.policy.service.IPolicyService;
 import org.opengroup.osdu.storage.policy.service.PartitionPolicyStatusService;
@@ -140,6 +142,31 @@ public class DataAuthorizationServiceTest {
         verify(this.entitlementsService, times(0)).hasOwnerAccess(any(), any());
     }
 
+    @Test
+    public void should_keepRecordsWithoutOpaErrors_when_filteringViewerAccess_withOpaEnabled() {
+        when(featureFlag.isFeatureEnabled(OPA_FEATURE_NAME)).thenReturn(true);
+        RecordMetadata allowed = this.getRecordMetadata();
+        RecordMetadata denied = this.getRecordMetadata();
+        denied.setId("id:denied");
+        when(this.opaService.validateUserAccessToRecords(any(), eq(OperationType.view))).thenReturn(Arrays.asList(
+                new ValidationOutputRecord("id:access", Collections.emptyList()),
+                new ValidationOutputRecord("id:denied", Collections.singletonList(new OpaError()))));
+
+        List<RecordMetadata> result = this.sut.filterViewerOrOwnerAccess(Arrays.asList(allowed, denied), OperationType.view);
+
+        assertEquals(Collections.singletonList(allowed), result);
+    }
+
+    @Test
+    public void should_useEntitlements_when_filteringViewerAccess_withOpaDisabled() {
+        when(featureFlag.isFeatureEnabled(OPA_FEATURE_NAME)).thenReturn(false);
+        List<RecordMetadata> records = Collections.singletonList(this.getRecordMetadata());
+        when(this.entitlementsService.hasValidAccess(records, this.headers)).thenReturn(Collections.emptyList());
+
+        assertTrue(this.sut.filterViewerOrOwnerAccess(records, OperationType.view).isEmpty());
+        verify(this.opaService, times(0)).validateUserAccessToRecords(any(), any());
+    }
+
     private RecordMetadata getRecordMetadata() {
         Acl acl = new Acl();
         String[] viewers = new String[]{"viewer1@devint.osdu.com", "viewer2@devint.osdu.com"};
@@ -22,6 +22,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opengroup.osdu.core.common.cache.ICache;
+import org.opengroup.osdu.core.common.cache.VmCache;
 import org.opengroup.osdu.core.common.entitlements.IEntitlementsFactory;
 import org.opengroup.osdu.core.common.entitlements.IEntitlementsService;
 import org.opengroup.osdu.core.common.http.HttpResponse;
@@ -35,8 +36,16 @@ import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
 
 import org.opengroup.osdu.storage.service.IEntitlementsExtensionService.AuthorizationResult;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -642,4 +651,125 @@ public class EntitlementsAndCacheServiceImplTest {
                 () -> this.sut.authorizeWithGroupName(this.headers, "role3"));
         assertEquals(403, exception.getError().getCode());
     }
+
+    @Test
+    public void should_serveRepeatedLookupsFromLocalCache_when_localTierIsEnabled() throws EntitlementsException {
+        InMemoryGroupsCache sharedCache = new InMemoryGroupsCache();
+        ReflectionTestUtils.setField(this.sut, "cache", sharedCache);
+        ReflectionTestUtils.setField(this.sut, "localCache", new VmCache<String, Groups>(30, 100));
+        when(this.entitlementService.getGroups()).thenReturn(groupsOf(MEMBER_EMAIL, "role1"));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(MEMBER_EMAIL, this.sut.authorize(this.headers, "role1"));
+        }
+
+        verify(this.entitlementService, times(1)).getGroups();
+        assertEquals(1, sharedCache.getCalls.get());
+        assertEquals(1, sharedCache.putCalls.get());
+
+        this.sut.invalidateGroups(this.headers);
+        assertEquals(MEMBER_EMAIL, this.sut.authorize(this.headers, "role1"));
+        verify(this.entitlementService, times(2)).getGroups();
+    }
+
+    @Test
+    public void should_keyOnToken_when_principalIsTheSame() throws EntitlementsException {
+        ReflectionTestUtils.setField(this.sut, "cache", new InMemoryGroupsCache());
+        lenient().when(this.entitlementFactory.create(any())).thenReturn(this.entitlementService);
+        when(this.entitlementService.getGroups()).thenReturn(groupsOf(MEMBER_EMAIL, "role1"));
+
+        this.sut.authorize(headersWithToken("user-1", 1), "role1");
+        this.sut.authorize(headersWithToken("user-1", 2), "role1");
+        verify(this.entitlementService, times(2)).getGroups();
+    }
+
+    @Test
+    public void should_collapseConcurrentMisses_intoOneEntitlementsCall() throws Exception {
+        ReflectionTestUtils.setField(this.sut, "cache", new InMemoryGroupsCache());
+        lenient().when(this.entitlementFactory.create(any())).thenReturn(this.entitlementService);
+        AtomicInteger entitlementsCalls = new AtomicInteger();
+        when(this.entitlementService.getGroups()).thenAnswer(invocation -> {
+            entitlementsCalls.incrementAndGet();
+            Thread.sleep(200);
+            return groupsOf(MEMBER_EMAIL, "role1");
+        });
+
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return this.sut.authorize(this.headers, "role1");
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals(MEMBER_EMAIL, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, entitlementsCalls.get());
+    }
+
+    private static Groups groupsOf(String desId, String... roles) {
+        List<GroupInfo> groupsInfo = new ArrayList<>();
+        for (String role : roles) {
+            GroupInfo groupInfo = new GroupInfo();
+            groupInfo.setEmail(role + "@gmail.com");
+            groupInfo.setName(role);
+            groupsInfo.add(groupInfo);
+        }
+        Groups groups = new Groups();
+        groups.setGroups(groupsInfo);
+        groups.setDesId(desId);
+        return groups;
+    }
+
+    private static DpsHeaders headersWithToken(String subject, int tokenNumber) {
+        long expiresInSeconds = 3600;
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload = String.format("{\"iss\":\"https://issuer\",\"sub\":\"%s\",\"exp\":%d,\"jti\":\"%d\"}",
+                subject, System.currentTimeMillis() / 1000 + expiresInSeconds, tokenNumber);
+        String token = encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".signature";
+
+        Map<String, String> tokenHeaders = new HashMap<>(headerMap);
+        tokenHeaders.put(DpsHeaders.AUTHORIZATION, "Bearer " + token);
+        return DpsHeaders.createFromMap(tokenHeaders);
+    }
+
+    // stands in for the Redis groups cache, counting the round trips
+    private static class InMemoryGroupsCache implements ICache<String, Groups> {
+
+        private final Map<String, Groups> values = new ConcurrentHashMap<>();
+        private final AtomicInteger getCalls = new AtomicInteger();
+        private final AtomicInteger putCalls = new AtomicInteger();
+
+        @Override
+        public void put(String key, Groups value) {
+            this.putCalls.incrementAndGet();
+            this.values.put(key, value);
+        }
+
+        @Override
+        public Groups get(String key) {
+            this.getCalls.incrementAndGet();
+            return this.values.get(key);
+        }
+
+        @Override
+        public void delete(String key) {
+            this.values.remove(key);
+        }
+
+        @Override
+        public void clearAll() {
+            this.values.clear();
+        }
+    }
 }
@@ -35,14 +35,20 @@ import org.opengroup.osdu.core.common.model.storage.Record;
 import org.opengroup.osdu.core.common.model.storage.RecordAncestry;
 import org.opengroup.osdu.core.common.model.storage.RecordIdWithVersion;
 import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -93,15 +99,101 @@ public class LegalServiceImplTest {
         when(this.cache.get("tag2")).thenReturn("cache hit");
         when(this.cache.get("tag3")).thenReturn(null);
 
-        when(this.legalService.validate("tag1", "tag2", "tag3")).thenReturn(invalidTags);
+        when(this.legalService.validate("tag3")).thenReturn(invalidTags);
 
         this.sut.validateLegalTags(legaltags);
 
-        verify(this.cache).put("tag1", "Valid LegalTag");
-        verify(this.cache).put("tag2", "Valid LegalTag");
+        verify(this.cache, never()).put("tag1", "Valid LegalTag");
+        verify(this.cache, never()).put("tag2", "Valid LegalTag");
         verify(this.cache).put("tag3", "Valid LegalTag");
     }
 
+    @Test
+    public void should_serveRepeatedLookupsLocally_when_localCacheIsEnabled() throws Exception {
+        enableLocalCaches();
+        when(this.headers.getPartitionId()).thenReturn("dp1");
+        when(this.cache.get("tag1")).thenReturn("Valid LegalTag");
+        when(this.cache.get("tag2")).thenReturn(null);
+
+        InvalidTagsWithReason invalidTags = new InvalidTagsWithReason();
+        invalidTags.setInvalidLegalTags(new InvalidTagWithReason[] {});
+        when(this.legalService.validate("tag2")).thenReturn(invalidTags);
+
+        this.sut.validateLegalTags(Sets.newHashSet("tag1", "tag2"));
+        this.sut.validateLegalTags(Sets.newHashSet("tag1", "tag2"));
+
+        verify(this.cache, times(1)).get("tag1");
+        verify(this.cache, times(1)).get("tag2");
+        verify(this.cache).put("tag2", "Valid LegalTag");
+        verify(this.legalService, times(1)).validate("tag2");
+    }
+
+    @Test
+    public void should_readSharedCacheOnEveryLookup_when_localCacheIsNotEnabled() {
+        when(this.cache.get("tag1")).thenReturn("Valid LegalTag");
+
+        this.sut.validateLegalTags(Sets.newHashSet("tag1"));
+        this.sut.validateLegalTags(Sets.newHashSet("tag1"));
+
+        verify(this.cache, times(2)).get("tag1");
+        verify(this.factory, never()).create(any());
+    }
+
+    @Test
+    public void should_notCallLegalServiceAgain_when_legalTagWasRecentlyInvalid() throws Exception {
+        InvalidTagWithReason invalidTag = new InvalidTagWithReason();
+        invalidTag.setName("tag3");
+        invalidTag.setReason("not found");
+
+        InvalidTagsWithReason invalidTags = new InvalidTagsWithReason();
+        invalidTags.setInvalidLegalTags(new InvalidTagWithReason[] { invalidTag });
+
+        enableLocalCaches();
+        when(this.headers.getPartitionId()).thenReturn("dp1");
+        when(this.legalService.validate("tag3")).thenReturn(invalidTags);
+
+        for (int i = 0; i < 2; i++) {
+            AppException e = assertThrows(AppException.class, () -> this.sut.validateLegalTags(Sets.newHashSet("tag3")));
+            assertEquals(HttpStatus.SC_BAD_REQUEST, e.getError().getCode());
+            assertEquals("Invalid legal tags: tag3", e.getError().getMessage());
+        }
+        verify(this.legalService, times(1)).validate("tag3");
+        verify(this.cache, never()).put(any(), any());
+    }
+
+    @Test
+    public void should_validateTagPartitionsConcurrently_when_manyLegalTagsAreUncached() throws Exception {
+        ExecutorService threadPool = Executors.newFixedThreadPool(4);
+        ReflectionTestUtils.setField(this.sut, "threadPoolFactory", threadPool);
+        when(this.headers.getHeaders()).thenReturn(Map.of(DpsHeaders.DATA_PARTITION_ID, "dp1"));
+        lenient().when(this.factory.create(any(DpsHeaders.class))).thenReturn(this.legalService);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(this.legalService.validate(any(String[].class))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            running.decrementAndGet();
+            InvalidTagsWithReason invalidTags = new InvalidTagsWithReason();
+            invalidTags.setInvalidLegalTags(new InvalidTagWithReason[] {});
+            return invalidTags;
+        });
+
+        Set<String> legaltags = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            legaltags.add("tag" + i);
+        }
+        try {
+            this.sut.validateLegalTags(legaltags);
+        } finally {
+            threadPool.shutdownNow();
+        }
+
+        verify(this.legalService, times(4)).validate(any(String[].class));
+        assertTrue(maxRunning.get() > 1);
+        verify(this.cache, times(100)).put(any(), eq("Valid LegalTag"));
+    }
+
     @Test
     public void should_throwAppExceptionWithBadRequestCode_when_anInvalidLegalTagIsReturnedFromLegalService()
             throws Exception {
@@ -356,4 +448,11 @@ public class LegalServiceImplTest {
         assertTrue(currentRecord.getLegal().getOtherRelevantDataCountries().contains("CL"));
         assertEquals(currentAncestry, currentRecord.getAncestry());
     }
+
+    private void enableLocalCaches() {
+        ReflectionTestUtils.setField(this.sut, "localCacheTtlSeconds", 60);
+        ReflectionTestUtils.setField(this.sut, "invalidCacheTtlSeconds", 30);
+        ReflectionTestUtils.setField(this.sut, "localCacheMaxSize", 1000);
+        ReflectionTestUtils.invokeMethod(this.sut, "setupLocalCaches");
+    }
 }
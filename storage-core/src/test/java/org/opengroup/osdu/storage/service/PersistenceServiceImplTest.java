@@ -16,13 +16,16 @@ package org.opengroup.osdu.storage.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonpatch.JsonPatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opengroup.osdu.core.common.feature.IFeatureFlag;
 import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
@@ -34,15 +37,22 @@ import org.opengroup.osdu.core.common.model.indexer.OperationType;
 import org.opengroup.osdu.core.common.model.storage.Record;
 import org.opengroup.osdu.core.common.model.storage.*;
 import org.opengroup.osdu.core.common.model.tenant.TenantInfo;
+import org.opengroup.osdu.storage.cache.HotRecordCache;
+import org.opengroup.osdu.storage.cache.HotRecordCacheConfig;
+import org.opengroup.osdu.storage.metrics.PipelineMetrics;
 import org.opengroup.osdu.storage.model.RecordChangedV2;
 import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
 import org.opengroup.osdu.storage.provider.interfaces.IMessageBus;
 import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -81,6 +91,12 @@ public class PersistenceServiceImplTest {
     @Mock
     private IFeatureFlag collaborationFeatureFlag;
 
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry(), "test", false);
+
+    @Spy
+    private HotRecordCache hotRecordCache = new HotRecordCache(new HotRecordCacheConfig(), new SimpleMeterRegistry());
+
     @InjectMocks
     private PersistenceServiceImpl sut;
 
@@ -92,6 +108,8 @@ public class PersistenceServiceImplTest {
 
     private final ObjectMapper mapper = new ObjectMapper();
 
+    private ExecutorService commitThreadPool;
+
     @BeforeEach
     public void setup() {
         this.createdRecords = new ArrayList<>();
@@ -101,6 +119,13 @@ public class PersistenceServiceImplTest {
         this.acl.setOwners(new String[]{"owners1", "owners2"});
     }
 
+    @AfterEach
+    public void tearDown() {
+        if (this.commitThreadPool != null) {
+            this.commitThreadPool.shutdownNow();
+        }
+    }
+
     @Test
     @SuppressWarnings({"unchecked", "rawtypes"})
     public void should_persistRecords_when_noExceptionIsThrown() {
@@ -525,6 +550,133 @@ public class PersistenceServiceImplTest {
     }
 
     @SuppressWarnings("unchecked")
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void should_writeMetadataOfChunk_whileBlobsOfLaterChunksAreWritten_when_commitIsChunked() {
+        when(collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)).thenReturn(false);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        this.useChunkedCommit(16, 4);
+        doAnswer(invocation -> {
+            Thread.sleep(50);
+            events.add("blob:" + firstRecordId(invocation.getArguments()));
+            return null;
+        }).when(this.cloudStorage).write(any(RecordProcessing[].class));
+        when(this.recordRepository.createOrUpdate(anyList(), any())).thenAnswer(invocation -> {
+            events.add("metadata:" + ((List<RecordMetadata>) invocation.getArgument(0)).get(0).getId());
+            return new ArrayList<>();
+        });
+
+        TransferBatch batch = this.createBatchTransfer();
+        this.sut.persistRecordBatch(batch, Optional.empty());
+
+        verify(this.cloudStorage, times(3)).write(any(RecordProcessing[].class));
+        ArgumentCaptor<List> datastoreCaptor = ArgumentCaptor.forClass(List.class);
+        verify(this.recordRepository, times(3)).createOrUpdate(datastoreCaptor.capture(), any());
+        datastoreCaptor.getAllValues().forEach(chunk -> assertEquals(16, chunk.size()));
+        assertTrue(events.indexOf("metadata:ID0") < events.indexOf("blob:ID32"), events.toString());
+
+        ArgumentCaptor<PubSubInfo[]> pubsubCaptor = ArgumentCaptor.forClass(PubSubInfo[].class);
+        verify(this.pubSubClient).publishMessage(eq(this.headers), pubsubCaptor.capture());
+        this.assertPubsubInfo(48, pubsubCaptor.getAllValues());
+    }
+
+    @Test
+    public void should_cleanupWholeBatch_afterInFlightMetadataWrites_when_blobWriteFailsMidBatch() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        this.useChunkedCommit(16, 4);
+        doAnswer(invocation -> {
+            if (firstRecordId(invocation.getArguments()).equals("ID16")) {
+                throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error writing blobs", "Simulated blob store failure");
+            }
+            return null;
+        }).when(this.cloudStorage).write(any(RecordProcessing[].class));
+        when(this.recordRepository.createOrUpdate(anyList(), any())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            events.add("metadata");
+            return new ArrayList<>();
+        });
+        doAnswer(invocation -> events.add("cleanup")).when(this.recordRepository).batchDelete(anyList(), any());
+
+        TransferBatch batch = this.createBatchTransfer();
+        AppException exception = assertThrows(AppException.class, () -> this.sut.persistRecordBatch(batch, Optional.empty()));
+
+        assertEquals("Simulated blob store failure", exception.getError().getMessage());
+        assertEquals(List.of("metadata", "cleanup"), events);
+        verify(this.cloudStorage, times(2)).write(any(RecordProcessing[].class));
+        ArgumentCaptor<List<String>> batchDeleteCaptor = ArgumentCaptor.forClass(List.class);
+        verify(this.recordRepository).batchDelete(batchDeleteCaptor.capture(), any());
+        assertEquals(48, batchDeleteCaptor.getValue().size());
+        this.assertSameMetaPassedToCloudStorageDelete(batch);
+        verifyNoInteractions(this.pubSubClient);
+    }
+
+    @Test
+    public void should_awaitInFlightMetadataWrites_when_blobWriteInterruptsThread() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        this.useChunkedCommit(16, 4);
+        doAnswer(invocation -> {
+            if (firstRecordId(invocation.getArguments()).equals("ID16")) {
+                // the OBM storage interrupts the calling thread when a blob write fails
+                Thread.currentThread().interrupt();
+                throw new AppException(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Error writing blobs", "Simulated blob store failure");
+            }
+            return null;
+        }).when(this.cloudStorage).write(any(RecordProcessing[].class));
+        when(this.recordRepository.createOrUpdate(anyList(), any())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            events.add("metadata");
+            return new ArrayList<>();
+        });
+        doAnswer(invocation -> events.add("cleanup")).when(this.recordRepository).batchDelete(anyList(), any());
+
+        TransferBatch batch = this.createBatchTransfer();
+        try {
+            AppException exception = assertThrows(AppException.class, () -> this.sut.persistRecordBatch(batch, Optional.empty()));
+
+            assertEquals("Simulated blob store failure", exception.getError().getMessage());
+            assertEquals(0, exception.getSuppressed().length);
+            assertEquals(List.of("metadata", "cleanup"), events);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void should_cleanupWholeBatch_when_metadataWriteOfChunkFails() {
+        this.useChunkedCommit(16, 4);
+        AtomicInteger metadataWrites = new AtomicInteger();
+        when(this.recordRepository.createOrUpdate(anyList(), any())).thenAnswer(invocation -> {
+            if (metadataWrites.incrementAndGet() == 2) {
+                throw new RuntimeException("Simulated datastore failure");
+            }
+            return new ArrayList<>();
+        });
+
+        TransferBatch batch = this.createBatchTransfer();
+        AppException exception = assertThrows(AppException.class, () -> this.sut.persistRecordBatch(batch, Optional.empty()));
+
+        assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, exception.getError().getCode());
+        verify(this.cloudStorage, times(3)).write(any(RecordProcessing[].class));
+        verify(this.recordRepository, times(3)).createOrUpdate(anyList(), any());
+        verify(this.recordRepository).batchDelete(anyList(), any());
+        this.assertSameMetaPassedToCloudStorageDelete(batch);
+        verifyNoInteractions(this.pubSubClient);
+    }
+
+    private void useChunkedCommit(int chunkSize, int maxConcurrency) {
+        this.commitThreadPool = Executors.newFixedThreadPool(maxConcurrency);
+        ReflectionTestUtils.setField(this.sut, "threadPoolFactory", this.commitThreadPool);
+        ReflectionTestUtils.setField(this.sut, "commitChunkSize", chunkSize);
+        ReflectionTestUtils.setField(this.sut, "commitMaxConcurrency", maxConcurrency);
+    }
+
+    private static String firstRecordId(Object[] writeArguments) {
+        Object first = writeArguments[0];
+        RecordProcessing processing = first instanceof RecordProcessing[] chunk ? chunk[0] : (RecordProcessing) first;
+        return processing.getRecordMetadata().getId();
+    }
+
     private void setupRecordRepository(int batch1Size, int batch2Size, int idStartPoint) {
         List<Record> entities1 = new ArrayList<>();
         List<Record> entities2 = new ArrayList<>();
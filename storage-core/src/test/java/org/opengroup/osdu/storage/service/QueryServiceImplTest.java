@@ -0,0 +1,146 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
+import org.opengroup.osdu.core.common.model.entitlements.Acl;
+import org.opengroup.osdu.core.common.model.legal.Legal;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.indexer.OperationType;
+import org.opengroup.osdu.core.common.model.search.SortOrder;
+import org.opengroup.osdu.core.common.model.storage.Record;
+import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.opengroup.osdu.storage.cache.HotRecordCache;
+import org.opengroup.osdu.storage.metrics.PipelineMetrics;
+import org.opengroup.osdu.storage.model.GetRecordsModel;
+import org.opengroup.osdu.storage.model.RecordInfoQueryResult;
+import org.opengroup.osdu.storage.provider.interfaces.ICloudStorage;
+import org.opengroup.osdu.storage.provider.interfaces.IRecordsMetadataRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryServiceImplTest {
+
+    private static final String KIND = "opendes:wks:well:1.0.0";
+
+    @Mock
+    private IRecordsMetadataRepository recordRepository;
+
+    @Mock
+    private ICloudStorage cloudStorage;
+
+    @Mock
+    private HotRecordCache hotRecordCache;
+
+    @Mock
+    private JaxRsDpsLog logger;
+
+    @Mock
+    private DataAuthorizationService dataAuthorizationService;
+
+    @InjectMocks
+    private QueryServiceImpl sut;
+
+    private final GetRecordsModel recordSearchModel = GetRecordsModel.builder()
+            .kind(KIND)
+            .limit(10)
+            .sortOrder(SortOrder.ASC)
+            .build();
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(this.sut, "pipelineMetrics", new PipelineMetrics(new SimpleMeterRegistry(), "test", false));
+        when(this.recordRepository.getRecords(KIND, null, "cursor-1", 10, false, SortOrder.ASC, Optional.empty()))
+                .thenReturn(new RecordInfoQueryResult<>("cursor-2", List.of(metadata("opendes:well:1"), metadata("opendes:well:2"))));
+        when(this.hotRecordCache.read(anyMap(), any(), any())).thenAnswer(invocation -> {
+            Function<Map<String, String>, Map<String, String>> loader = invocation.getArgument(2);
+            return loader.apply(invocation.getArgument(0));
+        });
+    }
+
+    @Test
+    public void should_failPage_when_recordDataIsNotReadWithinDeadline() {
+        Map<String, String> blobs = new HashMap<>();
+        blobs.put("opendes:well:1", null);
+        when(this.cloudStorage.read(anyMap(), any())).thenReturn(blobs);
+
+        AppException e = assertThrows(AppException.class,
+                () -> this.sut.getRecords(this.recordSearchModel, "cursor-1", Optional.empty()));
+
+        assertEquals(HttpStatus.SC_SERVICE_UNAVAILABLE, e.getError().getCode());
+    }
+
+    @Test
+    public void should_leaveOutRecordsWithoutData_when_noReadMissedTheDeadline() {
+        when(this.cloudStorage.read(anyMap(), any())).thenReturn(new HashMap<>());
+
+        RecordInfoQueryResult<?> result = this.sut.getRecords(this.recordSearchModel, "cursor-1", Optional.empty());
+
+        assertEquals("cursor-2", result.getCursor());
+        assertTrue(result.getResults().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_serveOnlyViewableRecords_when_hotRecordCacheIsEnabled() {
+        when(this.hotRecordCache.isEnabled()).thenReturn(true);
+        when(this.dataAuthorizationService.filterViewerOrOwnerAccess(anyList(), eq(OperationType.view)))
+                .thenAnswer(invocation -> List.of(((List<RecordMetadata>) invocation.getArgument(0)).get(0)));
+        // a cache hit never reaches the provider's viewer filter
+        when(this.hotRecordCache.read(anyMap(), any(), any())).thenAnswer(invocation -> {
+            Map<String, String> blobs = new HashMap<>();
+            ((Map<String, String>) invocation.getArgument(0)).keySet().forEach(id -> blobs.put(id, "{\"data\":{}}"));
+            return blobs;
+        });
+
+        RecordInfoQueryResult<Record> result = this.sut.getRecords(this.recordSearchModel, "cursor-1", Optional.empty());
+
+        assertEquals(1, result.getResults().size());
+        assertEquals("opendes:well:1", result.getResults().get(0).getId());
+    }
+
+    private static RecordMetadata metadata(String id) {
+        RecordMetadata recordMetadata = new RecordMetadata();
+        recordMetadata.setId(id);
+        recordMetadata.setKind(KIND);
+        recordMetadata.setGcsVersionPaths(List.of(KIND + "/" + id + "/1"));
+        recordMetadata.setAcl(new Acl());
+        recordMetadata.setLegal(new Legal());
+        return recordMetadata;
+    }
+}
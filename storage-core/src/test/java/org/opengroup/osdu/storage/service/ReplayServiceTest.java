@@ -20,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.opengroup.osdu.core.common.cache.VmCache;
 import org.opengroup.osdu.core.common.model.http.AppException;
 import org.opengroup.osdu.core.common.model.http.DpsHeaders;
 import org.opengroup.osdu.storage.dto.ReplayData;
@@ -39,7 +40,11 @@ import org.opengroup.osdu.storage.request.ReplayRequest;
 
 import org.opengroup.osdu.storage.response.ReplayResponse;
 import org.opengroup.osdu.storage.response.ReplayStatusResponse;
+import org.opengroup.osdu.storage.service.replay.ReplayPageSizeConfig;
+import org.opengroup.osdu.storage.service.replay.ReplayPageSizeController;
 import org.opengroup.osdu.storage.service.replay.ReplayService;
+import org.opengroup.osdu.storage.service.replay.ReplayThrottle;
+import org.opengroup.osdu.storage.service.replay.ReplayThrottleConfig;
 import org.opengroup.osdu.storage.util.ReplayUtils;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -55,7 +60,9 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -105,6 +112,8 @@ public class ReplayServiceTest {
         resultMap.put("replay", replayMap);
 
         ReflectionTestUtils.setField(replayService, "replayOperationRoutingProperties", resultMap);
+        ReflectionTestUtils.setField(replayService, "pageSizeController", new ReplayPageSizeController(new ReplayPageSizeConfig()));
+        ReflectionTestUtils.setField(replayService, "replayThrottle", new ReplayThrottle(new ReplayThrottleConfig()));
 
         lenient().when(headers.getCorrelationId()).thenReturn(UUID.randomUUID().toString());
         lenient().when(headers.getPartitionId()).thenReturn("dp1");
@@ -430,4 +439,143 @@ public class ReplayServiceTest {
                 ReplayState.FAILED.name().equals(metadata.getState())));
         verify(auditLogger).createReplayRequestFail(anyList());
     }
+
+    @Test
+    public void test_processMessage_updatesReplaySummary_when_kindCompletes() {
+
+        String replayId = UUID.randomUUID().toString();
+        ReplayData body = ReplayData.builder()
+                                    .id(UUID.randomUUID().toString())
+                                    .replayType(ReplayType.REPLAY_KIND.name())
+                                    .replayId(replayId)
+                                    .startAtTimestamp(System.currentTimeMillis())
+                                    .operation("reindex")
+                                    .completionCount(0L)
+                                    .totalCount(2L)
+                                    .kind(KIND)
+                                    .build();
+        ReplayMessage message = ReplayMessage.builder().body(body).build();
+
+        RecordId first = new RecordId();
+        first.setId("opendes:inttest:1");
+        RecordId second = new RecordId();
+        second.setId("opendes:inttest:2");
+        RecordInfoQueryResult<RecordId> page = new RecordInfoQueryResult<>();
+        page.setResults(Arrays.asList(first, second));
+
+        when(queryRepository.getAllRecordIdsFromKind(5000, null, KIND)).thenReturn(page);
+        when(replayRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        this.replayService.processReplayMessage(message);
+
+        verify(replayRepository).incrementReplaySummary(eq(replayId), argThat(increment ->
+                increment.getProcessedRecords() == 2L
+                && increment.getStartedKinds() == 1
+                && increment.getCompletedKinds() == 1
+                && increment.getFailedKinds() == 0));
+        verify(replayRepository, never()).save(argThat(saved -> saved != null && saved.getKind() == null));
+    }
+
+    @Test
+    public void test_processMessage_doesNotCountRedeliveredPage_inReplaySummary() {
+
+        String replayId = UUID.randomUUID().toString();
+        ReplayMessage message = this.getLastPageMessage(replayId);
+        when(replayRepository.getReplayStatusByKindAndReplayId(KIND, replayId)).thenReturn(ReplayMetaDataDTO.builder()
+                .kind(KIND).replayId(replayId).processedRecords(2L).state(ReplayState.COMPLETED.name()).build());
+        when(replayRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        this.replayService.processReplayMessage(message);
+
+        verify(replayRepository, never()).incrementReplaySummary(any(), any());
+    }
+
+    @Test
+    public void test_processMessage_clearsFailedKind_inReplaySummary_when_retrySucceeds() {
+
+        String replayId = UUID.randomUUID().toString();
+        ReplayMessage message = this.getLastPageMessage(replayId);
+        when(replayRepository.getReplayStatusByKindAndReplayId(KIND, replayId)).thenReturn(ReplayMetaDataDTO.builder()
+                .kind(KIND).replayId(replayId).processedRecords(0L).state(ReplayState.FAILED.name()).build());
+        when(replayRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        this.replayService.processReplayMessage(message);
+
+        verify(replayRepository).incrementReplaySummary(eq(replayId), argThat(increment ->
+                increment.getProcessedRecords() == 2L
+                && increment.getStartedKinds() == 0
+                && increment.getCompletedKinds() == 1
+                && increment.getFailedKinds() == -1));
+    }
+
+    @Test
+    public void test_replayGetStatus_returnsCachedSummary_when_detailNotRequested() {
+
+        String replayId = UUID.randomUUID().toString();
+        ReplayMetaDataDTO summary = ReplayMetaDataDTO.builder()
+                                                     .id(replayId)
+                                                     .replayId(replayId)
+                                                     .operation("reindex")
+                                                     .totalRecords(30L)
+                                                     .processedRecords(30L)
+                                                     .totalKinds(3)
+                                                     .startedKinds(3)
+                                                     .completedKinds(3)
+                                                     .failedKinds(0)
+                                                     .state(ReplayState.COMPLETED.name())
+                                                     .build();
+        ReflectionTestUtils.setField(replayService, "statusCache", new VmCache<String, ReplayStatusResponse>(60, 10));
+        when(replayRepository.getReplaySummary(replayId)).thenReturn(summary);
+
+        ReplayStatusResponse response = replayService.getReplayStatus(replayId, false);
+        ReplayStatusResponse cachedResponse = replayService.getReplayStatus(replayId, false);
+
+        assertEquals(ReplayState.COMPLETED.name(), response.getOverallState());
+        assertEquals(30L, response.getProcessedRecords());
+        assertEquals(3, response.getCompletedKinds());
+        assertNull(response.getStatus());
+        assertSame(response, cachedResponse);
+        verify(replayRepository, times(1)).getReplaySummary(replayId);
+        verify(replayRepository, never()).getReplayStatusByReplayId(replayId);
+    }
+
+    @Test
+    public void test_replayGetStatus_aggregatesKinds_when_replayHasNoSummary() {
+
+        String replayId = UUID.randomUUID().toString();
+        ReplayMetaDataDTO kindStatus = ReplayMetaDataDTO.builder()
+                                                        .replayId(replayId)
+                                                        .kind(KIND)
+                                                        .processedRecords(4L)
+                                                        .state(ReplayState.IN_PROGRESS.name())
+                                                        .build();
+        ReflectionTestUtils.setField(replayService, "statusCache", new VmCache<String, ReplayStatusResponse>(60, 10));
+        when(replayRepository.getReplayStatusByReplayId(replayId)).thenReturn(Arrays.asList(kindStatus));
+
+        ReplayStatusResponse response = replayService.getReplayStatus(replayId, false);
+
+        assertEquals(ReplayState.IN_PROGRESS.name(), response.getOverallState());
+        assertEquals(1, response.getStatus().size());
+    }
+
+    private ReplayMessage getLastPageMessage(String replayId) {
+        ReplayData body = ReplayData.builder()
+                                    .id(UUID.randomUUID().toString())
+                                    .replayType(ReplayType.REPLAY_KIND.name())
+                                    .replayId(replayId)
+                                    .startAtTimestamp(System.currentTimeMillis())
+                                    .operation("reindex")
+                                    .completionCount(0L)
+                                    .totalCount(2L)
+                                    .kind(KIND)
+                                    .build();
+        RecordId first = new RecordId();
+        first.setId("opendes:inttest:1");
+        RecordId second = new RecordId();
+        second.setId("opendes:inttest:2");
+        RecordInfoQueryResult<RecordId> page = new RecordInfoQueryResult<>();
+        page.setResults(Arrays.asList(first, second));
+        when(queryRepository.getAllRecordIdsFromKind(5000, null, KIND)).thenReturn(page);
+        return ReplayMessage.builder().body(body).build();
+    }
 }
@@ -22,6 +22,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opengroup.osdu.core.common.cache.ICache;
+import org.opengroup.osdu.core.common.cache.VmCache;
 import org.opengroup.osdu.core.common.feature.IFeatureFlag;
 import org.opengroup.osdu.core.common.model.http.AppException;
 import org.opengroup.osdu.core.common.model.http.DpsHeaders;
@@ -33,11 +34,24 @@ import org.opengroup.osdu.core.common.model.tenant.TenantInfo;
 import org.opengroup.osdu.storage.logging.StorageAuditLogger;
 import org.opengroup.osdu.storage.provider.interfaces.IMessageBus;
 import org.opengroup.osdu.storage.provider.interfaces.ISchemaRepository;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -425,4 +439,140 @@ public class SchemaServiceImplTest {
             fail("Should not get different exception");
         }
     }
+
+    @Test
+    public void should_loadSchemaOnce_when_concurrentRequestsMissTheCache() throws Exception {
+        CountingSchemaRepository repository = this.useLocalCaches();
+        Schema schema = new Schema(KIND, new SchemaItem[0], null);
+        repository.schemas.put(KIND, schema);
+        repository.latencyMillis = 200;
+
+        int requests = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Schema>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return this.sut.getSchema(KIND);
+                }));
+            }
+            start.countDown();
+
+            for (Future<Schema> result : results) {
+                assertSame(schema, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, repository.reads.get());
+    }
+
+    @Test
+    public void should_serveSchemaFromLocalCache_when_alreadyLoaded() {
+        CountingSchemaRepository repository = this.useLocalCaches();
+        Schema schema = new Schema(KIND, new SchemaItem[0], null);
+        repository.schemas.put(KIND, schema);
+
+        this.sut.getSchema(KIND);
+        Schema foundSchema = this.sut.getSchema(KIND);
+
+        assertSame(schema, foundSchema);
+        assertEquals(1, repository.reads.get());
+        verify(this.cacheService, times(1)).get("EUerYg==");
+    }
+
+    @Test
+    public void should_cacheAbsentSchema_when_schemaDoesNotExist() {
+        CountingSchemaRepository repository = this.useLocalCaches();
+
+        for (int i = 0; i < 3; i++) {
+            AppException e = assertThrows(AppException.class, () -> this.sut.getSchema(KIND));
+            assertEquals(HttpStatus.SC_NOT_FOUND, e.getError().getCode());
+        }
+
+        assertEquals(1, repository.reads.get());
+    }
+
+    @Test
+    public void should_evictAbsentSchema_when_schemaIsCreated() {
+        CountingSchemaRepository repository = this.useLocalCaches();
+        assertThrows(AppException.class, () -> this.sut.getSchema(KIND));
+
+        this.sut.createSchema(new Schema(KIND, new SchemaItem[] { new SchemaItem("anyPath", "int", new HashMap<>(), null) }, null));
+
+        assertEquals(KIND, this.sut.getSchema(KIND).getKind());
+        assertEquals(2, repository.reads.get());
+    }
+
+    @Test
+    public void should_evictLocalSchema_when_schemaIsDeleted() {
+        CountingSchemaRepository repository = this.useLocalCaches();
+        repository.schemas.put(KIND, new Schema(KIND, new SchemaItem[0], null));
+        this.sut.getSchema(KIND);
+
+        this.sut.deleteSchema(KIND);
+
+        AppException e = assertThrows(AppException.class, () -> this.sut.getSchema(KIND));
+        assertEquals(HttpStatus.SC_NOT_FOUND, e.getError().getCode());
+    }
+
+    @Test
+    public void should_notCacheLoadedSchema_when_schemaIsDeletedDuringTheLoad() {
+        CountingSchemaRepository repository = this.useLocalCaches();
+        repository.schemas.put(KIND, new Schema(KIND, new SchemaItem[0], null));
+        repository.onNextRead = () -> this.sut.deleteSchema(KIND);
+
+        assertEquals(KIND, this.sut.getSchema(KIND).getKind());
+
+        AppException e = assertThrows(AppException.class, () -> this.sut.getSchema(KIND));
+        assertEquals(HttpStatus.SC_NOT_FOUND, e.getError().getCode());
+    }
+
+    private CountingSchemaRepository useLocalCaches() {
+        CountingSchemaRepository repository = new CountingSchemaRepository();
+        ReflectionTestUtils.setField(this.sut, "schemaRepository", repository);
+        ReflectionTestUtils.setField(this.sut, "localCache", new VmCache<String, Schema>(60, 100));
+        ReflectionTestUtils.setField(this.sut, "absentSchemaCache", new VmCache<String, Boolean>(60, 100));
+        return repository;
+    }
+
+    private static class CountingSchemaRepository implements ISchemaRepository {
+
+        private final Map<String, Schema> schemas = new ConcurrentHashMap<>();
+        private final AtomicInteger reads = new AtomicInteger();
+        private volatile long latencyMillis;
+        // runs once after the next read took its value, e.g. to change the schema while it is being loaded
+        private volatile Runnable onNextRead;
+
+        @Override
+        public void add(Schema schema, String user) {
+            this.schemas.put(schema.getKind(), schema);
+        }
+
+        @Override
+        public Schema get(String kind) {
+            this.reads.incrementAndGet();
+            if (this.latencyMillis > 0) {
+                try {
+                    Thread.sleep(this.latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Schema schema = this.schemas.get(kind);
+            Runnable hook = this.onNextRead;
+            this.onNextRead = null;
+            if (hook != null) {
+                hook.run();
+            }
+            return schema;
+        }
+
+        @Override
+        public void delete(String kind) {
+            this.schemas.remove(kind);
+        }
+    }
 }
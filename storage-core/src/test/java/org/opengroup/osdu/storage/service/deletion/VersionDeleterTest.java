@@ -0,0 +1,157 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.deletion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opengroup.osdu.storage.service.deletion.VersionDeletionResult.Outcome;
+
+public class VersionDeleterTest {
+
+    private static final int MAX_CONCURRENCY = 8;
+    private static final long LATENCY_MS = 20;
+
+    private final ExecutorService threadPool = Executors.newFixedThreadPool(32);
+    private final LatencyBlobStore blobStore = new LatencyBlobStore(LATENCY_MS);
+    private final VersionDeleter sut = new VersionDeleter(this.threadPool, MAX_CONCURRENCY);
+
+    @AfterEach
+    public void tearDown() {
+        this.threadPool.shutdownNow();
+    }
+
+    @Test
+    public void should_reportOutcomePerPath() {
+        this.blobStore.put("kind/id:1/1", "kind/id:1/2", "kind/id:2/1");
+        this.blobStore.failOn("kind/id:2/1");
+
+        Map<String, VersionDeletionResult> results = this.sut.deleteAll(
+                Arrays.asList("kind/id:1/1", "kind/id:1/2", "kind/id:1/3", "kind/id:2/1"), this.blobStore::delete);
+
+        assertEquals(Arrays.asList("kind/id:1/1", "kind/id:1/2", "kind/id:1/3", "kind/id:2/1"), new ArrayList<>(results.keySet()));
+        assertEquals(Outcome.DELETED, results.get("kind/id:1/1").getOutcome());
+        assertEquals(Outcome.DELETED, results.get("kind/id:1/2").getOutcome());
+        assertEquals(Outcome.NOT_FOUND, results.get("kind/id:1/3").getOutcome());
+        assertEquals(Outcome.FAILED, results.get("kind/id:2/1").getOutcome());
+        assertSame(LatencyBlobStore.FAILURE, results.get("kind/id:2/1").getError());
+
+        Map<String, VersionDeletionResult> failures = VersionDeleter.failures(results);
+        assertEquals(Collections.singleton("kind/id:2/1"), failures.keySet());
+        assertEquals(Collections.singleton("kind/id:2/1"), this.blobStore.remaining());
+    }
+
+    @Test
+    public void should_beIdempotent_when_deletingTwice() {
+        this.blobStore.put("kind/id:1/1", "kind/id:1/2");
+        List<String> paths = Arrays.asList("kind/id:1/1", "kind/id:1/2", "kind/id:1/1");
+
+        Map<String, VersionDeletionResult> first = this.sut.deleteAll(paths, this.blobStore::delete);
+        Map<String, VersionDeletionResult> second = this.sut.deleteAll(paths, this.blobStore::delete);
+
+        assertEquals(2, first.size());
+        assertTrue(first.values().stream().allMatch(r -> r.getOutcome() == Outcome.DELETED));
+        assertTrue(second.values().stream().allMatch(r -> r.getOutcome() == Outcome.NOT_FOUND));
+        assertTrue(VersionDeleter.failures(second).isEmpty());
+        // the duplicate path is deleted once per call
+        assertEquals(4, this.blobStore.deleteCalls.get());
+    }
+
+    @Test
+    public void should_boundConcurrency_and_beatSerialDeletes() {
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            paths.add("kind/id:" + i + "/1");
+        }
+        this.blobStore.put(paths.toArray(new String[0]));
+
+        long start = System.nanoTime();
+        Map<String, VersionDeletionResult> results = this.sut.deleteAll(paths, this.blobStore::delete);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(80, results.size());
+        assertTrue(VersionDeleter.failures(results).isEmpty());
+        assertTrue(this.blobStore.remaining().isEmpty());
+        assertTrue(this.blobStore.maxInFlight.get() <= MAX_CONCURRENCY);
+        assertTrue(this.blobStore.maxInFlight.get() > 1);
+        // a serial loop needs 80 * 20ms, eight workers need about a tenth of that
+        assertTrue(elapsedMs < paths.size() * LATENCY_MS / 2, "took " + elapsedMs + "ms");
+    }
+
+    @Test
+    public void should_returnEmptyResult_when_noPaths() {
+        assertTrue(this.sut.deleteAll(Collections.emptyList(), this.blobStore::delete).isEmpty());
+        assertEquals(0, this.blobStore.deleteCalls.get());
+    }
+
+    /**
+     * Blob store stand-in that answers every delete after a fixed latency and tracks how many deletes overlap.
+     */
+    private static class LatencyBlobStore {
+
+        static final RuntimeException FAILURE = new IllegalStateException("injected failure");
+
+        private final long latencyMs;
+        private final Set<String> blobs = ConcurrentHashMap.newKeySet();
+        private final Set<String> failing = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicInteger deleteCalls = new AtomicInteger();
+
+        LatencyBlobStore(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        void put(String... paths) {
+            this.blobs.addAll(Arrays.asList(paths));
+        }
+
+        void failOn(String path) {
+            this.failing.add(path);
+        }
+
+        Set<String> remaining() {
+            return this.blobs;
+        }
+
+        boolean delete(String path) throws InterruptedException {
+            this.deleteCalls.incrementAndGet();
+            this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(this.latencyMs);
+                if (this.failing.contains(path)) {
+                    throw FAILURE;
+                }
+                return this.blobs.remove(path);
+            } finally {
+                this.inFlight.decrementAndGet();
+            }
+        }
+    }
+}
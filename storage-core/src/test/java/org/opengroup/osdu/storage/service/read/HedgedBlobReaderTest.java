@@ -0,0 +1,233 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.service.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class HedgedBlobReaderTest {
+
+    private static final String BACKEND = "fake";
+    private static final String PARTITION = "opendes";
+    private static final long FAST_MS = 5;
+    private static final long SLOW_MS = 1000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FakeBlobStore blobStore = new FakeBlobStore();
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        blobStore.shutdown();
+    }
+
+    @Test
+    public void should_readAllBlobs_andLeaveOutUnreadableOnes() {
+        HedgedBlobReader reader = new HedgedBlobReader(new BlobReadConfig(), registry);
+
+        Map<String, String> blobs = reader.readAll(BACKEND, PARTITION, paths("id1", "id2", "missing"), blobStore::read);
+
+        assertEquals(2, blobs.size());
+        assertEquals("blob-id1", blobs.get("id1"));
+        assertEquals("blob-id2", blobs.get("id2"));
+    }
+
+    @Test
+    public void should_hedgeSlowRead_andReturnFirstAnswer() throws InterruptedException {
+        BlobReadConfig config = hedgingConfig(1.0);
+        HedgedBlobReader reader = new HedgedBlobReader(config, registry);
+        warmUp(reader, config);
+        blobStore.slowOnFirstAttempt("slow");
+
+        long start = System.nanoTime();
+        Map<String, String> blobs = reader.readAll(BACKEND, PARTITION, paths("slow"), blobStore::read);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("blob-slow", blobs.get("slow"));
+        assertTrue(elapsedMs < SLOW_MS / 2, "hedged read took " + elapsedMs + " ms");
+        assertEquals(2, blobStore.attempts("slow"));
+        blobStore.drain();
+        assertEquals(1, registry.get(HedgedBlobReader.HEDGES_METRIC).tag("result", "won").counter().count());
+    }
+
+    @Test
+    public void should_notHedge_beforeEnoughLatenciesAreKnown() {
+        HedgedBlobReader reader = new HedgedBlobReader(hedgingConfig(1.0), registry);
+        blobStore.latencyMs = 50;
+
+        reader.readAll(BACKEND, PARTITION, paths("id1", "id2"), blobStore::read);
+
+        assertEquals(1, blobStore.attempts("id1"));
+        assertEquals(1, blobStore.attempts("id2"));
+    }
+
+    @Test
+    public void should_capHedges_atMaxRate() throws InterruptedException {
+        BlobReadConfig config = hedgingConfig(0.1);
+        HedgedBlobReader reader = new HedgedBlobReader(config, registry);
+        warmUp(reader, config);
+        Map<String, String> paths = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            paths.put("slow" + i, "path/slow" + i);
+            blobStore.slowOnFirstAttempt("slow" + i);
+        }
+
+        Map<String, String> blobs = reader.readAll(BACKEND, PARTITION, paths, blobStore::read);
+
+        // the warm-up and the batch earn 4.5 hedges at a rate of 0.1
+        assertEquals(40, blobs.size());
+        blobStore.drain();
+        assertEquals(4, registry.get(HedgedBlobReader.HEDGES_METRIC).counters().stream()
+                .mapToDouble(Counter::count).sum());
+    }
+
+    @Test
+    public void should_returnNull_forReadsMissingTheDeadline() {
+        BlobReadConfig config = new BlobReadConfig();
+        config.setDeadlineMs(200);
+        HedgedBlobReader reader = new HedgedBlobReader(config, registry);
+        blobStore.slowOnFirstAttempt("slow");
+
+        Map<String, String> blobs = reader.readAll(BACKEND, PARTITION, paths("fast", "slow"), blobStore::read);
+
+        assertEquals(2, blobs.size());
+        assertEquals("blob-fast", blobs.get("fast"));
+        assertTrue(blobs.containsKey("slow"));
+        assertNull(blobs.get("slow"));
+        assertEquals(1, registry.get(HedgedBlobReader.DEADLINE_EXCEEDED_METRIC).counter().count());
+    }
+
+    @Test
+    public void should_shareDeadline_acrossBlobReadsOfRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        BlobReadConfig config = new BlobReadConfig();
+        config.setDeadlineMs(300);
+        HedgedBlobReader reader = new HedgedBlobReader(config, registry);
+        blobStore.latencyMs = 200;
+
+        Map<String, String> first = reader.readAll(BACKEND, PARTITION, paths("id1"), blobStore::read);
+        Map<String, String> second = reader.readAll(BACKEND, PARTITION, paths("id2"), blobStore::read);
+
+        assertEquals("blob-id1", first.get("id1"));
+        assertTrue(second.containsKey("id2"));
+        assertNull(second.get("id2"));
+    }
+
+    @Test
+    public void should_rethrowAppException_fromBlobRead() {
+        HedgedBlobReader reader = new HedgedBlobReader(new BlobReadConfig(), registry);
+        AppException forbidden = new AppException(HttpStatus.SC_FORBIDDEN, "Access denied", "Access denied");
+
+        AppException thrown = assertThrows(AppException.class, () ->
+                reader.readAll(BACKEND, PARTITION, paths("id1"), (id, path) -> CompletableFuture.failedFuture(forbidden)));
+
+        assertEquals(forbidden, thrown);
+    }
+
+    @Test
+    public void should_throwInternalError_when_blobReadFails() {
+        HedgedBlobReader reader = new HedgedBlobReader(new BlobReadConfig(), registry);
+
+        AppException thrown = assertThrows(AppException.class, () ->
+                reader.readAll(BACKEND, PARTITION, paths("id1"), (id, path) -> {
+                    throw new IllegalStateException("connection reset");
+                }));
+
+        assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, thrown.getError().getCode());
+    }
+
+    private BlobReadConfig hedgingConfig(double hedgeMaxRate) {
+        BlobReadConfig config = new BlobReadConfig();
+        config.setHedgingEnabled(true);
+        config.setHedgeMaxRate(hedgeMaxRate);
+        config.setMinLatencySamples(5);
+        config.setHedgeMinDelayMs(20);
+        return config;
+    }
+
+    private void warmUp(HedgedBlobReader reader, BlobReadConfig config) {
+        Map<String, String> paths = new HashMap<>();
+        for (int i = 0; i < config.getMinLatencySamples(); i++) {
+            paths.put("warm" + i, "path/warm" + i);
+        }
+        reader.readAll(BACKEND, PARTITION, paths, blobStore::read);
+    }
+
+    private static Map<String, String> paths(String... ids) {
+        Map<String, String> paths = new HashMap<>();
+        for (String id : ids) {
+            paths.put(id, "path/" + id);
+        }
+        return paths;
+    }
+
+    /**
+     * Serves blobs after an injected latency: blobs marked slow answer late on their first read only, so a hedged
+     * read of the same blob comes back fast.
+     */
+    private static class FakeBlobStore {
+
+        private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        private final Map<String, Boolean> slow = new ConcurrentHashMap<>();
+        private volatile long latencyMs = FAST_MS;
+
+        CompletableFuture<String> read(String id, String path) {
+            int attempt = attempts.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+            long latency = attempt == 1 && slow.containsKey(id) ? SLOW_MS : latencyMs;
+            CompletableFuture<String> blob = new CompletableFuture<>();
+            scheduler.schedule(() -> blob.complete(id.startsWith("missing") ? null : "blob-" + id), latency, TimeUnit.MILLISECONDS);
+            return blob;
+        }
+
+        void slowOnFirstAttempt(String id) {
+            slow.put(id, true);
+        }
+
+        int attempts(String id) {
+            AtomicInteger count = attempts.get(id);
+            return count == null ? 0 : count.get();
+        }
+
+        // waits for the answers already given, so that their callbacks have run, and drops the pending ones
+        void drain() throws InterruptedException {
+            scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            scheduler.shutdown();
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        }
+
+        void shutdown() {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.model.storage.DatastoreQueryResult;
+import org.opengroup.osdu.core.common.model.storage.PubSubInfo;
+import org.opengroup.osdu.storage.dto.ReplayData;
+import org.opengroup.osdu.storage.dto.ReplayMessage;
+import org.opengroup.osdu.storage.enums.ReplayType;
+import org.opengroup.osdu.storage.model.RecordChangedV2;
+import org.opengroup.osdu.storage.model.RecordId;
+import org.opengroup.osdu.storage.model.RecordIdAndKind;
+import org.opengroup.osdu.storage.model.RecordInfoQueryResult;
+import org.opengroup.osdu.storage.provider.interfaces.IMessageBus;
+import org.opengroup.osdu.storage.provider.interfaces.IQueryRepository;
+import org.opengroup.osdu.storage.provider.interfaces.IReplayRepository;
+import org.opengroup.osdu.storage.util.ReplayUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Runs whole replays of one kind through ReplayService against a query repository and a message bus whose
+ * latencies grow with the page size, and checks how the adaptive page size reacts.
+ */
+public class ReplayPageSizeSimulationTest {
+
+    private static final String KIND = "opendes:wks:well:1.0.0";
+    private static final String OPERATION = "reindex";
+
+    @Test
+    public void should_growPageSize_when_pagesAreCheap() {
+        // 3 microseconds per record, a 60 ms page fits about 19000 records
+        LatencyQueryRepository queryRepository = new LatencyQueryRepository(120000, 2, 1);
+        LatencyMessageBus messageBus = new LatencyMessageBus(1, 2);
+        ReplayService replayService = replayService(queryRepository, messageBus, config(100, 50000, 60), 500);
+
+        runReplay(replayService, messageBus);
+
+        List<Integer> pageSizes = queryRepository.pageSizes;
+        assertEquals(500, pageSizes.get(0));
+        assertEquals(1000, pageSizes.get(1));
+        assertTrue(Collections.max(pageSizes) >= 8000, "page sizes " + pageSizes);
+        assertTrue(Collections.max(pageSizes) <= 50000, "page sizes " + pageSizes);
+        assertEquals(120000, messageBus.publishedRecords);
+    }
+
+    @Test
+    public void should_shrinkPageSize_when_publishingIsSlow() {
+        // 50 microseconds per published record, a 60 ms page fits about 1200 records
+        LatencyQueryRepository queryRepository = new LatencyQueryRepository(12000, 1, 1);
+        LatencyMessageBus messageBus = new LatencyMessageBus(1, 50);
+        ReplayService replayService = replayService(queryRepository, messageBus, config(100, 50000, 60), 5000);
+
+        runReplay(replayService, messageBus);
+
+        List<Integer> pageSizes = queryRepository.pageSizes;
+        assertEquals(5000, pageSizes.get(0));
+        for (int pageSize : pageSizes.subList(1, pageSizes.size())) {
+            assertTrue(pageSize <= 2000, "page sizes " + pageSizes);
+        }
+        assertEquals(12000, messageBus.publishedRecords);
+    }
+
+    @Test
+    public void should_backOff_when_consumersAreBehind() {
+        LatencyQueryRepository queryRepository = new LatencyQueryRepository(10000, 1, 1);
+        LatencyMessageBus messageBus = new LatencyMessageBus(1, 1);
+        ReplayPageSizeConfig config = config(500, 50000, 60);
+        ReplayService replayService = replayService(queryRepository, messageBus, config, 4000);
+        ReplayPageSizeController controller = (ReplayPageSizeController) ReflectionTestUtils.getField(replayService, "pageSizeController");
+        ReflectionTestUtils.setField(controller, "lagSignals", List.<IReplayLagSignal>of(operation -> OPERATION.equals(operation)));
+
+        runReplay(replayService, messageBus);
+
+        assertEquals(List.of(4000, 2000, 1000, 500, 500, 500, 500, 500, 500), queryRepository.pageSizes.subList(0, 9));
+        assertEquals(10000, messageBus.publishedRecords);
+    }
+
+    @Test
+    public void should_keepConfiguredPageSize_when_disabled() {
+        LatencyQueryRepository queryRepository = new LatencyQueryRepository(3000, 1, 1);
+        LatencyMessageBus messageBus = new LatencyMessageBus(1, 1);
+        ReplayPageSizeConfig config = config(100, 50000, 60);
+        config.setEnabled(false);
+        ReplayService replayService = replayService(queryRepository, messageBus, config, 1000);
+
+        runReplay(replayService, messageBus);
+
+        assertEquals(List.of(1000, 1000, 1000), queryRepository.pageSizes);
+    }
+
+    private static ReplayPageSizeConfig config(int minPageSize, int maxPageSize, long targetPageMillis) {
+        ReplayPageSizeConfig config = new ReplayPageSizeConfig();
+        config.setEnabled(true);
+        config.setMinPageSize(minPageSize);
+        config.setMaxPageSize(maxPageSize);
+        config.setTargetPageMillis(targetPageMillis);
+        return config;
+    }
+
+    private static ReplayService replayService(IQueryRepository queryRepository, IMessageBus messageBus,
+                                               ReplayPageSizeConfig config, int queryBatchSize) {
+        IReplayRepository replayRepository = mock(IReplayRepository.class);
+        when(replayRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        DpsHeaders headers = mock(DpsHeaders.class);
+        when(headers.getPartitionId()).thenReturn("opendes");
+        when(headers.getCorrelationId()).thenReturn("correlation_kind_0_SEQ_0");
+
+        Map<String, String> routingInfo = new HashMap<>();
+        routingInfo.put("topic", "reindextopic");
+        routingInfo.put("queryBatchSize", String.valueOf(queryBatchSize));
+        routingInfo.put("publisherBatchSize", "50");
+
+        ReplayService replayService = new ReplayService();
+        ReflectionTestUtils.setField(replayService, "replayRepository", replayRepository);
+        ReflectionTestUtils.setField(replayService, "queryRepository", queryRepository);
+        ReflectionTestUtils.setField(replayService, "pubSubClient", messageBus);
+        ReflectionTestUtils.setField(replayService, "headers", headers);
+        ReflectionTestUtils.setField(replayService, "replayOperationRoutingProperties", Map.of(OPERATION, routingInfo));
+        ReflectionTestUtils.setField(replayService, "replayRoutingProperty", Map.of("topic", "replaytopic"));
+        ReflectionTestUtils.setField(replayService, "pageSizeController", new ReplayPageSizeController(config));
+        ReflectionTestUtils.setField(replayService, "replayThrottle", new ReplayThrottle(new ReplayThrottleConfig()));
+        return replayService;
+    }
+
+    private static void runReplay(ReplayService replayService, LatencyMessageBus messageBus) {
+        ReplayData body = ReplayData.builder()
+                                    .id("replay-kind-id")
+                                    .replayId("replay-id")
+                                    .replayType(ReplayType.REPLAY_KIND.name())
+                                    .operation(OPERATION)
+                                    .kind(KIND)
+                                    .completionCount(0L)
+                                    .totalCount(0L)
+                                    .startAtTimestamp(System.currentTimeMillis())
+                                    .build();
+        ReplayMessage message = ReplayMessage.builder()
+                                             .body(body)
+                                             .headers(ReplayUtils.createHeaders("opendes", "correlation_kind_0_SEQ_0"))
+                                             .build();
+        while (message != null) {
+            replayService.processReplayMessage(message);
+            message = messageBus.replayMessages.poll();
+        }
+    }
+
+    private static void sleep(long fixedMillis, long microsPerItem, int items) {
+        try {
+            TimeUnit.MICROSECONDS.sleep(fixedMillis * 1000 + microsPerItem * items);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Serves the record ids of a single kind, the cursor is the offset of the next page.
+     */
+    private static class LatencyQueryRepository implements IQueryRepository {
+
+        private final int totalRecords;
+        private final long fixedMillis;
+        private final long microsPerRecord;
+        final List<Integer> pageSizes = new ArrayList<>();
+
+        LatencyQueryRepository(int totalRecords, long fixedMillis, long microsPerRecord) {
+            this.totalRecords = totalRecords;
+            this.fixedMillis = fixedMillis;
+            this.microsPerRecord = microsPerRecord;
+        }
+
+        @Override
+        public RecordInfoQueryResult<RecordId> getAllRecordIdsFromKind(Integer limit, String cursor, String kind) {
+            this.pageSizes.add(limit);
+            int offset = cursor == null ? 0 : Integer.parseInt(cursor);
+            int end = Math.min(this.totalRecords, offset + limit);
+            sleep(this.fixedMillis, this.microsPerRecord, end - offset);
+
+            List<RecordId> results = new ArrayList<>(end - offset);
+            for (int i = offset; i < end; i++) {
+                RecordId recordId = new RecordId();
+                recordId.setId("opendes:well:" + i);
+                results.add(recordId);
+            }
+            RecordInfoQueryResult<RecordId> result = new RecordInfoQueryResult<>();
+            result.setResults(results);
+            result.setCursor(end < this.totalRecords ? String.valueOf(end) : null);
+            return result;
+        }
+
+        @Override
+        public DatastoreQueryResult getAllKinds(Integer limit, String cursor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DatastoreQueryResult getAllRecordIdsFromKind(String kind, Integer limit, String cursor, Optional<CollaborationContext> collaborationContext) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public RecordInfoQueryResult<RecordIdAndKind> getAllRecordIdAndKind(Integer limit, String cursor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public HashMap<String, Long> getActiveRecordsCount() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, Long> getActiveRecordsCountForKinds(List<String> kinds) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Publishes record change messages with a latency per message and keeps the follow-up replay messages.
+     */
+    private static class LatencyMessageBus implements IMessageBus {
+
+        private final long fixedMillis;
+        private final long microsPerMessage;
+        final LinkedList<ReplayMessage> replayMessages = new LinkedList<>();
+        int publishedRecords;
+
+        LatencyMessageBus(long fixedMillis, long microsPerMessage) {
+            this.fixedMillis = fixedMillis;
+            this.microsPerMessage = microsPerMessage;
+        }
+
+        @Override
+        public void publishMessage(DpsHeaders headers, Map<String, String> routingInfo, PubSubInfo... messages) {
+            sleep(this.fixedMillis, this.microsPerMessage, messages.length);
+            this.publishedRecords += messages.length;
+        }
+
+        @Override
+        public void publishMessage(DpsHeaders headers, Map<String, String> routingInfo, List<?> messageList) {
+            for (Object message : messageList) {
+                this.replayMessages.add((ReplayMessage) message);
+            }
+        }
+
+        @Override
+        public void publishMessage(DpsHeaders headers, PubSubInfo... messages) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void publishMessage(Optional<CollaborationContext> collaborationContext, DpsHeaders headers, RecordChangedV2... messages) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.model.storage.PubSubInfo;
+import org.opengroup.osdu.storage.enums.ReplayPriority;
+import org.opengroup.osdu.storage.model.RecordChangedV2;
+import org.opengroup.osdu.storage.provider.interfaces.IMessageBus;
+
+/**
+ * Publishes replay pages through the throttle into an in-memory message bus and checks the resulting throughput.
+ */
+public class ReplayThrottleTest {
+
+    private static final String PARTITION = "dp1";
+    private static final int PAGE = 100;
+
+    @Test
+    public void should_notWait_when_disabled() {
+        ReplayThrottleConfig config = config(1000, 0.1);
+        config.setEnabled(false);
+        InMemoryMessageBus messageBus = new InMemoryMessageBus();
+
+        long elapsedMillis = publish(new ReplayThrottle(config), messageBus, PARTITION, "replay", 50);
+
+        assertEquals(5000, messageBus.publishedRecords.get());
+        assertTrue(elapsedMillis < 500, "elapsed " + elapsedMillis);
+    }
+
+    @Test
+    public void should_capThroughput_perPartition() {
+        // 500 records burst, then 2000 records per second
+        ReplayThrottleConfig config = config(2000, 0.25);
+        ReplayThrottle throttle = new ReplayThrottle(config);
+        InMemoryMessageBus messageBus = new InMemoryMessageBus();
+
+        long elapsedMillis = publish(throttle, messageBus, PARTITION, "replay", 30);
+
+        assertEquals(3000, messageBus.publishedRecords.get());
+        assertTrue(elapsedMillis >= 1100, "elapsed " + elapsedMillis);
+        ReplayThrottle.ThrottleStats stats = throttle.getStats(PARTITION, ReplayPriority.NORMAL);
+        assertEquals(3000, stats.getGrantedRecords());
+        assertTrue(stats.getThrottledPages() > 0);
+        assertTrue(stats.getWaitMillis() > 0);
+    }
+
+    @Test
+    public void should_exportStats_toMeterRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReplayThrottle throttle = new ReplayThrottle(config(2000, 0.25), registry);
+
+        publish(throttle, new InMemoryMessageBus(), PARTITION, "replay", 10);
+
+        ReplayThrottle.ThrottleStats stats = throttle.getStats(PARTITION, ReplayPriority.NORMAL);
+        assertEquals(1000, registry.get(ReplayThrottle.RECORDS_METRIC).tags("partition", PARTITION, "priority", "normal")
+                .functionCounter().count());
+        assertEquals(stats.getThrottledPages(), registry.get(ReplayThrottle.THROTTLED_PAGES_METRIC).tag("partition", PARTITION)
+                .functionCounter().count());
+        assertEquals(stats.getWaitMillis(), registry.get(ReplayThrottle.WAIT_METRIC).tag("partition", PARTITION)
+                .functionCounter().count());
+    }
+
+    @Test
+    public void should_useOwnRate_forEachPartition() {
+        ReplayThrottleConfig config = config(200, 1.0);
+        config.getPartitions().put("fast", 1000000.0);
+        ReplayThrottle throttle = new ReplayThrottle(config);
+        InMemoryMessageBus messageBus = new InMemoryMessageBus();
+
+        long elapsedMillis = publish(throttle, messageBus, "fast", "replay", 50);
+
+        assertEquals(5000, messageBus.publishedRecords.get());
+        assertTrue(elapsedMillis < 500, "elapsed " + elapsedMillis);
+        assertEquals(0, throttle.getStats("fast", ReplayPriority.NORMAL).getThrottledPages());
+    }
+
+    @Test
+    public void should_serveUrgentReplay_beforeBackgroundReplay() throws Exception {
+        ReplayThrottleConfig config = config(2000, 0.25);
+        config.getOperationPriorities().put("reindex", ReplayPriority.URGENT);
+        config.getOperationPriorities().put("replay", ReplayPriority.BACKGROUND);
+        ReplayThrottle throttle = new ReplayThrottle(config);
+        InMemoryMessageBus messageBus = new InMemoryMessageBus();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            long start = System.nanoTime();
+            CompletableFuture<Long> background = CompletableFuture.supplyAsync(
+                    () -> {
+                        publish(throttle, messageBus, PARTITION, "replay", 20);
+                        return sinceMillis(start);
+                    }, executor);
+            CompletableFuture<Long> urgent = CompletableFuture.supplyAsync(
+                    () -> {
+                        publish(throttle, messageBus, PARTITION, "reindex", 20);
+                        return sinceMillis(start);
+                    }, executor);
+
+            long urgentDoneMillis = urgent.get(30, TimeUnit.SECONDS);
+            long backgroundDoneMillis = background.get(30, TimeUnit.SECONDS);
+
+            assertTrue(urgentDoneMillis < backgroundDoneMillis, "urgent " + urgentDoneMillis + " ms, background " + backgroundDoneMillis + " ms");
+            assertEquals(2000, throttle.getStats(PARTITION, ReplayPriority.URGENT).getGrantedRecords());
+            assertEquals(2000, throttle.getStats(PARTITION, ReplayPriority.BACKGROUND).getGrantedRecords());
+            assertEquals(4000, messageBus.publishedRecords.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ReplayThrottleConfig config(double recordsPerSecond, double burstSeconds) {
+        ReplayThrottleConfig config = new ReplayThrottleConfig();
+        config.setEnabled(true);
+        config.setDefaultRecordsPerSecond(recordsPerSecond);
+        config.setBurstSeconds(burstSeconds);
+        return config;
+    }
+
+    // returns the milliseconds it took to publish all pages
+    private static long publish(ReplayThrottle throttle, IMessageBus messageBus, String partition, String operation, int pages) {
+        DpsHeaders headers = new DpsHeaders();
+        headers.put(DpsHeaders.DATA_PARTITION_ID, partition);
+        long start = System.nanoTime();
+        for (int i = 0; i < pages; i++) {
+            throttle.acquire(partition, operation, PAGE);
+            messageBus.publishMessage(Optional.empty(), headers, new RecordChangedV2[PAGE]);
+        }
+        return sinceMillis(start);
+    }
+
+    private static long sinceMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static class InMemoryMessageBus implements IMessageBus {
+
+        private final AtomicLong publishedRecords = new AtomicLong();
+
+        @Override
+        public void publishMessage(Optional<CollaborationContext> collaborationContext, DpsHeaders headers, RecordChangedV2... messages) {
+            this.publishedRecords.addAndGet(messages.length);
+        }
+
+        @Override
+        public void publishMessage(DpsHeaders headers, PubSubInfo... messages) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void publishMessage(DpsHeaders headers, Map<String, String> routingInfo, List<?> messageList) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void publishMessage(DpsHeaders headers, Map<String, String> routingInfo, PubSubInfo... messages) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
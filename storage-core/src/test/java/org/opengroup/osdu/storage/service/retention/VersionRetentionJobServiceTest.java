@@ -0,0 +1,141 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.retention;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.util.IServiceAccountJwtClient;
+import org.opengroup.osdu.storage.response.VersionRetentionJob;
+import org.opengroup.osdu.storage.response.VersionRetentionReport;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+
+public class VersionRetentionJobServiceTest {
+
+    private static final String PARTITION = "opendes";
+
+    private final VersionRetentionService retentionService = mock(VersionRetentionService.class);
+
+    private final DpsHeaders dpsHeaders = mock(DpsHeaders.class);
+
+    private final IServiceAccountJwtClient serviceAccountJwtClient = mock(IServiceAccountJwtClient.class);
+
+    private VersionRetentionJobService sut;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        ObjectProvider<IServiceAccountJwtClient> serviceAccountJwtClientProvider = mock(ObjectProvider.class);
+        when(serviceAccountJwtClientProvider.getIfAvailable()).thenReturn(this.serviceAccountJwtClient);
+        when(this.serviceAccountJwtClient.getIdToken(PARTITION)).thenReturn("Bearer service-token");
+
+        this.sut = new VersionRetentionJobService();
+        ReflectionTestUtils.setField(this.sut, "retentionService", this.retentionService);
+        ReflectionTestUtils.setField(this.sut, "retentionConfig", new VersionRetentionConfig());
+        ReflectionTestUtils.setField(this.sut, "dpsHeaders", this.dpsHeaders);
+        ReflectionTestUtils.setField(this.sut, "serviceAccountJwtClient", serviceAccountJwtClientProvider);
+        ReflectionTestUtils.setField(this.sut, "clock", Clock.systemUTC());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.sut.shutdown();
+    }
+
+    @Test
+    public void should_pruneInBackground_withServiceHeadersOfThePartition() throws Exception {
+        VersionRetentionReport report = VersionRetentionReport.builder().dataPartitionId(PARTITION).recordsPruned(3).build();
+        when(this.retentionService.pruneConfiguredPolicies(PARTITION, false)).thenAnswer(invocation -> {
+            assertNotNull(RequestContextHolder.getRequestAttributes());
+            return List.of(report);
+        });
+
+        VersionRetentionJob job = this.sut.submit(PARTITION, false, Map.of(DpsHeaders.CORRELATION_ID, "correlation-1"));
+        assertEquals(VersionRetentionJob.Status.QUEUED, job.getStatus());
+
+        VersionRetentionJob finished = this.awaitFinished(job.getJobId());
+        assertEquals(VersionRetentionJob.Status.COMPLETED, finished.getStatus());
+        assertEquals(List.of(report), finished.getReports());
+        assertNotNull(finished.getEndTime());
+        verify(this.dpsHeaders).put(DpsHeaders.DATA_PARTITION_ID, PARTITION);
+        verify(this.dpsHeaders).put(DpsHeaders.CORRELATION_ID, "correlation-1");
+        verify(this.dpsHeaders).put(DpsHeaders.AUTHORIZATION, "Bearer service-token");
+        assertNull(RequestContextHolder.getRequestAttributes());
+    }
+
+    @Test
+    public void should_returnActiveJob_when_partitionIsAlreadyBeingPruned() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(this.retentionService.pruneConfiguredPolicies(PARTITION, true)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        VersionRetentionJob first = this.sut.submit(PARTITION, true, Map.of());
+        VersionRetentionJob second = this.sut.submit(PARTITION, true, Map.of());
+        release.countDown();
+
+        assertEquals(first.getJobId(), second.getJobId());
+        assertEquals(VersionRetentionJob.Status.COMPLETED, this.awaitFinished(first.getJobId()).getStatus());
+    }
+
+    @Test
+    public void should_reportFailedJob_when_pruningFails() throws Exception {
+        when(this.retentionService.pruneConfiguredPolicies(PARTITION, false)).thenThrow(new IllegalStateException("boom"));
+
+        VersionRetentionJob job = this.sut.submit(PARTITION, false, Map.of());
+
+        VersionRetentionJob finished = this.awaitFinished(job.getJobId());
+        assertEquals(VersionRetentionJob.Status.FAILED, finished.getStatus());
+        assertEquals("boom", finished.getError());
+    }
+
+    @Test
+    public void should_notFindJob_ofAnotherPartition() {
+        VersionRetentionJob job = this.sut.submit(PARTITION, true, Map.of());
+
+        AppException exception = assertThrows(AppException.class, () -> this.sut.getJob("tenant1", job.getJobId()));
+        assertEquals(404, exception.getError().getCode());
+    }
+
+    private VersionRetentionJob awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        VersionRetentionJob job = this.sut.getJob(PARTITION, jobId);
+        while (job.isActive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = this.sut.getJob(PARTITION, jobId);
+        }
+        assertFalse(job.isActive(), "job did not finish");
+        return job;
+    }
+}
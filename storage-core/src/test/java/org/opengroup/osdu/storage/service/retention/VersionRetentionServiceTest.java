@@ -0,0 +1,269 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.opengroup.osdu.storage.service.retention;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opengroup.osdu.storage.util.RecordConstants.COLLABORATIONS_FEATURE_NAME;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.opengroup.osdu.core.common.feature.IFeatureFlag;
+import org.opengroup.osdu.core.common.model.http.CollaborationContext;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.model.indexer.DeletionType;
+import org.opengroup.osdu.core.common.model.search.SortOrder;
+import org.opengroup.osdu.core.common.model.storage.DatastoreQueryResult;
+import org.opengroup.osdu.core.common.model.storage.PubSubDeleteInfo;
+import org.opengroup.osdu.core.common.model.storage.PubSubInfo;
+import org.opengroup.osdu.core.common.model.storage.RecordMetadata;
+import org.opengroup.osdu.core.common.model.storage.RecordState;
+import org.opengroup.osdu.storage.logging.StorageAuditLogger;
+import org.opengroup.osdu.storage.model.RecordChangedV2;
+import org.opengroup.osdu.storage.model.RecordChangedV2Delete;
+import org.opengroup.osdu.storage.model.RecordInfoQueryResult;
+import org.opengroup.osdu.storage.provider.inmemory.InMemoryCloudStorage;
+import org.opengroup.osdu.storage.provider.inmemory.InMemoryRecordsMetadataRepository;
+import org.opengroup.osdu.storage.provider.interfaces.IMessageBus;
+import org.opengroup.osdu.storage.provider.interfaces.IQueryRepository;
+import org.opengroup.osdu.storage.response.VersionRetentionReport;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class VersionRetentionServiceTest {
+
+    private static final String PARTITION = "opendes";
+    private static final String KIND = "opendes:wks:well:1.0.0";
+    private static final long NOW = Instant.parse("2026-01-31T00:00:00Z").toEpochMilli();
+    private static final long DAY = Duration.ofDays(1).toMillis();
+    private static final long MODIFY_TIME = NOW - DAY;
+
+    private final InMemoryRecordsMetadataRepository recordRepository = new InMemoryRecordsMetadataRepository();
+    private final InMemoryCloudStorage cloudStorage = new InMemoryCloudStorage();
+    private final IQueryRepository queryRepository = mock(IQueryRepository.class);
+    private final VersionRetentionConfig retentionConfig = new VersionRetentionConfig();
+    private final StorageAuditLogger auditLogger = mock(StorageAuditLogger.class);
+    private final IMessageBus pubSubClient = mock(IMessageBus.class);
+    private final DpsHeaders headers = mock(DpsHeaders.class);
+    private final IFeatureFlag collaborationFeatureFlag = mock(IFeatureFlag.class);
+
+    private VersionRetentionService sut;
+
+    @BeforeEach
+    public void setup() {
+        this.retentionConfig.setPageSize(3);
+        this.retentionConfig.setDeleteBatchSize(4);
+        this.retentionConfig.setMaxVersionDeletesPerSecond(10_000);
+
+        this.sut = this.createService(this.recordRepository);
+    }
+
+    private VersionRetentionService createService(InMemoryRecordsMetadataRepository recordRepository) {
+        VersionRetentionService service = new VersionRetentionService();
+        ReflectionTestUtils.setField(service, "recordRepository", recordRepository);
+        ReflectionTestUtils.setField(service, "cloudStorage", this.cloudStorage);
+        ReflectionTestUtils.setField(service, "queryRepository", this.queryRepository);
+        ReflectionTestUtils.setField(service, "retentionConfig", this.retentionConfig);
+        ReflectionTestUtils.setField(service, "clock", Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+        ReflectionTestUtils.setField(service, "auditLogger", this.auditLogger);
+        ReflectionTestUtils.setField(service, "pubSubClient", this.pubSubClient);
+        ReflectionTestUtils.setField(service, "headers", this.headers);
+        ReflectionTestUtils.setField(service, "collaborationFeatureFlag", this.collaborationFeatureFlag);
+        return service;
+    }
+
+    @Test
+    public void should_keepLatestVersions_when_keepLatestPolicyIsApplied() {
+        for (int i = 0; i < 7; i++) {
+            this.createRecord("opendes:well:" + i, 5);
+        }
+        VersionRetentionPolicy policy = VersionRetentionPolicy.builder().kind(KIND).keepLatest(2).build();
+
+        VersionRetentionReport report = this.sut.prune(policy, PARTITION, false);
+
+        assertEquals(7, report.getRecordsScanned());
+        assertEquals(7, report.getRecordsPruned());
+        assertEquals(21, report.getVersionsPruned());
+        assertTrue(report.getFailedRecordIds().isEmpty());
+        for (int i = 0; i < 7; i++) {
+            RecordMetadata recordMetadata = this.recordRepository.get("opendes:well:" + i, Optional.empty());
+            assertEquals(List.of(versionPath(i, 3), versionPath(i, 4)), recordMetadata.getGcsVersionPaths());
+            // pruning is not a record change, so it does not show up in modifiedAfterTime queries
+            assertEquals(MODIFY_TIME, recordMetadata.getModifyTime());
+            assertFalse(this.cloudStorage.exists(versionPath(i, 0)));
+            assertTrue(this.cloudStorage.exists(versionPath(i, 4)));
+        }
+        assertEquals(14, this.cloudStorage.size());
+    }
+
+    @Test
+    public void should_keepRecentVersions_when_maxAgePolicyIsApplied() {
+        this.createRecord("opendes:well:0", 5);
+        VersionRetentionPolicy policy = VersionRetentionPolicy.builder().kind(KIND).maxAge(Duration.ofDays(4).plusHours(1)).build();
+
+        VersionRetentionReport report = this.sut.prune(policy, PARTITION, false);
+
+        // versions are one day apart, the two older than four days are pruned
+        assertEquals(2, report.getVersionsPruned());
+        RecordMetadata recordMetadata = this.recordRepository.get("opendes:well:0", Optional.empty());
+        assertEquals(List.of(versionPath(0, 2), versionPath(0, 3), versionPath(0, 4)), recordMetadata.getGcsVersionPaths());
+    }
+
+    @Test
+    public void should_auditAndPublishHardDeletes_when_versionsArePruned() {
+        this.createRecord("opendes:well:0", 3);
+        when(this.collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)).thenReturn(true);
+        VersionRetentionPolicy policy = VersionRetentionPolicy.builder().kind(KIND).keepLatest(1).build();
+
+        this.sut.prune(policy, PARTITION, false);
+
+        List<String> pruned = List.of(versionPath(0, 1), versionPath(0, 0));
+        verify(this.auditLogger).purgeRecordVersionsSuccess("opendes:well:0", pruned);
+        ArgumentCaptor<PubSubInfo[]> pubSubCaptor = ArgumentCaptor.forClass(PubSubInfo[].class);
+        verify(this.pubSubClient).publishMessage(eq(this.headers), pubSubCaptor.capture());
+        List<PubSubInfo> deleteInfos = List.of(pubSubCaptor.getValue());
+        assertEquals(2, deleteInfos.size());
+        assertEquals("opendes:well:0/" + versionId(1), deleteInfos.get(0).getId());
+        assertEquals(KIND, deleteInfos.get(0).getKind());
+        assertEquals(DeletionType.hard, ((PubSubDeleteInfo) deleteInfos.get(0)).getDeletionType());
+        ArgumentCaptor<RecordChangedV2[]> recordChangedCaptor = ArgumentCaptor.forClass(RecordChangedV2[].class);
+        verify(this.pubSubClient).publishMessage(eq(Optional.<CollaborationContext>empty()), eq(this.headers), recordChangedCaptor.capture());
+        RecordChangedV2Delete recordChanged = (RecordChangedV2Delete) recordChangedCaptor.getValue()[1];
+        assertEquals(versionId(0), recordChanged.getVersion());
+        assertEquals(DeletionType.hard, recordChanged.getDeletionType());
+    }
+
+    @Test
+    public void should_skipRecord_when_itIsModifiedAfterItsPageWasRead() {
+        InMemoryRecordsMetadataRepository concurrentRepository = new InMemoryRecordsMetadataRepository() {
+            @Override
+            public RecordInfoQueryResult<RecordMetadata> getRecords(String kind, Long modifiedAfterTime, String cursor, int limit,
+                                                                   boolean deletedRecords, SortOrder sortOrder,
+                                                                   Optional<CollaborationContext> collaborationContext) {
+                RecordInfoQueryResult<RecordMetadata> page = super.getRecords(kind, modifiedAfterTime, cursor, limit,
+                        deletedRecords, sortOrder, collaborationContext);
+                // a new version of the first record is written while the page is being pruned
+                RecordMetadata updated = this.get("opendes:well:0", Optional.empty());
+                if (updated.getGcsVersionPaths().size() == 3) {
+                    updated.getGcsVersionPaths().add(KIND + "/opendes:well:0/" + (NOW * 1000));
+                    updated.setModifyTime(NOW + 1);
+                    this.createOrUpdate(List.of(updated), Optional.empty());
+                }
+                return page;
+            }
+        };
+        this.sut = this.createService(concurrentRepository);
+        for (int i = 0; i < 2; i++) {
+            RecordMetadata recordMetadata = this.buildRecord("opendes:well:" + i, 3);
+            concurrentRepository.createOrUpdate(List.of(recordMetadata), Optional.empty());
+        }
+        VersionRetentionPolicy policy = VersionRetentionPolicy.builder().kind(KIND).keepLatest(1).build();
+
+        VersionRetentionReport report = this.sut.prune(policy, PARTITION, false);
+
+        assertEquals(1, report.getRecordsPruned());
+        assertEquals(4, concurrentRepository.get("opendes:well:0", Optional.empty()).getGcsVersionPaths().size());
+        assertTrue(this.cloudStorage.exists(versionPath(0, 0)));
+        assertEquals(List.of(versionPath(1, 2)), concurrentRepository.get("opendes:well:1", Optional.empty()).getGcsVersionPaths());
+        verify(this.auditLogger, never()).purgeRecordVersionsSuccess(eq("opendes:well:0"), anyList());
+    }
+
+    @Test
+    public void should_onlyReport_when_dryRun() {
+        this.createRecord("opendes:well:0", 4);
+        VersionRetentionPolicy policy = VersionRetentionPolicy.builder().kind(KIND).keepLatest(1).build();
+
+        VersionRetentionReport report = this.sut.prune(policy, PARTITION, true);
+
+        assertTrue(report.isDryRun());
+        assertEquals(3, report.getVersionsPruned());
+        assertEquals(List.of(versionPath(0, 2), versionPath(0, 1), versionPath(0, 0)), report.getPrunedVersionPaths());
+        assertEquals(4, this.cloudStorage.size());
+        assertEquals(0, this.cloudStorage.getDeleteRequests());
+        assertEquals(4, this.recordRepository.get("opendes:well:0", Optional.empty()).getGcsVersionPaths().size());
+    }
+
+    @Test
+    public void should_visitAllKinds_when_policyHasNoKind() {
+        this.createRecord("opendes:well:0", 3);
+        DatastoreQueryResult kinds = new DatastoreQueryResult();
+        kinds.setResults(List.of(KIND));
+        when(this.queryRepository.getAllKinds(any(), isNull())).thenReturn(kinds);
+        this.retentionConfig.setPolicies(List.of(VersionRetentionPolicy.builder().dataPartitionId(PARTITION).keepLatest(1).build(),
+                VersionRetentionPolicy.builder().dataPartitionId("other").keepLatest(1).build()));
+
+        List<VersionRetentionReport> reports = this.sut.pruneConfiguredPolicies(PARTITION, false);
+
+        assertEquals(1, reports.size());
+        assertEquals(2, reports.get(0).getVersionsPruned());
+        assertEquals(1, this.cloudStorage.size());
+    }
+
+    @Test
+    public void should_neverPruneLatestVersion() {
+        RecordMetadata recordMetadata = new RecordMetadata();
+        recordMetadata.setGcsVersionPaths(List.of(versionPath(0, 0), versionPath(0, 1)));
+        VersionRetentionPolicy policy = VersionRetentionPolicy.builder().maxAge(Duration.ZERO).build();
+
+        List<String> expired = VersionRetentionService.selectExpiredVersionPaths(recordMetadata, policy, NOW);
+
+        assertEquals(List.of(versionPath(0, 0)), expired);
+    }
+
+    private void createRecord(String id, int versions) {
+        this.recordRepository.createOrUpdate(List.of(this.buildRecord(id, versions)), Optional.empty());
+    }
+
+    private RecordMetadata buildRecord(String id, int versions) {
+        RecordMetadata recordMetadata = new RecordMetadata();
+        recordMetadata.setId(id);
+        recordMetadata.setKind(KIND);
+        recordMetadata.setStatus(RecordState.active);
+        recordMetadata.setModifyTime(MODIFY_TIME);
+        List<String> versionPaths = new ArrayList<>();
+        int index = Integer.parseInt(id.substring(id.lastIndexOf(':') + 1));
+        for (int v = 0; v < versions; v++) {
+            versionPaths.add(versionPath(index, v));
+            this.cloudStorage.put(versionPath(index, v), "{}");
+        }
+        recordMetadata.setGcsVersionPaths(versionPaths);
+        return recordMetadata;
+    }
+
+    // version v of a record with 5 versions is (6 - v) days old, versions are epoch microseconds
+    private static String versionPath(int record, int version) {
+        return KIND + "/opendes:well:" + record + "/" + versionId(version);
+    }
+
+    private static long versionId(int version) {
+        return (NOW - (6 - version) * DAY) * 1000;
+    }
+}
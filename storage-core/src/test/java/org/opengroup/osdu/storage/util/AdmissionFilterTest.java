@@ -0,0 +1,134 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.storage.admission.AdmissionConfig;
+import org.opengroup.osdu.storage.admission.AdmissionController;
+import org.opengroup.osdu.storage.admission.ApiClass;
+import org.opengroup.osdu.storage.exception.TooManyRequestsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AdmissionFilterTest {
+
+    private static final String CONTEXT_PATH = "/api/storage/v2";
+    private static final String DATA_PARTITION = "opendes";
+
+    @Mock
+    private DpsHeaders dpsHeaders;
+    @Mock
+    private HttpServletRequest httpServletRequest;
+    @Mock
+    private HttpServletResponse httpServletResponse;
+    @Mock
+    private FilterChain filterChain;
+    @InjectMocks
+    private AdmissionFilter admissionFilter;
+
+    private AdmissionController admissionController;
+
+    @BeforeEach
+    public void setup() {
+        AdmissionConfig config = new AdmissionConfig();
+        config.setEnabled(true);
+        config.getDefaults().put(ApiClass.WRITE.getConfigName(), new AdmissionConfig.Limits(1, 0, 0, 0));
+        admissionController = new AdmissionController(config, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(admissionFilter, "admissionController", admissionController);
+        ReflectionTestUtils.setField(admissionFilter, "excludedPaths", Arrays.asList("info", "swagger", "health", "api-docs"));
+        lenient().when(dpsHeaders.getPartitionId()).thenReturn(DATA_PARTITION);
+        lenient().when(httpServletRequest.getContextPath()).thenReturn(CONTEXT_PATH);
+    }
+
+    @Test
+    public void shouldReleaseSlot_whenRequestIsDone() throws IOException, ServletException {
+        request("PUT", "/records");
+
+        admissionFilter.doFilter(httpServletRequest, httpServletResponse, filterChain);
+        admissionFilter.doFilter(httpServletRequest, httpServletResponse, filterChain);
+
+        verify(filterChain, times(2)).doFilter(httpServletRequest, httpServletResponse);
+    }
+
+    @Test
+    public void shouldRejectWithRetryAfter_whenPartitionIsOverItsLimit() throws IOException, ServletException {
+        request("PUT", "/records");
+        admissionController.admit(DATA_PARTITION, ApiClass.WRITE);
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> admissionFilter.doFilter(httpServletRequest, httpServletResponse, filterChain));
+
+        assertEquals(429, e.getError().getCode());
+        verify(httpServletResponse).setHeader(TooManyRequestsException.RETRY_AFTER_HEADER, "1");
+        verify(filterChain, never()).doFilter(httpServletRequest, httpServletResponse);
+    }
+
+    @Test
+    public void shouldSkipAdmission_forExcludedPaths() throws IOException, ServletException {
+        request("GET", "/health");
+        admissionController.admit(DATA_PARTITION, ApiClass.WRITE);
+
+        admissionFilter.doFilter(httpServletRequest, httpServletResponse, filterChain);
+
+        verify(filterChain).doFilter(httpServletRequest, httpServletResponse);
+    }
+
+    @Test
+    public void shouldClassifyRequests_byMethodAndPath() {
+        request("GET", "/records/opendes:well:1");
+        assertEquals(ApiClass.READ, ApiClass.of(httpServletRequest));
+        request("POST", "/query/records:batch");
+        assertEquals(ApiClass.READ, ApiClass.of(httpServletRequest));
+        request("PUT", "/records");
+        assertEquals(ApiClass.WRITE, ApiClass.of(httpServletRequest));
+        request("POST", "/replay");
+        assertEquals(ApiClass.REPLAY, ApiClass.of(httpServletRequest));
+    }
+
+    @Test
+    public void shouldClassifyRequests_byFirstPathSegmentOnly() {
+        request("PUT", "/records/opendes:replay:1");
+        assertEquals(ApiClass.WRITE, ApiClass.of(httpServletRequest));
+        request("POST", "/records/opendes:query/1:delete");
+        assertEquals(ApiClass.WRITE, ApiClass.of(httpServletRequest));
+        request("PUT", "/replay-records");
+        assertEquals(ApiClass.WRITE, ApiClass.of(httpServletRequest));
+    }
+
+    private void request(String method, String path) {
+        lenient().when(httpServletRequest.getMethod()).thenReturn(method);
+        when(httpServletRequest.getRequestURI()).thenReturn(CONTEXT_PATH + path);
+    }
+}
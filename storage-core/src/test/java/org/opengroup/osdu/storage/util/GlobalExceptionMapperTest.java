@@ -31,6 +31,7 @@ import org.opengroup.osdu.core.common.exception.NotFoundException;
 import org.opengroup.osdu.core.common.logging.JaxRsDpsLog;
 import org.opengroup.osdu.core.common.model.http.AppError;
 import org.opengroup.osdu.core.common.model.http.AppException;
+import org.opengroup.osdu.storage.exception.TooManyRequestsException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
@@ -65,6 +66,17 @@ public class GlobalExceptionMapperTest {
 		verify(this.logger).warning("any message", exception);
 	}
 
+	@Test
+	public void should_returnRetryAfterHeader_when_tooManyRequestsExceptionIsCaptured() {
+		TooManyRequestsException exception = new TooManyRequestsException("Too many concurrent write calls", 3);
+
+		ResponseEntity response = this.sut.handleTooManyRequestsException(exception);
+
+		assertEquals(HttpStatus.SC_TOO_MANY_REQUESTS, response.getStatusCodeValue());
+		assertEquals("3", response.getHeaders().getFirst(TooManyRequestsException.RETRY_AFTER_HEADER));
+		assertEquals(exception.getError(), response.getBody());
+	}
+
 	@Test
 	public void should_returnBadRequest_when_NotSupportedExceptionIsCaptured() {
 		ValidationException diException = new ValidationException("my bad");
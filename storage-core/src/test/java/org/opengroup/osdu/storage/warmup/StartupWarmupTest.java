@@ -0,0 +1,317 @@
+// Copyright © Schlumberger
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package org.opengroup.osdu.storage.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opengroup.osdu.storage.util.RecordConstants.COLLABORATIONS_FEATURE_NAME;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opengroup.osdu.core.common.feature.IFeatureFlag;
+import org.opengroup.osdu.core.common.http.HttpClient;
+import org.opengroup.osdu.core.common.http.HttpRequest;
+import org.opengroup.osdu.core.common.http.HttpResponse;
+import org.opengroup.osdu.core.common.legal.ILegalService;
+import org.opengroup.osdu.core.common.model.http.DpsHeaders;
+import org.opengroup.osdu.core.common.util.IServiceAccountJwtClient;
+import org.opengroup.osdu.storage.conversion.UnitReferenceResolver;
+import org.opengroup.osdu.storage.service.IEntitlementsExtensionService;
+import org.opengroup.osdu.storage.service.SchemaService;
+import org.opengroup.osdu.storage.util.CollaborationFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+public class StartupWarmupTest {
+
+    private static final String PARTITION = "tenant1";
+    private static final String TOKEN = "Bearer service-token";
+    private static final String COLLABORATION_ID = "5d6a3b1e-8c2f-4e7a-9b0d-1f4c6e8a2b3d";
+
+    @Mock
+    private HttpClient httpClient;
+
+    @Mock
+    private HttpResponse httpResponse;
+
+    @Mock
+    private IServiceAccountJwtClient serviceAccountJwtClient;
+
+    @Mock
+    private ObjectProvider<IServiceAccountJwtClient> serviceAccountJwtClientProvider;
+
+    @Mock
+    private IEntitlementsExtensionService entitlementsService;
+
+    @Mock
+    private ILegalService legalService;
+
+    @Mock
+    private SchemaService schemaService;
+
+    @Mock
+    private UnitReferenceResolver unitReferenceResolver;
+
+    @Mock
+    private DpsHeaders dpsHeaders;
+
+    @Mock
+    private IFeatureFlag collaborationFeatureFlag;
+
+    private WarmupConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private StartupWarmup sut;
+
+    @BeforeEach
+    public void setup() {
+        this.config = new WarmupConfig();
+        this.config.setEnabled(true);
+        this.config.setPartitions(List.of(PARTITION));
+        this.config.setCycles(2);
+        this.config.setRecordsPerCycle(2);
+        this.config.setCollaborationId(COLLABORATION_ID);
+        this.config.setAclViewers("data.default.viewers@%s.example.com");
+        this.config.setAclOwners("data.default.owners@%s.example.com");
+        this.config.setLegalTag("%s-storage-warmup");
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("local.server.port", "8181")
+                .withProperty("server.servlet.contextPath", "/api/storage/v2/");
+
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.sut = new StartupWarmup(this.config, this.serviceAccountJwtClientProvider, environment, this.meterRegistry);
+        this.sut.setHttpClient(this.httpClient);
+        ReflectionTestUtils.setField(this.sut, "entitlementsService", this.entitlementsService);
+        ReflectionTestUtils.setField(this.sut, "legalService", this.legalService);
+        ReflectionTestUtils.setField(this.sut, "schemaService", this.schemaService);
+        ReflectionTestUtils.setField(this.sut, "unitReferenceResolver", this.unitReferenceResolver);
+        ReflectionTestUtils.setField(this.sut, "dpsHeaders", this.dpsHeaders);
+        ReflectionTestUtils.setField(this.sut, "collaborationFeatureFlag", this.collaborationFeatureFlag);
+
+        lenient().when(this.serviceAccountJwtClientProvider.getIfAvailable()).thenReturn(this.serviceAccountJwtClient);
+        lenient().when(this.serviceAccountJwtClient.getIdToken(PARTITION)).thenReturn(TOKEN);
+        lenient().when(this.httpClient.send(any())).thenReturn(this.httpResponse);
+        lenient().when(this.httpResponse.isSuccessCode()).thenReturn(true);
+        lenient().when(this.collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)).thenReturn(true);
+    }
+
+    @Test
+    public void should_doNothing_when_disabled() {
+        this.config.setEnabled(false);
+
+        this.sut.run(null);
+
+        verify(this.httpClient, never()).send(any());
+        verify(this.entitlementsService, never()).getGroups(any());
+        assertNull(this.meterRegistry.find(StartupWarmup.METRIC_NAME).timer());
+    }
+
+    @Test
+    public void should_warmCachesAndClientsDirectly_withoutWritingRecords() {
+        this.config.setCycles(0);
+        doAnswer(invocation -> {
+            assertNotNull(RequestContextHolder.getRequestAttributes());
+            return null;
+        }).when(this.unitReferenceResolver).warmUp();
+
+        this.sut.run(null);
+
+        verify(this.entitlementsService).getGroups(argThat(headers ->
+                PARTITION.equals(headers.getPartitionId()) && TOKEN.equals(headers.getAuthorization())));
+        verify(this.dpsHeaders).put(DpsHeaders.AUTHORIZATION, TOKEN);
+        verify(this.dpsHeaders).put(DpsHeaders.DATA_PARTITION_ID, PARTITION);
+        verify(this.legalService).validateOtherRelevantDataCountries(Set.of("US"));
+        verify(this.legalService).validateLegalTags(Set.of("tenant1-storage-warmup"));
+        verify(this.schemaService).getSchema("tenant1:storage-warmup:WarmupRecord:1.0.0");
+        verify(this.unitReferenceResolver).warmUp();
+        verify(this.httpClient, never()).send(any());
+        assertEquals(1, this.meterRegistry.get(StartupWarmup.STEP_METRIC_NAME)
+                .tags("partition", PARTITION, "step", StartupWarmup.STEP_UNITS, "outcome", "success").timer().count());
+        assertNull(RequestContextHolder.getRequestAttributes());
+    }
+
+    @Test
+    public void should_continueWithOtherSteps_when_directStepFails() {
+        this.config.setCycles(0);
+        when(this.entitlementsService.getGroups(any())).thenThrow(new IllegalStateException("entitlements unavailable"));
+
+        this.sut.run(null);
+
+        verify(this.unitReferenceResolver).warmUp();
+        assertEquals(1, this.meterRegistry.get(StartupWarmup.STEP_METRIC_NAME)
+                .tags("partition", PARTITION, "step", StartupWarmup.STEP_ENTITLEMENTS, "outcome", "failure").timer().count());
+        assertEquals(1, this.meterRegistry.get(StartupWarmup.METRIC_NAME).tag("outcome", StartupWarmup.OUTCOME_COMPLETED).timer().count());
+    }
+
+    @Test
+    public void should_skipCycles_when_collaborationsAreDisabled() {
+        when(this.collaborationFeatureFlag.isFeatureEnabled(COLLABORATIONS_FEATURE_NAME)).thenReturn(false);
+
+        this.sut.run(null);
+
+        verify(this.httpClient, never()).send(any());
+        verify(this.unitReferenceResolver).warmUp();
+    }
+
+    @Test
+    public void should_skipCycles_when_noCollaborationIdIsConfigured() {
+        this.config.setCollaborationId("");
+
+        this.sut.run(null);
+
+        verify(this.httpClient, never()).send(any());
+        verify(this.unitReferenceResolver).warmUp();
+    }
+
+    @Test
+    public void should_ingestReadAndPurgeSyntheticRecords_inCollaborationNamespace() {
+        this.sut.run(null);
+
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(this.httpClient, times(8)).send(captor.capture());
+        List<HttpRequest> requests = captor.getAllValues();
+
+        String base = "http://localhost:8181/api/storage/v2/";
+        String firstId = JsonParser.parseString(requests.get(0).getBody()).getAsJsonArray()
+                .get(0).getAsJsonObject().get("id").getAsString();
+        assertTrue(firstId.startsWith(PARTITION + ":storage-warmup:"));
+
+        assertEquals("PUT", requests.get(0).getHttpMethod());
+        assertEquals(base + "records", requests.get(0).getUrl());
+        assertEquals("POST", requests.get(1).getHttpMethod());
+        assertEquals(base + "query/records:batch", requests.get(1).getUrl());
+        assertEquals(this.config.getFrameOfReference(), requests.get(1).getHeaders().get("frame-of-reference"));
+        assertEquals("GET", requests.get(2).getHttpMethod());
+        assertEquals(base + "records/" + firstId, requests.get(2).getUrl());
+        assertEquals("PUT", requests.get(3).getHttpMethod());
+        assertEquals("DELETE", requests.get(6).getHttpMethod());
+        assertEquals("DELETE", requests.get(7).getHttpMethod());
+        assertEquals(base + "records/" + firstId, requests.get(6).getUrl());
+
+        for (HttpRequest request : requests) {
+            assertEquals(TOKEN, request.getHeaders().get(DpsHeaders.AUTHORIZATION));
+            assertEquals(PARTITION, request.getHeaders().get(DpsHeaders.DATA_PARTITION_ID));
+            assertEquals("id=" + COLLABORATION_ID + ",application=storage-warmup",
+                    request.getHeaders().get(CollaborationFilter.X_COLLABORATION_HEADER_NAME));
+        }
+        assertEquals(1, this.meterRegistry.get(StartupWarmup.METRIC_NAME).tag("outcome", StartupWarmup.OUTCOME_COMPLETED).timer().count());
+        assertEquals(2, this.meterRegistry.get(StartupWarmup.STEP_METRIC_NAME)
+                .tags("partition", PARTITION, "step", StartupWarmup.STEP_PURGE, "outcome", "success").timer().count());
+        assertNull(RequestContextHolder.getRequestAttributes());
+    }
+
+    @Test
+    public void should_buildRecordsFromPartitionTemplates() {
+        this.config.setCycles(1);
+        this.config.setUnitOfMeasureId("%s:reference-data--UnitOfMeasure:m:");
+
+        this.sut.run(null);
+
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(this.httpClient, times(5)).send(captor.capture());
+        JsonArray records = JsonParser.parseString(captor.getAllValues().get(0).getBody()).getAsJsonArray();
+        assertEquals(2, records.size());
+
+        JsonObject record = records.get(0).getAsJsonObject();
+        assertEquals("tenant1:storage-warmup:WarmupRecord:1.0.0", record.get("kind").getAsString());
+        assertEquals("data.default.viewers@tenant1.example.com", record.getAsJsonObject("acl").getAsJsonArray("viewers").get(0).getAsString());
+        assertEquals("data.default.owners@tenant1.example.com", record.getAsJsonObject("acl").getAsJsonArray("owners").get(0).getAsString());
+        assertEquals("tenant1-storage-warmup", record.getAsJsonObject("legal").getAsJsonArray("legaltags").get(0).getAsString());
+        assertEquals("tenant1:reference-data--UnitOfMeasure:m:",
+                record.getAsJsonArray("meta").get(0).getAsJsonObject().get("unitOfMeasureID").getAsString());
+    }
+
+    @Test
+    public void should_purgeIngestedRecords_when_laterCycleFails() {
+        when(this.httpResponse.isSuccessCode()).thenReturn(true, true, true, false, true, true);
+
+        this.sut.run(null);
+
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(this.httpClient, times(6)).send(captor.capture());
+        assertEquals("DELETE", captor.getAllValues().get(4).getHttpMethod());
+        assertEquals("DELETE", captor.getAllValues().get(5).getHttpMethod());
+    }
+
+    @Test
+    public void should_skipCycles_when_aclIsNotConfigured() {
+        this.config.setAclOwners("");
+
+        this.sut.run(null);
+
+        verify(this.httpClient, never()).send(any());
+        verify(this.schemaService).getSchema("tenant1:storage-warmup:WarmupRecord:1.0.0");
+        assertEquals(1, this.meterRegistry.get(StartupWarmup.METRIC_NAME).tag("outcome", StartupWarmup.OUTCOME_COMPLETED).timer().count());
+    }
+
+    @Test
+    public void should_skipPartition_when_noServiceAccountTokenClient() {
+        when(this.serviceAccountJwtClientProvider.getIfAvailable()).thenReturn(null);
+
+        this.sut.run(null);
+
+        verify(this.httpClient, never()).send(any());
+        verify(this.entitlementsService, never()).getGroups(any());
+    }
+
+    @Test
+    public void should_provideRequestScope_whileGettingServiceAccountToken() {
+        when(this.serviceAccountJwtClient.getIdToken(PARTITION)).thenAnswer(invocation -> {
+            assertNotNull(RequestContextHolder.getRequestAttributes());
+            return TOKEN;
+        });
+
+        this.sut.run(null);
+
+        verify(this.httpClient, times(8)).send(any());
+    }
+
+    @Test
+    public void should_stopWaiting_when_warmupTimesOut() {
+        this.config.setTimeoutSeconds(1);
+        when(this.httpClient.send(any())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return this.httpResponse;
+        });
+
+        long start = System.nanoTime();
+        this.sut.run(null);
+
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertEquals(1, this.meterRegistry.get(StartupWarmup.METRIC_NAME).tag("outcome", StartupWarmup.OUTCOME_TIMED_OUT).timer().count());
+    }
+}